@@ -1,12 +1,18 @@
 package com.example.telepathy;
 
 import android.app.Application;
+
+import com.example.telepathy.utils.SyncPolicyManager;
 import com.google.firebase.FirebaseApp;
+import com.google.firebase.database.FirebaseDatabase;
 
 public class TelepathyApplication extends Application {
     @Override
     public void onCreate() {
         super.onCreate();
         FirebaseApp.initializeApp(this);
+
+        // Disk persistence has to be set up before the database is first used
+        SyncPolicyManager.initialize(FirebaseDatabase.getInstance());
     }
 }
\ No newline at end of file
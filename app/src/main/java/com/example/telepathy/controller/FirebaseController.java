@@ -4,6 +4,13 @@ import androidx.annotation.NonNull;
 
 import com.example.telepathy.model.User;
 import com.example.telepathy.model.WordSelection;
+import com.example.telepathy.model.datastore.CompactGameDataStore;
+import com.example.telepathy.model.datastore.DataStore;
+import com.example.telepathy.model.datastore.DatabaseRouter;
+import com.example.telepathy.model.datastore.FirebaseDataStore;
+import com.example.telepathy.model.datastore.ListenerHub;
+import com.example.telepathy.model.datastore.ServerClock;
+import com.example.telepathy.model.datastore.ShardedDataStore;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.database.DataSnapshot;
@@ -12,8 +19,10 @@ import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
 import com.example.telepathy.model.GameConfig;
+import com.example.telepathy.model.GamePhase;
 import com.example.telepathy.model.Lobby;
 import com.example.telepathy.model.Player;
+import com.example.telepathy.utils.Constants;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -21,12 +30,18 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
 
 public class FirebaseController {
     private static FirebaseController instance;
     private FirebaseAuth auth;
     private DatabaseReference database;
+    // Game data goes through the DataStore so it can be swapped or decorated
+    private DataStore dataStore;
+    // Time shared by all devices, for timestamps they compare with each other
+    private ServerClock serverClock;
+    private final Map<String, ValueEventListener> profileListeners = new HashMap<>();
+    private WordStatsController wordStatsController;
+    private RoundResolver roundResolver;
 
     // Interface for callbacks
     public interface FirebaseCallback {
@@ -38,6 +53,31 @@ public class FirebaseController {
     private FirebaseController() {
         auth = FirebaseAuth.getInstance();
         database = FirebaseDatabase.getInstance().getReference();
+        // Games are spread over the configured instances (see DatabaseRouter)
+        // and stored in the compact wire format, see GameWireCodec
+        DatabaseRouter router = DatabaseRouter.getInstance();
+        DataStore mainStore = new FirebaseDataStore(database);
+        if (router.isSharded()) {
+            Map<String, DataStore> shards = new HashMap<>();
+            for (String url : router.getShardIds()) {
+                shards.put(url, new FirebaseDataStore(FirebaseDatabase.getInstance(url).getReference()));
+            }
+            mainStore = new ShardedDataStore(mainStore, shards, router);
+        }
+        // Screens following the same lobby or game share one listener
+        dataStore = new ListenerHub(new CompactGameDataStore(mainStore));
+        serverClock = new ServerClock(dataStore);
+        wordStatsController = new WordStatsController(dataStore);
+        roundResolver = new RoundResolver(dataStore, wordStatsController);
+    }
+
+    // Game protocol only, against another data store (e.g. an InMemoryDataStore
+    // wrapped in a SimulatedNetworkDataStore in JVM tests)
+    FirebaseController(DataStore dataStore) {
+        this.dataStore = dataStore;
+        this.serverClock = new ServerClock(dataStore);
+        this.wordStatsController = new WordStatsController(dataStore);
+        this.roundResolver = new RoundResolver(dataStore, wordStatsController);
     }
 
     public static synchronized FirebaseController getInstance() {
@@ -47,6 +87,25 @@ public class FirebaseController {
         return instance;
     }
 
+    // Follow a game to the shard its lobby recorded, see DatabaseRouter
+    public void pinGameShard(Lobby lobby) {
+        if (lobby != null && lobby.getGameShard() != null) {
+            DatabaseRouter.getInstance().pin(lobby.getGameId(), lobby.getGameShard());
+        }
+    }
+
+    public WordStatsController getWordStatsController() {
+        return wordStatsController;
+    }
+
+    DataStore getDataStore() {
+        return dataStore;
+    }
+
+    ServerClock getServerClock() {
+        return serverClock;
+    }
+
     // Helper method to update player data
     public void updatePlayerData(String gameId, String playerId, Map<String, Object> updates,
                                  FirebaseCallback callback) {
@@ -56,14 +115,16 @@ public class FirebaseController {
             return;
         }
 
-        database.child("games").child(gameId).child("players").child(playerId)
-                .updateChildren(updates)
-                .addOnCompleteListener(task -> {
-                    if (task.isSuccessful()) {
+        dataStore.updateChildren("games/" + gameId + "/players/" + playerId, updates,
+                new DataStore.Callback() {
+                    @Override
+                    public void onSuccess(Object result) {
                         callback.onSuccess(null);
-                    } else {
-                        callback.onFailure(task.getException() != null ? task.getException().getMessage()
-                                : "Failed to update player data");
+                    }
+
+                    @Override
+                    public void onFailure(String error) {
+                        callback.onFailure(error != null ? error : "Failed to update player data");
                     }
                 });
     }
@@ -75,16 +136,17 @@ public class FirebaseController {
             return;
         }
 
-        database.child("games").child(gameId)
-                .updateChildren(updates)
-                .addOnCompleteListener(task -> {
-                    if (task.isSuccessful()) {
-                        callback.onSuccess(null);
-                    } else {
-                        callback.onFailure(task.getException() != null ? task.getException().getMessage()
-                                : "Failed to update game data");
-                    }
-                });
+        dataStore.updateChildren("games/" + gameId, updates, new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object result) {
+                callback.onSuccess(null);
+            }
+
+            @Override
+            public void onFailure(String error) {
+                callback.onFailure(error != null ? error : "Failed to update game data");
+            }
+        });
     }
 
     // Get a specific lobby by its ID
@@ -94,20 +156,102 @@ public class FirebaseController {
             return;
         }
 
-        database.child("lobbies").child(lobbyId).get()
-                .addOnCompleteListener(task -> {
-                    if (task.isSuccessful() && task.getResult() != null) {
-                        Lobby lobby = task.getResult().getValue(Lobby.class);
-                        if (lobby != null) {
-                            callback.onSuccess(lobby);
-                        } else {
-                            callback.onFailure("Lobby not found");
-                        }
-                    } else {
-                        callback.onFailure(task.getException() != null ? task.getException().getMessage()
-                                : "Failed to retrieve lobby");
-                    }
-                });
+        // Answered from the shared listener when a screen already follows the lobby
+        dataStore.get(Constants.LOBBIES_PATH + "/" + lobbyId, new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object result) {
+                Lobby lobby = toLobby(result);
+                if (lobby != null) {
+                    callback.onSuccess(lobby);
+                } else {
+                    callback.onFailure("Lobby not found");
+                }
+            }
+
+            @Override
+            public void onFailure(String error) {
+                callback.onFailure(error != null ? error : "Failed to retrieve lobby");
+            }
+        });
+    }
+
+    // Follow a lobby, every screen on the same lobby shares one listener (see ListenerHub)
+    public void listenForLobby(String lobbyId, DataStore.ValueListener listener) {
+        dataStore.addValueListener(Constants.LOBBIES_PATH + "/" + lobbyId, listener);
+    }
+
+    public void removeLobbyListener(String lobbyId, DataStore.ValueListener listener) {
+        dataStore.removeValueListener(Constants.LOBBIES_PATH + "/" + lobbyId, listener);
+    }
+
+    // Lobby from its raw database value, null if there is none
+    public static Lobby toLobby(Object value) {
+        if (!(value instanceof Map)) {
+            return null;
+        }
+        Map<String, Object> lobbyData = (Map<String, Object>) value;
+        Lobby lobby = new Lobby();
+        lobby.setId((String) lobbyData.get("id"));
+        lobby.setName((String) lobbyData.get("name"));
+        lobby.setHostId((String) lobbyData.get("hostId"));
+        lobby.setGameId((String) lobbyData.get("gameId"));
+        lobby.setGameShard((String) lobbyData.get("gameShard"));
+        lobby.setOpen(Boolean.TRUE.equals(lobbyData.get("open")));
+
+        GameConfig config = new GameConfig();
+        if (lobbyData.get("gameConfig") instanceof Map) {
+            Map<String, Object> configData = (Map<String, Object>) lobbyData.get("gameConfig");
+            config.setTimeLimit(toInt(configData.get("timeLimit"), config.getTimeLimit()));
+            config.setMaxPlayers(toInt(configData.get("maxPlayers"), config.getMaxPlayers()));
+            config.setLivesPerPlayer(toInt(configData.get("livesPerPlayer"), config.getLivesPerPlayer()));
+            if (configData.get("selectedCategory") instanceof String) {
+                config.setSelectedCategory((String) configData.get("selectedCategory"));
+            }
+            config.setMatchingMode(Boolean.TRUE.equals(configData.get("matchingMode")));
+        }
+        lobby.setGameConfig(config);
+
+        // Written as a list, but Firebase returns sparse lists as maps
+        Object playersObj = lobbyData.get("players");
+        Iterable<?> playersData = playersObj instanceof Map ? ((Map<?, ?>) playersObj).values()
+                : playersObj instanceof List ? (List<?>) playersObj : new ArrayList<>();
+        List<Player> players = new ArrayList<>();
+        for (Object playerObj : playersData) {
+            if (!(playerObj instanceof Map)) {
+                continue;
+            }
+            Map<String, Object> playerData = (Map<String, Object>) playerObj;
+            Player player = new Player();
+            player.setId((String) playerData.get("id"));
+            player.setUsername((String) playerData.get("username"));
+            player.setScore(toInt(playerData.get("score"), 0));
+            player.setLives(toInt(playerData.get("lives"), 0));
+            player.setHost(Boolean.TRUE.equals(playerData.get("host")));
+            player.setEliminated(Boolean.TRUE.equals(playerData.get("eliminated")));
+            player.setCurrentWord((String) playerData.get("currentWord"));
+            players.add(player);
+        }
+        lobby.setPlayers(players);
+        return lobby;
+    }
+
+    private static int toInt(Object value, int fallback) {
+        return value instanceof Number ? ((Number) value).intValue() : fallback;
+    }
+
+    // The resolvers only know DataStore callbacks, they also run without the app
+    private static DataStore.Callback toDataStoreCallback(FirebaseCallback callback) {
+        return new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object result) {
+                callback.onSuccess(result);
+            }
+
+            @Override
+            public void onFailure(String error) {
+                callback.onFailure(error);
+            }
+        };
     }
 
     // Authentication methods
@@ -138,11 +282,21 @@ public class FirebaseController {
     }
 
     public void loginUser(String email, String password, FirebaseCallback callback) {
+        loginUser(email, password, null, callback);
+    }
+
+    // With a cached profile for the same account, login completes as soon as
+    // authentication does and the profile is refreshed by listenForUserProfile
+    public void loginUser(String email, String password, User cachedProfile, FirebaseCallback callback) {
         auth.signInWithEmailAndPassword(email, password)
                 .addOnCompleteListener(task -> {
                     if (task.isSuccessful()) {
                         FirebaseUser firebaseUser = auth.getCurrentUser();
-                        if (firebaseUser != null) {
+                        if (firebaseUser != null && cachedProfile != null
+                                && firebaseUser.getUid().equals(cachedProfile.getId())) {
+                            System.out.println("TELEPATHY: Using cached profile for " + cachedProfile.getUsername());
+                            callback.onSuccess(cachedProfile);
+                        } else if (firebaseUser != null) {
                             database.child("users").child(firebaseUser.getUid()).get()
                                     .addOnCompleteListener(dataTask -> {
                                         if (dataTask.isSuccessful() && dataTask.getResult() != null) {
@@ -164,6 +318,37 @@ public class FirebaseController {
         auth.signOut();
     }
 
+    // Keeps the profile fresh, reports every change to users/{userId}
+    public void listenForUserProfile(String userId, FirebaseCallback callback) {
+        removeUserProfileListener(userId);
+        ValueEventListener listener = new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                User user = snapshot.getValue(User.class);
+                if (user != null) {
+                    if (user.getId() == null) {
+                        user.setId(userId);
+                    }
+                    callback.onSuccess(user);
+                }
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                callback.onFailure(error.getMessage());
+            }
+        };
+        profileListeners.put(userId, listener);
+        database.child("users").child(userId).addValueEventListener(listener);
+    }
+
+    public void removeUserProfileListener(String userId) {
+        ValueEventListener listener = profileListeners.remove(userId);
+        if (listener != null) {
+            database.child("users").child(userId).removeEventListener(listener);
+        }
+    }
+
     // Lobby methods
     public void createLobby(String lobbyName, Player host, FirebaseCallback callback) {
         Lobby lobby = new Lobby(lobbyName, host);
@@ -361,7 +546,7 @@ public class FirebaseController {
                             lobbyUpdates.put("open", false);
 
                             // Create game ID
-                            String gameId = database.child("games").push().getKey();
+                            String gameId = dataStore.generateKey("games");
                             if (gameId == null) {
                                 callback.onFailure("Failed to generate game ID");
                                 return;
@@ -379,15 +564,50 @@ public class FirebaseController {
                                 configData.put("timeLimit", 30);
                                 configData.put("maxPlayers", 8);
                                 configData.put("livesPerPlayer", 3);
-                                configData.put("selectedCategory", "Animals");
+                                configData.put("selectedCategory", Constants.DEFAULT_CATEGORY);
                             }
 
                             // Create game data
                             Map<String, Object> gameData = new HashMap<>();
                             gameData.put("lobbyId", lobbyId);
-                            gameData.put("players", playersMap);
                             gameData.put("config", configData);
-                            gameData.put("status", "active");
+                            gameData.put("status", GamePhase.ACTIVE.getStatus());
+
+                            // Massive games keep their players outside the game node, see MassiveRoundResolver.
+                            // Writes of one client are applied in order, so the players land before the game.
+                            boolean massive = playersMap.size() > Constants.MASSIVE_PLAYER_THRESHOLD;
+                            configData.put("massive", massive);
+                            if (massive) {
+                                dataStore.setValue(Constants.GAME_PLAYERS_PATH + "/" + gameId, playersMap,
+                                        new DataStore.Callback() {
+                                            @Override
+                                            public void onSuccess(Object result) {
+                                            }
+
+                                            @Override
+                                            public void onFailure(String error) {
+                                                System.out.println("TELEPATHY_ERROR: Failed to store players: " + error);
+                                            }
+                                        });
+                            } else {
+                                gameData.put("players", playersMap);
+                            }
+
+                            // Either a ResolverService or the host drives the rounds, see RoundAuthority.
+                            // Only the service sees every player of a massive game.
+                            boolean serverAuthoritative = Constants.SERVER_AUTHORITATIVE_ROUNDS || massive;
+                            configData.put("serverAuthoritative", serverAuthoritative);
+                            String authorityId = null;
+                            for (Map.Entry<String, Object> entry : playersMap.entrySet()) {
+                                if (entry.getValue() instanceof Map
+                                        && Boolean.TRUE.equals(((Map<String, Object>) entry.getValue()).get("host"))) {
+                                    authorityId = entry.getKey();
+                                }
+                            }
+                            if (authorityId != null && !serverAuthoritative) {
+                                gameData.put("authority", RoundAuthority.lease(authorityId,
+                                        serverClock.now() + RoundAuthority.LEASE_MS));
+                            }
 
                             // Initialize usedWords map
                             gameData.put("usedWords", new HashMap<String, Boolean>());
@@ -407,7 +627,7 @@ public class FirebaseController {
                             roundData.put("endTime", System.currentTimeMillis() + (timeLimit * 1000));
 
                             // Get category for word selection
-                            String category = "Animals";
+                            String category = Constants.DEFAULT_CATEGORY;
                             Object categoryObj = configData.get("selectedCategory");
                             if (categoryObj instanceof String) {
                                 category = (String) categoryObj;
@@ -421,31 +641,40 @@ public class FirebaseController {
                             gameData.put("currentRound", roundData);
 
                             // Save game data
-                            database.child("games").child(gameId).setValue(gameData)
-                                    .addOnCompleteListener(gameTask -> {
-                                        if (gameTask.isSuccessful()) {
-                                            // Update lobby with game reference
-                                            lobbyUpdates.put("gameId", gameId);
-
-                                            database.child("lobbies").child(lobbyId)
-                                                    .updateChildren(lobbyUpdates)
-                                                    .addOnCompleteListener(lobbyTask -> {
-                                                        if (lobbyTask.isSuccessful()) {
-                                                            callback.onSuccess(gameId);
-                                                        } else {
-                                                            callback.onFailure("Failed to update lobby: " +
-                                                                    (lobbyTask.getException() != null
-                                                                            ? lobbyTask.getException().getMessage()
-                                                                            : "unknown error"));
-                                                        }
-                                                    });
-                                        } else {
-                                            callback.onFailure("Failed to create game: " +
-                                                    (gameTask.getException() != null
-                                                            ? gameTask.getException().getMessage()
-                                                            : "unknown error"));
-                                        }
-                                    });
+                            dataStore.setValue("games/" + gameId, gameData, new DataStore.Callback() {
+                                @Override
+                                public void onSuccess(Object result) {
+                                    if (serverAuthoritative) {
+                                        dataStore.setValue(Constants.RESOLVER_QUEUE_PATH + "/" + gameId, true, null);
+                                    }
+
+                                    // Update lobby with game reference
+                                    lobbyUpdates.put("gameId", gameId);
+                                    String gameShard = DatabaseRouter.getInstance().shardFor(gameId);
+                                    if (gameShard != null) {
+                                        lobbyUpdates.put("gameShard", gameShard);
+                                    }
+
+                                    database.child("lobbies").child(lobbyId)
+                                            .updateChildren(lobbyUpdates)
+                                            .addOnCompleteListener(lobbyTask -> {
+                                                if (lobbyTask.isSuccessful()) {
+                                                    callback.onSuccess(gameId);
+                                                } else {
+                                                    callback.onFailure("Failed to update lobby: " +
+                                                            (lobbyTask.getException() != null
+                                                                    ? lobbyTask.getException().getMessage()
+                                                                    : "unknown error"));
+                                                }
+                                            });
+                                }
+
+                                @Override
+                                public void onFailure(String error) {
+                                    callback.onFailure("Failed to create game: " +
+                                            (error != null ? error : "unknown error"));
+                                }
+                            });
                         } catch (Exception e) {
                             e.printStackTrace();
                             System.out.println("START GAME ERROR: " + e.getMessage());
@@ -457,6 +686,28 @@ public class FirebaseController {
                 });
     }
 
+    // Round lifecycle, see RoundResolver
+
+    public void recordGameResults(String gameId) {
+        roundResolver.recordGameResults(gameId);
+    }
+
+    public void recordGameResults(String gameId, FirebaseCallback callback) {
+        roundResolver.recordGameResults(gameId, toDataStoreCallback(callback));
+    }
+
+    public void endCurrentRound(String gameId, FirebaseCallback callback) {
+        roundResolver.endCurrentRound(gameId, toDataStoreCallback(callback));
+    }
+
+    public void scheduleNextRound(String gameId) {
+        roundResolver.scheduleNextRound(gameId);
+    }
+
+    public void startNextRound(String gameId, FirebaseCallback callback) {
+        roundResolver.startNextRound(gameId, toDataStoreCallback(callback));
+    }
+
     // Helper method to get words for a category
     private List<String> getWordsForCategory(String category, int count) {
         return com.example.telepathy.model.WordSelection.getRandomWords(category, count);
@@ -473,15 +724,17 @@ public class FirebaseController {
         word = word.trim().toLowerCase();
 
         // Update the usedWords list in Firebase
-        database.child("games").child(gameId).child("usedWords").child(word).setValue(true)
-                .addOnCompleteListener(task -> {
-                    if (task.isSuccessful()) {
-                        callback.onSuccess(null);
-                    } else {
-                        callback.onFailure(task.getException() != null ? task.getException().getMessage()
-                                : "Failed to add used word");
-                    }
-                });
+        dataStore.setValue("games/" + gameId + "/usedWords/" + word, true, new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object result) {
+                callback.onSuccess(null);
+            }
+
+            @Override
+            public void onFailure(String error) {
+                callback.onFailure(error != null ? error : "Failed to add used word");
+            }
+        });
     }
 
     // Also add a method to get used words:
@@ -491,547 +744,79 @@ public class FirebaseController {
             return;
         }
 
-        database.child("games").child(gameId).child("usedWords").get()
-                .addOnCompleteListener(task -> {
-                    if (task.isSuccessful() && task.getResult() != null) {
-                        DataSnapshot snapshot = task.getResult();
-                        Set<String> usedWords = new HashSet<>();
-
-                        for (DataSnapshot wordSnapshot : snapshot.getChildren()) {
-                            usedWords.add(wordSnapshot.getKey());
-                        }
-
-                        callback.onSuccess(usedWords);
-                    } else {
-                        callback.onFailure(task.getException() != null ? task.getException().getMessage()
-                                : "Failed to retrieve used words");
-                    }
-                });
-    }
-
-    // Replace the endCurrentRound method in FirebaseController.java to
-    // automatically schedule the next round
-
-    // In FirebaseController.java, modify the endCurrentRound method:
-
-    public void endCurrentRound(String gameId, FirebaseCallback callback) {
-        System.out.println("TELEPATHY: Ending current round for game " + gameId);
-
-        // Add a flag to track if we're already processing this round
-        final String roundEndKey = "game_" + gameId + "_round_end";
-        if (processingRounds.contains(roundEndKey)) {
-            System.out.println("TELEPATHY_WARNING: Already processing round end for game " + gameId);
-            callback.onSuccess(null);
-            return;
-        }
-        processingRounds.add(roundEndKey);
-
-        database.child("games").child(gameId).get()
-                .addOnCompleteListener(getTask -> {
-                    if (getTask.isSuccessful() && getTask.getResult() != null) {
-                        try {
-                            DataSnapshot snapshot = getTask.getResult();
-                            Map<String, Object> gameData = (Map<String, Object>) snapshot.getValue();
-
-                            if (gameData == null) {
-                                processingRounds.remove(roundEndKey);
-                                callback.onFailure("Game data is null");
-                                return;
-                            }
-
-                            // Get game configuration to check mode
-                            Map<String, Object> configData = (Map<String, Object>) gameData.get("config");
-                            final boolean isMatchingMode;
-                            if (configData != null) {
-                                Object matchingModeObj = configData.get("matchingMode");
-                                isMatchingMode = matchingModeObj instanceof Boolean && (Boolean) matchingModeObj;
-                            } else {
-                                isMatchingMode = false;
-                            }
-
-                            // First, get all the players
-                            final Map<String, Object> playersData = (Map<String, Object>) gameData.get("players");
-
-                            // Keep track of updates to make
-                            final Map<String, Object> updates = new HashMap<>();
-                            final int[] activePlayerCount = { 0 };
-                            final int[] remainingPlayerCount = { 0 };
-
-                            // Track word frequencies
-                            final Map<String, List<String>> wordToPlayers = new HashMap<>();
-
-                            // Get existing usedWords or create new map
-                            Map<String, Object> usedWordsMap = (Map<String, Object>) gameData.get("usedWords");
-                            if (usedWordsMap == null) {
-                                usedWordsMap = new HashMap<>();
-                            }
-                            final Map<String, Object> finalUsedWordsMap = usedWordsMap;
-
-                            // First pass: Build word frequency map and count active players
-                            if (playersData != null) {
-                                for (Map.Entry<String, Object> entry : playersData.entrySet()) {
-                                    String playerId = entry.getKey();
-                                    Map<String, Object> playerData = (Map<String, Object>) entry.getValue();
-
-                                    if (playerData == null)
-                                        continue;
-
-                                    // Check if player is eliminated
-                                    boolean isEliminated = false;
-                                    Object eliminatedObj = playerData.get("eliminated");
-                                    if (eliminatedObj instanceof Boolean) {
-                                        isEliminated = (Boolean) eliminatedObj;
-                                    }
-
-                                    if (!isEliminated) {
-                                        activePlayerCount[0]++;
-
-                                        // Get player's word
-                                        String word = (String) playerData.get("currentWord");
-                                        if (word != null && !word.trim().isEmpty()) {
-                                            word = word.trim().toLowerCase();
-                                            if (!wordToPlayers.containsKey(word)) {
-                                                wordToPlayers.put(word, new ArrayList<>());
-                                            }
-                                            wordToPlayers.get(word).add(playerId);
-
-                                            // Add word to usedWords map
-                                        }
-                                    }
-                                }
-                            }
-
-                            // Add usedWords to updates
-                            //updates.put("usedWords", finalUsedWordsMap);
-
-                            final boolean hasMatchingWords = checkForMatchingWords(wordToPlayers);
-
-                            // Process words based on game mode
-                            if (isMatchingMode) {
-                                processMatchingMode(wordToPlayers, playersData, updates);
-                                remainingPlayerCount[0] = activePlayerCount[0];
-                            } else {
-                                processClassicMode(wordToPlayers, playersData, updates, remainingPlayerCount);
-                            }
-
-                            // Update game status
-                            updates.put("status", "roundEnd");
-
-                            // Apply all updates in a single batch
-                            database.child("games").child(gameId).updateChildren(updates)
-                                    .addOnCompleteListener(task -> {
-                                        processingRounds.remove(roundEndKey);
-
-                                        if (task.isSuccessful()) {
-                                            System.out.println("TELEPATHY: Round ended with " + remainingPlayerCount[0]
-                                                    + " remaining players");
-
-                                            // Check if game should end based on mode
-                                            boolean shouldEndGame = isMatchingMode ? hasMatchingWords
-                                                    : remainingPlayerCount[0] <= 1;
-
-                                            if (shouldEndGame) {
-                                                // Game over - either matching words found or one player left in classic
-                                                // mode
-                                                System.out.println("TELEPATHY_DEBUG: Game should end - " +
-                                                        (isMatchingMode ? "matching words found!"
-                                                                : "only " + remainingPlayerCount[0]
-                                                                + " player(s) remaining"));
-                                                database.child("games").child(gameId).child("status")
-                                                        .setValue("gameEnd");
-                                            } else {
-                                                // Schedule next round
-                                                Map<String, Object> roundUpdates = new HashMap<>();
-                                                roundUpdates.put("nextRoundStartTime",
-                                                        System.currentTimeMillis() + 5000);
-                                                roundUpdates.put("roundStarterId", UUID.randomUUID().toString());
-                                                database.child("games").child(gameId).updateChildren(roundUpdates);
-                                            }
-
-                                            callback.onSuccess(null);
-                                        } else {
-                                            callback.onFailure("Failed to update game status");
-                                        }
-                                    });
-                        } catch (Exception e) {
-                            processingRounds.remove(roundEndKey);
-                            e.printStackTrace();
-                            callback.onFailure("Error processing round end: " + e.getMessage());
-                        }
-                    } else {
-                        processingRounds.remove(roundEndKey);
-                        callback.onFailure("Failed to get game data");
-                    }
-                });
-    }
-
-    private boolean checkForMatchingWords(Map<String, List<String>> wordToPlayers) {
-        for (List<String> playerIds : wordToPlayers.values()) {
-            if (playerIds.size() > 1) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private void processMatchingMode(
-            Map<String, List<String>> wordToPlayers,
-            Map<String, Object> playersData,
-            Map<String, Object> updates) {
-        // In matching mode:
-        // - Check if any words match
-        // - No life loss
-        // - All matching players are winners
-        boolean foundMatch = false;
-        Set<String> matchingPlayers = new HashSet<>();
-
-        for (Map.Entry<String, List<String>> entry : wordToPlayers.entrySet()) {
-            List<String> playerIds = entry.getValue();
-            if (playerIds.size() > 1) {
-                foundMatch = true;
-                matchingPlayers.addAll(playerIds);
-
-                // Award points to all players who matched
-                for (String playerId : playerIds) {
-                    Map<String, Object> playerData = (Map<String, Object>) playersData.get(playerId);
-                    if (playerData == null)
-                        continue;
-
-                    // Get current score
-                    int currentScore = 0;
-                    Object scoreObj = playerData.get("score");
-                    if (scoreObj instanceof Long) {
-                        currentScore = ((Long) scoreObj).intValue();
-                    } else if (scoreObj instanceof Integer) {
-                        currentScore = (Integer) scoreObj;
-                    }
-
-                    // Award 20 points for matching
-                    int newScore = currentScore + 20;
-                    updates.put("players/" + playerId + "/score", newScore);
+        dataStore.get("games/" + gameId + "/usedWords", new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object result) {
+                Set<String> usedWords = new HashSet<>();
+                if (result instanceof Map) {
+                    usedWords.addAll(((Map<String, Object>) result).keySet());
                 }
+                callback.onSuccess(usedWords);
             }
-        }
 
-        // If we found matching players, they are all winners
-        if (foundMatch) {
-            // Convert the set of winning player IDs to a list
-            List<String> winnerIds = new ArrayList<>(matchingPlayers);
-            updates.put("winnerIds", winnerIds); // Store multiple winners
-            System.out.println("TELEPATHY_DEBUG: Found " + winnerIds.size() + " matching winners!");
-        }
-    }
-
-    private void processClassicMode(
-            Map<String, List<String>> wordToPlayers,
-            Map<String, Object> playersData,
-            Map<String, Object> updates,
-            int[] remainingPlayerCount) {
-        // Classic mode:
-        // - Players lose lives for duplicate words
-        // - Points for unique words only
-        // Track the last active player
-        String lastActivePlayerId = null;
-        Map<String, Integer> playerLives = new HashMap<>(); // Track current lives for each player
-        Map<String, Boolean> playerEliminated = new HashMap<>(); // Track elimination status
-
-        // Initialize tracking maps with current values
-        for (Map.Entry<String, Object> entry : playersData.entrySet()) {
-            String playerId = entry.getKey();
-            Map<String, Object> playerData = (Map<String, Object>) entry.getValue();
-
-            if (playerData == null)
-                continue;
-
-            // Get current lives
-            int lives = 3; // Default
-            Object livesObj = playerData.get("lives");
-            if (livesObj instanceof Long) {
-                lives = ((Long) livesObj).intValue();
-            } else if (livesObj instanceof Integer) {
-                lives = (Integer) livesObj;
-            }
-            playerLives.put(playerId, lives);
-
-            // Get current elimination status
-            boolean isEliminated = false;
-            Object eliminatedObj = playerData.get("eliminated");
-            if (eliminatedObj instanceof Boolean) {
-                isEliminated = (Boolean) eliminatedObj;
-            }
-            playerEliminated.put(playerId, isEliminated);
-        }
-
-        // First pass: Process unique words and award points
-        for (Map.Entry<String, List<String>> entry : wordToPlayers.entrySet()) {
-            String word = entry.getKey();
-            List<String> playerIds = entry.getValue();
-
-            // Add words to the usedWords map at round end
-            if (!word.isEmpty()) {
-                updates.put("usedWords/" + word, true);
+            @Override
+            public void onFailure(String error) {
+                callback.onFailure(error != null ? error : "Failed to retrieve used words");
             }
-            if (playerIds.size() == 1) {
-                // Award points for unique words
-                String playerId = playerIds.get(0);
-                Map<String, Object> playerData = (Map<String, Object>) playersData.get(playerId);
-                if (playerData == null)
-                    continue;
-
-                int currentScore = 0;
-                Object scoreObj = playerData.get("score");
-                if (scoreObj instanceof Long) {
-                    currentScore = ((Long) scoreObj).intValue();
-                } else if (scoreObj instanceof Integer) {
-                    currentScore = (Integer) scoreObj;
-                }
-
-                int newScore = currentScore + 10;
-                updates.put("players/" + playerId + "/score", newScore);
-            } else {
-                // Reduce lives for players with duplicate words
-                for (String playerId : playerIds) {
-                    if (playerEliminated.get(playerId))
-                        continue; // Skip already eliminated players
-
-                    int lives = playerLives.get(playerId);
-                    lives--; // Reduce life for duplicate word
-
-                    playerLives.put(playerId, lives);
-                    updates.put("players/" + playerId + "/lives", lives);
+        });
+    }
 
-                    if (lives <= 0) {
-                        playerEliminated.put(playerId, true);
-                        updates.put("players/" + playerId + "/eliminated", true);
+    public void submitWord(String gameId, String playerId, String word, FirebaseCallback callback) {
+        dataStore.setValue("games/" + gameId + "/players/" + playerId + "/currentWord", word,
+                new DataStore.Callback() {
+                    @Override
+                    public void onSuccess(Object result) {
+                        callback.onSuccess(null);
                     }
-                }
-            }
-        }
-
-        // Second pass: Process players who didn't submit a word
-        for (Map.Entry<String, Object> entry : playersData.entrySet()) {
-            String playerId = entry.getKey();
-            Map<String, Object> playerData = (Map<String, Object>) entry.getValue();
-
-            if (playerData == null || playerEliminated.get(playerId))
-                continue;
-
-            // Check if player submitted a word
-            String word = (String) playerData.get("currentWord");
-            boolean submittedWord = word != null && !word.trim().isEmpty();
 
-            if (!submittedWord) {
-                // Player didn't submit a word, reduce life
-                int lives = playerLives.get(playerId);
-                lives--; // Reduce life for not submitting
-
-                playerLives.put(playerId, lives);
-                updates.put("players/" + playerId + "/lives", lives);
-
-                if (lives <= 0) {
-                    playerEliminated.put(playerId, true);
-                    updates.put("players/" + playerId + "/eliminated", true);
-                }
-            }
-        }
-
-        // Count remaining players and find last active player
-        remainingPlayerCount[0] = 0;
-        for (Map.Entry<String, Boolean> entry : playerEliminated.entrySet()) {
-            String playerId = entry.getKey();
-            boolean isEliminated = entry.getValue();
-            int lives = playerLives.get(playerId);
-
-            if (!isEliminated && lives > 0) {
-                remainingPlayerCount[0]++;
-                lastActivePlayerId = playerId;
-            }
-        }
-
-        System.out.println("TELEPATHY_DEBUG: Remaining players: " + remainingPlayerCount[0]);
-        if (lastActivePlayerId != null) {
-            System.out.println("TELEPATHY_DEBUG: Last active player: " + lastActivePlayerId);
-        }
-
-        // If only one player remains, they are the winner
-        if (remainingPlayerCount[0] == 1 && lastActivePlayerId != null) {
-            System.out.println("TELEPATHY_DEBUG: Game will end - only one player remains");
-            // Award bonus points to winner
-            Map<String, Object> winnerData = (Map<String, Object>) playersData.get(lastActivePlayerId);
-            if (winnerData != null) {
-                int currentScore = 0;
-                Object scoreObj = winnerData.get("score");
-                if (scoreObj instanceof Long) {
-                    currentScore = ((Long) scoreObj).intValue();
-                } else if (scoreObj instanceof Integer) {
-                    currentScore = (Integer) scoreObj;
-                }
-
-                // Award 100 bonus points for winning
-                int newScore = currentScore + 100;
-                updates.put("players/" + lastActivePlayerId + "/score", newScore);
-                updates.put("winnerId", lastActivePlayerId);
-            }
-        }
+                    @Override
+                    public void onFailure(String error) {
+                        callback.onFailure("Failed to submit word");
+                    }
+                });
     }
 
-    // Add at class level in FirebaseController.java:
-    private Set<String> processingRounds = new HashSet<>();
-
-    public void submitWord(String gameId, String playerId, String word, FirebaseCallback callback) {
-        database.child("games").child(gameId).child("players").child(playerId).child("currentWord")
-                .setValue(word)
-                .addOnCompleteListener(task -> {
-                    if (task.isSuccessful()) {
+    // Massive games take submissions in shards by player, see MassiveRoundResolver
+    public void submitMassiveWord(String gameId, int roundNumber, String playerId, String word,
+            FirebaseCallback callback) {
+        dataStore.setValue(MassiveRoundResolver.submissionPath(gameId, roundNumber, playerId), word,
+                new DataStore.Callback() {
+                    @Override
+                    public void onSuccess(Object result) {
                         callback.onSuccess(null);
-                    } else {
+                    }
+
+                    @Override
+                    public void onFailure(String error) {
                         callback.onFailure("Failed to submit word");
                     }
                 });
     }
 
-    public void listenForGameUpdates(String gameId, ValueEventListener listener) {
-        database.child("games").child(gameId).addValueEventListener(listener);
+    // A player's own record in a massive game
+    public void listenForGamePlayer(String gameId, String playerId, DataStore.ValueListener listener) {
+        dataStore.addValueListener(Constants.GAME_PLAYERS_PATH + "/" + gameId + "/" + playerId, listener);
     }
 
-    // Fix for startNextRound method in FirebaseController.java to prevent round
-    // skipping and word list issues
-
-    public void startNextRound(String gameId, FirebaseCallback callback) {
-        // Debug logging
-        System.out.println("TELEPATHY: Starting next round for game " + gameId);
-
-        // First get the current game data
-        database.child("games").child(gameId).get()
-                .addOnCompleteListener(task -> {
-                    if (task.isSuccessful() && task.getResult() != null) {
-                        try {
-                            DataSnapshot snapshot = task.getResult();
-
-                            Map<String, Object> gameData = (Map<String, Object>) snapshot.getValue();
-                            if (gameData == null) {
-                                callback.onFailure("Game data is null");
-                                return;
-                            }
-
-                            // Get current status - only proceed if status is roundEnd
-                            String status = (String) gameData.get("status");
-                            if (!"roundEnd".equals(status)) {
-                                System.out.println("TELEPATHY: Cannot start next round - game status is " + status
-                                        + " instead of roundEnd");
-                                callback.onFailure("Game is not in roundEnd status");
-                                return;
-                            }
-
-                            // Extract current round number - important to get the EXACT current round
-                            Map<String, Object> currentRoundData = (Map<String, Object>) gameData.get("currentRound");
-                            int currentRoundNumber = 1;
-
-                            if (currentRoundData != null && currentRoundData.containsKey("roundNumber")) {
-                                Object roundNumberObj = currentRoundData.get("roundNumber");
-                                if (roundNumberObj instanceof Long) {
-                                    currentRoundNumber = ((Long) roundNumberObj).intValue();
-                                } else if (roundNumberObj instanceof Integer) {
-                                    currentRoundNumber = (Integer) roundNumberObj;
-                                } else if (roundNumberObj instanceof Double) {
-                                    currentRoundNumber = ((Double) roundNumberObj).intValue();
-                                }
-                            }
-
-                            System.out.println("TELEPATHY: Current round number: " + currentRoundNumber);
-
-                            // IMPORTANT: Create BRAND NEW round data with correct next round number
-                            int nextRoundNumber = currentRoundNumber + 1;
-                            System.out.println("TELEPATHY: Next round number will be: " + nextRoundNumber);
-
-                            // Get game config for category
-                            Map<String, Object> configData = (Map<String, Object>) gameData.get("config");
-                            String category = "Animals"; // Default
-
-                            if (configData != null && configData.containsKey("selectedCategory")) {
-                                category = (String) configData.get("selectedCategory");
-                            }
-
-                            // Create new round data
-                            Map<String, Object> newRoundData = new HashMap<>();
-                            newRoundData.put("roundNumber", nextRoundNumber);
-                            newRoundData.put("startTime", System.currentTimeMillis());
-
-                            // Get time limit from config or use default
-                            long timeLimit = 30;
-                            if (configData != null && configData.containsKey("timeLimit")) {
-                                Object timeLimitObj = configData.get("timeLimit");
-                                if (timeLimitObj instanceof Long) {
-                                    timeLimit = (Long) timeLimitObj;
-                                } else if (timeLimitObj instanceof Integer) {
-                                    timeLimit = ((Integer) timeLimitObj).longValue();
-                                } else if (timeLimitObj instanceof Double) {
-                                    timeLimit = ((Double) timeLimitObj).longValue();
-                                }
-                            }
-
-                            newRoundData.put("endTime", System.currentTimeMillis() + (timeLimit * 1000));
-
-                            // Get ALL words for this round (not just random subset)
-                            List<String> words = WordSelection.getAllWordsForCategory(category);
-                            newRoundData.put("words", words);
-
-                            System.out.println(
-                                    "TELEPATHY: Using " + words.size() + " words for round " + nextRoundNumber);
-
-                            // Create combined update map
-                            Map<String, Object> updates = new HashMap<>();
-
-                            // Clear any round starter data
-                            updates.put("nextRoundStartTime", null);
-                            updates.put("roundStarterId", null);
-
-                            // Clear all player word submissions
-                            Map<String, Object> playersData = (Map<String, Object>) gameData.get("players");
-                            if (playersData != null) {
-                                for (String playerId : playersData.keySet()) {
-                                    updates.put("players/" + playerId + "/currentWord", "");
-                                }
-                            }
+    public void removeGamePlayerListener(String gameId, String playerId, DataStore.ValueListener listener) {
+        dataStore.removeValueListener(Constants.GAME_PLAYERS_PATH + "/" + gameId + "/" + playerId, listener);
+    }
 
-                            // Add new round data and update status
-                            updates.put("currentRound", newRoundData);
-                            updates.put("status", "active");
+    public void listenForGameUpdates(String gameId, DataStore.ValueListener listener) {
+        dataStore.addValueListener("games/" + gameId, listener);
+    }
 
-                            // Use a single atomic update operation
-                            database.child("games").child(gameId).updateChildren(updates)
-                                    .addOnCompleteListener(updateTask -> {
-                                        if (updateTask.isSuccessful()) {
-                                            System.out.println(
-                                                    "TELEPATHY: Successfully started round " + nextRoundNumber);
-                                            callback.onSuccess(null);
-                                        } else {
-                                            System.out.println("TELEPATHY: Failed to start round: " +
-                                                    (updateTask.getException() != null
-                                                            ? updateTask.getException().getMessage()
-                                                            : "unknown error"));
-                                            callback.onFailure("Failed to start next round: " +
-                                                    (updateTask.getException() != null
-                                                            ? updateTask.getException().getMessage()
-                                                            : "unknown error"));
-                                        }
-                                    });
+    // Watch a game without joining it, see SpectatorPublisher
+    public void listenForSpectatorView(String gameId, DataStore.ValueListener listener) {
+        dataStore.addValueListener(Constants.SPECTATE_PATH + "/" + gameId, listener);
+    }
 
-                        } catch (Exception e) {
-                            e.printStackTrace();
-                            System.out.println("TELEPATHY: Error preparing next round: " + e.getMessage());
-                            callback.onFailure("Error preparing next round: " + e.getMessage());
-                        }
-                    } else {
-                        System.out.println("TELEPATHY: Failed to get game data: " +
-                                (task.getException() != null ? task.getException().getMessage() : "unknown error"));
-                        callback.onFailure("Failed to get game data");
-                    }
-                });
+    public void removeSpectatorListener(String gameId, DataStore.ValueListener listener) {
+        dataStore.removeValueListener(Constants.SPECTATE_PATH + "/" + gameId, listener);
     }
 
-    public void removeGameListener(String gameId, ValueEventListener listener) {
-        database.child("games").child(gameId).removeEventListener(listener);
+    public void removeGameListener(String gameId, DataStore.ValueListener listener) {
+        dataStore.removeValueListener("games/" + gameId, listener);
     }
 
 }
\ No newline at end of file
@@ -1,44 +1,81 @@
 package com.example.telepathy.controller;
 
-import android.os.Handler;
 import android.util.Log;
 
-import androidx.annotation.NonNull;
-
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
-import com.example.telepathy.model.Game;
 import com.example.telepathy.model.GameConfig;
+import com.example.telepathy.model.GamePhase;
 import com.example.telepathy.model.GameRound;
+import com.example.telepathy.model.GameState;
 import com.example.telepathy.model.Player;
+import com.example.telepathy.model.datastore.DataStore;
+import com.example.telepathy.model.datastore.ServerClock;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Follows one game for the game screen.
+ *
+ * Snapshots are decoded and reduced on a single background thread, in the
+ * order they arrive, and all of the controller's state belongs to that thread.
+ * Each update builds a new immutable GameState that is swapped in by reference
+ * and handed to the UI thread, which gets at most one state per frame through
+ * the GameUpdateDispatcher, along with every event the updates cause. Screens
+ * subscribe to the state stream, the event stream or both, as many times as
+ * they like; GameUpdateListener bundles the two for callers that want all.
+ */
 public class GameController {
-    private Game currentGame;
+    // Replaced, never modified, so the UI thread may keep reading an older one
+    private volatile GameState currentState;
     private FirebaseController firebaseController;
     private String gameId;
     private String currentPlayerId;
-    private ValueEventListener gameListener;
-    private GameUpdateListener updateListener;
+    private DataStore.ValueListener gameListener;
 
     private String currentRoundStarterId = null;
-    private Handler roundStartHandler = new Handler();
-    private Runnable roundStartRunnable = null;
-    private Set<String> processedRounds = new HashSet<>();
-    private Set<String> processedPlayers = new HashSet<>();
-
-    // Interface for game updates
+    // Round start and heartbeat deadlines, their tasks hop onto the update thread
+    private final GameScheduler scheduler = GameScheduler.getInstance();
+    private final GameUpdateDispatcher dispatcher;
+    private final ExecutorService updateExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "game-updates");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean closed = false;
+    private volatile GameScheduler.Timeout roundStartTimeout = null;
+    // Phase by round number, drops repeated snapshots and duplicate round writes
+    private final GamePhaseMachine phases = new GamePhaseMachine();
+    // Next round's words and validation index, built during the intermission
+    private final RoundPrefetcher prefetcher = new RoundPrefetcher();
+    // This player's word until a snapshot shows it, laid over the snapshots' players
+    private final PendingSubmission pendingSubmission;
+    // As-you-type and submit-time word checks
+    private final WordValidator wordValidator;
+
+    // Only the round authority ends rounds and starts new ones
+    private RoundAuthority roundAuthority;
+    // Leases are compared in server time, device clocks may be off
+    private ServerClock serverClock;
+    private GameScheduler.Timeout heartbeatTimeout;
+    private Map<String, Object> lastGameData;
+    private boolean serverAuthoritative = false;
+    private SpectatorPublisher spectatorPublisher;
+    // Massive games only sync this player's own record, see MassiveRoundResolver
+    private volatile boolean massive = false;
+    private Map<String, Object> ownPlayersData;
+    // Stable Player objects across updates, only changed players are rebuilt
+    private final PlayerReconciler playerReconciler = new PlayerReconciler();
+    private volatile DataStore.ValueListener ownPlayerListener;
+
+    // Callbacks for both streams, see subscribe
     public interface GameUpdateListener {
-        void onGameStateChanged(Game game);
+        void onGameStateChanged(GameState state);
 
         void onRoundStart(GameRound round);
 
@@ -48,41 +85,192 @@ public class GameController {
 
         void onGameEnd(Player winner);
 
+        // The word was not saved, it is no longer shown as submitted
+        void onSubmissionFailed(String word, String error);
+
         void onError(String error);
     }
 
-    private DatabaseReference database;
-
     public GameController(String gameId, String playerId, GameUpdateListener listener) {
+        this(gameId, playerId);
+        if (listener != null) {
+            subscribe(listener);
+        }
+    }
+
+    public GameController(String gameId, String playerId) {
         this.gameId = gameId;
         this.currentPlayerId = playerId;
-        this.updateListener = listener;
+        this.pendingSubmission = new PendingSubmission(playerId);
+        this.wordValidator = new WordValidator(scheduler, gameId, prefetcher);
+        this.dispatcher = new GameUpdateDispatcher(GameUpdateDispatcher.choreographer());
         this.firebaseController = FirebaseController.getInstance();
-
-        // Initialize database reference
-        this.database = FirebaseDatabase.getInstance().getReference();
+        this.roundAuthority = new RoundAuthority(firebaseController.getDataStore(), gameId, playerId);
+        this.serverClock = firebaseController.getServerClock();
+        this.spectatorPublisher = new SpectatorPublisher(firebaseController.getDataStore(), gameId);
 
         // Initialize game state listener
         initGameListener();
+        startHeartbeat();
+    }
+
+    private void startHeartbeat() {
+        heartbeatTimeout = scheduler.scheduleRepeating(gameId, 0, RoundAuthority.HEARTBEAT_INTERVAL_MS,
+                () -> runOnUpdateThread(() -> {
+                    if (!serverAuthoritative) {
+                        roundAuthority.tick(serverClock.now(),
+                                () -> runOnUpdateThread(GameController.this::resumeRoundLifecycle));
+                    }
+                    if (isRoundAuthority()) {
+                        spectatorPublisher.flush(System.currentTimeMillis());
+                    }
+                }));
+    }
+
+    // Queue work that reads or changes the controller's state
+    private void runOnUpdateThread(Runnable task) {
+        if (!closed) {
+            updateExecutor.execute(task);
+        }
+    }
+
+    // Latest game state, new subscribers get the last one delivered straight away. UI thread only
+    public GameUpdateDispatcher.Subscription subscribeStates(GameUpdateDispatcher.Subscriber<GameState> subscriber) {
+        return dispatcher.subscribeStates(subscriber);
+    }
+
+    // Every game event in order, from the time of subscribing. UI thread only
+    public GameUpdateDispatcher.Subscription subscribeEvents(GameUpdateDispatcher.Subscriber<GameEvent> subscriber) {
+        return dispatcher.subscribeEvents(subscriber);
+    }
+
+    // Both streams through one listener. UI thread only
+    public GameUpdateDispatcher.Subscription subscribe(GameUpdateListener listener) {
+        GameUpdateDispatcher.Subscription states = subscribeStates(listener::onGameStateChanged);
+        GameUpdateDispatcher.Subscription events = subscribeEvents(event -> {
+            switch (event.getType()) {
+                case ROUND_STARTED:
+                    listener.onRoundStart(event.getRound());
+                    break;
+                case ROUND_ENDED:
+                    listener.onRoundEnd(event.getRound());
+                    break;
+                case PLAYER_ELIMINATED:
+                    listener.onPlayerEliminated(event.getPlayer());
+                    break;
+                case GAME_OVER:
+                    listener.onGameEnd(event.getPlayer());
+                    break;
+                case SUBMISSION_FAILED:
+                    listener.onSubmissionFailed(event.getWord(), event.getError());
+                    break;
+                case ERROR:
+                    listener.onError(event.getError());
+                    break;
+            }
+        });
+        return () -> {
+            states.cancel();
+            events.cancel();
+        };
+    }
+
+    // Hand an event to the UI, in order, dropped once the screen has gone
+    private void postEvent(GameEvent event) {
+        dispatcher.postEvent(event);
+    }
+
+    // Hand a finished state to the UI, replacing one not shown yet
+    private void postState(GameState state) {
+        dispatcher.postState(state);
+    }
+
+    // Whether this client ends and starts rounds, never when a ResolverService runs them
+    private boolean isRoundAuthority() {
+        return !serverAuthoritative && roundAuthority.isAuthority(serverClock.now());
+    }
+
+    // Called after taking over as round authority, picks up whatever the
+    // previous authority left unfinished
+    private void resumeRoundLifecycle() {
+        Map<String, Object> gameData = lastGameData;
+        if (gameData == null) {
+            return;
+        }
+        GamePhase phase = GamePhase.fromStatus(gameData.get("status"));
+        System.out.println("TELEPATHY: Now round authority, game phase is " + phase);
+
+        if (phase == GamePhase.ACTIVE) {
+            GameRound round = extractRoundData(gameData);
+            boolean timeUp = round.getEndTime() > 0 && round.getEndTime() <= System.currentTimeMillis();
+            if (timeUp || checkAllPlayersSubmitted(extractPlayers(gameData))) {
+                endCurrentRound();
+            }
+        } else if (phase == GamePhase.ROUND_END) {
+            Object nextRoundStartTimeObj = gameData.get("nextRoundStartTime");
+            Object roundStarterIdObj = gameData.get("roundStarterId");
+            if (nextRoundStartTimeObj instanceof Long && roundStarterIdObj instanceof String) {
+                long delayMillis = (Long) nextRoundStartTimeObj - System.currentTimeMillis();
+                if (delayMillis > 0) {
+                    scheduleRoundStart((String) roundStarterIdObj, delayMillis);
+                } else {
+                    currentRoundStarterId = (String) roundStarterIdObj;
+                    tryStartNextRound((String) roundStarterIdObj);
+                }
+            } else if (isGameOver(gameData)) {
+                if (!phases.request(GamePhase.GAME_END)) {
+                    return;
+                }
+                // The previous authority ended the last round but not the game
+                Map<String, Object> updates = new HashMap<>();
+                updates.put("status", GamePhase.GAME_END.getStatus());
+                firebaseController.updateGameData(gameId, updates, new FirebaseController.FirebaseCallback() {
+                    @Override
+                    public void onSuccess(Object result) {
+                        firebaseController.recordGameResults(gameId);
+                    }
+
+                    @Override
+                    public void onFailure(String error) {
+                        System.out.println("TELEPATHY_ERROR: Failed to end game: " + error);
+                        runOnUpdateThread(() -> phases.requestFailed(GamePhase.GAME_END));
+                    }
+                });
+            } else {
+                // The previous authority ended the round but never scheduled the next one
+                firebaseController.scheduleNextRound(gameId);
+            }
+        }
+    }
+
+    // Same end conditions as FirebaseController.endCurrentRound
+    private boolean isGameOver(Map<String, Object> gameData) {
+        if (extractGameConfig(gameData).isMatchingMode()) {
+            return gameData.get("winnerIds") instanceof List;
+        }
+        int activePlayers = 0;
+        for (Player player : extractPlayers(gameData)) {
+            if (!player.isEliminated()) {
+                activePlayers++;
+            }
+        }
+        return activePlayers <= 1;
     }
 
     private void initGameListener() {
-        gameListener = new ValueEventListener() {
+        gameListener = new DataStore.ValueListener() {
             @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                // Convert Firebase data to Game object
-                Map<String, Object> gameData = (Map<String, Object>) snapshot.getValue();
-                if (gameData != null) {
-                    // Process game data
-                    processGameUpdate(gameData);
+            public void onValueChanged(Object value) {
+                // Convert Firebase data to a GameState
+                if (value instanceof Map) {
+                    // Process game data off the main thread
+                    runOnUpdateThread(() -> processGameUpdate((Map<String, Object>) value));
                 }
             }
 
             @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                if (updateListener != null) {
-                    updateListener.onError("Game update failed: " + error.getMessage());
-                }
+            public void onCancelled(String error) {
+                postEvent(GameEvent.error("Game update failed: " + error));
             }
         };
 
@@ -92,48 +280,41 @@ public class GameController {
 
     private void processGameUpdate(Map<String, Object> gameData) {
         try {
+            lastGameData = gameData;
+            roundAuthority.onGameData(gameData);
+            Map<String, Object> configData = (Map<String, Object>) gameData.get("config");
+            serverAuthoritative = configData != null && Boolean.TRUE.equals(configData.get("serverAuthoritative"));
+            massive = MassiveRoundResolver.isMassive(gameData);
+            if (massive) {
+                listenForOwnPlayer();
+            }
+            if (isRoundAuthority()) {
+                spectatorPublisher.onGameData(gameData, System.currentTimeMillis());
+            }
+
             String status = (String) gameData.get("status");
+            GamePhase phase = GamePhase.fromStatus(status);
 
             // Extract data from Firebase
             GameConfig config = extractGameConfig(gameData);
-            List<Player> players = extractPlayers(gameData);
             GameRound round = extractRoundData(gameData);
+            playerReconciler.reconcile(massive ? ownPlayersData : (Map<String, Object>) gameData.get("players"));
+            List<Player> players = pendingSubmission.apply(round.getRoundNumber(), playerReconciler.getPlayers());
 
-            // Extract used words from Firebase
+            // Extract used words from Firebase, GameState copies them only when they changed
             Object usedWordsObj = gameData.get("usedWords");
-            Set<String> firebaseUsedWords = new HashSet<>();
-            if (usedWordsObj instanceof Map) {
-                Map<String, Object> usedWordsMap = (Map<String, Object>) usedWordsObj;
-                firebaseUsedWords.addAll(usedWordsMap.keySet());
-                System.out.println("TELEPATHY: Loaded " + firebaseUsedWords.size() + " used words from Firebase");
-            }
-
-            // Track eliminated players before updating game state
-            Set<String> previouslyActivePlayers = new HashSet<>();
-            if (currentGame != null) {
-                for (Player player : currentGame.getPlayers()) {
-                    if (!player.isEliminated()) {
-                        previouslyActivePlayers.add(player.getId());
-                    }
-                }
-            }
+            Set<String> firebaseUsedWords = usedWordsObj instanceof Map
+                    ? ((Map<String, Object>) usedWordsObj).keySet() : Collections.<String>emptySet();
 
-            // Generate a unique ID for this round's state to prevent duplicate processing
-            String roundId = "";
-            if (round != null) {
-                roundId = "round" + round.getRoundNumber() + "_" + status;
-            }
+            // Only the first snapshot of a phase does that phase's work
+            boolean enteredPhase = phases.enter(phase, round.getRoundNumber());
 
-            // Check if this is the round end status
-            if ("roundEnd".equals(status)) {
-                // Only process duplicate words once per round
-                if (!processedRounds.contains(roundId)) {
-                    System.out.println("TELEPATHY: Processing duplicate words for round " + roundId);
-                    processedRounds.add(roundId);
-                    processDuplicateWords(players, round);
-                } else {
-                    System.out.println("TELEPATHY: Already processed duplicates for round " + roundId);
-                }
+            // Process duplicate words once per round
+            if (enteredPhase && phase == GamePhase.ROUND_END) {
+                System.out.println("TELEPATHY: Processing duplicate words for round " + round.getRoundNumber());
+                processDuplicateWords(players, round);
+                // The next round draws from the same dictionary, have it ready when it starts
+                prefetcher.prepare(round.getRoundNumber() + 1, round.getWords());
             }
 
             // Round starter logic
@@ -164,65 +345,33 @@ public class GameController {
                 }
             }
 
-            // Check if all players have submitted words - ADD DEBUGGING
-            boolean shouldEndRound = false;
-            if ("active".equals(status)) {
-                shouldEndRound = checkAllPlayersSubmitted(players);
-                System.out.println("TELEPATHY_DEBUG: All players submitted: " + shouldEndRound);
-            }
-
-            // Check if this is a new round
-            boolean isNewRound = isNewRound(round);
-
-            // Update game state
-            updateGameState(config, players, round, status);
-
-            // Update the game's usedWords set with words from Firebase
-            if (currentGame != null) {
-                currentGame.setUsedWords(firebaseUsedWords);
-            }
+            // Update game state, including the usedWords set from Firebase
+            updateGameState(config, players, round, status, firebaseUsedWords);
 
             // Check for newly eliminated players
-            if (currentGame != null) {
-                for (Player player : players) {
-                    if (player.isEliminated() && previouslyActivePlayers.contains(player.getId())) {
-                        // This player was just eliminated
-                        if (updateListener != null) {
-                            updateListener.onPlayerEliminated(player);
-                        }
-                    }
+            for (String changedId : playerReconciler.getChanges().keySet()) {
+                Player player = playerReconciler.getPlayer(changedId);
+                if (player != null && player.isEliminated()
+                        && playerReconciler.hasChanged(changedId, PlayerReconciler.ELIMINATED)) {
+                    // This player was just eliminated
+                    postEvent(GameEvent.playerEliminated(player));
                 }
             }
 
-            // If this is a new round, clear the processed rounds for the previous round
-            if (isNewRound && "active".equals(status)) {
-                // Only keep the current round ID in the set
-                processedRounds.clear();
-                processedPlayers.clear(); // Also clear processed players set
-            }
-
             // Notify listeners of state changes
-            notifyStateChanges(status, round, players, isNewRound);
+            notifyStateChanges(enteredPhase ? phase : null, round, players);
 
             // End round if everyone has submitted
-            if (shouldEndRound) {
-                System.out.println("TELEPATHY: All players have submitted words, ending round");
-                endCurrentRound();
-            }
+            endRoundIfAllSubmitted(players);
         } catch (Exception e) {
             System.out.println("TELEPATHY_ERROR: " + e.getMessage());
             e.printStackTrace();
-            if (updateListener != null) {
-                updateListener.onError("Error processing game update: " + e.getMessage());
-            }
+            postEvent(GameEvent.error("Error processing game update: " + e.getMessage()));
         }
     }
 
     // Process duplicate words and update Firebase
     private void processDuplicateWords(List<Player> players, GameRound round) {
-        // Reset the processed players set for this round
-        processedPlayers.clear();
-
         // Find duplicate words
         Map<String, List<String>> duplicates = findDuplicateWords(players);
 
@@ -244,8 +393,6 @@ public class GameController {
 
             System.out.println("TELEPATHY: Word '" + duplicateWord + "' was submitted by " +
                     playerIds.size() + " players: " + String.join(", ", playerIds));
-
-            processedPlayers.addAll(playerIds);
         }
 
         // CRITICAL: Do not make any Firebase calls to update lives from here
@@ -253,8 +400,9 @@ public class GameController {
 
         // If we need to update the UI to show which players submitted duplicates,
         // we can do that here, but without modifying the Firebase data
-        if (updateListener != null) {
-            updateListener.onGameStateChanged(currentGame);
+        GameState state = currentState;
+        if (state != null) {
+            postState(state);
         }
     }
 
@@ -264,16 +412,16 @@ public class GameController {
 
     private void scheduleRoundStart(String roundStarterId, long delayMillis) {
         // Cancel any previous scheduled start
-        if (roundStartRunnable != null) {
-            roundStartHandler.removeCallbacks(roundStartRunnable);
+        if (roundStartTimeout != null) {
+            roundStartTimeout.cancel();
         }
 
         // Store the current starter ID
         currentRoundStarterId = roundStarterId;
 
         // Schedule the round start
-        roundStartRunnable = () -> tryStartNextRound(roundStarterId);
-        roundStartHandler.postDelayed(roundStartRunnable, delayMillis);
+        roundStartTimeout = scheduler.schedule(gameId, delayMillis,
+                () -> runOnUpdateThread(() -> tryStartNextRound(roundStarterId)));
 
         System.out.println("TELEPATHY: Scheduled round start in " + (delayMillis / 1000) + " seconds");
     }
@@ -284,8 +432,18 @@ public class GameController {
             return;
         }
 
+        // Leave the start to the authority, we take over through resumeRoundLifecycle if it's gone
+        if (!isRoundAuthority()) {
+            System.out.println("TELEPATHY: Leaving round start to " + roundAuthority.getAuthorityId());
+            return;
+        }
+
         // Clear the current starter ID to prevent duplicate starts
         currentRoundStarterId = null;
+        if (!phases.request(GamePhase.ACTIVE)) {
+            System.out.println("TELEPATHY_DEBUG: Next round already requested");
+            return;
+        }
 
         // Start the round
         System.out.println("TELEPATHY: Triggering next round start");
@@ -298,6 +456,7 @@ public class GameController {
             @Override
             public void onFailure(String error) {
                 System.out.println("TELEPATHY: Failed to start next round: " + error);
+                runOnUpdateThread(() -> phases.requestFailed(GamePhase.ACTIVE));
             }
         });
     }
@@ -335,39 +494,54 @@ public class GameController {
     private boolean checkAllPlayersSubmitted(List<Player> players) {
         boolean allPlayersSubmitted = true;
         int activePlayers = 0;
-        int submittedCount = 0;
-
-        // Add better debugging
-        System.out.println("TELEPATHY_DEBUG: Checking player submissions:");
 
         for (Player player : players) {
             if (!player.isEliminated()) {
                 activePlayers++;
                 String word = player.getCurrentWord();
-                boolean hasSubmitted = word != null && !word.isEmpty();
-
-                System.out.println("TELEPATHY_DEBUG: Player " + player.getUsername() +
-                        " - Submitted: " + hasSubmitted +
-                        (hasSubmitted ? " (word: " + word + ")" : ""));
-
-                if (hasSubmitted) {
-                    submittedCount++;
-                } else {
+                if (word == null || word.isEmpty()) {
                     allPlayersSubmitted = false;
                 }
             }
         }
 
-        System.out.println("TELEPATHY_DEBUG: " + submittedCount + " of " + activePlayers +
-                " active players have submitted words. All submitted: " + allPlayersSubmitted);
-
         // We need at least one active player and all must have submitted
         return allPlayersSubmitted && activePlayers > 0;
     }
 
+    // Ends an active round once every player has submitted. This player's
+    // pending word counts, but the round waits for its write to succeed
+    private void endRoundIfAllSubmitted(List<Player> players) {
+        // Runs for every snapshot while waiting, so only the actual end is logged
+        if (phases.getPhase() != GamePhase.ACTIVE || !checkAllPlayersSubmitted(players)
+                || pendingSubmission.isAwaitingAck() || !isRoundAuthority()) {
+            return;
+        }
+        endCurrentRound();
+    }
+
+    // Republish the current state after the pending word changed, without waiting for a snapshot
+    private void applyPendingSubmission() {
+        GameState state = currentState;
+        if (state == null || state.getCurrentRound() == null) {
+            return;
+        }
+        List<Player> players = pendingSubmission.apply(state.getCurrentRound().getRoundNumber(),
+                playerReconciler.getPlayers());
+        updateGameState(state.getConfig(), players, state.getCurrentRound(), state.getStatus(),
+                state.getUsedWords());
+        if (currentState != state) {
+            postState(currentState);
+        }
+        endRoundIfAllSubmitted(players);
+    }
+
     // Helper method to end the current round
     private void endCurrentRound() {
-        System.out.println("TELEPATHY_DEBUG: Ending current round for game " + gameId);
+        if (!phases.request(GamePhase.ROUND_END)) {
+            return;
+        }
+        System.out.println("TELEPATHY: Ending round " + phases.getRound() + " of game " + gameId);
         firebaseController.endCurrentRound(gameId, new FirebaseController.FirebaseCallback() {
             @Override
             public void onSuccess(Object result) {
@@ -377,9 +551,8 @@ public class GameController {
             @Override
             public void onFailure(String error) {
                 System.out.println("TELEPATHY_DEBUG: Failed to end round: " + error);
-                if (updateListener != null) {
-                    updateListener.onError("Failed to end round: " + error);
-                }
+                runOnUpdateThread(() -> phases.requestFailed(GamePhase.ROUND_END));
+                postEvent(GameEvent.error("Failed to end round: " + error));
             }
         });
     }
@@ -389,8 +562,6 @@ public class GameController {
         GameConfig config = new GameConfig();
         Map<String, Object> configData = (Map<String, Object>) gameData.get("config");
         if (configData != null) {
-            System.out.println("TELEPATHY_DEBUG: Raw config data from Firebase: " + configData);
-
             // Safely convert numeric values which might be Long from Firebase
             Object timeLimitObj = configData.get("timeLimit");
             if (timeLimitObj instanceof Long) {
@@ -412,13 +583,40 @@ public class GameController {
             if (matchingModeObj instanceof Boolean) {
                 config.setMatchingMode((Boolean) matchingModeObj);
             }
-            System.out.println("TELEPATHY_DEBUG: Extracted matchingMode: " + config.isMatchingMode());
 
             config.setSelectedCategory((String) configData.get("selectedCategory"));
         }
         return config;
     }
 
+    private void listenForOwnPlayer() {
+        if (ownPlayerListener != null) {
+            return;
+        }
+        ownPlayerListener = new DataStore.ValueListener() {
+            @Override
+            public void onValueChanged(Object value) {
+                if (!(value instanceof Map)) {
+                    return;
+                }
+                Map<String, Object> playersData = new HashMap<>();
+                playersData.put(currentPlayerId, value);
+                runOnUpdateThread(() -> {
+                    ownPlayersData = playersData;
+                    if (lastGameData != null) {
+                        processGameUpdate(lastGameData);
+                    }
+                });
+            }
+
+            @Override
+            public void onCancelled(String error) {
+                System.out.println("TELEPATHY_ERROR: Own player listener cancelled: " + error);
+            }
+        };
+        firebaseController.listenForGamePlayer(gameId, currentPlayerId, ownPlayerListener);
+    }
+
     // Extract player data from Firebase
     private List<Player> extractPlayers(Map<String, Object> gameData) {
         List<Player> players = new ArrayList<>();
@@ -455,11 +653,13 @@ public class GameController {
 
     // Handle timer expiration
     public void handleTimerExpired() {
-        // Only end the round if it's still active
-        if (currentGame != null && "active".equals(currentGame.getStatus())) {
-            System.out.println("TELEPATHY_DEBUG: Timer expired, ending round");
-            endCurrentRound();
-        }
+        runOnUpdateThread(() -> {
+            // Only end the round if it's still active
+            if (phases.getPhase() == GamePhase.ACTIVE && isRoundAuthority()) {
+                System.out.println("TELEPATHY_DEBUG: Timer expired, ending round");
+                endCurrentRound();
+            }
+        });
     }
 
     private void checkGameEndCondition(List<Player> players) {
@@ -477,23 +677,26 @@ public class GameController {
         if (activePlayers <= 1) {
             // Update game status to gameEnd
             Map<String, Object> updates = new HashMap<>();
-            updates.put("status", "gameEnd");
+            updates.put("status", GamePhase.GAME_END.getStatus());
 
             // If there's a winner (one player left), mark them as winner
             if (activePlayers == 1 && lastActivePlayer != null) {
                 updates.put("winnerId", lastActivePlayer.getId());
             }
 
-            // Update game status in Firebase
-            database.child("games").child(gameId).updateChildren(updates)
-                    .addOnCompleteListener(task -> {
-                        if (task.isSuccessful()) {
-                            Log.d("TELEPATHY", "Game ended successfully");
-                        } else {
-                            Log.e("TELEPATHY", "Failed to end game: " +
-                                    (task.getException() != null ? task.getException().getMessage() : "unknown error"));
-                        }
-                    });
+            // Update game status through the game data store
+            firebaseController.updateGameData(gameId, updates, new FirebaseController.FirebaseCallback() {
+                @Override
+                public void onSuccess(Object result) {
+                    Log.d("TELEPATHY", "Game ended successfully");
+                    firebaseController.recordGameResults(gameId);
+                }
+
+                @Override
+                public void onFailure(String error) {
+                    Log.e("TELEPATHY", "Failed to end game: " + error);
+                }
+            });
         }
     }
 
@@ -517,122 +720,118 @@ public class GameController {
                 round.setEndTime((Long) endTimeObj);
             }
 
-            // Get words for this round
-            List<String> words = new ArrayList<>();
+            // Get words for this round, the prepared list when the round was prefetched
             Object wordsObj = roundData.get("words");
-            if (wordsObj instanceof List) {
-                List<Object> wordsData = (List<Object>) wordsObj;
-                for (Object word : wordsData) {
-                    if (word instanceof String) {
-                        words.add((String) word);
-                    }
-                }
-            }
-            round.setWords(words);
+            round.setWords(prefetcher.words(round.getRoundNumber(),
+                    wordsObj instanceof List ? (List<?>) wordsObj : null));
         }
         return round;
     }
 
-    // Check if this is a new round
-    private boolean isNewRound(GameRound round) {
-        return currentGame == null ||
-                currentGame.getCurrentRound() == null ||
-                currentGame.getCurrentRound().getRoundNumber() != round.getRoundNumber();
+    // Swap in the state built from the update, sharing what didn't change
+    private void updateGameState(GameConfig config, List<Player> players, GameRound round, String status,
+            Set<String> usedWords) {
+        GameState previous = currentState;
+        currentState = previous == null
+                ? GameState.of(gameId, config, players, round, status, usedWords)
+                : previous.next(config, players, round, status, usedWords);
     }
 
-    // Update the game state with new data
-    private void updateGameState(GameConfig config, List<Player> players, GameRound round, String status) {
-        if (currentGame == null) {
-            currentGame = new Game(gameId, config, players);
-        } else {
-            currentGame.setConfig(config);
-            currentGame.setPlayers(players);
-        }
-        currentGame.setCurrentRound(round);
-        currentGame.setStatus(status);
-    }
-
-    private boolean isProcessingRoundEnd = false;
-
-    private void notifyStateChanges(String status, GameRound round, List<Player> players, boolean isNewRound) {
-        if (updateListener != null) {
-            updateListener.onGameStateChanged(currentGame);
-
-            // Notify about new round if applicable
-            if (isNewRound && "active".equals(status)) {
-                updateListener.onRoundStart(round);
-            } else if ("roundEnd".equals(status) && !isProcessingRoundEnd) {
-                isProcessingRoundEnd = true;
-                updateListener.onRoundEnd(round);
-                // Add a delay before allowing another round end to be processed
-                new Handler().postDelayed(() -> isProcessingRoundEnd = false, 3000);
-            } else if ("gameEnd".equals(status)) {
-                if (currentGame.getConfig().isMatchingMode()) {
-                    // In matching mode, the current player is a winner if they matched
-                    boolean isWinner = false;
-                    String currentWord = null;
-
-                    // Get current player's word
-                    for (Player player : players) {
-                        if (player.getId().equals(currentPlayerId)) {
-                            currentWord = player.getCurrentWord();
-                            break;
-                        }
+    // enteredPhase is the phase this update moved the game to, null when it stayed in its phase
+    private void notifyStateChanges(GamePhase enteredPhase, GameRound round, List<Player> players) {
+        GameState state = currentState;
+        postState(state);
+
+        // Each phase is announced once
+        if (enteredPhase == GamePhase.ACTIVE) {
+            postEvent(GameEvent.roundStarted(round));
+        } else if (enteredPhase == GamePhase.ROUND_END) {
+            postEvent(GameEvent.roundEnded(round));
+        } else if (enteredPhase == GamePhase.GAME_END) {
+            if (state.getConfig().isMatchingMode()) {
+                // In matching mode, the current player is a winner if they matched
+                boolean isWinner = false;
+                String currentWord = null;
+
+                // Get current player's word
+                for (Player player : players) {
+                    if (player.getId().equals(currentPlayerId)) {
+                        currentWord = player.getCurrentWord();
+                        break;
                     }
+                }
 
-                    // Check if any other player has the same word
-                    if (currentWord != null && !currentWord.isEmpty()) {
-                        for (Player player : players) {
-                            if (!player.getId().equals(currentPlayerId) &&
-                                    currentWord.equals(player.getCurrentWord())) {
-                                isWinner = true;
-                                break;
-                            }
+                // Check if any other player has the same word
+                if (currentWord != null && !currentWord.isEmpty()) {
+                    for (Player player : players) {
+                        if (!player.getId().equals(currentPlayerId) &&
+                                currentWord.equals(player.getCurrentWord())) {
+                            isWinner = true;
+                            break;
                         }
                     }
+                }
 
-                    if (isWinner) {
-                        // Current player matched, show they won
-                        updateListener.onGameEnd(null); // null indicates matching win
-                    } else {
-                        // Current player didn't match, show they lost
-                        Player winner = null; // No specific winner to show
-                        updateListener.onGameEnd(winner);
-                    }
+                if (isWinner) {
+                    // Current player matched, show they won
+                    postEvent(GameEvent.gameOver(null)); // null indicates matching win
                 } else {
-                    // Classic mode - find the last player standing
-                    Player winner = null;
-                    for (Player player : players) {
-                        if (!player.isEliminated()) {
-                            winner = player;
-                            break;
-                        }
+                    // Current player didn't match, show they lost
+                    Player winner = null; // No specific winner to show
+                    postEvent(GameEvent.gameOver(winner));
+                }
+            } else {
+                // Classic mode - find the last player standing
+                Player winner = null;
+                for (Player player : players) {
+                    if (!player.isEliminated()) {
+                        winner = player;
+                        break;
                     }
-                    updateListener.onGameEnd(winner);
                 }
+                postEvent(GameEvent.gameOver(winner));
             }
         }
     }
 
     public void submitWord(String word) {
-        firebaseController.submitWord(gameId, currentPlayerId, word, new FirebaseController.FirebaseCallback() {
+        GameState game = currentState;
+        // Show the word as submitted right away, the write settles or rolls it back
+        if (game != null && game.getCurrentRound() != null) {
+            pendingSubmission.submit(game.getCurrentRound().getRoundNumber(), word);
+            runOnUpdateThread(this::applyPendingSubmission);
+        }
+        FirebaseController.FirebaseCallback callback = new FirebaseController.FirebaseCallback() {
             @Override
             public void onSuccess(Object result) {
                 // Word submitted successfully
                 System.out.println("TELEPATHY: Word successfully submitted: " + word);
+                pendingSubmission.acknowledge(word);
+                runOnUpdateThread(GameController.this::applyPendingSubmission);
             }
 
             @Override
             public void onFailure(String error) {
-                if (updateListener != null) {
-                    updateListener.onError("Failed to submit word: " + error);
-                }
+                boolean rolledBack = pendingSubmission.reject(word);
+                runOnUpdateThread(() -> {
+                    if (rolledBack) {
+                        applyPendingSubmission();
+                    }
+                    postEvent(GameEvent.submissionFailed(word, error));
+                });
             }
-        });
+        };
+        if (massive && game != null && game.getCurrentRound() != null) {
+            firebaseController.submitMassiveWord(gameId, game.getCurrentRound().getRoundNumber(),
+                    currentPlayerId, word, callback);
+        } else {
+            firebaseController.submitWord(gameId, currentPlayerId, word, callback);
+        }
     }
 
     public void validateWord(String word, ValidationCallback callback) {
-        System.out.println("TELEPATHY_DEBUG: what mode are we in? " + currentGame.getConfig().isMatchingMode());
+        // The latest state the UI was given, later updates don't change it
+        GameState game = currentState;
         // Create default callback if none provided
         ValidationCallback actualCallback = callback != null ? callback : new ValidationCallback() {
             @Override
@@ -642,65 +841,32 @@ public class GameController {
 
             @Override
             public void onError(String errorMessage) {
-                // Default error handling uses updateListener
-                if (updateListener != null) {
-                    updateListener.onError(errorMessage);
-                }
+                // Default error handling goes to the event stream
+                postEvent(GameEvent.error(errorMessage));
             }
         };
 
-        if (word == null || word.trim().isEmpty()) {
-            actualCallback.onError("Word cannot be empty");
+        // Usually answered from the cache filled while the word was typed
+        WordValidator.Result result = wordValidator.validate(word, game);
+        if (!result.isValid()) {
+            actualCallback.onError(result.getMessage());
             return;
         }
 
-        // Normalize the word
-        String normalizedWord = word.trim().toLowerCase();
-
-        // Handle matching mode
-        if (currentGame != null && currentGame.getConfig().isMatchingMode()) {
-            System.out.println("TELEPATHY_DEBUG: letting every word through");
-            submitWord(normalizedWord);
-            System.out.println("TELEPATHY: Player submitted word in matching mode: " + normalizedWord);
-            actualCallback.onSuccess();
-            return;
-        }
-
-        // Regular mode validation
-        if (currentGame != null && currentGame.getCurrentRound() != null) {
-            System.out.println("TELEPATHY_DEBUG: Normal mode validation");
-            List<String> validWords = currentGame.getCurrentRound().getWords();
-
-            if (validWords != null) {
-                // Check if word has already been used by ANY player in any round
-                if (currentGame.isWordAlreadyUsed(normalizedWord)) {
-                    actualCallback.onError("This word has already been used in a previous round!");
-                    return;
-                }
-
-                // Check if word is in valid words list
-                if (!validWords.contains(normalizedWord)) {
-                    actualCallback.onError("Word is not in the valid word list for this round");
-                    return;
-                }
-            } else {
-                actualCallback.onError("No valid words available");
-                return;
-            }
-        }
-
         // If validation passes, submit the word
         // IMPORTANT: Don't add to usedWords yet - it will be added at round end
-        submitWord(normalizedWord);
-
-        if (currentGame != null) {
-            // We don't add to used words here anymore
-            System.out.println("TELEPATHY: Player submitted word: " + normalizedWord);
-        }
+        submitWord(result.getWord());
+        System.out.println("TELEPATHY: Player submitted word: " + result.getWord());
 
         actualCallback.onSuccess();
     }
 
+    // Validates the word input in the background once typing pauses. Only the
+    // result for the latest input is delivered, on the validation thread
+    public void checkWordAsTyped(String text, WordValidator.ResultListener listener) {
+        wordValidator.onTextChanged(text, currentState, listener);
+    }
+
     public interface ValidationCallback {
         void onSuccess();
 
@@ -708,14 +874,31 @@ public class GameController {
     }
 
     public void cleanup() {
+        closed = true;
+        dispatcher.close();
+        wordValidator.close();
         if (gameListener != null) {
             firebaseController.removeGameListener(gameId, gameListener);
         }
+        if (ownPlayerListener != null) {
+            firebaseController.removeGamePlayerListener(gameId, currentPlayerId, ownPlayerListener);
+            ownPlayerListener = null;
+        }
 
         // Remove any pending round start
-        if (roundStartRunnable != null) {
-            roundStartHandler.removeCallbacks(roundStartRunnable);
-            roundStartRunnable = null;
+        if (roundStartTimeout != null) {
+            roundStartTimeout.cancel();
+            roundStartTimeout = null;
         }
+
+        // Stop the heartbeat and hand the round authority to the next player
+        if (heartbeatTimeout != null) {
+            heartbeatTimeout.cancel();
+            heartbeatTimeout = null;
+        }
+
+        // Hand the authority over once the update in progress, if any, is done
+        updateExecutor.execute(roundAuthority::release);
+        updateExecutor.shutdown();
     }
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.GameRound;
+import com.example.telepathy.model.Player;
+
+/**
+ * Something that happened in a game, as published on GameController's event
+ * stream. Unlike game states, events are never conflated or dropped.
+ */
+public final class GameEvent {
+    public enum Type {
+        ROUND_STARTED,
+        ROUND_ENDED,
+        PLAYER_ELIMINATED,
+        GAME_OVER,
+        SUBMISSION_FAILED,
+        ERROR
+    }
+
+    private final Type type;
+    private final GameRound round;
+    private final Player player;
+    private final String word;
+    private final String error;
+
+    private GameEvent(Type type, GameRound round, Player player, String word, String error) {
+        this.type = type;
+        this.round = round;
+        this.player = player;
+        this.word = word;
+        this.error = error;
+    }
+
+    public static GameEvent roundStarted(GameRound round) {
+        return new GameEvent(Type.ROUND_STARTED, round, null, null, null);
+    }
+
+    public static GameEvent roundEnded(GameRound round) {
+        return new GameEvent(Type.ROUND_ENDED, round, null, null, null);
+    }
+
+    public static GameEvent playerEliminated(Player player) {
+        return new GameEvent(Type.PLAYER_ELIMINATED, null, player, null, null);
+    }
+
+    // winner is null for a matching mode win or a game without winner
+    public static GameEvent gameOver(Player winner) {
+        return new GameEvent(Type.GAME_OVER, null, winner, null, null);
+    }
+
+    // The write of this player's word failed and the word was taken back
+    public static GameEvent submissionFailed(String word, String error) {
+        return new GameEvent(Type.SUBMISSION_FAILED, null, null, word, error);
+    }
+
+    public static GameEvent error(String error) {
+        return new GameEvent(Type.ERROR, null, null, null, error);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    // Round started or ended
+    public GameRound getRound() {
+        return round;
+    }
+
+    // Eliminated player, or the winner of a game over
+    public Player getPlayer() {
+        return player;
+    }
+
+    // Word of a failed submission
+    public String getWord() {
+        return word;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
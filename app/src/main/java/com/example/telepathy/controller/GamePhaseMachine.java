@@ -0,0 +1,100 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.GamePhase;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tracks the phase of one game by round number.
+ *
+ * enter() takes the phase each snapshot reports and only accepts one that
+ * comes after the current phase: a later round, a later phase of the same
+ * round, or the game end. Repeated and stale snapshots are dropped, so the
+ * work of a phase (duplicate word checks, round events) runs once per round.
+ * request() does the same for this client's own writes, so a round is ended
+ * or started at most once however many triggers fire. Accepted transitions
+ * are kept in a short log for debugging.
+ *
+ * Used from GameController's update thread only.
+ */
+public class GamePhaseMachine {
+    public static final int LOG_SIZE = 32;
+
+    private GamePhase phase = null;
+    private int round = 0;
+    // The last write this client started, cleared when it fails
+    private GamePhase requested = null;
+    private int requestedRound = 0;
+    private final ArrayDeque<String> log = new ArrayDeque<>();
+
+    // Moves to the phase a snapshot reports, returns whether it is a new phase
+    public boolean enter(GamePhase next, int nextRound) {
+        if (!isAfter(next, nextRound, phase, round)) {
+            return false;
+        }
+        record("round " + round + " " + phase + " -> round " + nextRound + " " + next);
+        phase = next;
+        round = nextRound;
+        return true;
+    }
+
+    // Claims the write that moves the game to the target phase, false when the
+    // target does not follow the current phase or was already claimed
+    public boolean request(GamePhase target) {
+        int targetRound = target == GamePhase.ACTIVE ? round + 1 : round;
+        boolean follows = target == GamePhase.GAME_END
+                ? phase != GamePhase.GAME_END
+                : phase == (target == GamePhase.ACTIVE ? GamePhase.ROUND_END : GamePhase.ACTIVE);
+        if (!follows || (requested == target && requestedRound == targetRound)) {
+            return false;
+        }
+        requested = target;
+        requestedRound = targetRound;
+        record("requested round " + targetRound + " " + target);
+        return true;
+    }
+
+    // The claimed write failed, it may be tried again
+    public void requestFailed(GamePhase target) {
+        if (requested == target) {
+            record("request for round " + requestedRound + " " + target + " failed");
+            requested = null;
+        }
+    }
+
+    public GamePhase getPhase() {
+        return phase;
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    // Oldest first
+    public List<String> getLog() {
+        return new ArrayList<>(log);
+    }
+
+    // Whether a phase of a round comes after another, anything comes after no phase at all
+    static boolean isAfter(GamePhase next, int nextRound, GamePhase current, int currentRound) {
+        if (next == null || current == GamePhase.GAME_END) {
+            return false;
+        }
+        if (current == null || next == GamePhase.GAME_END) {
+            return true;
+        }
+        if (nextRound != currentRound) {
+            return nextRound > currentRound;
+        }
+        return next.ordinal() > current.ordinal();
+    }
+
+    private void record(String entry) {
+        if (log.size() == LOG_SIZE) {
+            log.removeFirst();
+        }
+        log.addLast(entry);
+    }
+}
@@ -0,0 +1,295 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.utils.Clock;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Owns the deadlines of running games: round ends, next round starts,
+ * countdown ticks and heartbeats.
+ *
+ * Timeouts sit in a hashed timer wheel, a ring of buckets one tick wide.
+ * Scheduling and cancelling are O(1), and each tick only looks at one bucket
+ * no matter how many games are waiting. Tasks run on the scheduler's thread
+ * and must hand real work over to their own thread (the UI thread, a game's
+ * update thread). Every timeout belongs to a game, and cancelGame drops all of
+ * them at once when the game's screen or driver goes away.
+ *
+ * Time comes from a Clock. Tests use their own instance with a virtual clock
+ * and call advance() instead of start().
+ */
+public class GameScheduler {
+    public static final long TICK_MS = 10;
+    // A lap of the wheel is about 5 seconds, later deadlines wait for their lap
+    public static final int WHEEL_SIZE = 512;
+
+    private static GameScheduler instance;
+
+    // A countdown's view of its ticks, see countdown
+    public interface Countdown {
+        void onTick(long millisLeft);
+
+        void onFinish();
+    }
+
+    // One scheduled task, cancel it to stop it from running (again)
+    public final class Timeout {
+        private final String gameId;
+        private final Runnable task;
+        private final long periodMs;
+        private final long sequence;
+        private long deadline;
+        private long deadlineTick;
+        private boolean cancelled = false;
+        // Cancelled along with this one
+        private Timeout companion;
+
+        private Timeout(String gameId, long deadline, long periodMs, Runnable task, long sequence) {
+            this.gameId = gameId;
+            this.deadline = deadline;
+            this.periodMs = periodMs;
+            this.task = task;
+            this.sequence = sequence;
+        }
+
+        public void cancel() {
+            Timeout other;
+            synchronized (GameScheduler.this) {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+                // Left in its bucket, dropped when the wheel gets there
+                untrack(this);
+                other = companion;
+            }
+            if (other != null) {
+                other.cancel();
+            }
+        }
+
+        // Cancelled, or a one-off task that has run
+        public boolean isDone() {
+            synchronized (GameScheduler.this) {
+                return cancelled;
+            }
+        }
+
+        public long getDeadline() {
+            synchronized (GameScheduler.this) {
+                return deadline;
+            }
+        }
+    }
+
+    private final Clock clock;
+    private final long tickMs;
+    private final List<Timeout>[] wheel;
+    private final int mask;
+    private final Map<String, Set<Timeout>> byGame = new HashMap<>();
+    // Next tick to process
+    private long currentTick;
+    private long sequence = 0;
+    private int pending = 0;
+    private Thread thread;
+
+    public GameScheduler(Clock clock, long tickMs, int wheelSize) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.clock = clock;
+        this.tickMs = tickMs;
+        this.wheel = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+        this.mask = wheelSize - 1;
+        this.currentTick = clock.now() / tickMs;
+    }
+
+    public static synchronized GameScheduler getInstance() {
+        if (instance == null) {
+            instance = new GameScheduler(Clock.SYSTEM, TICK_MS, WHEEL_SIZE);
+            instance.start();
+        }
+        return instance;
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    // Run a task once after a delay
+    public Timeout schedule(String gameId, long delayMs, Runnable task) {
+        return add(gameId, Math.max(0, delayMs), 0, task);
+    }
+
+    // Run a task after a delay and then every period until cancelled
+    public Timeout scheduleRepeating(String gameId, long initialDelayMs, long periodMs, Runnable task) {
+        if (periodMs <= 0) {
+            throw new IllegalArgumentException("Period must be positive: " + periodMs);
+        }
+        return add(gameId, Math.max(0, initialDelayMs), periodMs, task);
+    }
+
+    // Tick now and every interval until the duration is up, then finish. Cancelling the result stops both
+    public Timeout countdown(String gameId, long durationMs, long intervalMs, Countdown countdown) {
+        long end = clock.now() + durationMs;
+        Timeout ticks = scheduleRepeating(gameId, 0, intervalMs, () -> {
+            long left = end - clock.now();
+            if (left > 0) {
+                countdown.onTick(left);
+            }
+        });
+        Timeout finish = schedule(gameId, durationMs, () -> {
+            ticks.cancel();
+            countdown.onFinish();
+        });
+        synchronized (this) {
+            finish.companion = ticks;
+        }
+        return finish;
+    }
+
+    // Drops every timeout of a game
+    public void cancelGame(String gameId) {
+        List<Timeout> timeouts;
+        synchronized (this) {
+            Set<Timeout> scheduled = byGame.get(gameId);
+            if (scheduled == null) {
+                return;
+            }
+            timeouts = new ArrayList<>(scheduled);
+        }
+        for (Timeout timeout : timeouts) {
+            timeout.cancel();
+        }
+    }
+
+    public synchronized int getPendingCount() {
+        return pending;
+    }
+
+    // Runs every task that is due by the clock's time, in deadline order
+    public void advance() {
+        long now = clock.now();
+        long nowTick = now / tickMs;
+        List<Timeout> due = new ArrayList<>();
+        synchronized (this) {
+            if (nowTick < currentTick) {
+                return;
+            }
+            // A long pause only needs one pass over the wheel
+            long ticks = Math.min(nowTick - currentTick + 1, wheel.length);
+            for (long tick = currentTick; tick < currentTick + ticks; tick++) {
+                Iterator<Timeout> bucket = wheel[(int) (tick & mask)].iterator();
+                while (bucket.hasNext()) {
+                    Timeout timeout = bucket.next();
+                    if (timeout.cancelled) {
+                        bucket.remove();
+                    } else if (timeout.deadlineTick <= nowTick) {
+                        bucket.remove();
+                        due.add(timeout);
+                    }
+                }
+            }
+            currentTick = nowTick + 1;
+        }
+        due.sort((a, b) -> a.deadline != b.deadline
+                ? Long.compare(a.deadline, b.deadline) : Long.compare(a.sequence, b.sequence));
+
+        for (Timeout timeout : due) {
+            synchronized (this) {
+                if (timeout.cancelled) {
+                    continue;
+                }
+                if (timeout.periodMs == 0) {
+                    timeout.cancelled = true;
+                    untrack(timeout);
+                }
+            }
+            try {
+                timeout.task.run();
+            } catch (RuntimeException e) {
+                System.out.println("TELEPATHY_ERROR: Scheduled task of game " + timeout.gameId
+                        + " failed: " + e.getMessage());
+            }
+            synchronized (this) {
+                if (timeout.periodMs > 0 && !timeout.cancelled) {
+                    // Next run from the planned time, skipping runs missed during a pause
+                    long next = timeout.deadline + timeout.periodMs;
+                    if (next <= now) {
+                        next = now + timeout.periodMs - (now - timeout.deadline) % timeout.periodMs;
+                    }
+                    timeout.deadline = next;
+                    place(timeout);
+                }
+            }
+        }
+    }
+
+    // Drive the wheel from a background thread on the system clock
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        thread = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(tickMs);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                advance();
+            }
+        }, "game-scheduler");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    private Timeout add(String gameId, long delayMs, long periodMs, Runnable task) {
+        long deadline = clock.now() + delayMs;
+        synchronized (this) {
+            Timeout timeout = new Timeout(gameId, deadline, periodMs, task, sequence++);
+            Set<Timeout> scheduled = byGame.get(gameId);
+            if (scheduled == null) {
+                scheduled = new HashSet<>();
+                byGame.put(gameId, scheduled);
+            }
+            scheduled.add(timeout);
+            pending++;
+            place(timeout);
+            return timeout;
+        }
+    }
+
+    // Put a timeout in the bucket of its deadline, due ones go in the next bucket processed
+    private void place(Timeout timeout) {
+        long tick = (timeout.deadline + tickMs - 1) / tickMs;
+        timeout.deadlineTick = Math.max(tick, currentTick);
+        wheel[(int) (timeout.deadlineTick & mask)].add(timeout);
+    }
+
+    private void untrack(Timeout timeout) {
+        Set<Timeout> scheduled = byGame.get(timeout.gameId);
+        if (scheduled != null && scheduled.remove(timeout)) {
+            pending--;
+            if (scheduled.isEmpty()) {
+                byGame.remove(timeout.gameId);
+            }
+        }
+    }
+}
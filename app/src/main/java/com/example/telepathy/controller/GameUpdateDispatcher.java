@@ -0,0 +1,169 @@
+package com.example.telepathy.controller;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+import com.example.telepathy.model.GameState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * GameController's state and event streams, delivered to the UI once per
+ * display frame.
+ *
+ * Game states are conflated: however many arrive between two frames, and
+ * however long a slow subscriber holds up the UI thread, subscribers only get
+ * the latest. A new state subscriber is given the last delivered state right
+ * away. Events (round start and end, eliminations, game over, errors) are
+ * never dropped and run in the order they were posted. A state posted before
+ * an event is still delivered before it, as the screen handles events with
+ * the players it was last given, so a frame with a round end in it delivers
+ * the state at the round end and then the latest one.
+ *
+ * Subscribing, cancelling and delivery all happen on the UI thread, posting
+ * may happen on any thread.
+ */
+public class GameUpdateDispatcher {
+    // Runs a task on the UI thread at the next frame
+    public interface FrameScheduler {
+        void scheduleFrame(Runnable frame);
+    }
+
+    public interface Subscriber<T> {
+        void onNext(T value);
+    }
+
+    public interface Subscription {
+        void cancel();
+    }
+
+    private final FrameScheduler frames;
+    private final List<Subscriber<GameState>> stateSubscribers = new CopyOnWriteArrayList<>();
+    private final List<Subscriber<GameEvent>> eventSubscribers = new CopyOnWriteArrayList<>();
+    // Last state delivered, replayed to new subscribers
+    private GameState deliveredState;
+
+    private final Object lock = new Object();
+    // Latest state since the last event
+    private GameState pendingState;
+    // States followed by an event, and the events, in order
+    private List<Runnable> pendingEvents = new ArrayList<>();
+    private boolean frameScheduled = false;
+    private boolean closed = false;
+
+    public GameUpdateDispatcher(FrameScheduler frames) {
+        this.frames = frames;
+    }
+
+    // Frames of the main thread's Choreographer
+    public static FrameScheduler choreographer() {
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        return frame -> mainHandler.post(
+                () -> Choreographer.getInstance().postFrameCallback(frameTimeNanos -> frame.run()));
+    }
+
+    public Subscription subscribeStates(Subscriber<GameState> subscriber) {
+        stateSubscribers.add(subscriber);
+        if (deliveredState != null) {
+            subscriber.onNext(deliveredState);
+        }
+        return () -> stateSubscribers.remove(subscriber);
+    }
+
+    public Subscription subscribeEvents(Subscriber<GameEvent> subscriber) {
+        eventSubscribers.add(subscriber);
+        return () -> eventSubscribers.remove(subscriber);
+    }
+
+    // Replaces any state not delivered yet
+    public void postState(GameState state) {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            pendingState = state;
+            scheduleFrame();
+        }
+    }
+
+    public void postEvent(GameEvent event) {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            if (pendingState != null) {
+                GameState state = pendingState;
+                pendingEvents.add(() -> deliverState(state));
+                pendingState = null;
+            }
+            pendingEvents.add(() -> deliverEvent(event));
+            scheduleFrame();
+        }
+    }
+
+    // Drops everything not delivered yet and ignores later posts
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            pendingState = null;
+            pendingEvents = new ArrayList<>();
+        }
+        stateSubscribers.clear();
+        eventSubscribers.clear();
+    }
+
+    private void scheduleFrame() {
+        if (!frameScheduled) {
+            frameScheduled = true;
+            frames.scheduleFrame(this::onFrame);
+        }
+    }
+
+    // On the UI thread
+    void onFrame() {
+        GameState state;
+        List<Runnable> events;
+        synchronized (lock) {
+            frameScheduled = false;
+            if (closed) {
+                return;
+            }
+            state = pendingState;
+            events = pendingEvents;
+            pendingState = null;
+            pendingEvents = new ArrayList<>();
+        }
+
+        for (Runnable event : events) {
+            if (isClosed()) {
+                return;
+            }
+            event.run();
+        }
+        if (state != null && !isClosed()) {
+            deliverState(state);
+        }
+    }
+
+    private void deliverState(GameState state) {
+        deliveredState = state;
+        for (Subscriber<GameState> subscriber : stateSubscribers) {
+            subscriber.onNext(state);
+        }
+    }
+
+    private void deliverEvent(GameEvent event) {
+        for (Subscriber<GameEvent> subscriber : eventSubscribers) {
+            subscriber.onNext(event);
+        }
+    }
+
+    private boolean isClosed() {
+        synchronized (lock) {
+            return closed;
+        }
+    }
+}
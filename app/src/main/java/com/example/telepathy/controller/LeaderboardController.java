@@ -0,0 +1,119 @@
+package com.example.telepathy.controller;
+
+import androidx.annotation.NonNull;
+
+import com.example.telepathy.model.User;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Global leaderboard backed by one indexed query:
+ * users.orderByChild("totalScore").limitToLast(N).
+ *
+ * The query stays attached while anyone is watching the leaderboard, so the
+ * cached ranking is only replaced when the listener reports a change in the
+ * top N. Requires ".indexOn": ["totalScore"] on users in the database rules.
+ */
+public class LeaderboardController {
+    public static final int DEFAULT_SIZE = 20;
+
+    private static LeaderboardController instance;
+
+    private final List<FirebaseController.FirebaseCallback> subscribers = new ArrayList<>();
+    private List<User> cachedRanking;
+    private int cachedSize;
+    private Query query;
+    private ValueEventListener queryListener;
+
+    private LeaderboardController() {
+    }
+
+    public static synchronized LeaderboardController getInstance() {
+        if (instance == null) {
+            instance = new LeaderboardController();
+        }
+        return instance;
+    }
+
+    /**
+     * Receive the top players, highest total score first. The cached ranking
+     * is delivered right away, later changes as they happen.
+     */
+    public void listenForLeaderboard(int size, FirebaseController.FirebaseCallback callback) {
+        subscribers.add(callback);
+        if (cachedRanking != null && cachedSize >= size) {
+            callback.onSuccess(new ArrayList<>(cachedRanking));
+        }
+        if (query == null || cachedSize < size) {
+            attachQuery(size);
+        }
+    }
+
+    public void removeLeaderboardListener(FirebaseController.FirebaseCallback callback) {
+        subscribers.remove(callback);
+        if (subscribers.isEmpty()) {
+            // The cached ranking is kept for an instant first render next time
+            detachQuery();
+        }
+    }
+
+    // Last known ranking, may be stale while nobody is listening
+    public List<User> getCachedRanking() {
+        return cachedRanking != null ? new ArrayList<>(cachedRanking) : Collections.emptyList();
+    }
+
+    private void attachQuery(int size) {
+        detachQuery();
+        cachedSize = size;
+        query = FirebaseDatabase.getInstance().getReference()
+                .child("users")
+                .orderByChild("totalScore")
+                .limitToLast(size);
+        queryListener = new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                List<User> ranking = new ArrayList<>();
+                for (DataSnapshot child : snapshot.getChildren()) {
+                    User user = child.getValue(User.class);
+                    if (user != null) {
+                        if (user.getId() == null) {
+                            user.setId(child.getKey());
+                        }
+                        ranking.add(user);
+                    }
+                }
+                // limitToLast returns ascending order
+                Collections.reverse(ranking);
+                cachedRanking = ranking;
+                System.out.println("TELEPATHY: Leaderboard updated, " + ranking.size() + " players");
+
+                for (FirebaseController.FirebaseCallback subscriber : new ArrayList<>(subscribers)) {
+                    subscriber.onSuccess(new ArrayList<>(ranking));
+                }
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                for (FirebaseController.FirebaseCallback subscriber : new ArrayList<>(subscribers)) {
+                    subscriber.onFailure("Failed to load leaderboard: " + error.getMessage());
+                }
+            }
+        };
+        query.addValueEventListener(queryListener);
+    }
+
+    private void detachQuery() {
+        if (query != null && queryListener != null) {
+            query.removeEventListener(queryListener);
+        }
+        query = null;
+        queryListener = null;
+    }
+}
@@ -0,0 +1,434 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.GamePhase;
+import com.example.telepathy.model.datastore.DataStore;
+import com.example.telepathy.utils.Constants;
+import com.example.telepathy.utils.HeavyHitterSketch;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Round end for massive games (more than Constants.MASSIVE_PLAYER_THRESHOLD
+ * players), which don't fit the one-node-per-game layout.
+ *
+ * Player records live in gamePlayers/{gameId}/{playerId}, so every player
+ * syncs only their own record plus the aggregates on the game node.
+ * Submissions go to submissions/{gameId}/{round}/{shard}/{playerId} with the
+ * shard picked by hashing the player ID, so no single node takes every
+ * write. At round end the shards are tallied in parallel and the players are
+ * scored in parallel chunks on a fork/join pool, with classic mode rules.
+ *
+ * Rounds of Constants.SKETCH_TALLY_MIN_PLAYERS players or more are tallied in
+ * two streaming passes instead: a HeavyHitterSketch rules out every word seen
+ * once, and only the remaining candidates are counted exactly.
+ */
+public class MassiveRoundResolver {
+    // Players per leaf task when scoring
+    private static final int PLAYER_CHUNK = 512;
+    // Most collided words kept in the round aggregates
+    private static final int TOP_COLLISIONS = 5;
+    // Space-Saving counters of the sketch, every word in more than 1/256 of the repeats is kept
+    private static final int SKETCH_COUNTERS = 256;
+
+    private final DataStore dataStore;
+    private final ForkJoinPool pool;
+
+    public MassiveRoundResolver(DataStore dataStore) {
+        this(dataStore, ForkJoinPool.commonPool());
+    }
+
+    MassiveRoundResolver(DataStore dataStore, ForkJoinPool pool) {
+        this.dataStore = dataStore;
+        this.pool = pool;
+    }
+
+    public static boolean isMassive(Map<String, Object> gameData) {
+        Object configObj = gameData.get("config");
+        return configObj instanceof Map && Boolean.TRUE.equals(((Map<String, Object>) configObj).get("massive"));
+    }
+
+    public static int shardOf(String playerId) {
+        return Math.floorMod(playerId.hashCode(), Constants.MASSIVE_SHARDS);
+    }
+
+    public static String submissionPath(String gameId, int roundNumber, String playerId) {
+        return Constants.SUBMISSIONS_PATH + "/" + gameId + "/" + roundNumber + "/" + shardOf(playerId) + "/"
+                + playerId;
+    }
+
+    // Submissions of one round by shard, and how often their words were submitted
+    static class Tally {
+        final List<Map<String, Object>> shards;
+        // Exact counts, of every word or only of the candidates the sketch left
+        final Map<String, Integer> wordCounts;
+        final HeavyHitterSketch sketch;
+        final int submissions;
+
+        Tally(List<Map<String, Object>> shards, Map<String, Integer> wordCounts, HeavyHitterSketch sketch,
+                int submissions) {
+            this.shards = shards;
+            this.wordCounts = wordCounts;
+            this.sketch = sketch;
+            this.submissions = submissions;
+        }
+
+        String wordOf(String playerId) {
+            Map<String, Object> shard = shards.get(shardOf(playerId));
+            return shard != null ? normalize(shard.get(playerId)) : null;
+        }
+
+        boolean isUnique(String word) {
+            if (sketch != null && sketch.estimate(word) <= 1) {
+                return true;
+            }
+            Integer count = wordCounts.get(word);
+            return count != null && count == 1;
+        }
+
+        int collidedWords() {
+            int collided = 0;
+            for (int count : wordCounts.values()) {
+                if (count > 1) {
+                    collided++;
+                }
+            }
+            return collided;
+        }
+
+        // Most collided words with their exact counts, largest first
+        List<Map<String, Object>> topCollisions(int k) {
+            Iterable<String> candidates = sketch != null ? sketch.top(SKETCH_COUNTERS) : wordCounts.keySet();
+            List<Map.Entry<String, Integer>> collided = new ArrayList<>();
+            for (String word : candidates) {
+                Integer count = wordCounts.get(word);
+                if (count != null && count > 1) {
+                    collided.add(new AbstractMap.SimpleEntry<>(word, count));
+                }
+            }
+            collided.sort((a, b) -> a.getValue().equals(b.getValue()) ? a.getKey().compareTo(b.getKey())
+                    : Integer.compare(b.getValue(), a.getValue()));
+
+            List<Map<String, Object>> top = new ArrayList<>();
+            for (Map.Entry<String, Integer> entry : collided.subList(0, Math.min(k, collided.size()))) {
+                Map<String, Object> word = new HashMap<>();
+                word.put("word", entry.getKey());
+                word.put("count", entry.getValue());
+                top.add(word);
+            }
+            return top;
+        }
+    }
+
+    // Result of scoring the players, updates are relative to gamePlayers/{gameId}
+    static class Outcome {
+        final Map<String, Object> playerUpdates = new HashMap<>();
+        int remaining = 0;
+        int eliminated = 0;
+        String lastActivePlayerId;
+
+        Outcome merge(Outcome other) {
+            playerUpdates.putAll(other.playerUpdates);
+            remaining += other.remaining;
+            eliminated += other.eliminated;
+            if (other.lastActivePlayerId != null) {
+                lastActivePlayerId = other.lastActivePlayerId;
+            }
+            return this;
+        }
+    }
+
+    /**
+     * End the round: tally, score, write the player records and then the
+     * game node. The callback receives the number of players still in.
+     */
+    public void endRound(String gameId, int roundNumber, DataStore.Callback callback) {
+        String playersPath = Constants.GAME_PLAYERS_PATH + "/" + gameId;
+        String roundPath = Constants.SUBMISSIONS_PATH + "/" + gameId + "/" + roundNumber;
+        dataStore.get(playersPath, new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object playersValue) {
+                dataStore.get(roundPath, new DataStore.Callback() {
+                    @Override
+                    public void onSuccess(Object submissionsValue) {
+                        Map<String, Object> players = playersValue instanceof Map
+                                ? (Map<String, Object>) playersValue : new HashMap<>();
+                        List<Map<String, Object>> shards = shards(submissionsValue);
+                        Tally tally = players.size() >= Constants.SKETCH_TALLY_MIN_PLAYERS
+                                ? sketchTally(shards) : tally(shards);
+                        Outcome outcome = score(players, tally);
+                        writeOutcome(gameId, roundNumber, players, tally, outcome, callback);
+                    }
+
+                    @Override
+                    public void onFailure(String error) {
+                        callback.onFailure("Failed to read submissions: " + error);
+                    }
+                });
+            }
+
+            @Override
+            public void onFailure(String error) {
+                callback.onFailure("Failed to read players: " + error);
+            }
+        });
+    }
+
+    private void writeOutcome(String gameId, int roundNumber, Map<String, Object> players, Tally tally,
+            Outcome outcome, DataStore.Callback callback) {
+        Map<String, Object> rootUpdates = new HashMap<>();
+        for (Map.Entry<String, Object> entry : outcome.playerUpdates.entrySet()) {
+            rootUpdates.put(Constants.GAME_PLAYERS_PATH + "/" + gameId + "/" + entry.getKey(), entry.getValue());
+        }
+        // Submissions are only needed until the round is resolved
+        rootUpdates.put(Constants.SUBMISSIONS_PATH + "/" + gameId + "/" + roundNumber, null);
+
+        Map<String, Object> gameUpdates = new HashMap<>();
+        for (Map<String, Object> shard : tally.shards) {
+            if (shard == null) {
+                continue;
+            }
+            for (Object value : shard.values()) {
+                String word = normalize(value);
+                if (word != null) {
+                    gameUpdates.put("usedWords/" + word, true);
+                }
+            }
+        }
+        int collisions = tally.collidedWords();
+
+        Map<String, Object> aggregates = new HashMap<>();
+        aggregates.put("round", roundNumber);
+        aggregates.put("players", players.size());
+        aggregates.put("activePlayers", outcome.remaining);
+        aggregates.put("submissions", tally.submissions);
+        aggregates.put("collidedWords", collisions);
+        aggregates.put("topCollisions", tally.topCollisions(TOP_COLLISIONS));
+        aggregates.put("eliminated", outcome.eliminated);
+        gameUpdates.put("aggregates", aggregates);
+        gameUpdates.put("status", GamePhase.ROUND_END.getStatus());
+        if (outcome.remaining == 1 && outcome.lastActivePlayerId != null) {
+            gameUpdates.put("winnerId", outcome.lastActivePlayerId);
+        }
+
+        System.out.println("TELEPATHY: Massive round " + roundNumber + " of game " + gameId + ": "
+                + tally.submissions + " submissions, " + collisions + " collided words, "
+                + outcome.remaining + " players left");
+
+        // Player records first, so nobody sees roundEnd before their own result
+        dataStore.updateChildren("", rootUpdates, new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object result) {
+                dataStore.updateChildren("games/" + gameId, gameUpdates, new DataStore.Callback() {
+                    @Override
+                    public void onSuccess(Object result) {
+                        callback.onSuccess(outcome.remaining);
+                    }
+
+                    @Override
+                    public void onFailure(String error) {
+                        callback.onFailure("Failed to update game: " + error);
+                    }
+                });
+            }
+
+            @Override
+            public void onFailure(String error) {
+                callback.onFailure("Failed to update players: " + error);
+            }
+        });
+    }
+
+    // Submission buckets of a round indexed by shard, Firebase returns small integer keys as a list
+    static List<Map<String, Object>> shards(Object submissionsValue) {
+        List<Map<String, Object>> shards = new ArrayList<>();
+        for (int i = 0; i < Constants.MASSIVE_SHARDS; i++) {
+            shards.add(null);
+        }
+        if (submissionsValue instanceof Map) {
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) submissionsValue).entrySet()) {
+                int shard;
+                try {
+                    shard = Integer.parseInt(entry.getKey());
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                if (shard >= 0 && shard < shards.size() && entry.getValue() instanceof Map) {
+                    shards.set(shard, (Map<String, Object>) entry.getValue());
+                }
+            }
+        } else if (submissionsValue instanceof List) {
+            List<?> buckets = (List<?>) submissionsValue;
+            for (int i = 0; i < Math.min(buckets.size(), shards.size()); i++) {
+                if (buckets.get(i) instanceof Map) {
+                    shards.set(i, (Map<String, Object>) buckets.get(i));
+                }
+            }
+        }
+        return shards;
+    }
+
+    // Exact counts of every word, shards are counted in parallel
+    Tally tally(List<Map<String, Object>> shards) {
+        Map<String, Integer> wordCounts = pool.invoke(new TallyTask(shards, 0, shards.size(), null));
+        int submissions = 0;
+        for (int count : wordCounts.values()) {
+            submissions += count;
+        }
+        return new Tally(shards, wordCounts, null, submissions);
+    }
+
+    // Two streaming passes, exact counts only for words the sketch can't rule out
+    Tally sketchTally(List<Map<String, Object>> shards) {
+        int expected = 0;
+        for (Map<String, Object> shard : shards) {
+            expected += shard != null ? shard.size() : 0;
+        }
+        HeavyHitterSketch sketch = new HeavyHitterSketch(expected, SKETCH_COUNTERS);
+        int submissions = 0;
+        for (Map<String, Object> shard : shards) {
+            if (shard == null) {
+                continue;
+            }
+            for (Object value : shard.values()) {
+                String word = normalize(value);
+                if (word != null) {
+                    sketch.add(word);
+                    submissions++;
+                }
+            }
+        }
+
+        // The sketch is only read from here on, so the second pass runs in parallel
+        Map<String, Integer> candidateCounts = pool.invoke(new TallyTask(shards, 0, shards.size(), sketch));
+        return new Tally(shards, candidateCounts, sketch, submissions);
+    }
+
+    Outcome score(Map<String, Object> players, Tally tally) {
+        List<Map.Entry<String, Object>> entries = new ArrayList<>(players.entrySet());
+        Outcome outcome = pool.invoke(new ScoreTask(entries, 0, entries.size(), tally));
+
+        // Last player standing gets the winner bonus on top of this round's score
+        if (outcome.remaining == 1 && outcome.lastActivePlayerId != null) {
+            String winnerId = outcome.lastActivePlayerId;
+            Object newScore = outcome.playerUpdates.get(winnerId + "/score");
+            long score = newScore instanceof Number ? ((Number) newScore).longValue()
+                    : toLong(((Map<String, Object>) players.get(winnerId)).get("score"));
+            outcome.playerUpdates.put(winnerId + "/score", score + 100);
+        }
+        return outcome;
+    }
+
+    // Counts the words of a range of shards, splitting until one shard per task.
+    // With a sketch only the words it can't rule out are counted.
+    private static class TallyTask extends RecursiveTask<Map<String, Integer>> {
+        private final List<Map<String, Object>> shards;
+        private final int from;
+        private final int to;
+        private final HeavyHitterSketch sketch;
+
+        TallyTask(List<Map<String, Object>> shards, int from, int to, HeavyHitterSketch sketch) {
+            this.shards = shards;
+            this.from = from;
+            this.to = to;
+            this.sketch = sketch;
+        }
+
+        @Override
+        protected Map<String, Integer> compute() {
+            if (to - from <= 1) {
+                Map<String, Integer> counts = new HashMap<>();
+                if (from < to && shards.get(from) != null) {
+                    for (Object value : shards.get(from).values()) {
+                        String word = normalize(value);
+                        if (word != null && (sketch == null || sketch.estimate(word) > 1)) {
+                            counts.merge(word, 1, Integer::sum);
+                        }
+                    }
+                }
+                return counts;
+            }
+            int middle = (from + to) >>> 1;
+            TallyTask left = new TallyTask(shards, from, middle, sketch);
+            left.fork();
+            Map<String, Integer> counts = new TallyTask(shards, middle, to, sketch).compute();
+            for (Map.Entry<String, Integer> entry : left.join().entrySet()) {
+                counts.merge(entry.getKey(), entry.getValue(), Integer::sum);
+            }
+            return counts;
+        }
+    }
+
+    // Classic mode rules for a range of players
+    private static class ScoreTask extends RecursiveTask<Outcome> {
+        private final List<Map.Entry<String, Object>> players;
+        private final int from;
+        private final int to;
+        private final Tally tally;
+
+        ScoreTask(List<Map.Entry<String, Object>> players, int from, int to, Tally tally) {
+            this.players = players;
+            this.from = from;
+            this.to = to;
+            this.tally = tally;
+        }
+
+        @Override
+        protected Outcome compute() {
+            if (to - from > PLAYER_CHUNK) {
+                int middle = (from + to) >>> 1;
+                ScoreTask left = new ScoreTask(players, from, middle, tally);
+                left.fork();
+                Outcome right = new ScoreTask(players, middle, to, tally).compute();
+                return left.join().merge(right);
+            }
+
+            Outcome outcome = new Outcome();
+            for (int i = from; i < to; i++) {
+                String playerId = players.get(i).getKey();
+                if (!(players.get(i).getValue() instanceof Map)) {
+                    continue;
+                }
+                Map<String, Object> player = (Map<String, Object>) players.get(i).getValue();
+                if (Boolean.TRUE.equals(player.get("eliminated"))) {
+                    continue;
+                }
+
+                String word = tally.wordOf(playerId);
+                if (word != null && tally.isUnique(word)) {
+                    // Unique word
+                    outcome.playerUpdates.put(playerId + "/score", toLong(player.get("score")) + 10);
+                } else {
+                    // Duplicate word or nothing submitted
+                    long lives = toLong(player.get("lives")) - 1;
+                    outcome.playerUpdates.put(playerId + "/lives", lives);
+                    if (lives <= 0) {
+                        outcome.playerUpdates.put(playerId + "/eliminated", true);
+                        outcome.eliminated++;
+                        continue;
+                    }
+                }
+                outcome.remaining++;
+                outcome.lastActivePlayerId = playerId;
+            }
+            return outcome;
+        }
+    }
+
+    private static String normalize(Object value) {
+        if (!(value instanceof String)) {
+            return null;
+        }
+        String word = ((String) value).trim().toLowerCase();
+        return word.isEmpty() ? null : word;
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+}
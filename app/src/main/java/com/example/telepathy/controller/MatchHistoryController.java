@@ -0,0 +1,96 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.MatchSummary;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.Query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pages through userGames/{uid}, newest first.
+ *
+ * Entries are keyed by game ID, and game IDs are chronological push keys,
+ * so a page is orderByKey().endBefore(cursor).limitToLast(PAGE_SIZE) where
+ * the cursor is the oldest game of the previous page. Loaded pages are
+ * cached by cursor, scrolling back over them costs nothing.
+ */
+public class MatchHistoryController {
+    public static final int PAGE_SIZE = 20;
+
+    // Cursor of the first page
+    private static final String FIRST_PAGE = "";
+
+    private static MatchHistoryController instance;
+
+    private String cachedUserId;
+    private final Map<String, List<MatchSummary>> pageCache = new HashMap<>();
+
+    private MatchHistoryController() {
+    }
+
+    public static synchronized MatchHistoryController getInstance() {
+        if (instance == null) {
+            instance = new MatchHistoryController();
+        }
+        return instance;
+    }
+
+    /**
+     * Load the page of games older than beforeGameId, or the newest page if it
+     * is null. A page shorter than PAGE_SIZE is the last one.
+     */
+    public void loadPage(String userId, String beforeGameId, FirebaseController.FirebaseCallback callback) {
+        if (!userId.equals(cachedUserId)) {
+            pageCache.clear();
+            cachedUserId = userId;
+        }
+        String cursor = beforeGameId != null ? beforeGameId : FIRST_PAGE;
+        List<MatchSummary> cached = pageCache.get(cursor);
+        if (cached != null) {
+            callback.onSuccess(new ArrayList<>(cached));
+            return;
+        }
+
+        Query query = FirebaseDatabase.getInstance().getReference()
+                .child("userGames")
+                .child(userId)
+                .orderByKey();
+        if (beforeGameId != null) {
+            query = query.endBefore(beforeGameId);
+        }
+        query.limitToLast(PAGE_SIZE).get()
+                .addOnCompleteListener(task -> {
+                    if (!task.isSuccessful() || task.getResult() == null) {
+                        callback.onFailure(task.getException() != null ? task.getException().getMessage()
+                                : "Failed to load match history");
+                        return;
+                    }
+
+                    List<MatchSummary> page = new ArrayList<>();
+                    for (DataSnapshot child : task.getResult().getChildren()) {
+                        MatchSummary summary = child.getValue(MatchSummary.class);
+                        if (summary != null) {
+                            summary.setGameId(child.getKey());
+                            page.add(summary);
+                        }
+                    }
+                    // limitToLast returns oldest first
+                    Collections.reverse(page);
+
+                    if (userId.equals(cachedUserId)) {
+                        pageCache.put(cursor, page);
+                    }
+                    callback.onSuccess(new ArrayList<>(page));
+                });
+    }
+
+    // Drop cached pages, e.g. after finishing a game or on pull to refresh
+    public void invalidate() {
+        pageCache.clear();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This player's word from the moment it is submitted until a snapshot
+ * shows it.
+ *
+ * GameController lays the pending word over each snapshot's players, so the
+ * player list and the all-submitted check see the submission at once instead
+ * of after the write and the next snapshot. A snapshot that has the word, or
+ * a snapshot of a later round, settles it. A rejected write rolls it back and
+ * the players are shown as the snapshots have them again.
+ *
+ * Submitted from the UI thread, applied on GameController's update thread.
+ */
+public class PendingSubmission {
+    private final String playerId;
+    private int roundNumber;
+    private String word;
+    private boolean acknowledged;
+
+    public PendingSubmission(String playerId) {
+        this.playerId = playerId;
+    }
+
+    public synchronized void submit(int roundNumber, String word) {
+        this.roundNumber = roundNumber;
+        this.word = word;
+        this.acknowledged = false;
+    }
+
+    // The write of the word succeeded, it shows up in a coming snapshot
+    public synchronized void acknowledge(String word) {
+        if (word.equals(this.word)) {
+            acknowledged = true;
+        }
+    }
+
+    // The write of the word failed, returns whether it was still pending
+    public synchronized boolean reject(String word) {
+        if (!word.equals(this.word)) {
+            return false;
+        }
+        this.word = null;
+        return true;
+    }
+
+    // A word is pending and its write has not succeeded yet
+    public synchronized boolean isAwaitingAck() {
+        return word != null && !acknowledged;
+    }
+
+    public synchronized String getWord() {
+        return word;
+    }
+
+    // The snapshot's players with the pending word applied, the same list when there is nothing to apply.
+    // Settles the word when the snapshot already has it or belongs to another round
+    public synchronized List<Player> apply(int roundNumber, List<Player> players) {
+        if (word == null) {
+            return players;
+        }
+        if (roundNumber != this.roundNumber) {
+            word = null;
+            return players;
+        }
+
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            if (!player.getId().equals(playerId)) {
+                continue;
+            }
+            String current = player.getCurrentWord();
+            if (current != null && !current.isEmpty()) {
+                // The snapshot has this player's word, ours or not, and it wins
+                word = null;
+                return players;
+            }
+            List<Player> applied = new ArrayList<>(players);
+            applied.set(i, withWord(player, word));
+            return Collections.unmodifiableList(applied);
+        }
+        return players;
+    }
+
+    // A copy, the snapshot's player may be part of a published GameState
+    private static Player withWord(Player player, String word) {
+        Player copy = new Player(player.getId(), player.getUsername());
+        copy.setScore(player.getScore());
+        copy.setLives(player.getLives());
+        copy.setHost(player.isHost());
+        copy.setEliminated(player.isEliminated());
+        copy.setCurrentWord(word);
+        return copy;
+    }
+}
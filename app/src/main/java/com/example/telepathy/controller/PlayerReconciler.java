@@ -0,0 +1,138 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps one Player per ID across game snapshots.
+ *
+ * Each snapshot's player data is compared field by field with the players
+ * from the previous one. A player whose fields are all unchanged stays the
+ * same object, and when no player changed the player list is the same list,
+ * so a steady-state update allocates no players at all. A changed player is
+ * replaced by an updated copy rather than modified, as the one before may
+ * still be part of a GameState the screen is showing. getChanges reports which
+ * fields of which players the last snapshot changed.
+ *
+ * Used from GameController's update thread only.
+ */
+public class PlayerReconciler {
+    public static final int USERNAME = 1;
+    public static final int SCORE = 1 << 1;
+    public static final int LIVES = 1 << 2;
+    public static final int ELIMINATED = 1 << 3;
+    public static final int CURRENT_WORD = 1 << 4;
+    public static final int ADDED = 1 << 5;
+    public static final int REMOVED = 1 << 6;
+
+    // Players by ID in the order they first appeared
+    private final Map<String, Player> players = new LinkedHashMap<>();
+    private List<Player> playerList = Collections.emptyList();
+    // Changed fields by player ID, for the last snapshot only
+    private final Map<String, Integer> changes = new LinkedHashMap<>();
+
+    // Applies the "players" node of a snapshot, returns whether any player changed
+    public boolean reconcile(Map<String, Object> playersData) {
+        changes.clear();
+        int present = 0;
+        if (playersData != null) {
+            for (Map.Entry<String, Object> entry : playersData.entrySet()) {
+                if (!(entry.getValue() instanceof Map)) {
+                    continue;
+                }
+                present++;
+                Map<String, Object> playerData = (Map<String, Object>) entry.getValue();
+                Player current = players.get(entry.getKey());
+                int changed = current == null ? ADDED : diff(current, playerData);
+                if (changed != 0) {
+                    // Replacing the value keeps the player's position
+                    players.put(entry.getKey(), toPlayer(entry.getKey(), playerData));
+                    changes.put(entry.getKey(), changed);
+                }
+            }
+        }
+
+        // Players that left the game
+        if (players.size() > present) {
+            Iterator<String> ids = players.keySet().iterator();
+            while (ids.hasNext()) {
+                String id = ids.next();
+                Object playerData = playersData != null ? playersData.get(id) : null;
+                if (!(playerData instanceof Map)) {
+                    ids.remove();
+                    changes.put(id, REMOVED);
+                }
+            }
+        }
+
+        if (changes.isEmpty()) {
+            return false;
+        }
+        playerList = Collections.unmodifiableList(new ArrayList<>(players.values()));
+        return true;
+    }
+
+    // Same list object until a player changes, read only
+    public List<Player> getPlayers() {
+        return playerList;
+    }
+
+    public Player getPlayer(String id) {
+        return players.get(id);
+    }
+
+    // Changed fields of each player the last snapshot changed, by ID
+    public Map<String, Integer> getChanges() {
+        return changes;
+    }
+
+    // Whether the last snapshot changed the given fields of a player
+    public boolean hasChanged(String id, int fields) {
+        Integer changed = changes.get(id);
+        return changed != null && (changed & fields) != 0;
+    }
+
+    // Fields of the player that differ from the snapshot data
+    static int diff(Player player, Map<String, Object> playerData) {
+        int changed = 0;
+        if (!Objects.equals(player.getUsername(), playerData.get("username"))) {
+            changed |= USERNAME;
+        }
+        if (player.getScore() != intValue(playerData.get("score"), 0)) {
+            changed |= SCORE;
+        }
+        if (player.getLives() != intValue(playerData.get("lives"), 0)) {
+            changed |= LIVES;
+        }
+        if (player.isEliminated() != Boolean.TRUE.equals(playerData.get("eliminated"))) {
+            changed |= ELIMINATED;
+        }
+        if (!Objects.equals(player.getCurrentWord(), playerData.get("currentWord"))) {
+            changed |= CURRENT_WORD;
+        }
+        return changed;
+    }
+
+    // Same conversion as GameController.extractPlayers
+    static Player toPlayer(String id, Map<String, Object> playerData) {
+        Player player = new Player();
+        player.setId(id);
+        player.setUsername((String) playerData.get("username"));
+        player.setScore(intValue(playerData.get("score"), 0));
+        player.setLives(intValue(playerData.get("lives"), 0));
+        player.setEliminated(Boolean.TRUE.equals(playerData.get("eliminated")));
+        player.setCurrentWord((String) playerData.get("currentWord"));
+        return player;
+    }
+
+    private static int intValue(Object value, int fallback) {
+        return value instanceof Long ? ((Long) value).intValue() : fallback;
+    }
+}
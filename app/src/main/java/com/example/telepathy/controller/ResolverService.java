@@ -0,0 +1,241 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.GamePhase;
+import com.example.telepathy.model.datastore.DataStore;
+import com.example.telepathy.utils.Clock;
+import com.example.telepathy.utils.Constants;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Headless driver for the rounds of many games at once.
+ *
+ * Picks up the games listed under resolverQueue, watches each of them and
+ * runs RoundResolver when a round is complete, its timer runs out or the
+ * next round is due. Every game has its own serial executor on a shared
+ * thread pool: the events of one game are handled one at a time and in order,
+ * while thousands of games share a handful of threads. Round timers live in
+ * a GameScheduler and only post back to the game's executor.
+ *
+ * Games started with serverAuthoritative in their config are left to the
+ * service completely, their clients only submit words and render.
+ */
+public class ResolverService {
+    private final DataStore dataStore;
+    private final RoundResolver resolver;
+    private final ExecutorService workers;
+    private final GameScheduler timers;
+    private final Map<String, GameDriver> games = new ConcurrentHashMap<>();
+    private DataStore.ValueListener queueListener;
+
+    public ResolverService(DataStore dataStore, int threads) {
+        this(dataStore, new RoundResolver(dataStore), threads);
+    }
+
+    ResolverService(DataStore dataStore, RoundResolver resolver, int threads) {
+        this.dataStore = dataStore;
+        this.resolver = resolver;
+        this.workers = Executors.newFixedThreadPool(threads);
+        this.timers = new GameScheduler(Clock.SYSTEM, GameScheduler.TICK_MS, GameScheduler.WHEEL_SIZE);
+    }
+
+    // Follow resolverQueue, driving games as they are added
+    public void start() {
+        timers.start();
+        queueListener = new DataStore.ValueListener() {
+            @Override
+            public void onValueChanged(Object value) {
+                Set<String> queued = value instanceof Map
+                        ? new HashSet<>(((Map<String, Object>) value).keySet()) : new HashSet<>();
+                for (String gameId : queued) {
+                    addGame(gameId);
+                }
+            }
+
+            @Override
+            public void onCancelled(String error) {
+                System.out.println("TELEPATHY_ERROR: Resolver queue listener cancelled: " + error);
+            }
+        };
+        dataStore.addValueListener(Constants.RESOLVER_QUEUE_PATH, queueListener);
+    }
+
+    public void stop() {
+        if (queueListener != null) {
+            dataStore.removeValueListener(Constants.RESOLVER_QUEUE_PATH, queueListener);
+            queueListener = null;
+        }
+        for (String gameId : games.keySet()) {
+            removeGame(gameId);
+        }
+        timers.stop();
+        workers.shutdown();
+    }
+
+    public void addGame(String gameId) {
+        GameDriver driver = new GameDriver(gameId);
+        if (games.putIfAbsent(gameId, driver) == null) {
+            dataStore.addValueListener("games/" + gameId, driver);
+        }
+    }
+
+    public void removeGame(String gameId) {
+        GameDriver driver = games.remove(gameId);
+        if (driver != null) {
+            dataStore.removeValueListener("games/" + gameId, driver);
+            timers.cancelGame(gameId);
+        }
+    }
+
+    public int getActiveGameCount() {
+        return games.size();
+    }
+
+    // Runs tasks one at a time and in order on a shared executor
+    static class SerialExecutor implements Executor {
+        private final Executor delegate;
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean running = false;
+
+        SerialExecutor(Executor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public synchronized void execute(Runnable task) {
+            tasks.add(task);
+            if (!running) {
+                running = true;
+                delegate.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Runnable task;
+                synchronized (this) {
+                    task = tasks.poll();
+                    if (task == null) {
+                        running = false;
+                        return;
+                    }
+                }
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    System.out.println("TELEPATHY_ERROR: Resolver task failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Watches one game and moves it along, all work runs on the game's executor
+    private class GameDriver implements DataStore.ValueListener {
+        private final String gameId;
+        private final SerialExecutor executor = new SerialExecutor(workers);
+        private final SpectatorPublisher spectators;
+        private volatile Map<String, Object> latest;
+        private String timerKey;
+        private GameScheduler.Timeout timer;
+        private boolean flushScheduled = false;
+
+        GameDriver(String gameId) {
+            this.gameId = gameId;
+            this.spectators = new SpectatorPublisher(dataStore, gameId);
+        }
+
+        @Override
+        public void onValueChanged(Object value) {
+            // May be called on the writer's thread, only hand over
+            latest = value instanceof Map ? (Map<String, Object>) value : null;
+            executor.execute(this::evaluate);
+        }
+
+        @Override
+        public void onCancelled(String error) {
+            System.out.println("TELEPATHY_ERROR: Lost game " + gameId + ": " + error);
+            removeGame(gameId);
+        }
+
+        private void evaluate() {
+            Map<String, Object> gameData = latest;
+            if (gameData == null) {
+                return;
+            }
+            GamePhase phase = GamePhase.fromStatus(gameData.get("status"));
+            long now = System.currentTimeMillis();
+
+            if (spectators.onGameData(gameData, now) && !flushScheduled) {
+                flushScheduled = true;
+                timers.schedule(gameId, spectators.getIntervalMs(), () -> executor.execute(() -> {
+                    flushScheduled = false;
+                    spectators.flush(System.currentTimeMillis());
+                }));
+            }
+
+            if (phase == GamePhase.ACTIVE) {
+                Map<String, Object> roundData = (Map<String, Object>) gameData.get("currentRound");
+                long endTime = roundData != null && roundData.get("endTime") instanceof Number
+                        ? ((Number) roundData.get("endTime")).longValue() : 0;
+                if (RoundResolver.allPlayersSubmitted(gameData) || (endTime > 0 && endTime <= now)) {
+                    resolver.endCurrentRound(gameId, logFailures("end round"));
+                } else if (endTime > 0) {
+                    scheduleAt("end" + roundData.get("roundNumber"), endTime, now);
+                }
+            } else if (phase == GamePhase.ROUND_END) {
+                Object nextRoundStartTimeObj = gameData.get("nextRoundStartTime");
+                Object roundStarterIdObj = gameData.get("roundStarterId");
+                if (nextRoundStartTimeObj instanceof Number && roundStarterIdObj != null) {
+                    long startTime = ((Number) nextRoundStartTimeObj).longValue();
+                    if (startTime <= now) {
+                        resolver.startNextRound(gameId, logFailures("start round"));
+                    } else {
+                        scheduleAt("start" + roundStarterIdObj, startTime, now);
+                    }
+                }
+            } else if (phase == GamePhase.GAME_END) {
+                removeGame(gameId);
+                dataStore.removeValue(Constants.RESOLVER_QUEUE_PATH + "/" + gameId, null);
+            }
+        }
+
+        // Re-evaluate at the given time, once per key
+        private void scheduleAt(String key, long time, long now) {
+            if (key.equals(timerKey)) {
+                return;
+            }
+            cancelTimer();
+            timerKey = key;
+            timer = timers.schedule(gameId, time - now, () -> executor.execute(this::evaluate));
+        }
+
+        private void cancelTimer() {
+            if (timer != null) {
+                timer.cancel();
+                timer = null;
+            }
+        }
+
+        private DataStore.Callback logFailures(String action) {
+            return new DataStore.Callback() {
+                @Override
+                public void onSuccess(Object result) {
+                }
+
+                @Override
+                public void onFailure(String error) {
+                    System.out.println("TELEPATHY_ERROR: Resolver failed to " + action + " of game " + gameId
+                            + ": " + error);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.datastore.DataStore;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lease on the right to move a game from round to round, stored at
+ * games/{id}/authority as {id, leaseUntil}.
+ *
+ * Only the authority ends rounds and starts the next one. It renews the lease
+ * on every heartbeat. When the lease runs out the other players take over in
+ * a fixed order (active players by ID, then eliminated ones): the first
+ * successor may claim as soon as the lease expires, the next one
+ * CLAIM_STAGGER_MS later, and so on. A departed authority is therefore
+ * replaced within LEASE_MS + rank * CLAIM_STAGGER_MS plus one heartbeat.
+ * Renewals and claims are transactions, so two players never both hold a
+ * valid lease. All times are server time (see ServerClock), lease ends are
+ * compared between devices whose own clocks may disagree by minutes.
+ *
+ * Transaction callbacks arrive on the data store's thread, so the lease
+ * state is guarded by this object. onGained runs on that thread too, outside
+ * the lock; callers hand it over to their own thread.
+ */
+public class RoundAuthority {
+    public static final long LEASE_MS = 6000;
+    public static final long HEARTBEAT_INTERVAL_MS = 2000;
+    public static final long CLAIM_STAGGER_MS = 2000;
+
+    private final DataStore dataStore;
+    private final String path;
+    private final String playerId;
+
+    private String authorityId;
+    private long leaseUntil;
+    private Map<String, Object> playersData = new HashMap<>();
+    private boolean transactionPending = false;
+
+    RoundAuthority(DataStore dataStore, String gameId, String playerId) {
+        this.dataStore = dataStore;
+        this.path = "games/" + gameId + "/authority";
+        this.playerId = playerId;
+    }
+
+    // Initial lease, written with the game by whoever starts it
+    static Map<String, Object> lease(String authorityId, long leaseUntil) {
+        Map<String, Object> lease = new HashMap<>();
+        lease.put("id", authorityId);
+        lease.put("leaseUntil", leaseUntil);
+        return lease;
+    }
+
+    // Update the cached lease and players from the latest game data
+    public synchronized void onGameData(Map<String, Object> gameData) {
+        Object playersObj = gameData.get("players");
+        playersData = playersObj instanceof Map ? (Map<String, Object>) playersObj : new HashMap<>();
+        readLease(gameData.get("authority"));
+    }
+
+    public synchronized boolean isAuthority(long now) {
+        return playerId.equals(authorityId) && now < leaseUntil;
+    }
+
+    public synchronized String getAuthorityId() {
+        return authorityId;
+    }
+
+    /**
+     * Heartbeat: renew the lease if we hold it, or claim it if it ran out and
+     * it is our turn. onGained runs when we become the authority.
+     */
+    public synchronized void tick(long now, Runnable onGained) {
+        if (transactionPending) {
+            return;
+        }
+        if (playerId.equals(authorityId)) {
+            renew(now, onGained);
+            return;
+        }
+
+        int rank = successionOrder(playersData, authorityId).indexOf(playerId);
+        if (rank >= 0 && now >= leaseUntil + rank * CLAIM_STAGGER_MS) {
+            claim(now, onGained);
+        }
+    }
+
+    // Give up the lease when leaving the game so the successor takes over at once
+    public synchronized void release() {
+        if (!playerId.equals(authorityId)) {
+            return;
+        }
+        dataStore.runTransaction(path, current -> {
+            Map<String, Object> lease = current instanceof Map ? (Map<String, Object>) current : null;
+            if (lease == null || !playerId.equals(lease.get("id"))) {
+                return DataStore.ABORT;
+            }
+            return lease(playerId, 0L);
+        }, null);
+        leaseUntil = 0;
+    }
+
+    private void renew(long now, Runnable onGained) {
+        boolean wasAuthority = isAuthority(now);
+        transactionPending = true;
+        dataStore.runTransaction(path, current -> {
+            Map<String, Object> lease = current instanceof Map ? (Map<String, Object>) current : null;
+            if (lease == null || !playerId.equals(lease.get("id"))) {
+                return DataStore.ABORT;
+            }
+            return lease(playerId, now + LEASE_MS);
+        }, new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object committed) {
+                synchronized (RoundAuthority.this) {
+                    transactionPending = false;
+                    if (!Boolean.TRUE.equals(committed)) {
+                        System.out.println("TELEPATHY_WARNING: Lost round authority");
+                        authorityId = null;
+                        return;
+                    }
+                    leaseUntil = Math.max(leaseUntil, now + LEASE_MS);
+                }
+                if (!wasAuthority && onGained != null) {
+                    // Our lease had lapsed locally, catch up on anything we skipped
+                    onGained.run();
+                }
+            }
+
+            @Override
+            public void onFailure(String error) {
+                synchronized (RoundAuthority.this) {
+                    transactionPending = false;
+                }
+                System.out.println("TELEPATHY_ERROR: Failed to renew round authority: " + error);
+            }
+        });
+    }
+
+    private void claim(long now, Runnable onGained) {
+        transactionPending = true;
+        dataStore.runTransaction(path, current -> {
+            Map<String, Object> lease = current instanceof Map ? (Map<String, Object>) current : null;
+            if (lease != null && leaseEnd(lease) > now) {
+                return DataStore.ABORT; // Renewed or already claimed by someone else
+            }
+            return lease(playerId, now + LEASE_MS);
+        }, new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object committed) {
+                synchronized (RoundAuthority.this) {
+                    transactionPending = false;
+                    if (!Boolean.TRUE.equals(committed)) {
+                        return;
+                    }
+                    System.out.println("TELEPATHY: Took over round authority from " + authorityId);
+                    authorityId = playerId;
+                    leaseUntil = now + LEASE_MS;
+                }
+                if (onGained != null) {
+                    onGained.run();
+                }
+            }
+
+            @Override
+            public void onFailure(String error) {
+                synchronized (RoundAuthority.this) {
+                    transactionPending = false;
+                }
+                System.out.println("TELEPATHY_ERROR: Failed to claim round authority: " + error);
+            }
+        });
+    }
+
+    private void readLease(Object leaseObj) {
+        if (leaseObj instanceof Map) {
+            Map<String, Object> lease = (Map<String, Object>) leaseObj;
+            authorityId = (String) lease.get("id");
+            leaseUntil = leaseEnd(lease);
+        } else {
+            // Games started before leases existed, anyone may claim
+            authorityId = null;
+            leaseUntil = 0;
+        }
+    }
+
+    private static long leaseEnd(Map<String, Object> lease) {
+        Object leaseUntilObj = lease.get("leaseUntil");
+        return leaseUntilObj instanceof Number ? ((Number) leaseUntilObj).longValue() : 0;
+    }
+
+    // Who takes over from the current authority, in order
+    static List<String> successionOrder(Map<String, Object> playersData, String currentAuthorityId) {
+        List<String> active = new ArrayList<>();
+        List<String> eliminated = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : playersData.entrySet()) {
+            if (entry.getKey().equals(currentAuthorityId)) {
+                continue;
+            }
+            Object playerObj = entry.getValue();
+            boolean isEliminated = playerObj instanceof Map
+                    && Boolean.TRUE.equals(((Map<String, Object>) playerObj).get("eliminated"));
+            (isEliminated ? eliminated : active).add(entry.getKey());
+        }
+        Collections.sort(active);
+        Collections.sort(eliminated);
+        active.addAll(eliminated);
+        return active;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.telepathy.controller;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds the next round's word list and validation index during the
+ * intermission.
+ *
+ * Every round of a game draws from the same dictionary, so once a round has
+ * ended the next one can be prepared from the words of the last. When the
+ * next round's snapshot arrives, its words are only compared with the
+ * prepared list, and the round takes over the prepared list and index instead
+ * of parsing its own. A snapshot with other words replaces the speculation.
+ * Later snapshots of a running round reuse its list the same way.
+ *
+ * prepare and words are called from GameController's update thread only,
+ * getWordIndex from any thread.
+ */
+public class RoundPrefetcher {
+
+    // Words of one round, read only once built
+    private static final class RoundWords {
+        final int roundNumber;
+        final List<String> words;
+        final Set<String> index;
+
+        RoundWords(int roundNumber, List<String> words) {
+            this.roundNumber = roundNumber;
+            this.words = Collections.unmodifiableList(words);
+            this.index = Collections.unmodifiableSet(new HashSet<>(words));
+        }
+
+        // Another round with the same words shares the list and index
+        RoundWords(int roundNumber, RoundWords same) {
+            this.roundNumber = roundNumber;
+            this.words = same.words;
+            this.index = same.index;
+        }
+    }
+
+    private RoundWords next;
+    private volatile RoundWords current;
+    private int hits = 0;
+    private int misses = 0;
+
+    // Speculatively build a round with the given words, usually the words of the round that just ended
+    public void prepare(int roundNumber, List<String> words) {
+        if (words == null || (next != null && next.roundNumber == roundNumber)) {
+            return;
+        }
+        RoundWords known = current;
+        next = known != null && known.words.equals(words)
+                ? new RoundWords(roundNumber, known) : new RoundWords(roundNumber, new ArrayList<>(words));
+    }
+
+    // The words of a round's snapshot, the prepared or current list when they are the same words
+    public List<String> words(int roundNumber, List<?> wordsData) {
+        if (wordsData == null) {
+            wordsData = Collections.emptyList();
+        }
+        RoundWords known = current;
+        if (known != null && known.roundNumber == roundNumber && known.words.equals(wordsData)) {
+            return known.words;
+        }
+        if (next != null && next.roundNumber == roundNumber && next.words.equals(wordsData)) {
+            current = next;
+            next = null;
+            hits++;
+            return current.words;
+        }
+
+        List<String> words = new ArrayList<>(wordsData.size());
+        for (Object word : wordsData) {
+            if (word instanceof String) {
+                words.add((String) word);
+            }
+        }
+        if (next != null && next.roundNumber <= roundNumber) {
+            misses++;
+            next = null;
+        }
+        current = new RoundWords(roundNumber, words);
+        return current.words;
+    }
+
+    // Hash index of a round's words, null before its snapshot arrived
+    public Set<String> getWordIndex(int roundNumber) {
+        RoundWords known = current;
+        return known != null && known.roundNumber == roundNumber ? known.index : null;
+    }
+
+    // Rounds that started with the prepared words
+    public int getHits() {
+        return hits;
+    }
+
+    // Prepared rounds whose snapshot had other words
+    public int getMisses() {
+        return misses;
+    }
+}
@@ -0,0 +1,812 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.GamePhase;
+import com.example.telepathy.model.WordSelection;
+import com.example.telepathy.model.datastore.DataStore;
+import com.example.telepathy.utils.Constants;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The round lifecycle: ending a round (lives, scores, winners), scheduling and
+ * starting the next one, and recording the results of a finished game.
+ *
+ * Pure Java on top of a DataStore, so the same code runs in the app (through
+ * FirebaseController, driven by the round authority) and headless in
+ * ResolverService, which drives many games from one JVM.
+ */
+public class RoundResolver {
+    public static final long NEXT_ROUND_DELAY_MS = 5000;
+    // Time after which a results claim counts as abandoned
+    public static final long RESULTS_CLAIM_TIMEOUT_MS = 30000;
+
+    private final DataStore dataStore;
+    private final WordStatsController wordStatsController;
+    private final MassiveRoundResolver massiveRoundResolver;
+    // Round ends in flight, may be touched from several resolver threads
+    private final Set<String> processingRounds = ConcurrentHashMap.newKeySet();
+    private long nextRoundDelayMs = NEXT_ROUND_DELAY_MS;
+
+    public RoundResolver(DataStore dataStore) {
+        this(dataStore, new WordStatsController(dataStore));
+    }
+
+    RoundResolver(DataStore dataStore, WordStatsController wordStatsController) {
+        this.dataStore = dataStore;
+        this.wordStatsController = wordStatsController;
+        this.massiveRoundResolver = new MassiveRoundResolver(dataStore);
+    }
+
+    // Pause between rounds, shortened by load tests
+    void setNextRoundDelayMs(long nextRoundDelayMs) {
+        this.nextRoundDelayMs = nextRoundDelayMs;
+    }
+
+    // Whether every player still in the game has submitted a word
+    public static boolean allPlayersSubmitted(Map<String, Object> gameData) {
+        Object playersObj = gameData.get("players");
+        if (!(playersObj instanceof Map)) {
+            return false;
+        }
+        int activePlayers = 0;
+        for (Object playerObj : ((Map<String, Object>) playersObj).values()) {
+            if (!(playerObj instanceof Map)) {
+                continue;
+            }
+            Map<String, Object> playerData = (Map<String, Object>) playerObj;
+            if (Boolean.TRUE.equals(playerData.get("eliminated"))) {
+                continue;
+            }
+            activePlayers++;
+            Object word = playerData.get("currentWord");
+            if (!(word instanceof String) || ((String) word).isEmpty()) {
+                return false;
+            }
+        }
+        return activePlayers > 0;
+    }
+
+    // Add every player's final score to users/{id}/totalScore and a summary to
+    // userGames/{id}/{gameId}. Every client may finish the game, the
+    // resultsClaim transaction lets one through at a time and resultsRecorded
+    // is written together with the totals, so a failed or abandoned attempt
+    // leaves the game to the next client.
+    public void recordGameResults(String gameId) {
+        recordGameResults(gameId, new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object result) {
+            }
+
+            @Override
+            public void onFailure(String error) {
+            }
+        });
+    }
+
+    // Calls back with true once this client recorded the results, false if another one did
+    public void recordGameResults(String gameId, DataStore.Callback callback) {
+        String claimId = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+        dataStore.runTransaction("games/" + gameId + "/resultsClaim", current -> {
+            // A claim left by a client that died is taken over once it is stale
+            if (current instanceof Map) {
+                Object claimedAt = ((Map<String, Object>) current).get("claimedAt");
+                if (claimedAt instanceof Number && now - ((Number) claimedAt).longValue() < RESULTS_CLAIM_TIMEOUT_MS) {
+                    return DataStore.ABORT;
+                }
+            }
+            Map<String, Object> claim = new HashMap<>();
+            claim.put("id", claimId);
+            claim.put("claimedAt", now);
+            return claim;
+        }, new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object committed) {
+                if (!Boolean.TRUE.equals(committed)) {
+                    System.out.println("TELEPATHY: Results for game " + gameId + " are being recorded elsewhere");
+                    callback.onSuccess(false);
+                    return;
+                }
+                dataStore.get("games/" + gameId, new DataStore.Callback() {
+                    @Override
+                    public void onSuccess(Object value) {
+                        Map<String, Object> gameData = (Map<String, Object>) value;
+                        if (gameData == null) {
+                            releaseResultsClaim(gameId, claimId);
+                            callback.onFailure("Game data is null");
+                            return;
+                        }
+                        if (Boolean.TRUE.equals(gameData.get("resultsRecorded"))) {
+                            System.out.println("TELEPATHY: Results for game " + gameId + " already recorded");
+                            releaseResultsClaim(gameId, claimId);
+                            callback.onSuccess(false);
+                            return;
+                        }
+                        if (!MassiveRoundResolver.isMassive(gameData)) {
+                            writeGameResults(gameId, claimId, gameData, (Map<String, Object>) gameData.get("players"),
+                                    callback);
+                            return;
+                        }
+                        // Players of massive games are kept outside the game node
+                        dataStore.get(Constants.GAME_PLAYERS_PATH + "/" + gameId, new DataStore.Callback() {
+                            @Override
+                            public void onSuccess(Object playersValue) {
+                                writeGameResults(gameId, claimId, gameData, (Map<String, Object>) playersValue,
+                                        callback);
+                            }
+
+                            @Override
+                            public void onFailure(String error) {
+                                System.out.println("TELEPATHY_ERROR: Failed to read game players: " + error);
+                                releaseResultsClaim(gameId, claimId);
+                                callback.onFailure(error);
+                            }
+                        });
+                    }
+
+                    @Override
+                    public void onFailure(String error) {
+                        System.out.println("TELEPATHY_ERROR: Failed to read game results: " + error);
+                        releaseResultsClaim(gameId, claimId);
+                        callback.onFailure(error);
+                    }
+                });
+            }
+
+            @Override
+            public void onFailure(String error) {
+                System.out.println("TELEPATHY_ERROR: Failed to claim game results: " + error);
+                callback.onFailure(error);
+            }
+        });
+    }
+
+    private void writeGameResults(String gameId, String claimId, Map<String, Object> gameData,
+            Map<String, Object> playersData, DataStore.Callback callback) {
+        if (playersData == null) {
+            releaseResultsClaim(gameId, claimId);
+            callback.onFailure("Game has no players");
+            return;
+        }
+
+        long endedAt = System.currentTimeMillis();
+        Map<String, Object> updates = new HashMap<>();
+        for (Map.Entry<String, Object> entry : playersData.entrySet()) {
+            Map<String, Object> playerData = (Map<String, Object>) entry.getValue();
+            Object scoreObj = playerData != null ? playerData.get("score") : null;
+            long score = scoreObj instanceof Number ? ((Number) scoreObj).longValue() : 0;
+            if (score != 0) {
+                updates.put("users/" + entry.getKey() + "/totalScore", DataStore.increment(score));
+            }
+            updates.put("userGames/" + entry.getKey() + "/" + gameId,
+                    buildMatchSummary(gameData, playersData.size(), entry.getKey(), score, endedAt));
+        }
+        updates.put("games/" + gameId + "/resultsRecorded", true);
+        updates.put("games/" + gameId + "/resultsClaim", null);
+
+        // All totals, history entries and the recorded flag in one atomic multi-path update
+        dataStore.updateChildren("", updates, new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object result) {
+                System.out.println("TELEPATHY: Recorded results of game " + gameId + " for " + playersData.size()
+                        + " players");
+                callback.onSuccess(true);
+            }
+
+            @Override
+            public void onFailure(String error) {
+                System.out.println("TELEPATHY_ERROR: Failed to record results: " + error);
+                releaseResultsClaim(gameId, claimId);
+                callback.onFailure(error);
+            }
+        });
+    }
+
+    // Drops this client's claim so another one can record the results
+    private void releaseResultsClaim(String gameId, String claimId) {
+        dataStore.runTransaction("games/" + gameId + "/resultsClaim",
+                current -> current instanceof Map && claimId.equals(((Map<String, Object>) current).get("id"))
+                        ? null : DataStore.ABORT,
+                new DataStore.Callback() {
+                    @Override
+                    public void onSuccess(Object committed) {
+                    }
+
+                    @Override
+                    public void onFailure(String error) {
+                        System.out.println("TELEPATHY_ERROR: Failed to release results claim: " + error);
+                    }
+                });
+    }
+
+    // History entry of one player, see MatchSummary
+    private Map<String, Object> buildMatchSummary(Map<String, Object> gameData, int playerCount, String playerId,
+            long score, long endedAt) {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("endedAt", endedAt);
+        summary.put("score", score);
+
+        summary.put("playerCount", playerCount);
+
+        Map<String, Object> configData = (Map<String, Object>) gameData.get("config");
+        if (configData != null) {
+            if (configData.get("selectedCategory") instanceof String) {
+                summary.put("category", configData.get("selectedCategory"));
+            }
+            summary.put("matchingMode", Boolean.TRUE.equals(configData.get("matchingMode")));
+        }
+
+        Map<String, Object> roundData = (Map<String, Object>) gameData.get("currentRound");
+        if (roundData != null && roundData.get("roundNumber") instanceof Number) {
+            summary.put("rounds", ((Number) roundData.get("roundNumber")).intValue());
+        }
+
+        // Classic mode has one winner, matching mode can have several
+        boolean won = playerId.equals(gameData.get("winnerId"));
+        Object winnerIds = gameData.get("winnerIds");
+        if (winnerIds instanceof List) {
+            won = won || ((List<?>) winnerIds).contains(playerId);
+        }
+        summary.put("won", won);
+        return summary;
+    }
+
+    public void endCurrentRound(String gameId, DataStore.Callback callback) {
+        System.out.println("TELEPATHY: Ending current round for game " + gameId);
+
+        // Add a flag to track if we're already processing this round
+        final String roundEndKey = "game_" + gameId + "_round_end";
+        if (processingRounds.contains(roundEndKey)) {
+            System.out.println("TELEPATHY_WARNING: Already processing round end for game " + gameId);
+            callback.onSuccess(null);
+            return;
+        }
+        processingRounds.add(roundEndKey);
+
+        dataStore.get("games/" + gameId, new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object value) {
+                try {
+                    Map<String, Object> gameData = (Map<String, Object>) value;
+
+                    if (gameData == null) {
+                        processingRounds.remove(roundEndKey);
+                        callback.onFailure("Game data is null");
+                        return;
+                    }
+
+                    // Another client or the resolver service already ended it
+                    if (GamePhase.fromStatus(gameData.get("status")) != GamePhase.ACTIVE) {
+                        processingRounds.remove(roundEndKey);
+                        System.out.println("TELEPATHY: Round of game " + gameId + " already ended");
+                        callback.onSuccess(null);
+                        return;
+                    }
+
+                    // Get game configuration to check mode
+                    Map<String, Object> configData = (Map<String, Object>) gameData.get("config");
+                    final boolean isMatchingMode;
+                    final String category;
+                    if (configData != null) {
+                        Object matchingModeObj = configData.get("matchingMode");
+                        isMatchingMode = matchingModeObj instanceof Boolean && (Boolean) matchingModeObj;
+                        category = (String) configData.get("selectedCategory");
+                    } else {
+                        isMatchingMode = false;
+                        category = null;
+                    }
+
+                    Map<String, Object> roundData = (Map<String, Object>) gameData.get("currentRound");
+                    final int roundNumber = roundData != null && roundData.get("roundNumber") instanceof Number
+                            ? ((Number) roundData.get("roundNumber")).intValue() : 0;
+
+                    // Massive games keep players and submissions outside the game node
+                    if (MassiveRoundResolver.isMassive(gameData)) {
+                        massiveRoundResolver.endRound(gameId, roundNumber, new DataStore.Callback() {
+                            @Override
+                            public void onSuccess(Object remaining) {
+                                processingRounds.remove(roundEndKey);
+                                endGameOrScheduleNextRound(gameId, (Integer) remaining <= 1);
+                                callback.onSuccess(null);
+                            }
+
+                            @Override
+                            public void onFailure(String error) {
+                                processingRounds.remove(roundEndKey);
+                                callback.onFailure(error);
+                            }
+                        });
+                        return;
+                    }
+
+                    // First, get all the players
+                    final Map<String, Object> playersData = (Map<String, Object>) gameData.get("players");
+
+                    // Keep track of updates to make
+                    final Map<String, Object> updates = new HashMap<>();
+                    final int[] activePlayerCount = { 0 };
+                    final int[] remainingPlayerCount = { 0 };
+
+                    // Track word frequencies
+                    final Map<String, List<String>> wordToPlayers = new HashMap<>();
+
+                    // Get existing usedWords or create new map
+                    Map<String, Object> usedWordsMap = (Map<String, Object>) gameData.get("usedWords");
+                    if (usedWordsMap == null) {
+                        usedWordsMap = new HashMap<>();
+                    }
+                    final Map<String, Object> finalUsedWordsMap = usedWordsMap;
+
+                    // First pass: Build word frequency map and count active players
+                    if (playersData != null) {
+                        for (Map.Entry<String, Object> entry : playersData.entrySet()) {
+                            String playerId = entry.getKey();
+                            Map<String, Object> playerData = (Map<String, Object>) entry.getValue();
+
+                            if (playerData == null)
+                                continue;
+
+                            // Check if player is eliminated
+                            boolean isEliminated = false;
+                            Object eliminatedObj = playerData.get("eliminated");
+                            if (eliminatedObj instanceof Boolean) {
+                                isEliminated = (Boolean) eliminatedObj;
+                            }
+
+                            if (!isEliminated) {
+                                activePlayerCount[0]++;
+
+                                // Get player's word
+                                String word = (String) playerData.get("currentWord");
+                                if (word != null && !word.trim().isEmpty()) {
+                                    word = word.trim().toLowerCase();
+                                    if (!wordToPlayers.containsKey(word)) {
+                                        wordToPlayers.put(word, new ArrayList<>());
+                                    }
+                                    wordToPlayers.get(word).add(playerId);
+                                }
+                            }
+                        }
+                    }
+
+                    final boolean hasMatchingWords = checkForMatchingWords(wordToPlayers);
+
+                    // Process words based on game mode
+                    if (isMatchingMode) {
+                        processMatchingMode(wordToPlayers, playersData, updates);
+                        remainingPlayerCount[0] = activePlayerCount[0];
+                    } else {
+                        processClassicMode(wordToPlayers, playersData, updates, remainingPlayerCount);
+                    }
+
+                    // Update game status
+                    updates.put("status", GamePhase.ROUND_END.getStatus());
+
+                    // Apply all updates in a single batch
+                    dataStore.updateChildren("games/" + gameId, updates, new DataStore.Callback() {
+                        @Override
+                        public void onSuccess(Object result) {
+                            processingRounds.remove(roundEndKey);
+
+                            System.out.println("TELEPATHY: Round ended with " + remainingPlayerCount[0]
+                                    + " remaining players");
+
+                            // Duplicate words cost lives in classic mode, count them for the word stats
+                            if (!isMatchingMode && category != null) {
+                                wordStatsController.recordCollisions(gameId, roundNumber, category, wordToPlayers);
+                            }
+
+                            // Check if game should end based on mode
+                            boolean shouldEndGame = isMatchingMode ? hasMatchingWords
+                                    : remainingPlayerCount[0] <= 1;
+
+                            if (shouldEndGame) {
+                                // Game over - either matching words found or one player left in classic
+                                // mode
+                                System.out.println("TELEPATHY_DEBUG: Game should end - " +
+                                        (isMatchingMode ? "matching words found!"
+                                                : "only " + remainingPlayerCount[0]
+                                                + " player(s) remaining"));
+                            }
+                            endGameOrScheduleNextRound(gameId, shouldEndGame);
+
+                            callback.onSuccess(null);
+                        }
+
+                        @Override
+                        public void onFailure(String error) {
+                            processingRounds.remove(roundEndKey);
+                            callback.onFailure("Failed to update game status");
+                        }
+                    });
+                } catch (Exception e) {
+                    processingRounds.remove(roundEndKey);
+                    e.printStackTrace();
+                    callback.onFailure("Error processing round end: " + e.getMessage());
+                }
+            }
+
+            @Override
+            public void onFailure(String error) {
+                processingRounds.remove(roundEndKey);
+                callback.onFailure("Failed to get game data");
+            }
+        });
+    }
+
+    private void endGameOrScheduleNextRound(String gameId, boolean shouldEndGame) {
+        if (!shouldEndGame) {
+            scheduleNextRound(gameId);
+            return;
+        }
+        dataStore.setValue("games/" + gameId + "/status", GamePhase.GAME_END.getStatus(), new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object result) {
+                recordGameResults(gameId);
+            }
+
+            @Override
+            public void onFailure(String error) {
+                System.out.println("TELEPATHY_ERROR: Failed to end game: " + error);
+            }
+        });
+    }
+
+    // Announce the next round start, clients count down to nextRoundStartTime
+    public void scheduleNextRound(String gameId) {
+        Map<String, Object> roundUpdates = new HashMap<>();
+        roundUpdates.put("nextRoundStartTime", System.currentTimeMillis() + nextRoundDelayMs);
+        roundUpdates.put("roundStarterId", UUID.randomUUID().toString());
+        dataStore.updateChildren("games/" + gameId, roundUpdates, null);
+    }
+
+    private boolean checkForMatchingWords(Map<String, List<String>> wordToPlayers) {
+        for (List<String> playerIds : wordToPlayers.values()) {
+            if (playerIds.size() > 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void processMatchingMode(
+            Map<String, List<String>> wordToPlayers,
+            Map<String, Object> playersData,
+            Map<String, Object> updates) {
+        // In matching mode:
+        // - Check if any words match
+        // - No life loss
+        // - All matching players are winners
+        boolean foundMatch = false;
+        Set<String> matchingPlayers = new HashSet<>();
+
+        for (Map.Entry<String, List<String>> entry : wordToPlayers.entrySet()) {
+            List<String> playerIds = entry.getValue();
+            if (playerIds.size() > 1) {
+                foundMatch = true;
+                matchingPlayers.addAll(playerIds);
+
+                // Award points to all players who matched
+                for (String playerId : playerIds) {
+                    Map<String, Object> playerData = (Map<String, Object>) playersData.get(playerId);
+                    if (playerData == null)
+                        continue;
+
+                    // Get current score
+                    int currentScore = 0;
+                    Object scoreObj = playerData.get("score");
+                    if (scoreObj instanceof Long) {
+                        currentScore = ((Long) scoreObj).intValue();
+                    } else if (scoreObj instanceof Integer) {
+                        currentScore = (Integer) scoreObj;
+                    }
+
+                    // Award 20 points for matching
+                    int newScore = currentScore + 20;
+                    updates.put("players/" + playerId + "/score", newScore);
+                }
+            }
+        }
+
+        // If we found matching players, they are all winners
+        if (foundMatch) {
+            // Convert the set of winning player IDs to a list
+            List<String> winnerIds = new ArrayList<>(matchingPlayers);
+            updates.put("winnerIds", winnerIds); // Store multiple winners
+            System.out.println("TELEPATHY_DEBUG: Found " + winnerIds.size() + " matching winners!");
+        }
+    }
+
+    private void processClassicMode(
+            Map<String, List<String>> wordToPlayers,
+            Map<String, Object> playersData,
+            Map<String, Object> updates,
+            int[] remainingPlayerCount) {
+        // Classic mode:
+        // - Players lose lives for duplicate words
+        // - Points for unique words only
+        // Track the last active player
+        String lastActivePlayerId = null;
+        Map<String, Integer> playerLives = new HashMap<>(); // Track current lives for each player
+        Map<String, Boolean> playerEliminated = new HashMap<>(); // Track elimination status
+
+        // Initialize tracking maps with current values
+        for (Map.Entry<String, Object> entry : playersData.entrySet()) {
+            String playerId = entry.getKey();
+            Map<String, Object> playerData = (Map<String, Object>) entry.getValue();
+
+            if (playerData == null)
+                continue;
+
+            // Get current lives
+            int lives = 3; // Default
+            Object livesObj = playerData.get("lives");
+            if (livesObj instanceof Long) {
+                lives = ((Long) livesObj).intValue();
+            } else if (livesObj instanceof Integer) {
+                lives = (Integer) livesObj;
+            }
+            playerLives.put(playerId, lives);
+
+            // Get current elimination status
+            boolean isEliminated = false;
+            Object eliminatedObj = playerData.get("eliminated");
+            if (eliminatedObj instanceof Boolean) {
+                isEliminated = (Boolean) eliminatedObj;
+            }
+            playerEliminated.put(playerId, isEliminated);
+        }
+
+        // First pass: Process unique words and award points
+        for (Map.Entry<String, List<String>> entry : wordToPlayers.entrySet()) {
+            String word = entry.getKey();
+            List<String> playerIds = entry.getValue();
+
+            // Add words to the usedWords map at round end
+            if (!word.isEmpty()) {
+                updates.put("usedWords/" + word, true);
+            }
+            if (playerIds.size() == 1) {
+                // Award points for unique words
+                String playerId = playerIds.get(0);
+                Map<String, Object> playerData = (Map<String, Object>) playersData.get(playerId);
+                if (playerData == null)
+                    continue;
+
+                int currentScore = 0;
+                Object scoreObj = playerData.get("score");
+                if (scoreObj instanceof Long) {
+                    currentScore = ((Long) scoreObj).intValue();
+                } else if (scoreObj instanceof Integer) {
+                    currentScore = (Integer) scoreObj;
+                }
+
+                int newScore = currentScore + 10;
+                updates.put("players/" + playerId + "/score", newScore);
+            } else {
+                // Reduce lives for players with duplicate words
+                for (String playerId : playerIds) {
+                    if (playerEliminated.get(playerId))
+                        continue; // Skip already eliminated players
+
+                    int lives = playerLives.get(playerId);
+                    lives--; // Reduce life for duplicate word
+
+                    playerLives.put(playerId, lives);
+                    updates.put("players/" + playerId + "/lives", lives);
+
+                    if (lives <= 0) {
+                        playerEliminated.put(playerId, true);
+                        updates.put("players/" + playerId + "/eliminated", true);
+                    }
+                }
+            }
+        }
+
+        // Second pass: Process players who didn't submit a word
+        for (Map.Entry<String, Object> entry : playersData.entrySet()) {
+            String playerId = entry.getKey();
+            Map<String, Object> playerData = (Map<String, Object>) entry.getValue();
+
+            if (playerData == null || playerEliminated.get(playerId))
+                continue;
+
+            // Check if player submitted a word
+            String word = (String) playerData.get("currentWord");
+            boolean submittedWord = word != null && !word.trim().isEmpty();
+
+            if (!submittedWord) {
+                // Player didn't submit a word, reduce life
+                int lives = playerLives.get(playerId);
+                lives--; // Reduce life for not submitting
+
+                playerLives.put(playerId, lives);
+                updates.put("players/" + playerId + "/lives", lives);
+
+                if (lives <= 0) {
+                    playerEliminated.put(playerId, true);
+                    updates.put("players/" + playerId + "/eliminated", true);
+                }
+            }
+        }
+
+        // Count remaining players and find last active player
+        remainingPlayerCount[0] = 0;
+        for (Map.Entry<String, Boolean> entry : playerEliminated.entrySet()) {
+            String playerId = entry.getKey();
+            boolean isEliminated = entry.getValue();
+            int lives = playerLives.get(playerId);
+
+            if (!isEliminated && lives > 0) {
+                remainingPlayerCount[0]++;
+                lastActivePlayerId = playerId;
+            }
+        }
+
+        System.out.println("TELEPATHY_DEBUG: Remaining players: " + remainingPlayerCount[0]);
+        if (lastActivePlayerId != null) {
+            System.out.println("TELEPATHY_DEBUG: Last active player: " + lastActivePlayerId);
+        }
+
+        // If only one player remains, they are the winner
+        if (remainingPlayerCount[0] == 1 && lastActivePlayerId != null) {
+            System.out.println("TELEPATHY_DEBUG: Game will end - only one player remains");
+            // Award bonus points to winner
+            Map<String, Object> winnerData = (Map<String, Object>) playersData.get(lastActivePlayerId);
+            if (winnerData != null) {
+                int currentScore = 0;
+                Object scoreObj = winnerData.get("score");
+                if (scoreObj instanceof Long) {
+                    currentScore = ((Long) scoreObj).intValue();
+                } else if (scoreObj instanceof Integer) {
+                    currentScore = (Integer) scoreObj;
+                }
+
+                // Award 100 bonus points for winning
+                int newScore = currentScore + 100;
+                updates.put("players/" + lastActivePlayerId + "/score", newScore);
+                updates.put("winnerId", lastActivePlayerId);
+            }
+        }
+    }
+
+    public void startNextRound(String gameId, DataStore.Callback callback) {
+        // Debug logging
+        System.out.println("TELEPATHY: Starting next round for game " + gameId);
+
+        // First get the current game data
+        dataStore.get("games/" + gameId, new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object value) {
+                try {
+                    Map<String, Object> gameData = (Map<String, Object>) value;
+                    if (gameData == null) {
+                        callback.onFailure("Game data is null");
+                        return;
+                    }
+
+                    // Get current status - only proceed if status is roundEnd
+                    String status = (String) gameData.get("status");
+                    if (GamePhase.fromStatus(status) != GamePhase.ROUND_END) {
+                        System.out.println("TELEPATHY: Cannot start next round - game status is " + status
+                                + " instead of roundEnd");
+                        callback.onFailure("Game is not in roundEnd status");
+                        return;
+                    }
+
+                    // Extract current round number - important to get the EXACT current round
+                    Map<String, Object> currentRoundData = (Map<String, Object>) gameData.get("currentRound");
+                    int currentRoundNumber = 1;
+
+                    if (currentRoundData != null && currentRoundData.containsKey("roundNumber")) {
+                        Object roundNumberObj = currentRoundData.get("roundNumber");
+                        if (roundNumberObj instanceof Long) {
+                            currentRoundNumber = ((Long) roundNumberObj).intValue();
+                        } else if (roundNumberObj instanceof Integer) {
+                            currentRoundNumber = (Integer) roundNumberObj;
+                        } else if (roundNumberObj instanceof Double) {
+                            currentRoundNumber = ((Double) roundNumberObj).intValue();
+                        }
+                    }
+
+                    System.out.println("TELEPATHY: Current round number: " + currentRoundNumber);
+
+                    // IMPORTANT: Create BRAND NEW round data with correct next round number
+                    int nextRoundNumber = currentRoundNumber + 1;
+                    System.out.println("TELEPATHY: Next round number will be: " + nextRoundNumber);
+
+                    // Get game config for category
+                    Map<String, Object> configData = (Map<String, Object>) gameData.get("config");
+                    String category = Constants.DEFAULT_CATEGORY;
+
+                    if (configData != null && configData.containsKey("selectedCategory")) {
+                        category = (String) configData.get("selectedCategory");
+                    }
+
+                    // Create new round data
+                    Map<String, Object> newRoundData = new HashMap<>();
+                    newRoundData.put("roundNumber", nextRoundNumber);
+                    newRoundData.put("startTime", System.currentTimeMillis());
+
+                    // Get time limit from config or use default
+                    long timeLimit = 30;
+                    if (configData != null && configData.containsKey("timeLimit")) {
+                        Object timeLimitObj = configData.get("timeLimit");
+                        if (timeLimitObj instanceof Long) {
+                            timeLimit = (Long) timeLimitObj;
+                        } else if (timeLimitObj instanceof Integer) {
+                            timeLimit = ((Integer) timeLimitObj).longValue();
+                        } else if (timeLimitObj instanceof Double) {
+                            timeLimit = ((Double) timeLimitObj).longValue();
+                        }
+                    }
+
+                    newRoundData.put("endTime", System.currentTimeMillis() + (timeLimit * 1000));
+
+                    // Get ALL words for this round (not just random subset)
+                    List<String> words = WordSelection.getAllWordsForCategory(category);
+                    newRoundData.put("words", words);
+
+                    System.out.println(
+                            "TELEPATHY: Using " + words.size() + " words for round " + nextRoundNumber);
+
+                    // Create combined update map
+                    Map<String, Object> updates = new HashMap<>();
+
+                    // Clear any round starter data
+                    updates.put("nextRoundStartTime", null);
+                    updates.put("roundStarterId", null);
+
+                    // Clear all player word submissions
+                    Map<String, Object> playersData = (Map<String, Object>) gameData.get("players");
+                    if (playersData != null) {
+                        for (String playerId : playersData.keySet()) {
+                            updates.put("players/" + playerId + "/currentWord", "");
+                        }
+                    }
+
+                    // Add new round data and update status
+                    updates.put("currentRound", newRoundData);
+                    updates.put("status", GamePhase.ACTIVE.getStatus());
+
+                    // Use a single atomic update operation
+                    dataStore.updateChildren("games/" + gameId, updates, new DataStore.Callback() {
+                        @Override
+                        public void onSuccess(Object result) {
+                            System.out.println(
+                                    "TELEPATHY: Successfully started round " + nextRoundNumber);
+                            callback.onSuccess(null);
+                        }
+
+                        @Override
+                        public void onFailure(String error) {
+                            System.out.println("TELEPATHY: Failed to start round: " +
+                                    (error != null ? error : "unknown error"));
+                            callback.onFailure("Failed to start next round: " +
+                                    (error != null ? error : "unknown error"));
+                        }
+                    });
+
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    System.out.println("TELEPATHY: Error preparing next round: " + e.getMessage());
+                    callback.onFailure("Error preparing next round: " + e.getMessage());
+                }
+            }
+
+            @Override
+            public void onFailure(String error) {
+                System.out.println("TELEPATHY: Failed to get game data: " +
+                        (error != null ? error : "unknown error"));
+                callback.onFailure("Failed to get game data");
+            }
+        });
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.GamePhase;
+import com.example.telepathy.model.datastore.DataStore;
+import com.example.telepathy.utils.Constants;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes a small, denormalized view of a game to spectate/{gameId} for
+ * people watching without playing.
+ *
+ * Whoever drives the rounds (the round authority or a ResolverService) feeds
+ * every game update in. Round boundaries (a new round or status) are
+ * published at once, anything else at most once per interval, with the
+ * latest pending view flushed when the interval is over. Spectators listen
+ * to the view only, so the writes don't grow with the number of spectators
+ * and they never see a submission before the round ends.
+ */
+public class SpectatorPublisher {
+    private final DataStore dataStore;
+    private final String path;
+    private final long intervalMs;
+
+    private Map<String, Object> lastView;
+    private String lastBoundary;
+    private long lastPublishTime = Long.MIN_VALUE / 2;
+    private Map<String, Object> pendingView;
+
+    public SpectatorPublisher(DataStore dataStore, String gameId) {
+        this(dataStore, gameId, Constants.SPECTATE_INTERVAL_MS);
+    }
+
+    SpectatorPublisher(DataStore dataStore, String gameId, long intervalMs) {
+        this.dataStore = dataStore;
+        this.path = Constants.SPECTATE_PATH + "/" + gameId;
+        this.intervalMs = intervalMs;
+    }
+
+    /**
+     * Offer the latest game data. Returns true when the view was held back by
+     * the interval, flush must then be called once it has passed.
+     */
+    public synchronized boolean onGameData(Map<String, Object> gameData, long now) {
+        Map<String, Object> view = buildView(gameData);
+        if (view.equals(lastView)) {
+            pendingView = null;
+            return false;
+        }
+
+        String boundary = view.get("status") + "/" + view.get("roundNumber");
+        if (!boundary.equals(lastBoundary) || now - lastPublishTime >= intervalMs) {
+            publish(view, boundary, now);
+            return false;
+        }
+        pendingView = view;
+        return true;
+    }
+
+    // Publish the held back view if the interval has passed
+    public synchronized void flush(long now) {
+        if (pendingView != null && now - lastPublishTime >= intervalMs) {
+            Map<String, Object> view = pendingView;
+            publish(view, view.get("status") + "/" + view.get("roundNumber"), now);
+        }
+    }
+
+    public long getIntervalMs() {
+        return intervalMs;
+    }
+
+    private void publish(Map<String, Object> view, String boundary, long now) {
+        lastView = view;
+        lastBoundary = boundary;
+        lastPublishTime = now;
+        pendingView = null;
+        dataStore.setValue(path, view, new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object result) {
+            }
+
+            @Override
+            public void onFailure(String error) {
+                System.out.println("TELEPATHY_ERROR: Failed to publish spectator view: " + error);
+            }
+        });
+    }
+
+    // What spectators see: round, timer, lives, scores and words already revealed
+    static Map<String, Object> buildView(Map<String, Object> gameData) {
+        Map<String, Object> view = new HashMap<>();
+        String status = (String) gameData.get("status");
+        view.put("status", status);
+
+        Map<String, Object> roundData = (Map<String, Object>) gameData.get("currentRound");
+        if (roundData != null) {
+            view.put("roundNumber", toLong(roundData.get("roundNumber")));
+            // Spectators count down to endTime themselves
+            view.put("endTime", toLong(roundData.get("endTime")));
+        }
+        if (gameData.get("nextRoundStartTime") instanceof Number) {
+            view.put("nextRoundStartTime", toLong(gameData.get("nextRoundStartTime")));
+        }
+
+        Map<String, Object> configData = (Map<String, Object>) gameData.get("config");
+        if (configData != null && configData.get("selectedCategory") instanceof String) {
+            view.put("category", configData.get("selectedCategory"));
+        }
+
+        // Words of the running round stay hidden until it ends
+        boolean revealWords = GamePhase.fromStatus(status) != GamePhase.ACTIVE;
+        Map<String, Object> players = new HashMap<>();
+        Map<String, Object> playersData = (Map<String, Object>) gameData.get("players");
+        if (playersData != null) {
+            for (Map.Entry<String, Object> entry : playersData.entrySet()) {
+                if (!(entry.getValue() instanceof Map)) {
+                    continue;
+                }
+                Map<String, Object> playerData = (Map<String, Object>) entry.getValue();
+                Map<String, Object> player = new HashMap<>();
+                player.put("username", playerData.get("username"));
+                player.put("lives", toLong(playerData.get("lives")));
+                player.put("score", toLong(playerData.get("score")));
+                player.put("eliminated", Boolean.TRUE.equals(playerData.get("eliminated")));
+                Object word = playerData.get("currentWord");
+                if (revealWords && word instanceof String && !((String) word).isEmpty()) {
+                    player.put("word", word);
+                }
+                players.put(entry.getKey(), player);
+            }
+        }
+        view.put("players", players);
+
+        List<String> revealedWords = new ArrayList<>();
+        if (gameData.get("usedWords") instanceof Map) {
+            revealedWords.addAll(((Map<String, Object>) gameData.get("usedWords")).keySet());
+            Collections.sort(revealedWords);
+        }
+        view.put("revealedWords", revealedWords);
+
+        // Massive games have no players on the game node, only their round totals
+        if (gameData.get("aggregates") instanceof Map) {
+            view.put("aggregates", gameData.get("aggregates"));
+        }
+
+        Object winnerId = gameData.get("winnerId");
+        if (winnerId != null) {
+            view.put("winnerId", winnerId);
+        }
+        return view;
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.CategoryCatalog;
+import com.example.telepathy.model.datastore.DataStore;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Counts how often each word collides (is submitted by more than one player
+ * in the same round), per category.
+ *
+ * Every collision adds one to a random shard of
+ * wordStats/{category}/{word}/shards/{k}, so popular words don't turn into a
+ * single hot counter that every round end writes to. Reading the shards is
+ * left to the aggregator, which folds them into a small, read-optimized
+ * wordStatsTop/{category} node holding the top words in order. There is no
+ * server, so the aggregator runs on whichever client claims the interval
+ * lease at wordStatsTop/{category}/claimedAt.
+ */
+public class WordStatsController {
+    public static final int SHARD_COUNT = 8;
+    public static final int TOP_K = 20;
+    public static final long AGGREGATE_INTERVAL_MS = 10 * 60 * 1000;
+
+    static final String STATS_PATH = "wordStats";
+    static final String TOP_PATH = "wordStatsTop";
+
+    private final DataStore dataStore;
+    private final Random random;
+
+    WordStatsController(DataStore dataStore) {
+        this(dataStore, new Random());
+    }
+
+    WordStatsController(DataStore dataStore, Random random) {
+        this.dataStore = dataStore;
+        this.random = random;
+    }
+
+    /**
+     * Count the collisions of one round. Every client may end the round, the
+     * statsRound transaction on the game lets only the first one count it.
+     */
+    public void recordCollisions(String gameId, int roundNumber, String category,
+            Map<String, List<String>> wordToPlayers) {
+        String categoryId = CategoryCatalog.toId(category);
+        Map<String, Object> updates = buildCollisionUpdates(categoryId, wordToPlayers);
+        if (categoryId == null || updates.isEmpty()) {
+            return;
+        }
+
+        dataStore.runTransaction("games/" + gameId + "/statsRound", current -> {
+            long counted = current instanceof Number ? ((Number) current).longValue() : 0;
+            return counted < roundNumber ? (Object) (long) roundNumber : DataStore.ABORT;
+        }, new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object committed) {
+                if (!Boolean.TRUE.equals(committed)) {
+                    return; // Another client counted this round
+                }
+                dataStore.updateChildren("", updates, new DataStore.Callback() {
+                    @Override
+                    public void onSuccess(Object result) {
+                        System.out.println("TELEPATHY: Counted " + updates.size() + " word collisions in "
+                                + categoryId);
+                        aggregateIfDue(categoryId, System.currentTimeMillis());
+                    }
+
+                    @Override
+                    public void onFailure(String error) {
+                        System.out.println("TELEPATHY_ERROR: Failed to count word collisions: " + error);
+                    }
+                });
+            }
+
+            @Override
+            public void onFailure(String error) {
+                System.out.println("TELEPATHY_ERROR: Failed to claim word stats: " + error);
+            }
+        });
+    }
+
+    // One shard increment per collided word, keyed by path from the root
+    Map<String, Object> buildCollisionUpdates(String categoryId, Map<String, List<String>> wordToPlayers) {
+        Map<String, Object> updates = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : wordToPlayers.entrySet()) {
+            String word = entry.getKey();
+            if (entry.getValue().size() < 2 || !isValidKey(word)) {
+                continue;
+            }
+            int shard = random.nextInt(SHARD_COUNT);
+            updates.put(STATS_PATH + "/" + categoryId + "/" + word + "/shards/" + shard,
+                    DataStore.increment(1));
+        }
+        return updates;
+    }
+
+    /**
+     * Run the aggregator for a category unless another client did so within
+     * the last AGGREGATE_INTERVAL_MS.
+     */
+    public void aggregateIfDue(String categoryId, long now) {
+        dataStore.runTransaction(TOP_PATH + "/" + categoryId + "/claimedAt", current -> {
+            long claimedAt = current instanceof Number ? ((Number) current).longValue() : 0;
+            return now - claimedAt >= AGGREGATE_INTERVAL_MS ? (Object) now : DataStore.ABORT;
+        }, new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object committed) {
+                if (Boolean.TRUE.equals(committed)) {
+                    aggregate(categoryId, null);
+                }
+            }
+
+            @Override
+            public void onFailure(String error) {
+                System.out.println("TELEPATHY_ERROR: Failed to claim word stats aggregation: " + error);
+            }
+        });
+    }
+
+    // Fold the shards of a category into wordStatsTop/{category}/words
+    public void aggregate(String categoryId, FirebaseController.FirebaseCallback callback) {
+        dataStore.get(STATS_PATH + "/" + categoryId, new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object value) {
+                List<Map<String, Object>> top = topWords((Map<String, Object>) value, TOP_K);
+
+                Map<String, Object> updates = new HashMap<>();
+                updates.put("words", top);
+                updates.put("updatedAt", System.currentTimeMillis());
+                dataStore.updateChildren(TOP_PATH + "/" + categoryId, updates, new DataStore.Callback() {
+                    @Override
+                    public void onSuccess(Object result) {
+                        System.out.println("TELEPATHY: Aggregated " + top.size() + " top words for " + categoryId);
+                        if (callback != null) {
+                            callback.onSuccess(top);
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(String error) {
+                        if (callback != null) {
+                            callback.onFailure("Failed to store top words: " + error);
+                        }
+                    }
+                });
+            }
+
+            @Override
+            public void onFailure(String error) {
+                if (callback != null) {
+                    callback.onFailure("Failed to read word stats: " + error);
+                }
+            }
+        });
+    }
+
+    /**
+     * The most colliding words of a category as {word, count} maps, most
+     * collisions first. Only reads the aggregated node, never the shards.
+     */
+    public void getTopWords(String category, FirebaseController.FirebaseCallback callback) {
+        dataStore.get(TOP_PATH + "/" + CategoryCatalog.toId(category) + "/words", new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object value) {
+                callback.onSuccess(value instanceof List ? value : new ArrayList<>());
+            }
+
+            @Override
+            public void onFailure(String error) {
+                callback.onFailure("Failed to load top words: " + error);
+            }
+        });
+    }
+
+    // Sum the shards of every word and keep the k largest, largest first
+    static List<Map<String, Object>> topWords(Map<String, Object> stats, int k) {
+        PriorityQueue<Map.Entry<String, Long>> heap = new PriorityQueue<>(
+                (a, b) -> a.getValue().equals(b.getValue()) ? b.getKey().compareTo(a.getKey())
+                        : Long.compare(a.getValue(), b.getValue()));
+        if (stats != null) {
+            for (Map.Entry<String, Object> entry : stats.entrySet()) {
+                long count = sumShards(entry.getValue());
+                if (count <= 0) {
+                    continue;
+                }
+                heap.add(new AbstractMap.SimpleEntry<>(entry.getKey(), count));
+                if (heap.size() > k) {
+                    heap.poll();
+                }
+            }
+        }
+
+        List<Map<String, Object>> top = new ArrayList<>();
+        while (!heap.isEmpty()) {
+            Map.Entry<String, Long> entry = heap.poll();
+            Map<String, Object> word = new HashMap<>();
+            word.put("word", entry.getKey());
+            word.put("count", entry.getValue());
+            top.add(0, word);
+        }
+        return top;
+    }
+
+    private static long sumShards(Object wordStats) {
+        if (!(wordStats instanceof Map)) {
+            return 0;
+        }
+        Object shards = ((Map<String, Object>) wordStats).get("shards");
+        // Firebase returns small integer keyed nodes as lists
+        Iterable<?> counts = shards instanceof Map ? ((Map<?, ?>) shards).values()
+                : shards instanceof List ? (List<?>) shards : null;
+        long total = 0;
+        if (counts != null) {
+            for (Object count : counts) {
+                if (count instanceof Number) {
+                    total += ((Number) count).longValue();
+                }
+            }
+        }
+        return total;
+    }
+
+    // Firebase keys can't contain . $ # [ ] or /
+    private static boolean isValidKey(String word) {
+        return word != null && !word.isEmpty() && !word.matches(".*[.$#\\[\\]/].*");
+    }
+}
@@ -0,0 +1,304 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.GameState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Checks words while they are typed.
+ *
+ * Each change of the input is debounced on the GameScheduler and then
+ * validated on a background thread: membership in the round's words, whether
+ * the word was used already, and near misses to suggest. A newer input makes
+ * older ones stale, they are cancelled before they run or dropped before they
+ * are delivered. Results are cached per input, so retyping or deleting back
+ * to an earlier input is answered from the cache, and by the time a word is
+ * submitted its result is usually cached too.
+ *
+ * The sorted word index belongs to a round's word list and the cache also to
+ * the used words. Both are shared between states while unchanged (see
+ * GameState and RoundPrefetcher), so the index is only rebuilt when the word
+ * list is replaced and the cache only cleared when either is.
+ */
+public class WordValidator {
+    public static final long DEBOUNCE_MS = 150;
+    public static final int MAX_SUGGESTIONS = 3;
+    public static final int CACHE_SIZE = 128;
+
+    public enum Status { VALID, EMPTY, USED, NOT_IN_LIST, NO_WORDS }
+
+    // Outcome of checking one input
+    public static final class Result {
+        private final String word;
+        private final Status status;
+        private final List<String> suggestions;
+
+        Result(String word, Status status, List<String> suggestions) {
+            this.word = word;
+            this.status = status;
+            this.suggestions = suggestions;
+        }
+
+        // The normalized word
+        public String getWord() {
+            return word;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public boolean isValid() {
+            return status == Status.VALID;
+        }
+
+        // Unused round words close to the input, empty for a valid word
+        public List<String> getSuggestions() {
+            return suggestions;
+        }
+
+        // Same messages as submitting an invalid word always showed
+        public String getMessage() {
+            switch (status) {
+                case EMPTY:
+                    return "Word cannot be empty";
+                case USED:
+                    return "This word has already been used in a previous round!";
+                case NOT_IN_LIST:
+                    return "Word is not in the valid word list for this round";
+                case NO_WORDS:
+                    return "No valid words available";
+                default:
+                    return null;
+            }
+        }
+    }
+
+    public interface ResultListener {
+        void onResult(Result result);
+    }
+
+    // Sorted words of a round for prefix lookups, keyed by the list it was built from
+    private static final class RoundIndex {
+        final List<String> words;
+        final Set<String> index;
+        final String[] sorted;
+
+        RoundIndex(List<String> words, Set<String> index) {
+            this.words = words;
+            this.index = index != null ? index : new HashSet<>(words);
+            this.sorted = this.index.toArray(new String[0]);
+            Arrays.sort(sorted);
+        }
+    }
+
+    private final GameScheduler scheduler;
+    private final String gameId;
+    private final RoundPrefetcher prefetcher;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "word-validation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Index, used words and cache are guarded by this object
+    private RoundIndex roundIndex;
+    private Set<String> usedWords;
+    private final Map<String, Result> cache = new LinkedHashMap<String, Result>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Result> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    // Bumped on every input, results of older inputs are dropped
+    private volatile long generation = 0;
+    private GameScheduler.Timeout pending;
+    private boolean closed = false;
+
+    public WordValidator(GameScheduler scheduler, String gameId, RoundPrefetcher prefetcher) {
+        this.scheduler = scheduler;
+        this.gameId = gameId;
+        this.prefetcher = prefetcher;
+    }
+
+    // Validates the input once typing pauses, the listener is called on the validation thread
+    public void onTextChanged(String text, GameState state, ResultListener listener) {
+        long current;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            current = ++generation;
+            if (pending != null) {
+                pending.cancel();
+            }
+            pending = scheduler.schedule(gameId, DEBOUNCE_MS, () -> executor.execute(() -> {
+                if (generation != current) {
+                    return;
+                }
+                Result result = validate(text, state);
+                if (generation == current) {
+                    listener.onResult(result);
+                }
+            }));
+        }
+    }
+
+    // Validates right away, from the cache when this input was seen. Only the
+    // cache and the index swap are locked, so a submit on the UI thread does
+    // not wait for a check running on the validation thread.
+    public Result validate(String text, GameState state) {
+        String word = text != null ? text.trim().toLowerCase() : "";
+        if (word.isEmpty()) {
+            return new Result(word, Status.EMPTY, Collections.emptyList());
+        }
+        // Without a round to check against, and in matching mode, every word goes
+        if (state == null || state.getCurrentRound() == null || state.getConfig().isMatchingMode()) {
+            return new Result(word, Status.VALID, Collections.emptyList());
+        }
+        List<String> words = state.getCurrentRound().getWords();
+        if (words == null) {
+            return new Result(word, Status.NO_WORDS, Collections.emptyList());
+        }
+        Set<String> used = state.getUsedWords();
+
+        RoundIndex round;
+        synchronized (this) {
+            round = roundIndex;
+        }
+        if (round == null || round.words != words) {
+            // Sorting the words of a new round happens outside the lock too
+            round = new RoundIndex(words,
+                    prefetcher != null ? prefetcher.getWordIndex(state.getCurrentRound().getRoundNumber()) : null);
+        }
+
+        synchronized (this) {
+            if (roundIndex == null || roundIndex.words != words) {
+                roundIndex = round;
+                cache.clear();
+            } else {
+                round = roundIndex;
+            }
+            if (usedWords != used) {
+                usedWords = used;
+                cache.clear();
+            }
+            Result cached = cache.get(word);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        Result result = check(round, used, word);
+        synchronized (this) {
+            // Not cached when another state replaced the index or used words
+            // meanwhile, and the first result wins when two threads checked the word
+            if (roundIndex == round && usedWords == used) {
+                Result raced = cache.putIfAbsent(word, result);
+                if (raced != null) {
+                    return raced;
+                }
+            }
+        }
+        return result;
+    }
+
+    // Drops the pending input and stops the validation thread
+    public synchronized void close() {
+        closed = true;
+        generation++;
+        if (pending != null) {
+            pending.cancel();
+        }
+        executor.shutdown();
+    }
+
+    private static Result check(RoundIndex round, Set<String> usedWords, String word) {
+        if (usedWords.contains(word)) {
+            return new Result(word, Status.USED, suggest(round, usedWords, word));
+        }
+        if (!round.index.contains(word)) {
+            return new Result(word, Status.NOT_IN_LIST, suggest(round, usedWords, word));
+        }
+        return new Result(word, Status.VALID, Collections.emptyList());
+    }
+
+    // Unused words starting with the input first, then the closest by edit distance
+    private static List<String> suggest(RoundIndex round, Set<String> usedWords, String word) {
+        List<String> suggestions = new ArrayList<>();
+        int from = Arrays.binarySearch(round.sorted, word);
+        for (int i = from >= 0 ? from : -from - 1;
+                i < round.sorted.length && suggestions.size() < MAX_SUGGESTIONS; i++) {
+            String candidate = round.sorted[i];
+            if (!candidate.startsWith(word)) {
+                break;
+            }
+            if (!candidate.equals(word) && !usedWords.contains(candidate)) {
+                suggestions.add(candidate);
+            }
+        }
+        if (suggestions.size() == MAX_SUGGESTIONS) {
+            return suggestions;
+        }
+
+        // Near misses, a typo or two depending on the length
+        int maxDistance = word.length() <= 4 ? 1 : 2;
+        List<List<String>> byDistance = new ArrayList<>();
+        for (int i = 0; i <= maxDistance; i++) {
+            byDistance.add(new ArrayList<>());
+        }
+        for (String candidate : round.sorted) {
+            if (Math.abs(candidate.length() - word.length()) > maxDistance
+                    || usedWords.contains(candidate) || suggestions.contains(candidate)) {
+                continue;
+            }
+            int distance = distance(word, candidate, maxDistance);
+            if (distance > 0 && distance <= maxDistance) {
+                byDistance.get(distance).add(candidate);
+            }
+        }
+        for (List<String> candidates : byDistance) {
+            for (String candidate : candidates) {
+                if (suggestions.size() == MAX_SUGGESTIONS) {
+                    return suggestions;
+                }
+                suggestions.add(candidate);
+            }
+        }
+        return suggestions;
+    }
+
+    // Levenshtein distance, anything above max is reported as max + 1
+    static int distance(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+}
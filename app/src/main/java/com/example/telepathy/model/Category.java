@@ -0,0 +1,37 @@
+package com.example.telepathy.model;
+
+public class Category {
+    private final String id;
+    private final String displayName;
+    private final int wordCount;
+    private final String contentHash; // Changes whenever the word list changes
+
+    public Category(String id, String displayName, int wordCount, String contentHash) {
+        this.id = id;
+        this.displayName = displayName;
+        this.wordCount = wordCount;
+        this.contentHash = contentHash;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    @Override
+    public String toString() {
+        // Spinners and list adapters show the display name
+        return displayName;
+    }
+}
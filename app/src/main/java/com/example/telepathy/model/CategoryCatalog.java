@@ -0,0 +1,113 @@
+package com.example.telepathy.model;
+
+import com.example.telepathy.utils.Constants;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Single source of truth for word categories.
+ *
+ * Games and lobbies only store the category ID ("animals"); display names,
+ * word counts and content hashes are computed once from the bundled word
+ * lists and cached here, so adding a category never grows a game payload.
+ */
+public class CategoryCatalog {
+    private static CategoryCatalog instance;
+
+    private static final Map<String, String> DISPLAY_NAMES = new HashMap<>();
+
+    static {
+        DISPLAY_NAMES.put(Constants.CATEGORY_ANIMALS, "Animals");
+        DISPLAY_NAMES.put(Constants.CATEGORY_COUNTRIES, "Countries");
+        DISPLAY_NAMES.put(Constants.CATEGORY_FOODS, "Foods");
+        DISPLAY_NAMES.put(Constants.CATEGORY_SPORTS, "Sports");
+    }
+
+    private final Map<String, Category> categories = new LinkedHashMap<>();
+    private final String version;
+
+    private CategoryCatalog() {
+        StringBuilder hashes = new StringBuilder();
+        for (Map.Entry<String, List<String>> entry : WordSelection.getWordLists().entrySet()) {
+            String id = entry.getKey();
+            List<String> words = entry.getValue();
+            String displayName = DISPLAY_NAMES.containsKey(id) ? DISPLAY_NAMES.get(id) : id;
+            String hash = hash(String.join("\n", words));
+            categories.put(id, new Category(id, displayName, new HashSet<>(words).size(), hash));
+            hashes.append(id).append(':').append(hash).append('\n');
+        }
+        version = hash(hashes.toString());
+        System.out.println("TELEPATHY: Loaded " + categories.size() + " categories, catalog version " + version);
+    }
+
+    public static synchronized CategoryCatalog getInstance() {
+        if (instance == null) {
+            instance = new CategoryCatalog();
+        }
+        return instance;
+    }
+
+    /**
+     * Convert a category ID or a legacy display name ("Animals") to its ID
+     */
+    public static String toId(String category) {
+        if (category == null) {
+            return null;
+        }
+        return category.trim().toLowerCase(Locale.US);
+    }
+
+    public List<String> getCategoryIds() {
+        return new ArrayList<>(categories.keySet());
+    }
+
+    public List<Category> getCategories() {
+        return Collections.unmodifiableList(new ArrayList<>(categories.values()));
+    }
+
+    public Category getCategory(String category) {
+        return categories.get(toId(category));
+    }
+
+    public boolean contains(String category) {
+        return categories.containsKey(toId(category));
+    }
+
+    // Name to show for a category ID, falls back to the stored value for unknown categories
+    public String getDisplayName(String category) {
+        Category found = getCategory(category);
+        if (found != null) {
+            return found.getDisplayName();
+        }
+        return category != null ? category : "";
+    }
+
+    // Combined hash of all categories, changes when any word list changes
+    public String getVersion() {
+        return version;
+    }
+
+    private static String hash(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format(Locale.US, "%02x", bytes[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(content.hashCode());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.telepathy.model;
 
+import com.example.telepathy.model.datastore.DatabaseRouter;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
 
@@ -42,7 +43,16 @@ public class Database {
         return getLobbiesReference().child(lobbyId);
     }
 
+    // Games may live on another database instance, see DatabaseRouter
     public DatabaseReference getGameReference(String gameId) {
-        return getGamesReference().child(gameId);
+        return getReference("games/" + gameId);
+    }
+
+    // Reference to any path on the instance that holds it
+    public DatabaseReference getReference(String path) {
+        String shard = DatabaseRouter.getInstance().shardForPath(path);
+        DatabaseReference root = shard != null ? FirebaseDatabase.getInstance(shard).getReference()
+                : databaseReference;
+        return root.child(path);
     }
 }
\ No newline at end of file
@@ -13,14 +13,14 @@ public class Game {
     private List<Player> players;
     private GameRound currentRound;
     private int roundCount;
-    private String status; // "active", "roundEnd", "gameEnd"
+    private String status; // The status of a GamePhase
     private Set<String> usedWords; // Track all used words across rounds
 
     // Default constructor for Firebase
     public Game() {
         this.players = new ArrayList<>();
         this.roundCount = 0;
-        this.status = "active";
+        this.status = GamePhase.ACTIVE.getStatus();
         this.usedWords = new HashSet<>();
     }
 
@@ -29,7 +29,7 @@ public class Game {
         this.config = config != null ? config : new GameConfig();
         this.players = players != null ? players : new ArrayList<>();
         this.roundCount = 0;
-        this.status = "active";
+        this.status = GamePhase.ACTIVE.getStatus();
         this.usedWords = new HashSet<>();
     }
 
@@ -139,12 +139,12 @@ public class Game {
     public void startNewRound(List<String> words, long durationMillis) {
         roundCount++;
         currentRound = new GameRound(roundCount, durationMillis, words);
-        status = "active";
+        status = GamePhase.ACTIVE.getStatus();
         System.out.println("TELEPATHY: Started new round " + roundCount + " with " + words.size() + " words");
     }
 
     public void endRound() {
-        status = "roundEnd";
+        status = GamePhase.ROUND_END.getStatus();
 
         // Only process duplicate words in classic mode
         if (!config.isMatchingMode()) {
@@ -175,7 +175,7 @@ public class Game {
         Map<String, List<String>> duplicates = currentRound.findDuplicateWords();
         if (!duplicates.isEmpty()) {
             // Found matching words, end the game
-            status = "gameEnd";
+            status = GamePhase.GAME_END.getStatus();
             System.out.println("TELEPATHY: Game ended - matching words found!");
 
             // Award points to players who matched
@@ -235,12 +235,12 @@ public class Game {
     }
 
     public void endGame() {
-        status = "gameEnd";
+        status = GamePhase.GAME_END.getStatus();
         System.out.println("TELEPATHY: Game ended");
     }
 
     public boolean isGameOver() {
-        return "gameEnd".equals(status);
+        return GamePhase.fromStatus(status) == GamePhase.GAME_END;
     }
 
     public List<Player> getActivePlayers() {
@@ -1,14 +1,12 @@
 package com.example.telepathy.model;
 
-import java.util.ArrayList;
-import java.util.List;
+import com.example.telepathy.utils.Constants;
 
 public class GameConfig {
     private int timeLimit; // Time limit for word selection in seconds
     private int maxPlayers;
     private int livesPerPlayer;
-    private List<String> categories;
-    private String selectedCategory;
+    private String selectedCategory; // Category ID, see CategoryCatalog
     private boolean isMatchingMode; // Simple boolean flag for game mode
 
     // Default constructor for Firebase
@@ -17,12 +15,7 @@ public class GameConfig {
         this.timeLimit = 30;
         this.maxPlayers = 8;
         this.livesPerPlayer = 3;
-        this.categories = new ArrayList<>();
-        this.categories.add("Animals");
-        this.categories.add("Countries");
-        this.categories.add("Foods");
-        this.categories.add("Sports");
-        this.selectedCategory = "Animals";
+        this.selectedCategory = Constants.DEFAULT_CATEGORY;
         this.isMatchingMode = false; // Default to classic mode
     }
 
@@ -31,12 +24,7 @@ public class GameConfig {
         this.timeLimit = timeLimit;
         this.maxPlayers = maxPlayers;
         this.livesPerPlayer = livesPerPlayer;
-        this.categories = new ArrayList<>();
-        this.categories.add("Animals");
-        this.categories.add("Countries");
-        this.categories.add("Foods");
-        this.categories.add("Sports");
-        this.selectedCategory = selectedCategory;
+        this.selectedCategory = CategoryCatalog.toId(selectedCategory);
         this.isMatchingMode = false; // Default to classic mode
     }
 
@@ -65,26 +53,13 @@ public class GameConfig {
         this.livesPerPlayer = livesPerPlayer;
     }
 
-    public List<String> getCategories() {
-        return categories;
-    }
-
-    public void setCategories(List<String> categories) {
-        this.categories = categories;
-    }
-
-    public void addCategory(String category) {
-        if (!this.categories.contains(category)) {
-            this.categories.add(category);
-        }
-    }
-
     public String getSelectedCategory() {
         return selectedCategory;
     }
 
     public void setSelectedCategory(String selectedCategory) {
-        this.selectedCategory = selectedCategory;
+        // Older lobbies and games store the display name
+        this.selectedCategory = CategoryCatalog.toId(selectedCategory);
     }
 
     public boolean isMatchingMode() {
@@ -0,0 +1,35 @@
+package com.example.telepathy.model;
+
+import com.example.telepathy.utils.Constants;
+
+/**
+ * Phase of a running game. Within a round a game goes from ACTIVE to
+ * ROUND_END, and from there to the next round's ACTIVE or to GAME_END.
+ * The database keeps the status string, see getStatus.
+ */
+public enum GamePhase {
+    ACTIVE(Constants.STATUS_ACTIVE),
+    ROUND_END(Constants.STATUS_ROUND_END),
+    GAME_END(Constants.STATUS_GAME_END);
+
+    private final String status;
+
+    GamePhase(String status) {
+        this.status = status;
+    }
+
+    // The "status" value stored for this phase
+    public String getStatus() {
+        return status;
+    }
+
+    // Null for a missing or unknown status
+    public static GamePhase fromStatus(Object status) {
+        for (GamePhase phase : values()) {
+            if (phase.status.equals(status)) {
+                return phase;
+            }
+        }
+        return null;
+    }
+}
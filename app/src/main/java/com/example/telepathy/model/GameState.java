@@ -0,0 +1,182 @@
+package com.example.telepathy.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of a running game as the game screen sees it.
+ *
+ * GameController builds a new one per update and publishes it by reference,
+ * so readers on any thread need neither locks nor copies. A new state shares
+ * whatever did not change with the previous one: the used words set, the
+ * round, the config and each unchanged Player are the same objects, and so is
+ * the player list when no player changed. Players, rounds and configs are
+ * plain model objects and must not be modified once they are in a state.
+ */
+public final class GameState {
+    private final String gameId;
+    private final GameConfig config;
+    private final List<Player> players;
+    private final GameRound currentRound;
+    private final String status;
+    private final Set<String> usedWords;
+    // The list the players were built from, a next state given it again can skip comparing them
+    private final List<Player> playersSource;
+
+    private GameState(String gameId, GameConfig config, List<Player> players, List<Player> playersSource,
+            GameRound currentRound, String status, Set<String> usedWords) {
+        this.gameId = gameId;
+        this.config = config;
+        this.players = players;
+        this.playersSource = playersSource;
+        this.currentRound = currentRound;
+        this.status = status;
+        this.usedWords = usedWords;
+    }
+
+    // A state with nothing shared, the lists and sets are copied
+    public static GameState of(String gameId, GameConfig config, List<Player> players, GameRound currentRound,
+            String status, Set<String> usedWords) {
+        return new GameState(gameId, config != null ? config : new GameConfig(),
+                Collections.unmodifiableList(new ArrayList<>(players)), players, currentRound, status,
+                Collections.unmodifiableSet(lowerCase(usedWords)));
+    }
+
+    // The next state of this game, reusing this state's parts wherever the update left them unchanged.
+    // A player list passed again must not have been modified in between
+    public GameState next(GameConfig config, List<Player> players, GameRound currentRound, String status,
+            Set<String> usedWords) {
+        GameConfig nextConfig = config == null || sameConfig(this.config, config) ? this.config : config;
+        GameRound nextRound = sameRound(this.currentRound, currentRound) ? this.currentRound : currentRound;
+
+        // Used words rarely change, only copy them when they did
+        Set<String> nextUsedWords = this.usedWords;
+        if (usedWords != this.usedWords && !containsExactly(this.usedWords, usedWords)) {
+            Set<String> lowerCased = lowerCase(usedWords);
+            if (!lowerCased.equals(this.usedWords)) {
+                nextUsedWords = Collections.unmodifiableSet(lowerCased);
+            }
+        }
+
+        if (players == this.players || players == playersSource) {
+            // No player changed, see PlayerReconciler
+            return new GameState(gameId, nextConfig, this.players, players, nextRound, status, nextUsedWords);
+        }
+
+        Map<String, Player> previous = new HashMap<>();
+        for (Player player : this.players) {
+            previous.put(player.getId(), player);
+        }
+        List<Player> nextPlayers = new ArrayList<>(players.size());
+        boolean playersChanged = players.size() != this.players.size();
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            Player old = previous.get(player.getId());
+            Player shared = samePlayer(old, player) ? old : player;
+            nextPlayers.add(shared);
+            if (!playersChanged && shared != this.players.get(i)) {
+                playersChanged = true;
+            }
+        }
+
+        return new GameState(gameId, nextConfig,
+                playersChanged ? Collections.unmodifiableList(nextPlayers) : this.players, players,
+                nextRound, status, nextUsedWords);
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public GameConfig getConfig() {
+        return config;
+    }
+
+    // Read only
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    public GameRound getCurrentRound() {
+        return currentRound;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    // Null for an unknown status
+    public GamePhase getPhase() {
+        return GamePhase.fromStatus(status);
+    }
+
+    // Read only, lower case
+    public Set<String> getUsedWords() {
+        return usedWords;
+    }
+
+    public boolean isWordAlreadyUsed(String word) {
+        return word != null && usedWords.contains(word.toLowerCase());
+    }
+
+    private static Set<String> lowerCase(Set<String> words) {
+        Set<String> result = new HashSet<>();
+        if (words != null) {
+            for (String word : words) {
+                result.add(word.toLowerCase());
+            }
+        }
+        return result;
+    }
+
+    // True if the words, lower cased, make up exactly the lower case set. Checks without copying
+    private static boolean containsExactly(Set<String> lowerCase, Set<String> words) {
+        if ((words != null ? words.size() : 0) != lowerCase.size()) {
+            return false;
+        }
+        if (words != null) {
+            for (String word : words) {
+                if (!lowerCase.contains(word.toLowerCase())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean samePlayer(Player a, Player b) {
+        return a != null && b != null
+                && Objects.equals(a.getId(), b.getId())
+                && Objects.equals(a.getUsername(), b.getUsername())
+                && a.getScore() == b.getScore()
+                && a.getLives() == b.getLives()
+                && a.isHost() == b.isHost()
+                && a.isEliminated() == b.isEliminated()
+                && Objects.equals(a.getCurrentWord(), b.getCurrentWord());
+    }
+
+    private static boolean sameRound(GameRound a, GameRound b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.getRoundNumber() == b.getRoundNumber()
+                && a.getStartTime() == b.getStartTime()
+                && a.getEndTime() == b.getEndTime()
+                && Objects.equals(a.getWords(), b.getWords())
+                && Objects.equals(a.getPlayerWords(), b.getPlayerWords());
+    }
+
+    private static boolean sameConfig(GameConfig a, GameConfig b) {
+        return a.getTimeLimit() == b.getTimeLimit()
+                && a.getMaxPlayers() == b.getMaxPlayers()
+                && a.getLivesPerPlayer() == b.getLivesPerPlayer()
+                && a.isMatchingMode() == b.isMatchingMode()
+                && Objects.equals(a.getSelectedCategory(), b.getSelectedCategory());
+    }
+}
@@ -12,6 +12,8 @@ public class Lobby {
     private boolean isOpen;
     private String hostId;
     private String gameId;
+    // Database instance of the game, null when games aren't sharded
+    private String gameShard;
 
     // Default constructor for Firebase
     public Lobby() {
@@ -64,6 +66,14 @@ public class Lobby {
         this.gameId = gameId;
     }
 
+    public String getGameShard() {
+        return gameShard;
+    }
+
+    public void setGameShard(String gameShard) {
+        this.gameShard = gameShard;
+    }
+
     public boolean addPlayer(Player player) {
         if (players.size() < gameConfig.getMaxPlayers() && isOpen) {
             players.add(player);
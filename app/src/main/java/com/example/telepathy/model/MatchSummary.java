@@ -0,0 +1,85 @@
+package com.example.telepathy.model;
+
+/**
+ * One entry of a player's match history, stored at userGames/{uid}/{gameId}.
+ * Only holds what the history list shows, so paging through it never
+ * touches the games tree.
+ */
+public class MatchSummary {
+    private String gameId; // Key of the entry, game keys are chronological
+    private long endedAt;
+    private String category;
+    private boolean matchingMode;
+    private int playerCount;
+    private int rounds;
+    private int score;
+    private boolean won;
+
+    // Default constructor for Firebase
+    public MatchSummary() {
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(String gameId) {
+        this.gameId = gameId;
+    }
+
+    public long getEndedAt() {
+        return endedAt;
+    }
+
+    public void setEndedAt(long endedAt) {
+        this.endedAt = endedAt;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public boolean isMatchingMode() {
+        return matchingMode;
+    }
+
+    public void setMatchingMode(boolean matchingMode) {
+        this.matchingMode = matchingMode;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public void setPlayerCount(int playerCount) {
+        this.playerCount = playerCount;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    public void setRounds(int rounds) {
+        this.rounds = rounds;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    public boolean isWon() {
+        return won;
+    }
+
+    public void setWon(boolean won) {
+        this.won = won;
+    }
+}
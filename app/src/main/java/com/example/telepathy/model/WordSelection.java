@@ -1,8 +1,10 @@
 package com.example.telepathy.model;
 
+import com.example.telepathy.utils.Constants;
+
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -10,13 +12,13 @@ import java.util.Random;
 public class WordSelection {
     private static final Random random = new Random();
 
-    // Maps categories to lists of words
-    private static final Map<String, List<String>> categoryWords = new HashMap<>();
+    // Maps category IDs to lists of words, in display order
+    private static final Map<String, List<String>> categoryWords = new LinkedHashMap<>();
 
     // Initialize word lists
     static {
         // Animals category
-        categoryWords.put("Animals", Arrays.asList(
+        categoryWords.put(Constants.CATEGORY_ANIMALS, Arrays.asList(
                 "dog", "cat", "elephant", "tiger", "lion", "giraffe", "zebra", "monkey",
                 "bear", "wolf", "fox", "deer", "rabbit", "squirrel", "mouse", "rat",
                 "eagle", "hawk", "owl", "penguin", "dolphin", "whale", "shark", "snake",
@@ -48,7 +50,7 @@ public class WordSelection {
                 "shrew", "lemur", "meerkat", "mongoose", "gopher", "chipmunk", "prairie dog"));
 
         // Countries category
-        categoryWords.put("Countries", Arrays.asList(
+        categoryWords.put(Constants.CATEGORY_COUNTRIES, Arrays.asList(
                 "usa", "canada", "mexico", "brazil", "argentina", "chile", "peru",
                 "france", "germany", "italy", "spain", "portugal", "england", "ireland",
                 "russia", "china", "japan", "india", "australia", "egypt", "nigeria",
@@ -79,7 +81,7 @@ public class WordSelection {
                 "equatorial guinea", "gabon", "madagascar", "mauritius", "seychelles", "comoros"));
 
         // Foods category
-        categoryWords.put("Foods", Arrays.asList(
+        categoryWords.put(Constants.CATEGORY_FOODS, Arrays.asList(
                 "pizza", "burger", "pasta", "rice", "bread", "potato", "tomato", "onion",
                 "carrot", "broccoli", "apple", "banana", "orange", "strawberry", "grape",
                 "chicken", "beef", "pork", "fish", "egg", "milk", "cheese", "yogurt",
@@ -115,7 +117,7 @@ public class WordSelection {
                 "roquefort", "manchego", "gruyere", "cottage cheese", "ricotta", "mascarpone"));
 
         // Sports category
-        categoryWords.put("Sports", Arrays.asList(
+        categoryWords.put(Constants.CATEGORY_SPORTS, Arrays.asList(
                 "soccer", "football", "basketball", "baseball", "tennis", "golf", "hockey",
                 "volleyball", "swimming", "running", "cycling", "skiing", "snowboarding",
                 "surfing", "boxing", "wrestling", "karate", "judo", "gymnastics", "cricket",
@@ -154,11 +156,11 @@ public class WordSelection {
      * @return List of all words in the category
      */
     public static List<String> getAllWordsForCategory(String category) {
-        List<String> wordList = categoryWords.get(category);
+        List<String> wordList = categoryWords.get(CategoryCatalog.toId(category));
 
         if (wordList == null) {
             // Default to Animals if category not found
-            wordList = categoryWords.get("Animals");
+            wordList = categoryWords.get(Constants.CATEGORY_ANIMALS);
             System.out.println("TELEPATHY: Category not found, defaulting to Animals");
         }
 
@@ -175,11 +177,11 @@ public class WordSelection {
      * @return List of randomly selected words
      */
     public static List<String> getRandomWords(String category, int count) {
-        List<String> wordList = categoryWords.get(category);
+        List<String> wordList = categoryWords.get(CategoryCatalog.toId(category));
 
         if (wordList == null) {
             // Default to Animals if category not found
-            wordList = categoryWords.get("Animals");
+            wordList = categoryWords.get(Constants.CATEGORY_ANIMALS);
             System.out.println("TELEPATHY: Category not found, defaulting to Animals");
         }
 
@@ -206,7 +208,7 @@ public class WordSelection {
      */
     public static boolean isWordInCategory(String category, String word) {
 
-        List<String> wordList = categoryWords.get(category);
+        List<String> wordList = categoryWords.get(CategoryCatalog.toId(category));
 
         if (wordList == null) {
             return false;
@@ -218,9 +220,14 @@ public class WordSelection {
     /**
      * Get all available categories
      * 
-     * @return List of category names
+     * @return List of category IDs, see CategoryCatalog for display names
      */
     public static List<String> getCategories() {
-        return new ArrayList<>(categoryWords.keySet());
+        return CategoryCatalog.getInstance().getCategoryIds();
+    }
+
+    // Word lists by category ID, read once by CategoryCatalog
+    static Map<String, List<String>> getWordLists() {
+        return categoryWords;
     }
 }
\ No newline at end of file
@@ -0,0 +1,336 @@
+package com.example.telepathy.model.datastore;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decorator that stores game nodes ("games/{gameId}/...") in the compact wire
+ * format of GameWireCodec. Callers keep reading and writing the long field
+ * names; everything outside "games/" passes through untouched.
+ *
+ * Games written by older clients have no version key and keep the long names.
+ * Writes below a game root use the short names only when the game node is
+ * versioned, otherwise they go to the long names so the legacy node stays
+ * readable. Whether a node is versioned is looked up once per game and kept
+ * up to date from whole-node reads and writes; games that don't exist yet
+ * count as versioned.
+ */
+public class CompactGameDataStore implements DataStore {
+    private static final String GAMES = "games";
+
+    private final DataStore delegate;
+    private final Map<ValueListener, ValueListener> listeners = new HashMap<>();
+    // Game root -> whether the node is in the compact format
+    private final Map<String, Boolean> compactGames = new HashMap<>();
+
+    private interface FormatCallback {
+        void onFormat(boolean compact);
+    }
+
+    public CompactGameDataStore(DataStore delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void get(String path, Callback callback) {
+        GamePath gamePath = GamePath.parse(path);
+        if (gamePath == null) {
+            delegate.get(path, callback);
+            return;
+        }
+        String encodedPath = gamePath.encode();
+        delegate.get(encodedPath, new Callback() {
+            @Override
+            public void onSuccess(Object result) {
+                if (result == null && !encodedPath.equals(gamePath.full)) {
+                    // Games written by older clients still use the long names
+                    delegate.get(gamePath.full, callback);
+                    return;
+                }
+                if (gamePath.relative.isEmpty()) {
+                    learnFormat(gamePath.gameRoot, result);
+                }
+                if (callback != null) {
+                    callback.onSuccess(GameWireCodec.decodeAt(gamePath.relative, result));
+                }
+            }
+
+            @Override
+            public void onFailure(String error) {
+                if (callback != null) {
+                    callback.onFailure(error);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void setValue(String path, Object value, Callback callback) {
+        GamePath gamePath = GamePath.parse(path);
+        if (gamePath == null) {
+            delegate.setValue(path, value, callback);
+            return;
+        }
+        if (gamePath.relative.isEmpty()) {
+            setFormat(gamePath.gameRoot, value instanceof Map ? Boolean.TRUE : null);
+            delegate.setValue(gamePath.gameRoot, GameWireCodec.encodeAt("", value), callback);
+            return;
+        }
+        withFormat(gamePath.gameRoot, callback, compact -> {
+            if (!compact) {
+                delegate.setValue(gamePath.full, value, callback);
+            } else if (GameWireCodec.isDropped(gamePath.relative)) {
+                // Derived data, the reader rebuilds it
+                if (callback != null) {
+                    callback.onSuccess(null);
+                }
+            } else {
+                delegate.setValue(gamePath.encode(), GameWireCodec.encodeAt(gamePath.relative, value), callback);
+            }
+        });
+    }
+
+    @Override
+    public void updateChildren(String path, Map<String, Object> updates, Callback callback) {
+        GamePath base = GamePath.parse(path);
+        if (base == null && !isGamesRoot(path)) {
+            delegate.updateChildren(path, updates, callback);
+            return;
+        }
+
+        // Games with entries below their root need their format first
+        Set<String> gameRoots = new LinkedHashSet<>();
+        for (String key : updates.keySet()) {
+            GamePath gamePath = GamePath.parse(InMemoryDataStore.join(path, key));
+            if (gamePath != null && !gamePath.relative.isEmpty()) {
+                gameRoots.add(gamePath.gameRoot);
+            }
+        }
+        Map<String, Boolean> formats = new HashMap<>();
+        withFormats(gameRoots.iterator(), formats, callback,
+                () -> writeUpdates(path, base, updates, formats, callback));
+    }
+
+    private void writeUpdates(String path, GamePath base, Map<String, Object> updates,
+                              Map<String, Boolean> formats, Callback callback) {
+        // A base below a game root has that game's format, "games" and a game root are the same in both
+        String writeBase = base == null ? GAMES
+                : !base.relative.isEmpty() && !formats.get(base.gameRoot) ? base.full : base.encode();
+        Map<String, Object> encoded = new HashMap<>();
+        for (Map.Entry<String, Object> entry : updates.entrySet()) {
+            GamePath gamePath = GamePath.parse(InMemoryDataStore.join(path, entry.getKey()));
+            if (gamePath == null) {
+                encoded.put(entry.getKey(), entry.getValue());
+                continue;
+            }
+            if (gamePath.relative.isEmpty()) {
+                // A whole game node is written in the compact format
+                setFormat(gamePath.gameRoot, entry.getValue() instanceof Map ? Boolean.TRUE : null);
+            } else if (!formats.get(gamePath.gameRoot)) {
+                encoded.put(gamePath.full.substring(writeBase.length() + 1), entry.getValue());
+                continue;
+            } else if (GameWireCodec.isDropped(gamePath.relative)) {
+                continue;
+            }
+            String encodedPath = gamePath.encode();
+            encoded.put(encodedPath.substring(writeBase.length() + 1),
+                    GameWireCodec.encodeAt(gamePath.relative, entry.getValue()));
+        }
+
+        if (encoded.isEmpty()) {
+            if (callback != null) {
+                callback.onSuccess(null);
+            }
+            return;
+        }
+        delegate.updateChildren(writeBase, encoded, callback);
+    }
+
+    @Override
+    public void removeValue(String path, Callback callback) {
+        GamePath gamePath = GamePath.parse(path);
+        if (gamePath == null) {
+            delegate.removeValue(path, callback);
+            return;
+        }
+        if (gamePath.relative.isEmpty()) {
+            setFormat(gamePath.gameRoot, null);
+            delegate.removeValue(gamePath.gameRoot, callback);
+            return;
+        }
+        withFormat(gamePath.gameRoot, callback,
+                compact -> delegate.removeValue(compact ? gamePath.encode() : gamePath.full, callback));
+    }
+
+    @Override
+    public void runTransaction(String path, Mutation mutation, Callback callback) {
+        GamePath gamePath = GamePath.parse(path);
+        if (gamePath == null) {
+            delegate.runTransaction(path, mutation, callback);
+            return;
+        }
+        if (gamePath.relative.isEmpty()) {
+            // Rewrites the whole node, a legacy one comes back in the compact format
+            setFormat(gamePath.gameRoot, null);
+            delegate.runTransaction(gamePath.gameRoot, currentValue -> {
+                Object result = mutation.apply(GameWireCodec.decodeAt("", currentValue));
+                return result == ABORT ? ABORT : GameWireCodec.encodeAt("", result);
+            }, callback);
+            return;
+        }
+        withFormat(gamePath.gameRoot, callback, compact -> {
+            if (!compact) {
+                delegate.runTransaction(gamePath.full, mutation, callback);
+                return;
+            }
+            delegate.runTransaction(gamePath.encode(), currentValue -> {
+                Object result = mutation.apply(GameWireCodec.decodeAt(gamePath.relative, currentValue));
+                return result == ABORT ? ABORT : GameWireCodec.encodeAt(gamePath.relative, result);
+            }, callback);
+        });
+    }
+
+    @Override
+    public void addValueListener(String path, ValueListener listener) {
+        GamePath gamePath = GamePath.parse(path);
+        if (gamePath == null) {
+            delegate.addValueListener(path, listener);
+            return;
+        }
+        ValueListener decoder = new ValueListener() {
+            @Override
+            public void onValueChanged(Object value) {
+                if (gamePath.relative.isEmpty()) {
+                    learnFormat(gamePath.gameRoot, value);
+                }
+                listener.onValueChanged(GameWireCodec.decodeAt(gamePath.relative, value));
+            }
+
+            @Override
+            public void onCancelled(String error) {
+                listener.onCancelled(error);
+            }
+        };
+        synchronized (listeners) {
+            listeners.put(listener, decoder);
+        }
+        delegate.addValueListener(gamePath.encode(), decoder);
+    }
+
+    @Override
+    public void removeValueListener(String path, ValueListener listener) {
+        GamePath gamePath = GamePath.parse(path);
+        if (gamePath == null) {
+            delegate.removeValueListener(path, listener);
+            return;
+        }
+        ValueListener decoder;
+        synchronized (listeners) {
+            decoder = listeners.remove(listener);
+        }
+        if (decoder != null) {
+            delegate.removeValueListener(gamePath.encode(), decoder);
+        }
+    }
+
+    @Override
+    public String generateKey(String path) {
+        return delegate.generateKey(path);
+    }
+
+    // Calls back with the game's format, reading the node the first time.
+    // Games that don't exist yet are created in the compact format
+    private void withFormat(String gameRoot, Callback callback, FormatCallback then) {
+        Boolean compact;
+        synchronized (compactGames) {
+            compact = compactGames.get(gameRoot);
+        }
+        if (compact != null) {
+            then.onFormat(compact);
+            return;
+        }
+        delegate.get(gameRoot, new Callback() {
+            @Override
+            public void onSuccess(Object result) {
+                boolean versioned = !(result instanceof Map)
+                        || ((Map<?, ?>) result).get(GameWireCodec.VERSION_KEY) instanceof Number;
+                setFormat(gameRoot, versioned);
+                then.onFormat(versioned);
+            }
+
+            @Override
+            public void onFailure(String error) {
+                if (callback != null) {
+                    callback.onFailure(error);
+                }
+            }
+        });
+    }
+
+    // Looks up the formats of several games one after the other
+    private void withFormats(Iterator<String> gameRoots, Map<String, Boolean> formats,
+                             Callback callback, Runnable then) {
+        if (!gameRoots.hasNext()) {
+            then.run();
+            return;
+        }
+        String gameRoot = gameRoots.next();
+        withFormat(gameRoot, callback, compact -> {
+            formats.put(gameRoot, compact);
+            withFormats(gameRoots, formats, callback, then);
+        });
+    }
+
+    private void learnFormat(String gameRoot, Object node) {
+        if (node instanceof Map) {
+            setFormat(gameRoot, ((Map<?, ?>) node).get(GameWireCodec.VERSION_KEY) instanceof Number);
+        }
+    }
+
+    // Null forgets the format, it is read again on the next write
+    private void setFormat(String gameRoot, Boolean compact) {
+        synchronized (compactGames) {
+            if (compact == null) {
+                compactGames.remove(gameRoot);
+            } else {
+                compactGames.put(gameRoot, compact);
+            }
+        }
+    }
+
+    private static boolean isGamesRoot(String path) {
+        return GAMES.equals(InMemoryDataStore.trim(path));
+    }
+
+    // A path split into "games/{gameId}" and the part below the game root
+    private static class GamePath {
+        final String full;
+        final String gameRoot;
+        final String relative;
+
+        GamePath(String full, String gameRoot, String relative) {
+            this.full = full;
+            this.gameRoot = gameRoot;
+            this.relative = relative;
+        }
+
+        static GamePath parse(String path) {
+            String full = InMemoryDataStore.trim(path);
+            if (!full.startsWith(GAMES + "/")) {
+                return null;
+            }
+            int gameEnd = full.indexOf('/', GAMES.length() + 1);
+            if (gameEnd < 0) {
+                return new GamePath(full, full, "");
+            }
+            return new GamePath(full, full.substring(0, gameEnd), full.substring(gameEnd + 1));
+        }
+
+        String encode() {
+            return relative.isEmpty() ? gameRoot : gameRoot + "/" + GameWireCodec.encodePath(relative);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.telepathy.model.datastore;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Path based access to the game's realtime data.
+ *
+ * Paths are slash separated and relative to the database root, e.g.
+ * "games/{gameId}/players/{playerId}". Values follow the Realtime Database
+ * conventions: maps, lists, strings, booleans, longs and doubles. Writing
+ * null removes a node.
+ */
+public interface DataStore {
+
+    // Completion callback for reads and writes
+    interface Callback {
+        void onSuccess(Object result);
+
+        void onFailure(String error);
+    }
+
+    // Listener for continuous value updates at a path
+    interface ValueListener {
+        void onValueChanged(Object value);
+
+        void onCancelled(String error);
+    }
+
+    // Update function for runTransaction, may run more than once on conflicts
+    interface Mutation {
+        // Return the new value for the node, or ABORT to leave it unchanged
+        Object apply(Object currentValue);
+    }
+
+    // Returned from a Mutation to cancel the transaction
+    Object ABORT = new Object();
+
+    void get(String path, Callback callback);
+
+    void setValue(String path, Object value, Callback callback);
+
+    // Multi-location update, keys are paths relative to the given path
+    void updateChildren(String path, Map<String, Object> updates, Callback callback);
+
+    void removeValue(String path, Callback callback);
+
+    void addValueListener(String path, ValueListener listener);
+
+    void removeValueListener(String path, ValueListener listener);
+
+    // Atomic read-modify-write of one node, the callback receives whether it was committed
+    void runTransaction(String path, Mutation mutation, Callback callback);
+
+    // Generate a new, chronologically ordered child key under the given path
+    String generateKey(String path);
+
+    /**
+     * Value that adds delta to the number stored at the written path on the
+     * server, same shape as Firebase's ServerValue.increment.
+     */
+    static Map<String, Object> increment(long delta) {
+        Map<String, Object> operation = new HashMap<>();
+        operation.put("increment", delta);
+        Map<String, Object> value = new HashMap<>();
+        value.put(".sv", operation);
+        return value;
+    }
+
+    // The delta of an increment value, or null if the value isn't one
+    static Long getIncrement(Object value) {
+        if (!(value instanceof Map)) {
+            return null;
+        }
+        Object operation = ((Map<?, ?>) value).get(".sv");
+        if (operation instanceof Map && ((Map<?, ?>) operation).get("increment") instanceof Number) {
+            return ((Number) ((Map<?, ?>) operation).get("increment")).longValue();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.telepathy.model.datastore;
+
+import com.example.telepathy.utils.Constants;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps game IDs to the database instance (shard) holding them.
+ *
+ * Shards sit on a consistent hash ring with many virtual nodes each, so a
+ * game stays on its shard when shards are added except for the ~1/n share the
+ * new shard takes over. Games already running are pinned to the shard their
+ * lobby recorded, which keeps them in place even across a ring change.
+ *
+ * Without any shards configured every game lives on the main database and
+ * shardFor returns null.
+ */
+public class DatabaseRouter {
+    private static final int VIRTUAL_NODES = 128;
+    // Top level nodes that hold one child per game, all of a game's data goes to its shard
+    private static final List<String> GAME_SCOPED_ROOTS = Arrays.asList(
+            Constants.GAMES_PATH, Constants.GAME_PLAYERS_PATH, Constants.SUBMISSIONS_PATH, Constants.SPECTATE_PATH);
+
+    private static DatabaseRouter instance;
+
+    private final List<String> shardIds;
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+    private final Map<String, String> pinned = new ConcurrentHashMap<>();
+
+    public DatabaseRouter(List<String> shardIds) {
+        this.shardIds = Collections.unmodifiableList(shardIds);
+        for (String shardId : shardIds) {
+            for (int i = 0; i < VIRTUAL_NODES; i++) {
+                ring.put(hash(shardId + "#" + i), shardId);
+            }
+        }
+    }
+
+    public static synchronized DatabaseRouter getInstance() {
+        if (instance == null) {
+            instance = new DatabaseRouter(Arrays.asList(Constants.GAME_DATABASE_URLS));
+        }
+        return instance;
+    }
+
+    public boolean isSharded() {
+        return !ring.isEmpty();
+    }
+
+    public List<String> getShardIds() {
+        return shardIds;
+    }
+
+    // Shard of a game, or null for the main database
+    public String shardFor(String gameId) {
+        if (gameId == null || ring.isEmpty()) {
+            return null;
+        }
+        String pinnedShard = pinned.get(gameId);
+        if (pinnedShard != null) {
+            return pinnedShard;
+        }
+        SortedMap<Long, String> tail = ring.tailMap(hash(gameId));
+        return tail.isEmpty() ? ring.firstEntry().getValue() : tail.get(tail.firstKey());
+    }
+
+    // Shard of the game a path belongs to, or null for the main database
+    public String shardForPath(String path) {
+        String gameId = gameIdOf(path);
+        return gameId != null ? shardFor(gameId) : null;
+    }
+
+    // Keep a game on the shard its lobby recorded, ignores unknown shards
+    public void pin(String gameId, String shardId) {
+        if (gameId != null && shardIds.contains(shardId)) {
+            pinned.put(gameId, shardId);
+        }
+    }
+
+    // The game ID of a game scoped path ("games/{gameId}/..."), null for anything else
+    static String gameIdOf(String path) {
+        String trimmed = InMemoryDataStore.trim(path);
+        int rootEnd = trimmed.indexOf('/');
+        if (rootEnd < 0 || !GAME_SCOPED_ROOTS.contains(trimmed.substring(0, rootEnd))) {
+            return null;
+        }
+        int idEnd = trimmed.indexOf('/', rootEnd + 1);
+        String gameId = idEnd < 0 ? trimmed.substring(rootEnd + 1) : trimmed.substring(rootEnd + 1, idEnd);
+        return gameId.isEmpty() ? null : gameId;
+    }
+
+    // 64 bit FNV-1a with a murmur3 finalizer, String.hashCode clusters similar keys
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
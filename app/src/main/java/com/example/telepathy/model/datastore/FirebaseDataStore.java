@@ -0,0 +1,157 @@
+package com.example.telepathy.model.datastore;
+
+import androidx.annotation.NonNull;
+
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.ServerValue;
+import com.google.firebase.database.Transaction;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DataStore backed by a Firebase Realtime Database reference.
+ */
+public class FirebaseDataStore implements DataStore {
+    private final DatabaseReference root;
+    private final Map<ValueListener, ValueEventListener> listeners = new HashMap<>();
+
+    public FirebaseDataStore(DatabaseReference root) {
+        this.root = root;
+    }
+
+    public DatabaseReference getReference(String path) {
+        return path == null || path.isEmpty() ? root : root.child(path);
+    }
+
+    @Override
+    public void get(String path, Callback callback) {
+        getReference(path).get()
+                .addOnCompleteListener(task -> {
+                    if (callback == null) {
+                        return;
+                    }
+                    if (task.isSuccessful() && task.getResult() != null) {
+                        callback.onSuccess(task.getResult().getValue());
+                    } else {
+                        callback.onFailure(task.getException() != null ? task.getException().getMessage()
+                                : "Failed to read " + path);
+                    }
+                });
+    }
+
+    @Override
+    public void setValue(String path, Object value, Callback callback) {
+        getReference(path).setValue(toFirebase(value))
+                .addOnCompleteListener(task -> complete(task.isSuccessful(), task.getException(), callback,
+                        "Failed to write " + path));
+    }
+
+    @Override
+    public void updateChildren(String path, Map<String, Object> updates, Callback callback) {
+        getReference(path).updateChildren((Map<String, Object>) toFirebase(updates))
+                .addOnCompleteListener(task -> complete(task.isSuccessful(), task.getException(), callback,
+                        "Failed to update " + path));
+    }
+
+    @Override
+    public void removeValue(String path, Callback callback) {
+        getReference(path).removeValue()
+                .addOnCompleteListener(task -> complete(task.isSuccessful(), task.getException(), callback,
+                        "Failed to remove " + path));
+    }
+
+    @Override
+    public void runTransaction(String path, Mutation mutation, Callback callback) {
+        getReference(path).runTransaction(new Transaction.Handler() {
+            @NonNull
+            @Override
+            public Transaction.Result doTransaction(@NonNull MutableData currentData) {
+                Object result = mutation.apply(currentData.getValue());
+                if (result == ABORT) {
+                    return Transaction.abort();
+                }
+                currentData.setValue(result);
+                return Transaction.success(currentData);
+            }
+
+            @Override
+            public void onComplete(DatabaseError error, boolean committed, DataSnapshot snapshot) {
+                if (callback == null) {
+                    return;
+                }
+                if (error != null) {
+                    callback.onFailure(error.getMessage());
+                } else {
+                    callback.onSuccess(committed);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void addValueListener(String path, ValueListener listener) {
+        ValueEventListener eventListener = new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                listener.onValueChanged(snapshot.getValue());
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                listener.onCancelled(error.getMessage());
+            }
+        };
+        synchronized (listeners) {
+            listeners.put(listener, eventListener);
+        }
+        getReference(path).addValueEventListener(eventListener);
+    }
+
+    @Override
+    public void removeValueListener(String path, ValueListener listener) {
+        ValueEventListener eventListener;
+        synchronized (listeners) {
+            eventListener = listeners.remove(listener);
+        }
+        if (eventListener != null) {
+            getReference(path).removeEventListener(eventListener);
+        }
+    }
+
+    @Override
+    public String generateKey(String path) {
+        return getReference(path).push().getKey();
+    }
+
+    // Swap our increment values for the SDK's own server values
+    private static Object toFirebase(Object value) {
+        Long delta = DataStore.getIncrement(value);
+        if (delta != null) {
+            return ServerValue.increment(delta);
+        }
+        if (value instanceof Map) {
+            Map<String, Object> result = new HashMap<>();
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+                result.put(entry.getKey(), toFirebase(entry.getValue()));
+            }
+            return result;
+        }
+        return value;
+    }
+
+    private void complete(boolean successful, Exception exception, Callback callback, String fallbackError) {
+        if (callback == null) {
+            return;
+        }
+        if (successful) {
+            callback.onSuccess(null);
+        } else {
+            callback.onFailure(exception != null ? exception.getMessage() : fallbackError);
+        }
+    }
+}
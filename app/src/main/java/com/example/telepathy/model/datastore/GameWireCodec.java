@@ -0,0 +1,373 @@
+package com.example.telepathy.model.datastore;
+
+import com.example.telepathy.model.GamePhase;
+import com.example.telepathy.model.WordSelection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Translates game nodes between the in-app format and the compact wire format.
+ *
+ * Wire format v1:
+ * - short keys ("currentWord" -> "w", "livesPerPlayer" -> "lp", ...)
+ * - status as an integer (0 active, 1 roundEnd, 2 gameEnd)
+ * - no static or derived fields: config.categories, the player id that
+ *   duplicates its key, and currentRound.words which is re-derived from the
+ *   selected category when a full game is decoded
+ * - a "v" field on the game root holding the schema version
+ *
+ * Game nodes without a "v" field are legacy nodes and are passed through
+ * unchanged. Unknown keys are passed through so newer fields keep working.
+ */
+public class GameWireCodec {
+    public static final int VERSION = 1;
+    public static final String VERSION_KEY = "v";
+
+    // Stored by index, new phases go at the end
+    private static final String[] STATUS_VALUES = {
+            GamePhase.ACTIVE.getStatus(), GamePhase.ROUND_END.getStatus(), GamePhase.GAME_END.getStatus() };
+
+    private static final Field GAME = new Field();
+
+    static {
+        Field player = new Field()
+                .key("username", "n")
+                .key("score", "s")
+                .key("lives", "h")
+                .key("eliminated", "x")
+                .key("currentWord", "w")
+                .key("host", "o")
+                .drop("id");
+
+        Field config = new Field()
+                .key("timeLimit", "t")
+                .key("maxPlayers", "m")
+                .key("livesPerPlayer", "lp")
+                .key("selectedCategory", "k")
+                .key("matchingMode", "mm")
+                .key("serverAuthoritative", "sa")
+                .key("massive", "ma")
+                .drop("categories");
+
+        Field round = new Field()
+                .key("roundNumber", "n")
+                .key("startTime", "s")
+                .key("endTime", "e")
+                .drop("words");
+
+        GAME.key("lobbyId", "l")
+                .child("players", "p", new Field().anyChild(player))
+                .child("config", "c", config)
+                .key("status", "st")
+                .child("usedWords", "u", new Field().anyChild(new Field()))
+                .child("currentRound", "r", round)
+                .key("nextRoundStartTime", "ns")
+                .key("roundStarterId", "rs")
+                .key("winnerId", "wi")
+                .key("winnerIds", "ws")
+                .key("resultsRecorded", "rr")
+                .child("resultsClaim", "rc", new Field().key("id", "i").key("claimedAt", "t"))
+                .key("statsRound", "sr")
+                .child("authority", "a", new Field().key("id", "i").key("leaseUntil", "lu"))
+                .child("aggregates", "ag", new Field()
+                        .key("round", "n")
+                        .key("players", "p")
+                        .key("activePlayers", "ap")
+                        .key("submissions", "sb")
+                        .key("collidedWords", "cw")
+                        .key("eliminated", "x"));
+    }
+
+    // Schema node: key translations, nested fields and dropped fields
+    private static class Field {
+        final Map<String, String> toShort = new HashMap<>();
+        final Map<String, String> toLong = new HashMap<>();
+        final Map<String, Field> children = new HashMap<>();
+        final Set<String> dropped = new HashSet<>();
+        Field anyChild;
+
+        Field key(String longKey, String shortKey) {
+            toShort.put(longKey, shortKey);
+            toLong.put(shortKey, longKey);
+            return this;
+        }
+
+        Field child(String longKey, String shortKey, Field field) {
+            key(longKey, shortKey);
+            children.put(longKey, field);
+            return this;
+        }
+
+        Field drop(String longKey) {
+            dropped.add(longKey);
+            return this;
+        }
+
+        Field anyChild(Field field) {
+            anyChild = field;
+            return this;
+        }
+
+        // Field for a child, addressed by its long key
+        Field childField(String longKey) {
+            Field field = children.get(longKey);
+            return field != null ? field : anyChild;
+        }
+
+        String encodeKey(String longKey) {
+            if (anyChild != null) {
+                return longKey; // ids and words are kept as they are
+            }
+            String shortKey = toShort.get(longKey);
+            return shortKey != null ? shortKey : longKey;
+        }
+
+        String decodeKey(String shortKey) {
+            if (anyChild != null) {
+                return shortKey;
+            }
+            String longKey = toLong.get(shortKey);
+            return longKey != null ? longKey : shortKey;
+        }
+    }
+
+    /**
+     * Encode a full game node for writing.
+     */
+    public static Map<String, Object> encodeGame(Map<String, Object> game) {
+        Map<String, Object> encoded = (Map<String, Object>) encodeValue(GAME, game);
+        encoded.put(VERSION_KEY, VERSION);
+        return encoded;
+    }
+
+    /**
+     * Decode a full game node. Legacy nodes without a version are returned as is.
+     */
+    public static Map<String, Object> decodeGame(Map<String, Object> game) {
+        if (game == null || !(game.get(VERSION_KEY) instanceof Number)) {
+            return game;
+        }
+        int version = ((Number) game.get(VERSION_KEY)).intValue();
+        if (version > VERSION) {
+            System.out.println("TELEPATHY_WARNING: Game uses wire format v" + version
+                    + ", newer than supported v" + VERSION);
+        }
+
+        Map<String, Object> decoded = (Map<String, Object>) decodeValue(GAME, game);
+        decoded.remove(VERSION_KEY);
+        restoreRoundWords(decoded);
+        return decoded;
+    }
+
+    /**
+     * Translate a path relative to a game root, e.g. "players/p1/currentWord" to "p/p1/w".
+     */
+    public static String encodePath(String relativePath) {
+        if (relativePath == null || relativePath.isEmpty()) {
+            return relativePath;
+        }
+        String[] segments = relativePath.split("/");
+        Field field = GAME;
+        StringBuilder builder = new StringBuilder();
+        for (String segment : segments) {
+            if (builder.length() > 0) {
+                builder.append('/');
+            }
+            builder.append(field != null ? field.encodeKey(segment) : segment);
+            field = field != null ? field.childField(segment) : null;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Encode a value that is written at a path relative to a game root.
+     * Returns the value unchanged if the path is dropped from the wire format.
+     */
+    public static Object encodeAt(String relativePath, Object value) {
+        if (relativePath == null || relativePath.isEmpty()) {
+            return value instanceof Map ? encodeGame((Map<String, Object>) value) : value;
+        }
+        String[] segments = relativePath.split("/");
+        Field field = GAME;
+        for (int i = 0; i < segments.length - 1 && field != null; i++) {
+            field = field.childField(segments[i]);
+        }
+        String leaf = segments[segments.length - 1];
+        if (field == null) {
+            return value;
+        }
+        if ("status".equals(leaf) && field == GAME) {
+            return encodeStatus(value);
+        }
+        Field leafField = field.childField(leaf);
+        return leafField != null ? encodeValue(leafField, value) : value;
+    }
+
+    /**
+     * Decode a value read from a path relative to a game root.
+     */
+    public static Object decodeAt(String relativePath, Object value) {
+        if (relativePath == null || relativePath.isEmpty()) {
+            return value instanceof Map ? decodeGame((Map<String, Object>) value) : value;
+        }
+        String[] segments = relativePath.split("/");
+        Field field = GAME;
+        for (int i = 0; i < segments.length - 1 && field != null; i++) {
+            field = field.childField(segments[i]);
+        }
+        String leaf = segments[segments.length - 1];
+        if (field == null) {
+            return value;
+        }
+        if ("status".equals(leaf) && field == GAME) {
+            return decodeStatus(value);
+        }
+        Field leafField = field.childField(leaf);
+        return leafField != null ? decodeValue(leafField, value) : value;
+    }
+
+    // True if a relative path only holds static or derived data that isn't sent
+    public static boolean isDropped(String relativePath) {
+        if (relativePath == null || relativePath.isEmpty()) {
+            return false;
+        }
+        Field field = GAME;
+        for (String segment : relativePath.split("/")) {
+            if (field == null) {
+                return false;
+            }
+            if (field.dropped.contains(segment)) {
+                return true;
+            }
+            field = field.childField(segment);
+        }
+        return false;
+    }
+
+    public static Object encodeStatus(Object status) {
+        for (int i = 0; i < STATUS_VALUES.length; i++) {
+            if (STATUS_VALUES[i].equals(status)) {
+                return i;
+            }
+        }
+        return status;
+    }
+
+    public static Object decodeStatus(Object status) {
+        if (status instanceof Number) {
+            int index = ((Number) status).intValue();
+            if (index >= 0 && index < STATUS_VALUES.length) {
+                return STATUS_VALUES[index];
+            }
+        }
+        return status;
+    }
+
+    private static Object encodeValue(Field field, Object value) {
+        if (!(value instanceof Map)) {
+            return value;
+        }
+        Map<String, Object> result = new HashMap<>();
+        for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+            String key = entry.getKey();
+            if (field.dropped.contains(key)) {
+                continue;
+            }
+            Object child = entry.getValue();
+            if (field == GAME && "status".equals(key)) {
+                child = encodeStatus(child);
+            } else {
+                Field childField = field.childField(key);
+                if (childField != null) {
+                    child = encodeValue(childField, child);
+                }
+            }
+            result.put(field.encodeKey(key), child);
+        }
+        return result;
+    }
+
+    private static Object decodeValue(Field field, Object value) {
+        if (!(value instanceof Map)) {
+            return value;
+        }
+        Map<String, Object> result = new HashMap<>();
+        for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+            String key = field.decodeKey(entry.getKey());
+            Object child = entry.getValue();
+            if (field == GAME && "status".equals(key)) {
+                child = decodeStatus(child);
+            } else {
+                Field childField = field.childField(key);
+                if (childField != null) {
+                    child = decodeValue(childField, child);
+                }
+            }
+            result.put(key, child);
+        }
+        return result;
+    }
+
+    // currentRound.words is the full word list of the selected category
+    private static void restoreRoundWords(Map<String, Object> game) {
+        Object roundObj = game.get("currentRound");
+        Object configObj = game.get("config");
+        if (!(roundObj instanceof Map)) {
+            return;
+        }
+        String category = null;
+        if (configObj instanceof Map) {
+            Object categoryObj = ((Map<String, Object>) configObj).get("selectedCategory");
+            if (categoryObj instanceof String) {
+                category = (String) categoryObj;
+            }
+        }
+        List<String> words = category != null ? WordSelection.getAllWordsForCategory(category)
+                : Collections.emptyList();
+        ((Map<String, Object>) roundObj).put("words", new ArrayList<>(words));
+    }
+
+    /**
+     * Size of a value serialized as JSON, in UTF-8 bytes. Used to measure
+     * how much the compact format saves on the wire.
+     */
+    public static int estimateJsonBytes(Object value) {
+        if (value == null) {
+            return 4;
+        }
+        if (value instanceof String) {
+            return utf8Length((String) value) + 2;
+        }
+        if (value instanceof Boolean || value instanceof Number) {
+            return String.valueOf(value).length();
+        }
+        if (value instanceof Map) {
+            Map<String, Object> map = (Map<String, Object>) value;
+            int size = 2 + Math.max(0, map.size() - 1); // braces and commas
+            for (Map.Entry<String, Object> entry : map.entrySet()) {
+                size += utf8Length(entry.getKey()) + 3; // quotes and colon
+                size += estimateJsonBytes(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof List) {
+            List<Object> list = (List<Object>) value;
+            int size = 2 + Math.max(0, list.size() - 1);
+            for (Object item : list) {
+                size += estimateJsonBytes(item);
+            }
+            return size;
+        }
+        return utf8Length(String.valueOf(value)) + 2;
+    }
+
+    private static int utf8Length(String text) {
+        return text.getBytes(java.nio.charset.StandardCharsets.UTF_8).length;
+    }
+}
@@ -0,0 +1,337 @@
+package com.example.telepathy.model.datastore;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Local stand-in for the Realtime Database, used by JVM tests and tools.
+ *
+ * Values are deep copied on every read and write so callers never share
+ * mutable state with the store, just like data that went over the wire.
+ * Callbacks and listener events run synchronously on the calling thread.
+ */
+public class InMemoryDataStore implements DataStore {
+    private final Map<String, Object> root = new HashMap<>();
+    private final List<Registration> registrations = new ArrayList<>();
+    private final Object notifyLock = new Object();
+    private long keySequence = 0;
+    private long lastKeyTime = 0;
+
+    private static class Registration {
+        final String path;
+        final ValueListener listener;
+
+        Registration(String path, ValueListener listener) {
+            this.path = path;
+            this.listener = listener;
+        }
+    }
+
+    @Override
+    public void get(String path, Callback callback) {
+        Object value;
+        synchronized (this) {
+            value = copy(read(path));
+        }
+        if (callback != null) {
+            callback.onSuccess(value);
+        }
+    }
+
+    @Override
+    public void setValue(String path, Object value, Callback callback) {
+        Object normalized;
+        try {
+            normalized = normalize(value);
+        } catch (IllegalArgumentException e) {
+            if (callback != null) {
+                callback.onFailure(e.getMessage());
+            }
+            return;
+        }
+
+        synchronized (this) {
+            write(path, resolveIncrements(path, normalized));
+        }
+        notifyListeners(path);
+        if (callback != null) {
+            callback.onSuccess(null);
+        }
+    }
+
+    @Override
+    public void updateChildren(String path, Map<String, Object> updates, Callback callback) {
+        Map<String, Object> normalized = new HashMap<>();
+        try {
+            for (Map.Entry<String, Object> entry : updates.entrySet()) {
+                normalized.put(join(path, entry.getKey()), normalize(entry.getValue()));
+            }
+        } catch (IllegalArgumentException e) {
+            if (callback != null) {
+                callback.onFailure(e.getMessage());
+            }
+            return;
+        }
+
+        // All locations are written under one lock, like an atomic multi-path update
+        synchronized (this) {
+            for (Map.Entry<String, Object> entry : normalized.entrySet()) {
+                write(entry.getKey(), resolveIncrements(entry.getKey(), entry.getValue()));
+            }
+        }
+        notifyListeners(normalized.keySet());
+        if (callback != null) {
+            callback.onSuccess(null);
+        }
+    }
+
+    @Override
+    public void removeValue(String path, Callback callback) {
+        setValue(path, null, callback);
+    }
+
+    @Override
+    public void addValueListener(String path, ValueListener listener) {
+        Object value;
+        synchronized (this) {
+            registrations.add(new Registration(trim(path), listener));
+            value = copy(read(path));
+        }
+        // Like Firebase, a new listener immediately receives the current value
+        listener.onValueChanged(value);
+    }
+
+    @Override
+    public void removeValueListener(String path, ValueListener listener) {
+        synchronized (this) {
+            for (int i = registrations.size() - 1; i >= 0; i--) {
+                Registration registration = registrations.get(i);
+                if (registration.listener == listener && registration.path.equals(trim(path))) {
+                    registrations.remove(i);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void runTransaction(String path, Mutation mutation, Callback callback) {
+        boolean committed;
+        try {
+            synchronized (this) {
+                Object result = mutation.apply(copy(read(path)));
+                committed = result != ABORT;
+                if (committed) {
+                    write(path, resolveIncrements(path, normalize(result)));
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            if (callback != null) {
+                callback.onFailure(e.getMessage());
+            }
+            return;
+        }
+
+        if (committed) {
+            notifyListeners(path);
+        }
+        if (callback != null) {
+            callback.onSuccess(committed);
+        }
+    }
+
+    @Override
+    public synchronized String generateKey(String path) {
+        // Time prefix keeps keys chronologically ordered, the sequence keeps them unique
+        long now = System.currentTimeMillis();
+        if (now <= lastKeyTime) {
+            now = lastKeyTime;
+        }
+        lastKeyTime = now;
+        return String.format(Locale.US, "k%013d%06d", now, keySequence++ % 1000000);
+    }
+
+    // Notify every listener whose path is an ancestor or descendant of the written path
+    private void notifyListeners(String writtenPath) {
+        notifyListeners(Collections.singleton(writtenPath));
+    }
+
+    // Snapshots are taken and delivered under notifyLock, so with several
+    // writer threads a listener never ends up with an older value than the
+    // latest write (Firebase delivers events in order on one thread too)
+    private void notifyListeners(Collection<String> writtenPaths) {
+        synchronized (notifyLock) {
+            List<Registration> affected = new ArrayList<>();
+            List<Object> values = new ArrayList<>();
+            synchronized (this) {
+                for (Registration registration : registrations) {
+                    for (String writtenPath : writtenPaths) {
+                        if (isRelated(registration.path, trim(writtenPath))) {
+                            affected.add(registration);
+                            values.add(copy(read(registration.path)));
+                            break;
+                        }
+                    }
+                }
+            }
+            for (int i = 0; i < affected.size(); i++) {
+                affected.get(i).listener.onValueChanged(values.get(i));
+            }
+        }
+    }
+
+    private static boolean isRelated(String a, String b) {
+        return a.isEmpty() || b.isEmpty() || a.equals(b) || a.startsWith(b + "/") || b.startsWith(a + "/");
+    }
+
+    private Object read(String path) {
+        Object node = root;
+        for (String segment : segments(path)) {
+            if (!(node instanceof Map)) {
+                return null;
+            }
+            node = ((Map<String, Object>) node).get(segment);
+        }
+        return node;
+    }
+
+    private void write(String path, Object value) {
+        String[] segments = segments(path);
+        if (segments.length == 0) {
+            root.clear();
+            if (value instanceof Map) {
+                root.putAll((Map<String, Object>) value);
+            }
+            return;
+        }
+
+        // Walk down, creating intermediate nodes as needed
+        List<Map<String, Object>> parents = new ArrayList<>();
+        Map<String, Object> node = root;
+        for (int i = 0; i < segments.length - 1; i++) {
+            parents.add(node);
+            Object child = node.get(segments[i]);
+            if (!(child instanceof Map)) {
+                if (value == null) {
+                    return;
+                }
+                child = new HashMap<String, Object>();
+                node.put(segments[i], child);
+            }
+            node = (Map<String, Object>) child;
+        }
+
+        String leaf = segments[segments.length - 1];
+        if (value == null) {
+            node.remove(leaf);
+        } else {
+            node.put(leaf, value);
+        }
+
+        // Empty nodes don't exist in the Realtime Database, prune them
+        for (int i = parents.size() - 1; i >= 0 && node.isEmpty(); i--) {
+            Map<String, Object> parent = parents.get(i);
+            parent.remove(segments[i]);
+            node = parent;
+        }
+    }
+
+    // Replace increment values with the incremented number, like the server does
+    private Object resolveIncrements(String path, Object value) {
+        Long delta = DataStore.getIncrement(value);
+        if (delta != null) {
+            Object current = read(path);
+            if (current instanceof Double) {
+                return (Double) current + delta;
+            }
+            return (current instanceof Number ? ((Number) current).longValue() : 0L) + delta;
+        }
+        if (value instanceof Map) {
+            Map<String, Object> result = new HashMap<>();
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+                result.put(entry.getKey(), resolveIncrements(join(path, entry.getKey()), entry.getValue()));
+            }
+            return result;
+        }
+        return value;
+    }
+
+    // Convert a value to the shapes the Realtime Database hands back
+    static Object normalize(Object value) {
+        if (value == null || value instanceof String || value instanceof Boolean
+                || value instanceof Long || value instanceof Double) {
+            return value;
+        }
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Float) {
+            return ((Float) value).doubleValue();
+        }
+        if (value instanceof Map) {
+            Map<String, Object> result = new HashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                Object child = normalize(entry.getValue());
+                if (child != null) {
+                    result.put(String.valueOf(entry.getKey()), child);
+                }
+            }
+            return result.isEmpty() ? null : result;
+        }
+        if (value instanceof List) {
+            List<Object> result = new ArrayList<>();
+            for (Object item : (List<?>) value) {
+                result.add(normalize(item));
+            }
+            return result.isEmpty() ? null : result;
+        }
+        throw new IllegalArgumentException("Unsupported value type: " + value.getClass().getName());
+    }
+
+    private static Object copy(Object value) {
+        if (value instanceof Map) {
+            Map<String, Object> result = new HashMap<>();
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+                result.put(entry.getKey(), copy(entry.getValue()));
+            }
+            return result;
+        }
+        if (value instanceof List) {
+            List<Object> result = new ArrayList<>();
+            for (Object item : (List<Object>) value) {
+                result.add(copy(item));
+            }
+            return result;
+        }
+        return value;
+    }
+
+    static String join(String path, String child) {
+        String base = trim(path);
+        return base.isEmpty() ? trim(child) : base + "/" + trim(child);
+    }
+
+    static String trim(String path) {
+        if (path == null) {
+            return "";
+        }
+        int start = 0;
+        int end = path.length();
+        while (start < end && path.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        return path.substring(start, end);
+    }
+
+    private static String[] segments(String path) {
+        String trimmed = trim(path);
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/");
+    }
+}
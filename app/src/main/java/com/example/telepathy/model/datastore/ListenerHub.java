@@ -0,0 +1,153 @@
+package com.example.telepathy.model.datastore;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Decorator that shares one listener per path between all subscribers.
+ *
+ * The first subscriber to a path attaches a single listener on the delegate,
+ * later ones get the latest value straight away plus every update after it,
+ * and the last one to leave detaches it. While a path is being listened to,
+ * get() answers from the cached value instead of downloading the node again.
+ * Screens that follow the same lobby or game therefore cost one download.
+ */
+public class ListenerHub implements DataStore {
+    private final DataStore delegate;
+    private final Map<String, Subscription> subscriptions = new HashMap<>();
+
+    public ListenerHub(DataStore delegate) {
+        this.delegate = delegate;
+    }
+
+    // One upstream listener and the subscribers sharing it
+    private static class Subscription implements ValueListener {
+        final String path;
+        final List<ValueListener> subscribers = new CopyOnWriteArrayList<>();
+        boolean hasValue = false;
+        Object value;
+
+        Subscription(String path) {
+            this.path = path;
+        }
+
+        @Override
+        public synchronized void onValueChanged(Object newValue) {
+            value = newValue;
+            hasValue = true;
+            for (ValueListener subscriber : subscribers) {
+                subscriber.onValueChanged(newValue);
+            }
+        }
+
+        @Override
+        public synchronized void onCancelled(String error) {
+            for (ValueListener subscriber : subscribers) {
+                subscriber.onCancelled(error);
+            }
+        }
+
+        synchronized void join(ValueListener subscriber) {
+            subscribers.add(subscriber);
+            if (hasValue) {
+                subscriber.onValueChanged(value);
+            }
+        }
+    }
+
+    @Override
+    public void addValueListener(String path, ValueListener listener) {
+        String key = InMemoryDataStore.trim(path);
+        Subscription subscription;
+        boolean attach = false;
+        synchronized (subscriptions) {
+            subscription = subscriptions.get(key);
+            if (subscription == null) {
+                subscription = new Subscription(key);
+                subscriptions.put(key, subscription);
+                attach = true;
+            }
+        }
+        subscription.join(listener);
+        if (attach) {
+            delegate.addValueListener(key, subscription);
+        }
+    }
+
+    @Override
+    public void removeValueListener(String path, ValueListener listener) {
+        String key = InMemoryDataStore.trim(path);
+        Subscription subscription;
+        synchronized (subscriptions) {
+            subscription = subscriptions.get(key);
+            if (subscription == null || !subscription.subscribers.remove(listener)
+                    || !subscription.subscribers.isEmpty()) {
+                return;
+            }
+            subscriptions.remove(key);
+        }
+        delegate.removeValueListener(key, subscription);
+    }
+
+    @Override
+    public void get(String path, Callback callback) {
+        String key = InMemoryDataStore.trim(path);
+        Subscription subscription;
+        synchronized (subscriptions) {
+            subscription = subscriptions.get(key);
+        }
+        if (subscription != null) {
+            Object cached = null;
+            boolean hit;
+            synchronized (subscription) {
+                hit = subscription.hasValue;
+                if (hit) {
+                    cached = subscription.value;
+                }
+            }
+            if (hit) {
+                // The listener already keeps this node up to date
+                if (callback != null) {
+                    callback.onSuccess(cached);
+                }
+                return;
+            }
+        }
+        delegate.get(path, callback);
+    }
+
+    // Number of subscribers sharing the listener on a path
+    public int getSubscriberCount(String path) {
+        synchronized (subscriptions) {
+            Subscription subscription = subscriptions.get(InMemoryDataStore.trim(path));
+            return subscription != null ? subscription.subscribers.size() : 0;
+        }
+    }
+
+    @Override
+    public void setValue(String path, Object value, Callback callback) {
+        delegate.setValue(path, value, callback);
+    }
+
+    @Override
+    public void updateChildren(String path, Map<String, Object> updates, Callback callback) {
+        delegate.updateChildren(path, updates, callback);
+    }
+
+    @Override
+    public void removeValue(String path, Callback callback) {
+        delegate.removeValue(path, callback);
+    }
+
+    @Override
+    public void runTransaction(String path, Mutation mutation, Callback callback) {
+        delegate.runTransaction(path, mutation, callback);
+    }
+
+    @Override
+    public String generateKey(String path) {
+        return delegate.generateKey(path);
+    }
+}
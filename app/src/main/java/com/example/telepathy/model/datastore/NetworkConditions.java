@@ -0,0 +1,80 @@
+package com.example.telepathy.model.datastore;
+
+/**
+ * Network profile used by SimulatedNetworkDataStore.
+ *
+ * All probabilities are per operation and in the range 0..1.
+ */
+public class NetworkConditions {
+    private long rttMillis;
+    private long jitterMillis;
+    private double lossProbability;
+    private double reorderProbability;
+    private double disconnectProbability;
+    private long disconnectDurationMillis;
+
+    // A perfect network: no latency, no loss
+    public NetworkConditions() {
+        this.disconnectDurationMillis = 1000;
+    }
+
+    public NetworkConditions(long rttMillis, long jitterMillis, double lossProbability) {
+        this();
+        this.rttMillis = rttMillis;
+        this.jitterMillis = jitterMillis;
+        this.lossProbability = lossProbability;
+    }
+
+    public static NetworkConditions withRtt(long rttMillis) {
+        // Default jitter of 10% of the round trip
+        return new NetworkConditions(rttMillis, rttMillis / 10, 0);
+    }
+
+    public long getRttMillis() {
+        return rttMillis;
+    }
+
+    public void setRttMillis(long rttMillis) {
+        this.rttMillis = rttMillis;
+    }
+
+    public long getJitterMillis() {
+        return jitterMillis;
+    }
+
+    public void setJitterMillis(long jitterMillis) {
+        this.jitterMillis = jitterMillis;
+    }
+
+    public double getLossProbability() {
+        return lossProbability;
+    }
+
+    public void setLossProbability(double lossProbability) {
+        this.lossProbability = lossProbability;
+    }
+
+    public double getReorderProbability() {
+        return reorderProbability;
+    }
+
+    public void setReorderProbability(double reorderProbability) {
+        this.reorderProbability = reorderProbability;
+    }
+
+    public double getDisconnectProbability() {
+        return disconnectProbability;
+    }
+
+    public void setDisconnectProbability(double disconnectProbability) {
+        this.disconnectProbability = disconnectProbability;
+    }
+
+    public long getDisconnectDurationMillis() {
+        return disconnectDurationMillis;
+    }
+
+    public void setDisconnectDurationMillis(long disconnectDurationMillis) {
+        this.disconnectDurationMillis = disconnectDurationMillis;
+    }
+}
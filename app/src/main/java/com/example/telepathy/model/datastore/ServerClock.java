@@ -0,0 +1,42 @@
+package com.example.telepathy.model.datastore;
+
+import com.example.telepathy.utils.Clock;
+
+/**
+ * The database server's time, estimated from the local clock and the offset
+ * Firebase publishes at .info/serverTimeOffset. Devices that compare
+ * timestamps written by each other (e.g. the RoundAuthority lease) use it so
+ * that a phone whose clock is off does not misread them.
+ *
+ * Until the offset arrives, and on stores without one, it is the local clock.
+ */
+public class ServerClock implements Clock {
+    public static final String OFFSET_PATH = ".info/serverTimeOffset";
+
+    private final Clock localClock;
+    private volatile long offsetMillis = 0;
+
+    public ServerClock(DataStore dataStore) {
+        this(dataStore, Clock.SYSTEM);
+    }
+
+    public ServerClock(DataStore dataStore, Clock localClock) {
+        this.localClock = localClock;
+        dataStore.addValueListener(OFFSET_PATH, new DataStore.ValueListener() {
+            @Override
+            public void onValueChanged(Object value) {
+                offsetMillis = value instanceof Number ? ((Number) value).longValue() : 0;
+            }
+
+            @Override
+            public void onCancelled(String error) {
+                System.out.println("TELEPATHY_WARNING: Server time offset unavailable: " + error);
+            }
+        });
+    }
+
+    @Override
+    public long now() {
+        return localClock.now() + offsetMillis;
+    }
+}
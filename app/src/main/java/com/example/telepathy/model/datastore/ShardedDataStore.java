@@ -0,0 +1,116 @@
+package com.example.telepathy.model.datastore;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spreads games over several database instances, see DatabaseRouter.
+ *
+ * Game scoped paths ("games/{gameId}", "gamePlayers/{gameId}", ...) go to the
+ * game's shard, everything else (users, lobbies, history) to the main
+ * database. A multi-path update touching several instances is split into one
+ * update per instance; each part is atomic, the whole is not.
+ */
+public class ShardedDataStore implements DataStore {
+    private final DataStore main;
+    private final Map<String, DataStore> shards;
+    private final DatabaseRouter router;
+
+    public ShardedDataStore(DataStore main, Map<String, DataStore> shards, DatabaseRouter router) {
+        this.main = main;
+        this.shards = shards;
+        this.router = router;
+    }
+
+    // The instance holding a path
+    DataStore storeFor(String path) {
+        String shardId = router.shardForPath(path);
+        DataStore shard = shardId != null ? shards.get(shardId) : null;
+        return shard != null ? shard : main;
+    }
+
+    @Override
+    public void get(String path, Callback callback) {
+        storeFor(path).get(path, callback);
+    }
+
+    @Override
+    public void setValue(String path, Object value, Callback callback) {
+        storeFor(path).setValue(path, value, callback);
+    }
+
+    @Override
+    public void updateChildren(String path, Map<String, Object> updates, Callback callback) {
+        if (router.shardForPath(path) != null || !router.isSharded()) {
+            storeFor(path).updateChildren(path, updates, callback);
+            return;
+        }
+
+        // Group the entries by the instance they land on
+        Map<DataStore, Map<String, Object>> parts = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : updates.entrySet()) {
+            DataStore store = storeFor(InMemoryDataStore.join(path, entry.getKey()));
+            Map<String, Object> part = parts.get(store);
+            if (part == null) {
+                part = new HashMap<>();
+                parts.put(store, part);
+            }
+            part.put(entry.getKey(), entry.getValue());
+        }
+        if (parts.size() <= 1) {
+            DataStore store = parts.isEmpty() ? main : parts.keySet().iterator().next();
+            store.updateChildren(path, updates, callback);
+            return;
+        }
+
+        // Succeeds once every part has, fails with the first error
+        AtomicInteger pending = new AtomicInteger(parts.size());
+        AtomicBoolean failed = new AtomicBoolean(false);
+        for (Map.Entry<DataStore, Map<String, Object>> part : parts.entrySet()) {
+            part.getKey().updateChildren(path, part.getValue(), new Callback() {
+                @Override
+                public void onSuccess(Object result) {
+                    if (pending.decrementAndGet() == 0 && !failed.get() && callback != null) {
+                        callback.onSuccess(null);
+                    }
+                }
+
+                @Override
+                public void onFailure(String error) {
+                    if (!failed.getAndSet(true) && callback != null) {
+                        callback.onFailure(error);
+                    }
+                }
+            });
+        }
+    }
+
+    @Override
+    public void removeValue(String path, Callback callback) {
+        storeFor(path).removeValue(path, callback);
+    }
+
+    @Override
+    public void addValueListener(String path, ValueListener listener) {
+        storeFor(path).addValueListener(path, listener);
+    }
+
+    @Override
+    public void removeValueListener(String path, ValueListener listener) {
+        storeFor(path).removeValueListener(path, listener);
+    }
+
+    @Override
+    public void runTransaction(String path, Mutation mutation, Callback callback) {
+        storeFor(path).runTransaction(path, mutation, callback);
+    }
+
+    @Override
+    public String generateKey(String path) {
+        // Push IDs are made on the client, any instance will do
+        return main.generateKey(path);
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.telepathy.model.datastore;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decorator that puts a simulated network between a client and a DataStore.
+ *
+ * Every operation travels "up" to the delegate and its result travels back
+ * "down", each leg taking half the round trip plus jitter. Operations can be
+ * lost on either leg, reordered, or hit a disconnect. While disconnected,
+ * reads fail and writes are queued until the connection comes back, which is
+ * how the Firebase client behaves.
+ *
+ * All callbacks and listener events are delivered on a single network thread,
+ * so client code sees the same serialized delivery it gets on the main thread.
+ * A fixed seed makes runs repeatable.
+ */
+public class SimulatedNetworkDataStore implements DataStore {
+    private final DataStore delegate;
+    private final NetworkConditions conditions;
+    private final Random random;
+    private final ScheduledExecutorService network;
+
+    private final Map<ValueListener, ValueListener> listeners = new HashMap<>();
+    private final List<Runnable> offlineWrites = new ArrayList<>();
+    private final Map<ValueListener, Object> offlineEvents = new LinkedHashMap<>();
+    private boolean connected = true;
+    private long lastEventDeliveryTime = 0;
+
+    private final AtomicInteger operationCount = new AtomicInteger();
+    private final AtomicInteger failureCount = new AtomicInteger();
+    private final AtomicInteger disconnectCount = new AtomicInteger();
+
+    public SimulatedNetworkDataStore(DataStore delegate, NetworkConditions conditions, long seed) {
+        this.delegate = delegate;
+        this.conditions = conditions;
+        this.random = new Random(seed);
+        this.network = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "simulated-network");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void get(String path, Callback callback) {
+        operationCount.incrementAndGet();
+        network.execute(() -> {
+            maybeDisconnect();
+            if (!connected) {
+                fail(callback, "Client is offline");
+                return;
+            }
+            send(callback, relay -> delegate.get(path, relay));
+        });
+    }
+
+    @Override
+    public void setValue(String path, Object value, Callback callback) {
+        write(callback, relay -> delegate.setValue(path, value, relay));
+    }
+
+    @Override
+    public void updateChildren(String path, Map<String, Object> updates, Callback callback) {
+        Map<String, Object> copy = new HashMap<>(updates);
+        write(callback, relay -> delegate.updateChildren(path, copy, relay));
+    }
+
+    @Override
+    public void removeValue(String path, Callback callback) {
+        write(callback, relay -> delegate.removeValue(path, relay));
+    }
+
+    @Override
+    public void runTransaction(String path, Mutation mutation, Callback callback) {
+        // Applied atomically when it reaches the server, like a transaction without retries
+        write(callback, relay -> delegate.runTransaction(path, mutation, relay));
+    }
+
+    @Override
+    public void addValueListener(String path, ValueListener listener) {
+        ValueListener relay = new ValueListener() {
+            @Override
+            public void onValueChanged(Object value) {
+                network.execute(() -> deliverEvent(listener, value));
+            }
+
+            @Override
+            public void onCancelled(String error) {
+                network.execute(() -> listener.onCancelled(error));
+            }
+        };
+        synchronized (listeners) {
+            listeners.put(listener, relay);
+        }
+        network.execute(() -> network.schedule(() -> {
+            // Removed while the request was on its way, don't attach it
+            synchronized (listeners) {
+                if (listeners.get(listener) == relay) {
+                    delegate.addValueListener(path, relay);
+                }
+            }
+        }, oneWayDelay(), TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public void removeValueListener(String path, ValueListener listener) {
+        ValueListener relay;
+        synchronized (listeners) {
+            relay = listeners.remove(listener);
+        }
+        if (relay != null) {
+            delegate.removeValueListener(path, relay);
+        }
+    }
+
+    @Override
+    public String generateKey(String path) {
+        // Key generation is local in Firebase, no network involved
+        return delegate.generateKey(path);
+    }
+
+    // Force a disconnect, e.g. to test reconnect handling
+    public void disconnect() {
+        network.execute(() -> {
+            if (connected) {
+                connected = false;
+                disconnectCount.incrementAndGet();
+            }
+        });
+    }
+
+    public void reconnect() {
+        network.execute(this::goOnline);
+    }
+
+    public int getOperationCount() {
+        return operationCount.get();
+    }
+
+    public int getFailureCount() {
+        return failureCount.get();
+    }
+
+    public int getDisconnectCount() {
+        return disconnectCount.get();
+    }
+
+    public void shutdown() {
+        network.shutdownNow();
+    }
+
+    private interface Operation {
+        void run(Callback relay);
+    }
+
+    private void write(Callback callback, Operation operation) {
+        operationCount.incrementAndGet();
+        network.execute(() -> {
+            maybeDisconnect();
+            if (!connected) {
+                offlineWrites.add(() -> send(callback, operation));
+                return;
+            }
+            send(callback, operation);
+        });
+    }
+
+    // Runs on the network thread
+    private void send(Callback callback, Operation operation) {
+        long uplink = oneWayDelay();
+        if (random.nextDouble() < conditions.getReorderProbability()) {
+            // Hold this request back so later ones overtake it
+            uplink += (long) (random.nextDouble() * Math.max(1, conditions.getRttMillis()));
+        }
+
+        boolean lost = random.nextDouble() < conditions.getLossProbability();
+        boolean requestLost = lost && random.nextBoolean();
+        boolean responseLost = lost && !requestLost;
+
+        network.schedule(() -> {
+            if (requestLost) {
+                network.schedule(() -> fail(callback, "Network error: request lost"),
+                        oneWayDelay(), TimeUnit.MILLISECONDS);
+                return;
+            }
+            operation.run(new Callback() {
+                @Override
+                public void onSuccess(Object result) {
+                    respond(callback, result, null, responseLost);
+                }
+
+                @Override
+                public void onFailure(String error) {
+                    respond(callback, null, error, responseLost);
+                }
+            });
+        }, uplink, TimeUnit.MILLISECONDS);
+    }
+
+    private void respond(Callback callback, Object result, String error, boolean responseLost) {
+        network.schedule(() -> {
+            if (responseLost) {
+                fail(callback, "Network error: response lost");
+            } else if (error != null) {
+                fail(callback, error);
+            } else if (callback != null) {
+                callback.onSuccess(result);
+            }
+        }, oneWayDelay(), TimeUnit.MILLISECONDS);
+    }
+
+    // Runs on the network thread. Events keep their order, only their timing varies.
+    private void deliverEvent(ValueListener listener, Object value) {
+        if (!connected) {
+            offlineEvents.put(listener, value);
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long deliveryTime = Math.max(now + oneWayDelay(), lastEventDeliveryTime);
+        lastEventDeliveryTime = deliveryTime;
+        network.schedule(() -> {
+            synchronized (listeners) {
+                if (!listeners.containsKey(listener)) {
+                    return;
+                }
+            }
+            listener.onValueChanged(value);
+        }, deliveryTime - now, TimeUnit.MILLISECONDS);
+    }
+
+    private void maybeDisconnect() {
+        if (connected && random.nextDouble() < conditions.getDisconnectProbability()) {
+            connected = false;
+            disconnectCount.incrementAndGet();
+            network.schedule(this::goOnline, conditions.getDisconnectDurationMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void goOnline() {
+        if (connected) {
+            return;
+        }
+        connected = true;
+        List<Runnable> writes = new ArrayList<>(offlineWrites);
+        offlineWrites.clear();
+        for (Runnable write : writes) {
+            write.run();
+        }
+        Map<ValueListener, Object> events = new LinkedHashMap<>(offlineEvents);
+        offlineEvents.clear();
+        for (Map.Entry<ValueListener, Object> event : events.entrySet()) {
+            deliverEvent(event.getKey(), event.getValue());
+        }
+    }
+
+    private void fail(Callback callback, String error) {
+        failureCount.incrementAndGet();
+        if (callback != null) {
+            callback.onFailure(error);
+        }
+    }
+
+    private long oneWayDelay() {
+        long base = conditions.getRttMillis() / 2;
+        long jitter = conditions.getJitterMillis();
+        if (jitter > 0) {
+            base += (long) ((random.nextDouble() * 2 - 1) * jitter);
+        }
+        return Math.max(0, base);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.telepathy.utils;
+
+/**
+ * Source of the current time in milliseconds, replaced by a virtual clock in
+ * tests so timers can be driven without waiting.
+ */
+public interface Clock {
+    Clock SYSTEM = System::currentTimeMillis;
+
+    long now();
+}
@@ -5,17 +5,45 @@ public class Constants {
     public static final String USERS_PATH = "users";
     public static final String LOBBIES_PATH = "lobbies";
     public static final String GAMES_PATH = "games";
+    // Games waiting for a ResolverService, keyed by game ID
+    public static final String RESOLVER_QUEUE_PATH = "resolverQueue";
+    // Throttled public view of a game, keyed by game ID
+    public static final String SPECTATE_PATH = "spectate";
+    // Player records and sharded submissions of massive games, keyed by game ID
+    public static final String GAME_PLAYERS_PATH = "gamePlayers";
+    public static final String SUBMISSIONS_PATH = "submissions";
+
+    // Extra Realtime Database instances games are spread over, see DatabaseRouter.
+    // Empty keeps every game on the default instance. For local testing point
+    // them at emulator namespaces, e.g. "http://10.0.2.2:9000?ns=telepathy-games-1".
+    public static final String[] GAME_DATABASE_URLS = {};
 
     // Game constants
     public static final int DEFAULT_TIME_LIMIT = 30; // seconds
     public static final int DEFAULT_MAX_PLAYERS = 8;
     public static final int DEFAULT_LIVES = 3;
 
-    // Word categories
-    public static final String CATEGORY_ANIMALS = "Animals";
-    public static final String CATEGORY_COUNTRIES = "Countries";
-    public static final String CATEGORY_FOODS = "Foods";
-    public static final String CATEGORY_SPORTS = "Sports";
+    // Let a ResolverService run the rounds of new games, clients only submit and render
+    public static final boolean SERVER_AUTHORITATIVE_ROUNDS = false;
+
+    // Games with more players than this use the massive layout, see MassiveRoundResolver
+    public static final int MASSIVE_PLAYER_THRESHOLD = 100;
+    public static final int MASSIVE_SHARDS = 64;
+    // Rounds this large are tallied through a HeavyHitterSketch instead of counting every word
+    public static final int SKETCH_TALLY_MIN_PLAYERS = 20_000;
+
+    // Spectator views are published at most this often, except at round boundaries
+    public static final long SPECTATE_INTERVAL_MS = 1000;
+
+    // Cached profiles older than this are not shown at login
+    public static final long PROFILE_MAX_AGE_MS = 7L * 24 * 60 * 60 * 1000;
+
+    // Word category IDs, display names come from CategoryCatalog
+    public static final String CATEGORY_ANIMALS = "animals";
+    public static final String CATEGORY_COUNTRIES = "countries";
+    public static final String CATEGORY_FOODS = "foods";
+    public static final String CATEGORY_SPORTS = "sports";
+    public static final String DEFAULT_CATEGORY = CATEGORY_ANIMALS;
 
     // Game status
     public static final String STATUS_ACTIVE = "active";
@@ -0,0 +1,121 @@
+package com.example.telepathy.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded memory summary of a stream of words.
+ *
+ * A Count-Min sketch (conservative update, 4 bit counters saturating at 15)
+ * estimates how often any word was seen. Estimates never fall below the true
+ * count, so a word estimated at 1 was seen exactly once and can't have
+ * collided; only the rest need an exact count. Words the sketch has seen
+ * before also go to a Space-Saving summary, which keeps the words seen most
+ * often in a fixed number of counters without one-off words churning it.
+ */
+public class HeavyHitterSketch {
+    public static final int MAX_ESTIMATE = 15;
+
+    private static final int DEPTH = 3;
+    // Cells per expected word, keeps one-off words from sharing all their cells
+    private static final int CELLS_PER_ITEM = 4;
+    private static final int[] SEEDS = { 0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35 };
+
+    private final byte[][] cells;
+    private final int mask;
+    private final int capacity;
+    // Space-Saving counters: word -> { count, overestimation }
+    private final Map<String, long[]> counters = new HashMap<>();
+
+    public HeavyHitterSketch(int expectedItems, int capacity) {
+        int width = Integer.highestOneBit(Math.max(expectedItems * CELLS_PER_ITEM, 1024) - 1) << 1;
+        // Two counters per byte
+        this.cells = new byte[DEPTH][width / 2];
+        this.mask = width - 1;
+        this.capacity = capacity;
+    }
+
+    public void add(String word) {
+        int hash = word.hashCode();
+        int estimate = estimate(hash);
+        if (estimate < MAX_ESTIMATE) {
+            // Conservative update: only raise the cells at the current minimum
+            for (int row = 0; row < DEPTH; row++) {
+                int cell = cell(hash, row);
+                if (get(row, cell) == estimate) {
+                    cells[row][cell >>> 1] += 1 << ((cell & 1) * 4);
+                }
+            }
+        }
+        if (estimate == 0) {
+            return;
+        }
+
+        long[] counter = counters.get(word);
+        if (counter != null) {
+            counter[0]++;
+        } else if (counters.size() < capacity) {
+            counters.put(word, new long[] { 1, 0 });
+        } else {
+            // Replace the smallest counter, the new word inherits its count as error
+            String minWord = null;
+            long[] min = null;
+            for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+                if (min == null || entry.getValue()[0] < min[0]) {
+                    minWord = entry.getKey();
+                    min = entry.getValue();
+                }
+            }
+            counters.remove(minWord);
+            counters.put(word, new long[] { min[0] + 1, min[0] });
+        }
+    }
+
+    // Upper bound of how often the word was seen, saturates at MAX_ESTIMATE
+    public int estimate(String word) {
+        return estimate(word.hashCode());
+    }
+
+    // The most frequent words seen more than once, largest first. Every word
+    // seen more than 1/capacity of the repeated submissions is among them.
+    public List<String> top(int k) {
+        List<Map.Entry<String, long[]>> entries = new ArrayList<>(counters.entrySet());
+        entries.sort((a, b) -> a.getValue()[0] == b.getValue()[0] ? a.getKey().compareTo(b.getKey())
+                : Long.compare(b.getValue()[0], a.getValue()[0]));
+        List<String> top = new ArrayList<>();
+        for (int i = 0; i < Math.min(k, entries.size()); i++) {
+            top.add(entries.get(i).getKey());
+        }
+        return top;
+    }
+
+    // Rough heap footprint: the sketch rows plus the Space-Saving counters
+    public long memoryBytes() {
+        return (long) DEPTH * cells[0].length + (long) capacity * 96;
+    }
+
+    private int get(int row, int cell) {
+        return (cells[row][cell >>> 1] >>> ((cell & 1) * 4)) & 0xF;
+    }
+
+    private int estimate(int hash) {
+        int min = MAX_ESTIMATE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, get(row, cell(hash, row)));
+        }
+        return min;
+    }
+
+    private int cell(int hash, int row) {
+        // murmur3 finalizer over the seeded hash
+        int h = hash ^ SEEDS[row];
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h & mask;
+    }
+}
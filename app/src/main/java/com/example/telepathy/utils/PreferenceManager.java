@@ -12,6 +12,7 @@ public class PreferenceManager {
     private static final String KEY_USER_ID = "userId";
     private static final String KEY_USERNAME = "username";
     private static final String KEY_SCORE = "totalScore";
+    private static final String KEY_PROFILE_UPDATED_AT = "profileUpdatedAt";
 
     private SharedPreferences sharedPreferences;
     private SharedPreferences.Editor editor;
@@ -21,11 +22,18 @@ public class PreferenceManager {
         editor = sharedPreferences.edit();
     }
 
+    // Save a profile that was just read from the server
     public void saveUserData(User user) {
+        saveUserData(user, System.currentTimeMillis());
+    }
+
+    // updatedAt is when the profile was last read from the server
+    public void saveUserData(User user, long updatedAt) {
         editor.putBoolean(KEY_IS_LOGGED_IN, true);
         editor.putString(KEY_USER_ID, user.getId());
         editor.putString(KEY_USERNAME, user.getUsername());
         editor.putInt(KEY_SCORE, user.getTotalScore());
+        editor.putLong(KEY_PROFILE_UPDATED_AT, updatedAt);
         editor.apply();
     }
 
@@ -39,6 +47,24 @@ public class PreferenceManager {
         } else return null;
     }
 
+    // Last saved profile, even after logout, if it is younger than maxAgeMillis
+    public User getCachedProfile(long maxAgeMillis) {
+        long age = System.currentTimeMillis() - getProfileUpdatedAt();
+        if (age < 0 || age > maxAgeMillis) {
+            return null;
+        }
+        String userId = sharedPreferences.getString(KEY_USER_ID, null);
+        String username = sharedPreferences.getString(KEY_USERNAME, null);
+        if (userId == null || username == null) {
+            return null;
+        }
+        return new User(userId, username, sharedPreferences.getInt(KEY_SCORE, 0));
+    }
+
+    public long getProfileUpdatedAt() {
+        return sharedPreferences.getLong(KEY_PROFILE_UPDATED_AT, 0);
+    }
+
     public boolean isLoggedIn() {
         return sharedPreferences.getBoolean(KEY_IS_LOGGED_IN, false);
     }
@@ -47,4 +73,10 @@ public class PreferenceManager {
         editor.clear();
         editor.apply();
     }
+
+    // Log out but keep the profile so the next login can show it right away
+    public void endSession() {
+        editor.remove(KEY_IS_LOGGED_IN);
+        editor.apply();
+    }
 }
@@ -0,0 +1,146 @@
+package com.example.telepathy.utils;
+
+import com.example.telepathy.model.Database;
+import com.google.firebase.database.DatabaseException;
+import com.google.firebase.database.FirebaseDatabase;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decides what the Realtime Database keeps on disk and in sync.
+ *
+ * Disk persistence is enabled with a bounded cache, and the nodes the user is
+ * looking at (their profile, the active lobby and the active game) are kept
+ * synced so reopening the app renders from disk straight away. Paths are
+ * reference counted because a lobby is held by both LobbyActivity and
+ * GameActivity during the hand-over between them.
+ */
+public class SyncPolicyManager {
+    // Firebase allows 1 MB to 100 MB, game and lobby nodes are a few KB each
+    public static final long CACHE_SIZE_BYTES = 5L * 1024 * 1024;
+
+    private static SyncPolicyManager instance;
+
+    interface SyncSwitch {
+        void keepSynced(String path, boolean synced);
+    }
+
+    private final SyncSwitch syncSwitch;
+    private final Map<String, Integer> refCounts = new HashMap<>();
+    private String userPath;
+
+    SyncPolicyManager(SyncSwitch syncSwitch) {
+        this.syncSwitch = syncSwitch;
+    }
+
+    /**
+     * Must run before anything else touches the database, i.e. from
+     * TelepathyApplication.onCreate.
+     */
+    public static synchronized void initialize(FirebaseDatabase database) {
+        if (instance != null) {
+            return;
+        }
+        enablePersistence(database);
+        // Game shards keep their own disk cache
+        for (String url : Constants.GAME_DATABASE_URLS) {
+            enablePersistence(FirebaseDatabase.getInstance(url));
+        }
+        instance = new SyncPolicyManager(
+                (path, synced) -> Database.getInstance().getReference(path).keepSynced(synced));
+    }
+
+    private static void enablePersistence(FirebaseDatabase database) {
+        try {
+            database.setPersistenceEnabled(true);
+            database.setPersistenceCacheSizeBytes(CACHE_SIZE_BYTES);
+        } catch (DatabaseException e) {
+            // Already in use, e.g. when the process is restarted by a test runner
+            System.out.println("TELEPATHY_WARNING: Could not enable persistence: " + e.getMessage());
+        }
+    }
+
+    public static synchronized SyncPolicyManager getInstance() {
+        if (instance == null) {
+            initialize(FirebaseDatabase.getInstance());
+        }
+        return instance;
+    }
+
+    // Keep the signed in user's profile synced, replacing any previous user
+    public synchronized void syncUser(String userId) {
+        String path = userId != null ? Constants.USERS_PATH + "/" + userId : null;
+        if (path != null && path.equals(userPath)) {
+            return;
+        }
+        if (userPath != null) {
+            release(userPath);
+        }
+        userPath = path;
+        if (path != null) {
+            acquire(path);
+        }
+    }
+
+    public void syncLobby(String lobbyId) {
+        if (lobbyId != null) {
+            acquire(Constants.LOBBIES_PATH + "/" + lobbyId);
+        }
+    }
+
+    public void releaseLobby(String lobbyId) {
+        if (lobbyId != null) {
+            release(Constants.LOBBIES_PATH + "/" + lobbyId);
+        }
+    }
+
+    public void syncGame(String gameId) {
+        if (gameId != null) {
+            acquire(Constants.GAMES_PATH + "/" + gameId);
+        }
+    }
+
+    public void releaseGame(String gameId) {
+        if (gameId != null) {
+            release(Constants.GAMES_PATH + "/" + gameId);
+        }
+    }
+
+    // Stop syncing everything, e.g. on logout
+    public synchronized void releaseAll() {
+        for (String path : refCounts.keySet()) {
+            syncSwitch.keepSynced(path, false);
+        }
+        refCounts.clear();
+        userPath = null;
+    }
+
+    public synchronized boolean isSynced(String path) {
+        return refCounts.containsKey(path);
+    }
+
+    synchronized void acquire(String path) {
+        Integer count = refCounts.get(path);
+        if (count == null) {
+            syncSwitch.keepSynced(path, true);
+            System.out.println("TELEPATHY: Keeping " + path + " synced");
+            count = 0;
+        }
+        refCounts.put(path, count + 1);
+    }
+
+    synchronized void release(String path) {
+        Integer count = refCounts.get(path);
+        if (count == null) {
+            return;
+        }
+        if (count <= 1) {
+            refCounts.remove(path);
+            syncSwitch.keepSynced(path, false);
+            System.out.println("TELEPATHY: Released sync for " + path);
+        } else {
+            refCounts.put(path, count - 1);
+        }
+    }
+}
@@ -4,8 +4,8 @@ import android.annotation.SuppressLint;
 import android.content.Intent;
 import android.os.Build;
 import android.os.Bundle;
-import android.os.CountDownTimer;
-import android.os.Handler;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.util.Log;
 import android.view.View;
 import android.view.ViewGroup;
@@ -23,10 +23,17 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.telepathy.R;
 import com.example.telepathy.controller.FirebaseController;
 import com.example.telepathy.controller.GameController;
-import com.example.telepathy.model.Game;
+import com.example.telepathy.controller.GameScheduler;
+import com.example.telepathy.controller.MatchHistoryController;
+import com.example.telepathy.controller.WordValidator;
+import com.example.telepathy.model.CategoryCatalog;
+import com.example.telepathy.model.GamePhase;
 import com.example.telepathy.model.GameRound;
+import com.example.telepathy.model.GameState;
 import com.example.telepathy.model.Lobby;
 import com.example.telepathy.model.Player;
+import com.example.telepathy.model.datastore.DataStore;
+import com.example.telepathy.utils.SyncPolicyManager;
 import com.example.telepathy.view.adapters.PlayerListAdapter;
 import com.example.telepathy.view.adapters.WordHistoryAdapter;
 
@@ -61,17 +68,21 @@ public class GameActivity extends AppCompatActivity implements GameController.Ga
     private String playerId;
     private List<Player> players = new ArrayList<>();
     private List<String> validWords = new ArrayList<>(); // We'll still keep track of valid words in code even though we
-                                                         // don't display them
+                                                         // don't display them, read only
 
     private boolean isHost;
 
-    private CountDownTimer countDownTimer;
+    private GameScheduler.Timeout countDownTimer;
+    private GameScheduler.Timeout nextRoundCountdown;
     private boolean isRoundActive = false;
 
     private FirebaseController firebaseController;
     private AlertDialog dialog;
 
-    private Game currentGame;
+    private GameState currentGame;
+    // Shared with LobbyActivity through the ListenerHub, no refetch per game update
+    private Lobby currentLobby;
+    private DataStore.ValueListener lobbyListener;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -86,6 +97,8 @@ public class GameActivity extends AppCompatActivity implements GameController.Ga
 
         // Initialize Firebase controller
         firebaseController = FirebaseController.getInstance();
+        SyncPolicyManager.getInstance().syncLobby(lobbyId);
+        SyncPolicyManager.getInstance().syncGame(gameId);
 
         // Initialize UI components
         lobbyNameTextView = findViewById(R.id.lobbyNameTextView);
@@ -121,6 +134,51 @@ public class GameActivity extends AppCompatActivity implements GameController.Ga
         // Set click listener
         submitButton.setOnClickListener(v -> submitWord());
 
+        // Check the word while it's typed, feedback shows once typing pauses
+        wordInputEditText.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                String typed = s.toString();
+                if (gameController == null || !isRoundActive || typed.trim().isEmpty()) {
+                    wordInputEditText.setError(null);
+                    return;
+                }
+                gameController.checkWordAsTyped(typed,
+                        result -> runOnUiThread(() -> showWordFeedback(typed, result)));
+            }
+        });
+
+        if (lobbyId != null) {
+            lobbyListener = new DataStore.ValueListener() {
+                @Override
+                public void onValueChanged(Object value) {
+                    Lobby lobby = FirebaseController.toLobby(value);
+                    if (lobby != null) {
+                        runOnUiThread(() -> {
+                            currentLobby = lobby;
+                            if (currentGame != null && currentGame.getPhase() != GamePhase.GAME_END) {
+                                updateLobbyHeader(currentGame);
+                            }
+                        });
+                    }
+                }
+
+                @Override
+                public void onCancelled(String error) {
+                    Log.e("GameActivity", "Failed to load lobby name: " + error);
+                }
+            };
+            firebaseController.listenForLobby(lobbyId, lobbyListener);
+        }
+
         // Initialize game controller
         if (gameId != null) {
             // Join existing game
@@ -149,6 +207,7 @@ public class GameActivity extends AppCompatActivity implements GameController.Ga
             @Override
             public void onSuccess(Object result) {
                 gameId = (String) result;
+                SyncPolicyManager.getInstance().syncGame(gameId);
                 gameController = new GameController(gameId, playerId, GameActivity.this);
 
                 // Hide the waiting layout
@@ -226,37 +285,56 @@ public class GameActivity extends AppCompatActivity implements GameController.Ga
         }
     }
 
+    private void showWordFeedback(String typed, WordValidator.Result result) {
+        // The input changed since, a newer result is on its way
+        if (!typed.equals(wordInputEditText.getText().toString()) || !isRoundActive) {
+            return;
+        }
+        if (result.isValid()) {
+            wordInputEditText.setError(null);
+        } else if (result.getStatus() == WordValidator.Status.NOT_IN_LIST && !result.getSuggestions().isEmpty()) {
+            wordInputEditText.setError("Did you mean: " + String.join(", ", result.getSuggestions()) + "?");
+        } else if (!result.getSuggestions().isEmpty()) {
+            wordInputEditText.setError(result.getMessage() + " Try: " + String.join(", ", result.getSuggestions()));
+        } else {
+            wordInputEditText.setError(result.getMessage());
+        }
+    }
+
     private void startTimer(long durationMillis) {
         // Cancel any existing timer
         if (countDownTimer != null) {
             countDownTimer.cancel();
         }
 
-        // Start new countdown timer
-        countDownTimer = new CountDownTimer(durationMillis, 1000) {
+        // Start new countdown timer, ticks arrive on the scheduler thread
+        countDownTimer = GameScheduler.getInstance().countdown(gameId, durationMillis, 1000,
+                new GameScheduler.Countdown() {
             @Override
             public void onTick(long millisUntilFinished) {
                 int seconds = (int) (millisUntilFinished / 1000);
-                timerTextView.setText(String.valueOf(seconds));
+                runOnUiThread(() -> timerTextView.setText(String.valueOf(seconds)));
             }
 
             @Override
             public void onFinish() {
-                timerTextView.setText("0");
-                isRoundActive = false;
+                runOnUiThread(() -> {
+                    timerTextView.setText("0");
+                    isRoundActive = false;
 
-                // Disable input
-                wordInputEditText.setEnabled(false);
-                submitButton.setEnabled(false);
+                    // Disable input
+                    wordInputEditText.setEnabled(false);
+                    submitButton.setEnabled(false);
 
-                Toast.makeText(GameActivity.this, "Time's up!", Toast.LENGTH_SHORT).show();
+                    Toast.makeText(GameActivity.this, "Time's up!", Toast.LENGTH_SHORT).show();
+                });
 
                 // Important: Tell the server the round has ended due to timer expiration
                 if (gameController != null) {
                     gameController.handleTimerExpired();
                 }
             }
-        }.start();
+        });
 
         // Enable input
         wordInputEditText.setEnabled(true);
@@ -264,45 +342,35 @@ public class GameActivity extends AppCompatActivity implements GameController.Ga
         isRoundActive = true;
     }
 
+    private void updateLobbyHeader(GameState game) {
+        if (currentLobby == null) {
+            return;
+        }
+        lobbyNameTextView.setText(currentLobby.getName());
+
+        // Update category visibility based on game mode
+        if (game.getConfig().isMatchingMode()) {
+            categoryGameTextView.setVisibility(View.GONE);
+        } else {
+            categoryGameTextView.setVisibility(View.VISIBLE);
+            categoryGameTextView.setText(getString(R.string.category_label,
+                    CategoryCatalog.getInstance().getDisplayName(game.getConfig().getSelectedCategory())));
+        }
+    }
+
     @Override
-    public void onGameStateChanged(Game game) {
+    public void onGameStateChanged(GameState game) {
         // Store the current game state
         this.currentGame = game;
 
         // Update UI with game state
         runOnUiThread(() -> {
-            if (!"gameEnd".equals(game.getStatus())) {
-                firebaseController.getLobbyById(lobbyId, new FirebaseController.FirebaseCallback() {
-                    @Override
-                    public void onSuccess(Object result) {
-                        Lobby lobby = (Lobby) result;
-                        if (lobby != null) {
-                            runOnUiThread(() -> {
-                                lobbyNameTextView.setText(lobby.getName());
-
-                                // Update category visibility based on game mode
-                                if (game.getConfig().isMatchingMode()) {
-                                    categoryGameTextView.setVisibility(View.GONE);
-                                } else {
-                                    categoryGameTextView.setVisibility(View.VISIBLE);
-                                    categoryGameTextView.setText(getString(R.string.category_label,
-                                            game.getConfig().getSelectedCategory()));
-                                }
-                            });
-                        }
-                    }
-
-                    @Override
-                    public void onFailure(String error) {
-                        Log.e("GameActivity", "Failed to load lobby name: " + error);
-                    }
-                });
+            if (game.getPhase() != GamePhase.GAME_END) {
+                updateLobbyHeader(game);
             }
 
-            // Update player list
-            players.clear();
-            players.addAll(game.getPlayers());
-            playerListAdapter.notifyDataSetChanged();
+            // Update player list, rebinding only the players that changed
+            playerListAdapter.updatePlayers(game.getPlayers());
 
             // Update current player stats (lives and score)
             for (Player player : players) {
@@ -334,9 +402,8 @@ public class GameActivity extends AppCompatActivity implements GameController.Ga
         runOnUiThread(() -> {
             roundTextView.setText(getString(R.string.round_number, round.getRoundNumber()));
 
-            // Update available words for this round
-            validWords.clear();
-            validWords.addAll(round.getWords());
+            // Update available words for this round, usually the list prepared during the intermission
+            validWords = round.getWords();
 
             // Log available words for debugging
             System.out.println("TELEPATHY: Available words for round " + round.getRoundNumber() +
@@ -392,6 +459,8 @@ public class GameActivity extends AppCompatActivity implements GameController.Ga
             }
 
             wordHistoryAdapter.notifyDataSetChanged();
+            // Room for the next round's words and messages before it starts
+            wordHistoryAdapter.ensureCapacity(players.size() + 1);
             // Scroll to latest item
             if (!usedWords.isEmpty()) {
                 wordHistoryRecyclerView.scrollToPosition(usedWords.size() - 1);
@@ -418,18 +487,22 @@ public class GameActivity extends AppCompatActivity implements GameController.Ga
         timerTextView.setBackgroundResource(R.drawable.timer_background);
 
         // Start a 5-second countdown
-        new CountDownTimer(5000, 1000) {
+        if (nextRoundCountdown != null) {
+            nextRoundCountdown.cancel();
+        }
+        nextRoundCountdown = GameScheduler.getInstance().countdown(gameId, 5000, 1000,
+                new GameScheduler.Countdown() {
             @Override
             public void onTick(long millisUntilFinished) {
                 int seconds = (int) (millisUntilFinished / 1000);
-                timerTextView.setText("Next round in: " + seconds);
+                runOnUiThread(() -> timerTextView.setText("Next round in: " + seconds));
             }
 
             @Override
             public void onFinish() {
-                timerTextView.setText("Starting...");
+                runOnUiThread(() -> timerTextView.setText("Starting..."));
             }
-        }.start();
+        });
     }
 
     private void updatePlayerSubmissions() {
@@ -503,6 +576,9 @@ public class GameActivity extends AppCompatActivity implements GameController.Ga
 
             Log.d("TELEPATHY", "Game ended. isHost=" + isHost + ", lobbyId=" + lobbyId);
 
+            // This game is about to show up in the match history
+            MatchHistoryController.getInstance().invalidate();
+
             if (isHost && lobbyId != null) {
                 firebaseController.deleteLobby(lobbyId, new FirebaseController.FirebaseCallback() {
                     @Override
@@ -521,6 +597,23 @@ public class GameActivity extends AppCompatActivity implements GameController.Ga
         });
     }
 
+    @Override
+    public void onSubmissionFailed(String word, String error) {
+        runOnUiThread(() -> {
+            Toast.makeText(this, "Failed to submit word: " + error, Toast.LENGTH_LONG).show();
+            Log.e("TELEPATHY_ERROR", "Failed to submit word " + word + ": " + error);
+
+            // The word was rolled back, give it back to the player to submit again
+            if (isRoundActive) {
+                wordInputEditText.setEnabled(true);
+                submitButton.setEnabled(true);
+                wordInputEditText.setText(word);
+                wordInputEditText.setSelection(word.length());
+                wordInputEditText.requestFocus();
+            }
+        });
+    }
+
     @Override
     public void onError(String error) {
         runOnUiThread(() -> {
@@ -670,10 +763,18 @@ public class GameActivity extends AppCompatActivity implements GameController.Ga
         if (countDownTimer != null) {
             countDownTimer.cancel();
         }
+        if (nextRoundCountdown != null) {
+            nextRoundCountdown.cancel();
+        }
 
         if (gameController != null) {
             gameController.cleanup();
         }
+        if (lobbyListener != null) {
+            firebaseController.removeLobbyListener(lobbyId, lobbyListener);
+        }
+        SyncPolicyManager.getInstance().releaseLobby(lobbyId);
+        SyncPolicyManager.getInstance().releaseGame(gameId);
         // Dismiss any dialog if open
         if (dialog != null && dialog.isShowing()) {
             dialog.dismiss();
@@ -10,21 +10,18 @@ import android.widget.ProgressBar;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.telepathy.R;
 import com.example.telepathy.controller.FirebaseController;
+import com.example.telepathy.model.CategoryCatalog;
 import com.example.telepathy.model.Lobby;
 import com.example.telepathy.model.Player;
+import com.example.telepathy.model.datastore.DataStore;
+import com.example.telepathy.utils.SyncPolicyManager;
 import com.example.telepathy.view.adapters.PlayerListAdapter;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 
 import java.util.ArrayList;
 
@@ -45,7 +42,7 @@ public class LobbyActivity extends AppCompatActivity {
     private String playerId;
     private boolean isHost = false;
 
-    private ValueEventListener lobbyListener;
+    private DataStore.ValueListener lobbyListener;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -59,6 +56,7 @@ public class LobbyActivity extends AppCompatActivity {
 
         // Initialize Firebase controller
         firebaseController = FirebaseController.getInstance();
+        SyncPolicyManager.getInstance().syncLobby(lobbyId);
 
         // Initialize UI components
         lobbyNameTextView = findViewById(R.id.lobbyNameTextView);
@@ -89,50 +87,42 @@ public class LobbyActivity extends AppCompatActivity {
     }
 
     private void setupLobbyListener() {
-        DatabaseReference lobbyRef = FirebaseDatabase.getInstance().getReference()
-                .child("lobbies").child(lobbyId);
-
-        lobbyListener = new ValueEventListener() {
-            // In the lobbyListener's onDataChange method (LobbyActivity.java)
+        // Shared with GameActivity through the ListenerHub, the hand-over doesn't refetch the lobby
+        lobbyListener = new DataStore.ValueListener() {
             @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                Lobby lobby = snapshot.getValue(Lobby.class);
+            public void onValueChanged(Object value) {
+                Lobby lobby = FirebaseController.toLobby(value);
                 if (lobby != null) {
                     updateUI(lobby);
 
                     // Check if a game has been started
                     if (lobby.getGameId() != null && !lobby.getGameId().isEmpty()) {
                         // Game has been started, navigate to GameActivity
+                        FirebaseController.getInstance().pinGameShard(lobby);
                         navigateToGameActivity(lobby.getGameId());
                     }
                 }
             }
 
             @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                Toast.makeText(LobbyActivity.this, "Error: " + error.getMessage(),
+            public void onCancelled(String error) {
+                Toast.makeText(LobbyActivity.this, "Error: " + error,
                         Toast.LENGTH_SHORT).show();
             }
         };
 
-        lobbyRef.addValueEventListener(lobbyListener);
+        firebaseController.listenForLobby(lobbyId, lobbyListener);
     }
 
     private void loadLobbyData() {
         progressBar.setVisibility(View.VISIBLE);
 
-        firebaseController.getLobbyList(new FirebaseController.FirebaseCallback() {
+        firebaseController.getLobbyById(lobbyId, new FirebaseController.FirebaseCallback() {
             @Override
             public void onSuccess(Object result) {
                 progressBar.setVisibility(View.GONE);
-
-                // Find the current lobby
-                ArrayList<Lobby> lobbies = (ArrayList<Lobby>) result;
-                for (Lobby lobby : lobbies) {
-                    if (lobby.getId().equals(lobbyId)) {
-                        updateUI(lobby);
-                        break;
-                    }
+                if (result != null) {
+                    updateUI((Lobby) result);
                 }
             }
 
@@ -151,10 +141,9 @@ public class LobbyActivity extends AppCompatActivity {
 
         // Remove listener to prevent memory leaks
         if (lobbyListener != null) {
-            DatabaseReference lobbyRef = FirebaseDatabase.getInstance().getReference()
-                    .child("lobbies").child(lobbyId);
-            lobbyRef.removeEventListener(lobbyListener);
+            firebaseController.removeLobbyListener(lobbyId, lobbyListener);
         }
+        SyncPolicyManager.getInstance().releaseLobby(lobbyId);
     }
 
     @SuppressLint("NotifyDataSetChanged")
@@ -187,7 +176,8 @@ public class LobbyActivity extends AppCompatActivity {
             categoryTextView.setVisibility(View.GONE);
         } else {
             categoryTextView.setVisibility(View.VISIBLE);
-            categoryTextView.setText(getString(R.string.category_label, lobby.getGameConfig().getSelectedCategory()));
+            categoryTextView.setText(getString(R.string.category_label,
+                    CategoryCatalog.getInstance().getDisplayName(lobby.getGameConfig().getSelectedCategory())));
         }
 
         // Update players list
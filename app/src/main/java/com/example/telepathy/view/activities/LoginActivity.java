@@ -14,6 +14,7 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.example.telepathy.R;
 import com.example.telepathy.controller.FirebaseController;
 import com.example.telepathy.model.User;
+import com.example.telepathy.utils.Constants;
 import com.example.telepathy.utils.PreferenceManager;
 
 public class LoginActivity extends AppCompatActivity {
@@ -71,15 +72,23 @@ public class LoginActivity extends AppCompatActivity {
         // Show progress bar
         progressBar.setVisibility(View.VISIBLE);
 
+        // A recent profile of this device's last user skips the profile fetch,
+        // MainActivity refreshes it in the background
+        User cachedProfile = preferenceManager.getCachedProfile(Constants.PROFILE_MAX_AGE_MS);
+
         // Login user
-        firebaseController.loginUser(email, password, new FirebaseController.FirebaseCallback() {
+        firebaseController.loginUser(email, password, cachedProfile, new FirebaseController.FirebaseCallback() {
             @Override
             public void onSuccess(Object result) {
                 progressBar.setVisibility(View.GONE);
                 User user = (User) result;
 
-                // Save user data
-                preferenceManager.saveUserData(user);
+                // Save user data, a cached profile keeps its original timestamp
+                if (user == cachedProfile) {
+                    preferenceManager.saveUserData(user, preferenceManager.getProfileUpdatedAt());
+                } else {
+                    preferenceManager.saveUserData(user);
+                }
 
                 // Navigate to main activity
                 navigateToMainActivity();
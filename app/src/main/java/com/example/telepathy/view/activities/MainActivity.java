@@ -18,8 +18,11 @@ import com.example.telepathy.model.Lobby;
 import com.example.telepathy.model.User;
 import com.example.telepathy.model.Player;
 import com.example.telepathy.utils.PreferenceManager;
+import com.example.telepathy.utils.SyncPolicyManager;
 import com.example.telepathy.view.fragments.CreateLobbyFragment;
 import com.example.telepathy.view.fragments.JoinLobbyFragment;
+import com.example.telepathy.view.fragments.LeaderboardFragment;
+import com.example.telepathy.view.fragments.MatchHistoryFragment;
 import com.example.telepathy.view.fragments.MenuFragment;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.database.DataSnapshot;
@@ -59,6 +62,8 @@ public class MainActivity extends AppCompatActivity {
         }
 
         currentPlayer = Player.fromUser(user);
+        SyncPolicyManager.getInstance().syncUser(user.getId());
+        listenForProfileUpdates(user.getId());
 
 
         // Load menu fragment
@@ -67,6 +72,35 @@ public class MainActivity extends AppCompatActivity {
         }
     }
 
+    // The cached profile is shown right away, this keeps it up to date
+    private void listenForProfileUpdates(String userId) {
+        long age = System.currentTimeMillis() - preferenceManager.getProfileUpdatedAt();
+        System.out.println("TELEPATHY: Showing cached profile, " + (age / 1000) + "s old");
+
+        firebaseController.listenForUserProfile(userId, new FirebaseController.FirebaseCallback() {
+            @Override
+            public void onSuccess(Object result) {
+                User freshUser = (User) result;
+                preferenceManager.saveUserData(freshUser);
+                currentPlayer.setUsername(freshUser.getUsername());
+            }
+
+            @Override
+            public void onFailure(String error) {
+                // Keep using the cached profile
+                System.out.println("TELEPATHY_WARNING: Profile refresh failed: " + error);
+            }
+        });
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (currentPlayer != null) {
+            firebaseController.removeUserProfileListener(currentPlayer.getId());
+        }
+    }
+
     private void testFirebaseConnection() {
         FirebaseDatabase.getInstance().getReference(".info/connected").addValueEventListener(new ValueEventListener() {
             @Override
@@ -109,8 +143,10 @@ public class MainActivity extends AppCompatActivity {
     }
 
     private void logoutUser() {
+        firebaseController.removeUserProfileListener(currentPlayer.getId());
         firebaseController.logoutUser();
-        preferenceManager.clearUserData();
+        preferenceManager.endSession();
+        SyncPolicyManager.getInstance().releaseAll();
         navigateToLoginActivity();
     }
 
@@ -151,6 +187,14 @@ public class MainActivity extends AppCompatActivity {
         loadFragment(new JoinLobbyFragment());
     }
 
+    public void navigateToLeaderboard() {
+        loadFragment(new LeaderboardFragment());
+    }
+
+    public void navigateToMatchHistory() {
+        loadFragment(new MatchHistoryFragment());
+    }
+
     public void navigateToGameActivity(String lobbyId, String gameId) {
         // Check if player is host
         boolean isHost = false;
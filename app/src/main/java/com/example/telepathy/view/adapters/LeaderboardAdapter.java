@@ -0,0 +1,65 @@
+package com.example.telepathy.view.adapters;
+
+import android.graphics.Typeface;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.telepathy.R;
+import com.example.telepathy.model.User;
+
+import java.util.List;
+
+public class LeaderboardAdapter extends RecyclerView.Adapter<LeaderboardAdapter.LeaderboardViewHolder> {
+    private List<User> users;
+    private String currentUserId;
+
+    public LeaderboardAdapter(List<User> users, String currentUserId) {
+        this.users = users;
+        this.currentUserId = currentUserId;
+    }
+
+    @NonNull
+    @Override
+    public LeaderboardViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_leaderboard, parent, false);
+        return new LeaderboardViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull LeaderboardViewHolder holder, int position) {
+        holder.bind(users.get(position), position + 1);
+    }
+
+    @Override
+    public int getItemCount() {
+        return users.size();
+    }
+
+    class LeaderboardViewHolder extends RecyclerView.ViewHolder {
+        private TextView rankTextView;
+        private TextView usernameTextView;
+        private TextView scoreTextView;
+
+        public LeaderboardViewHolder(@NonNull View itemView) {
+            super(itemView);
+            rankTextView = itemView.findViewById(R.id.rankTextView);
+            usernameTextView = itemView.findViewById(R.id.usernameTextView);
+            scoreTextView = itemView.findViewById(R.id.scoreTextView);
+        }
+
+        public void bind(User user, int rank) {
+            rankTextView.setText(itemView.getContext().getString(R.string.leaderboard_rank, rank));
+            usernameTextView.setText(user.getUsername());
+            scoreTextView.setText(itemView.getContext().getString(R.string.player_score, user.getTotalScore()));
+
+            // Highlight the current user
+            boolean isCurrentUser = user.getId() != null && user.getId().equals(currentUserId);
+            usernameTextView.setTypeface(null, isCurrentUser ? Typeface.BOLD : Typeface.NORMAL);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.telepathy.R;
+import com.example.telepathy.model.CategoryCatalog;
 import com.example.telepathy.model.Lobby;
 
 import java.util.List;
@@ -96,7 +97,7 @@ public class LobbyListAdapter extends RecyclerView.Adapter<LobbyListAdapter.Lobb
                 categoryTextView.setVisibility(View.VISIBLE);
                 categoryTextView.setText(itemView.getContext().getString(
                         R.string.category_label,
-                        lobby.getGameConfig().getSelectedCategory()));
+                        CategoryCatalog.getInstance().getDisplayName(lobby.getGameConfig().getSelectedCategory())));
             }
         }
     }
@@ -0,0 +1,66 @@
+package com.example.telepathy.view.adapters;
+
+import android.text.format.DateFormat;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.telepathy.R;
+import com.example.telepathy.model.CategoryCatalog;
+import com.example.telepathy.model.MatchSummary;
+
+import java.util.List;
+
+public class MatchHistoryAdapter extends RecyclerView.Adapter<MatchHistoryAdapter.MatchViewHolder> {
+    private List<MatchSummary> matches;
+
+    public MatchHistoryAdapter(List<MatchSummary> matches) {
+        this.matches = matches;
+    }
+
+    @NonNull
+    @Override
+    public MatchViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_match_history, parent, false);
+        return new MatchViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull MatchViewHolder holder, int position) {
+        holder.bind(matches.get(position));
+    }
+
+    @Override
+    public int getItemCount() {
+        return matches.size();
+    }
+
+    class MatchViewHolder extends RecyclerView.ViewHolder {
+        private TextView dateTextView;
+        private TextView resultTextView;
+        private TextView detailsTextView;
+        private TextView scoreTextView;
+
+        public MatchViewHolder(@NonNull View itemView) {
+            super(itemView);
+            dateTextView = itemView.findViewById(R.id.dateTextView);
+            resultTextView = itemView.findViewById(R.id.resultTextView);
+            detailsTextView = itemView.findViewById(R.id.detailsTextView);
+            scoreTextView = itemView.findViewById(R.id.scoreTextView);
+        }
+
+        public void bind(MatchSummary match) {
+            dateTextView.setText(DateFormat.getMediumDateFormat(itemView.getContext()).format(match.getEndedAt())
+                    + " " + DateFormat.getTimeFormat(itemView.getContext()).format(match.getEndedAt()));
+            resultTextView.setText(match.isWon() ? R.string.match_result_won : R.string.match_result_lost);
+            detailsTextView.setText(itemView.getContext().getString(R.string.match_details,
+                    CategoryCatalog.getInstance().getDisplayName(match.getCategory()),
+                    match.getPlayerCount(), match.getRounds()));
+            scoreTextView.setText(itemView.getContext().getString(R.string.player_score, match.getScore()));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.telepathy.view.adapters;
 
+import android.annotation.SuppressLint;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -32,6 +33,36 @@ public class PlayerListAdapter extends RecyclerView.Adapter<PlayerListAdapter.Pl
         this.duplicateWords = duplicateWords;
     }
 
+    // Rebinds only the rows whose Player object was replaced, players keep their
+    // identity while unchanged (see PlayerReconciler)
+    @SuppressLint("NotifyDataSetChanged")
+    public void updatePlayers(List<Player> newPlayers) {
+        if (!sameIds(newPlayers)) {
+            players.clear();
+            players.addAll(newPlayers);
+            notifyDataSetChanged();
+            return;
+        }
+        for (int i = 0; i < newPlayers.size(); i++) {
+            if (players.get(i) != newPlayers.get(i)) {
+                players.set(i, newPlayers.get(i));
+                notifyItemChanged(i);
+            }
+        }
+    }
+
+    private boolean sameIds(List<Player> newPlayers) {
+        if (players.size() != newPlayers.size()) {
+            return false;
+        }
+        for (int i = 0; i < newPlayers.size(); i++) {
+            if (!players.get(i).getId().equals(newPlayers.get(i).getId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @NonNull
     @Override
     public PlayerViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -17,7 +17,7 @@ import java.util.Set;
 
 public class WordHistoryAdapter extends RecyclerView.Adapter<WordHistoryAdapter.WordViewHolder> {
     private Set<String> uniqueWords; // LinkedHashSet maintains insertion order
-    private List<String> displayWords; // Words to display
+    private ArrayList<String> displayWords; // Words to display
     private List<String> systemMessages; // System messages
 
     public WordHistoryAdapter() {
@@ -46,6 +46,11 @@ public class WordHistoryAdapter extends RecyclerView.Adapter<WordHistoryAdapter.
         }
     }
 
+    // Grows the display list ahead of time for the given number of new entries
+    public void ensureCapacity(int additional) {
+        displayWords.ensureCapacity(displayWords.size() + additional);
+    }
+
     public void addSystemMessage(String message) {
         // System messages are always added
         displayWords.add(0, "SYSTEM: " + message);
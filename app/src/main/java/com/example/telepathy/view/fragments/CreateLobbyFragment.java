@@ -18,6 +18,8 @@ import androidx.fragment.app.Fragment;
 
 import com.example.telepathy.R;
 import com.example.telepathy.controller.FirebaseController;
+import com.example.telepathy.model.Category;
+import com.example.telepathy.model.CategoryCatalog;
 import com.example.telepathy.model.GameConfig;
 import com.example.telepathy.model.Lobby;
 import com.example.telepathy.model.Player;
@@ -79,14 +81,10 @@ public class CreateLobbyFragment extends Fragment {
         gameModeAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
         gameModeSpinner.setAdapter(gameModeAdapter);
 
-        // Set up category spinner
-        List<String> categories = Arrays.asList(
-                Constants.CATEGORY_ANIMALS,
-                Constants.CATEGORY_COUNTRIES,
-                Constants.CATEGORY_FOODS,
-                Constants.CATEGORY_SPORTS);
+        // Set up category spinner, items show their display name
+        List<Category> categories = CategoryCatalog.getInstance().getCategories();
 
-        ArrayAdapter<String> adapter = new ArrayAdapter<>(
+        ArrayAdapter<Category> adapter = new ArrayAdapter<>(
                 requireContext(),
                 android.R.layout.simple_spinner_item,
                 categories);
@@ -103,7 +101,7 @@ public class CreateLobbyFragment extends Fragment {
         String lobbyName = lobbyNameEditText.getText().toString().trim();
         String timeLimitStr = timeLimitEditText.getText().toString().trim();
         String livesStr = livesEditText.getText().toString().trim();
-        String selectedCategory = categorySpinner.getSelectedItem().toString();
+        String selectedCategory = ((Category) categorySpinner.getSelectedItem()).getId();
         boolean isMatchingMode = gameModeSpinner.getSelectedItemPosition() == 1;
 
         // Validate input
@@ -128,6 +128,7 @@ public class JoinLobbyFragment extends Fragment implements LobbyListAdapter.OnLo
             public void onSuccess(Object result) {
                 progressBar.setVisibility(View.GONE);
                 Lobby joinedLobby = (Lobby) result;
+                firebaseController.pinGameShard(joinedLobby);
 
                 // Navigate to game activity
                 if (getActivity() instanceof MainActivity) {
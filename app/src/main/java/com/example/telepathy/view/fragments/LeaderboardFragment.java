@@ -0,0 +1,98 @@
+package com.example.telepathy.view.fragments;
+
+import android.os.Bundle;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ProgressBar;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.telepathy.R;
+import com.example.telepathy.controller.FirebaseController;
+import com.example.telepathy.controller.LeaderboardController;
+import com.example.telepathy.model.User;
+import com.example.telepathy.view.adapters.LeaderboardAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LeaderboardFragment extends Fragment {
+    private RecyclerView leaderboardRecyclerView;
+    private LeaderboardAdapter leaderboardAdapter;
+    private ProgressBar progressBar;
+    private TextView emptyTextView;
+
+    private LeaderboardController leaderboardController;
+    private String playerId;
+    private List<User> users = new ArrayList<>();
+
+    private final FirebaseController.FirebaseCallback leaderboardCallback = new FirebaseController.FirebaseCallback() {
+        @Override
+        public void onSuccess(Object result) {
+            if (!isAdded()) {
+                return;
+            }
+            progressBar.setVisibility(View.GONE);
+            users.clear();
+            users.addAll((List<User>) result);
+            leaderboardAdapter.notifyDataSetChanged();
+            emptyTextView.setVisibility(users.isEmpty() ? View.VISIBLE : View.GONE);
+        }
+
+        @Override
+        public void onFailure(String error) {
+            if (!isAdded()) {
+                return;
+            }
+            progressBar.setVisibility(View.GONE);
+            Toast.makeText(requireContext(), error, Toast.LENGTH_SHORT).show();
+        }
+    };
+
+    @Nullable
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container,
+            @Nullable Bundle savedInstanceState) {
+        View view = inflater.inflate(R.layout.fragment_leaderboard, container, false);
+
+        // Get player data from arguments
+        if (getArguments() != null) {
+            playerId = getArguments().getString("playerId");
+        }
+
+        leaderboardController = LeaderboardController.getInstance();
+
+        // Initialize UI components
+        leaderboardRecyclerView = view.findViewById(R.id.leaderboardRecyclerView);
+        progressBar = view.findViewById(R.id.progressBar);
+        emptyTextView = view.findViewById(R.id.emptyLeaderboardTextView);
+
+        // Set up RecyclerView, starting from the cached ranking if there is one
+        users.addAll(leaderboardController.getCachedRanking());
+        leaderboardRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
+        leaderboardAdapter = new LeaderboardAdapter(users, playerId);
+        leaderboardRecyclerView.setAdapter(leaderboardAdapter);
+        progressBar.setVisibility(users.isEmpty() ? View.VISIBLE : View.GONE);
+
+        return view;
+    }
+
+    @Override
+    public void onStart() {
+        super.onStart();
+        leaderboardController.listenForLeaderboard(LeaderboardController.DEFAULT_SIZE, leaderboardCallback);
+    }
+
+    @Override
+    public void onStop() {
+        super.onStop();
+        leaderboardController.removeLeaderboardListener(leaderboardCallback);
+    }
+}
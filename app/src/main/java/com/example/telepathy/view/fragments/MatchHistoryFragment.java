@@ -0,0 +1,118 @@
+package com.example.telepathy.view.fragments;
+
+import android.os.Bundle;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ProgressBar;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.telepathy.R;
+import com.example.telepathy.controller.FirebaseController;
+import com.example.telepathy.controller.MatchHistoryController;
+import com.example.telepathy.model.MatchSummary;
+import com.example.telepathy.view.adapters.MatchHistoryAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MatchHistoryFragment extends Fragment {
+    // Start loading the next page this many items before the end of the list
+    private static final int PREFETCH_DISTANCE = 5;
+
+    private RecyclerView matchHistoryRecyclerView;
+    private MatchHistoryAdapter matchHistoryAdapter;
+    private ProgressBar progressBar;
+    private TextView emptyTextView;
+
+    private MatchHistoryController matchHistoryController;
+    private String playerId;
+    private List<MatchSummary> matches = new ArrayList<>();
+    private boolean isLoading = false;
+    private boolean hasMore = true;
+
+    @Nullable
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container,
+            @Nullable Bundle savedInstanceState) {
+        View view = inflater.inflate(R.layout.fragment_match_history, container, false);
+
+        // Get player data from arguments
+        if (getArguments() != null) {
+            playerId = getArguments().getString("playerId");
+        }
+
+        matchHistoryController = MatchHistoryController.getInstance();
+
+        // Initialize UI components
+        matchHistoryRecyclerView = view.findViewById(R.id.matchHistoryRecyclerView);
+        progressBar = view.findViewById(R.id.progressBar);
+        emptyTextView = view.findViewById(R.id.emptyHistoryTextView);
+
+        // Set up RecyclerView
+        LinearLayoutManager layoutManager = new LinearLayoutManager(requireContext());
+        matchHistoryRecyclerView.setLayoutManager(layoutManager);
+        matchHistoryAdapter = new MatchHistoryAdapter(matches);
+        matchHistoryRecyclerView.setAdapter(matchHistoryAdapter);
+        matchHistoryRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0 && layoutManager.findLastVisibleItemPosition() >= matches.size() - PREFETCH_DISTANCE) {
+                    loadNextPage();
+                }
+            }
+        });
+
+        loadNextPage();
+
+        return view;
+    }
+
+    private void loadNextPage() {
+        if (playerId == null || isLoading || !hasMore) {
+            return;
+        }
+        isLoading = true;
+        if (matches.isEmpty()) {
+            progressBar.setVisibility(View.VISIBLE);
+        }
+
+        // The oldest game loaded so far is the cursor for the next page
+        String cursor = matches.isEmpty() ? null : matches.get(matches.size() - 1).getGameId();
+        matchHistoryController.loadPage(playerId, cursor, new FirebaseController.FirebaseCallback() {
+            @Override
+            public void onSuccess(Object result) {
+                isLoading = false;
+                if (!isAdded()) {
+                    return;
+                }
+                List<MatchSummary> page = (List<MatchSummary>) result;
+                hasMore = page.size() >= MatchHistoryController.PAGE_SIZE;
+
+                int start = matches.size();
+                matches.addAll(page);
+                matchHistoryAdapter.notifyItemRangeInserted(start, page.size());
+
+                progressBar.setVisibility(View.GONE);
+                emptyTextView.setVisibility(matches.isEmpty() ? View.VISIBLE : View.GONE);
+            }
+
+            @Override
+            public void onFailure(String error) {
+                isLoading = false;
+                if (!isAdded()) {
+                    return;
+                }
+                progressBar.setVisibility(View.GONE);
+                Toast.makeText(requireContext(), error, Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
+}
@@ -18,6 +18,8 @@ public class MenuFragment extends Fragment {
     private String playerName;
     private Button createLobbyButton;
     private Button joinLobbyButton;
+    private Button leaderboardButton;
+    private Button matchHistoryButton;
 
     @Nullable
     @Override
@@ -35,10 +37,14 @@ public class MenuFragment extends Fragment {
 
         createLobbyButton = view.findViewById(R.id.createLobbyButton);
         joinLobbyButton = view.findViewById(R.id.joinLobbyButton);
+        leaderboardButton = view.findViewById(R.id.leaderboardButton);
+        matchHistoryButton = view.findViewById(R.id.matchHistoryButton);
 
         // Set click listeners
         createLobbyButton.setOnClickListener(v -> navigateToCreateLobby());
         joinLobbyButton.setOnClickListener(v -> navigateToJoinLobby());
+        leaderboardButton.setOnClickListener(v -> navigateToLeaderboard());
+        matchHistoryButton.setOnClickListener(v -> navigateToMatchHistory());
 
         return view;
     }
@@ -54,4 +60,16 @@ public class MenuFragment extends Fragment {
             ((MainActivity) getActivity()).navigateToJoinLobby();
         }
     }
+
+    private void navigateToLeaderboard() {
+        if (getActivity() instanceof MainActivity) {
+            ((MainActivity) getActivity()).navigateToLeaderboard();
+        }
+    }
+
+    private void navigateToMatchHistory() {
+        if (getActivity() instanceof MainActivity) {
+            ((MainActivity) getActivity()).navigateToMatchHistory();
+        }
+    }
 }
\ No newline at end of file
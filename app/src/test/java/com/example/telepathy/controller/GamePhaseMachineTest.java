@@ -0,0 +1,89 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.GamePhase;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class GamePhaseMachineTest {
+
+    @Test
+    public void testRoundLifecycle() {
+        GamePhaseMachine phases = new GamePhaseMachine();
+        assertTrue(phases.enter(GamePhase.ACTIVE, 1));
+        assertTrue(phases.enter(GamePhase.ROUND_END, 1));
+        assertTrue(phases.enter(GamePhase.ACTIVE, 2));
+        assertTrue(phases.enter(GamePhase.GAME_END, 2));
+
+        assertEquals(GamePhase.GAME_END, phases.getPhase());
+        assertEquals(2, phases.getRound());
+        assertEquals(4, phases.getLog().size());
+    }
+
+    @Test
+    public void testRepeatedAndStaleSnapshotsDropped() {
+        GamePhaseMachine phases = new GamePhaseMachine();
+        phases.enter(GamePhase.ACTIVE, 1);
+        phases.enter(GamePhase.ROUND_END, 1);
+
+        assertFalse(phases.enter(GamePhase.ROUND_END, 1));
+        assertFalse(phases.enter(GamePhase.ACTIVE, 1));
+        assertFalse(phases.enter(null, 3));
+        assertEquals(GamePhase.ROUND_END, phases.getPhase());
+        assertEquals(2, phases.getLog().size());
+
+        // A missed snapshot in between is fine
+        assertTrue(phases.enter(GamePhase.ROUND_END, 2));
+
+        phases.enter(GamePhase.GAME_END, 2);
+        assertFalse(phases.enter(GamePhase.ACTIVE, 3));
+        assertFalse(phases.enter(GamePhase.GAME_END, 2));
+    }
+
+    @Test
+    public void testRequestsOncePerRound() {
+        GamePhaseMachine phases = new GamePhaseMachine();
+        phases.enter(GamePhase.ACTIVE, 1);
+
+        // Not after the current phase
+        assertFalse(phases.request(GamePhase.ACTIVE));
+
+        assertTrue(phases.request(GamePhase.ROUND_END));
+        assertFalse(phases.request(GamePhase.ROUND_END));
+
+        // A failed write may be tried again
+        phases.requestFailed(GamePhase.ROUND_END);
+        assertTrue(phases.request(GamePhase.ROUND_END));
+
+        phases.enter(GamePhase.ROUND_END, 1);
+        assertFalse(phases.request(GamePhase.ROUND_END));
+        assertTrue(phases.request(GamePhase.ACTIVE));
+        assertFalse(phases.request(GamePhase.ACTIVE));
+
+        phases.enter(GamePhase.ACTIVE, 2);
+        assertTrue(phases.request(GamePhase.ROUND_END));
+        assertTrue(phases.request(GamePhase.GAME_END));
+        assertFalse(phases.request(GamePhase.GAME_END));
+    }
+
+    @Test
+    public void testLogIsBounded() {
+        GamePhaseMachine phases = new GamePhaseMachine();
+        for (int round = 1; round <= GamePhaseMachine.LOG_SIZE; round++) {
+            phases.enter(GamePhase.ACTIVE, round);
+            phases.enter(GamePhase.ROUND_END, round);
+        }
+        assertEquals(GamePhaseMachine.LOG_SIZE, phases.getLog().size());
+        assertTrue(phases.getLog().get(GamePhaseMachine.LOG_SIZE - 1).endsWith("ROUND_END"));
+    }
+
+    @Test
+    public void testStatusRoundTrip() {
+        for (GamePhase phase : GamePhase.values()) {
+            assertSame(phase, GamePhase.fromStatus(phase.getStatus()));
+        }
+        assertEquals("roundEnd", GamePhase.ROUND_END.getStatus());
+        assertNull(GamePhase.fromStatus("paused"));
+        assertNull(GamePhase.fromStatus(null));
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.datastore.CompactGameDataStore;
+import com.example.telepathy.model.datastore.DataStore;
+import com.example.telepathy.model.datastore.DataStoreTestSupport;
+import com.example.telepathy.model.datastore.InMemoryDataStore;
+import com.example.telepathy.model.datastore.NetworkConditions;
+import com.example.telepathy.model.datastore.SimulatedNetworkDataStore;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static com.example.telepathy.model.datastore.DataStoreTestSupport.createPlayer;
+import static com.example.telepathy.model.datastore.DataStoreTestSupport.read;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Final scores are added to users/{id}/totalScore exactly once, even when
+ * every client finishes the game.
+ */
+public class GameResultsTest {
+
+    @Test
+    public void testResultsRecordedOnceByRacingClients() throws Exception {
+        InMemoryDataStore backend = new InMemoryDataStore();
+        backend.setValue("users/p1/totalScore", 5, null);
+        DataStore store = new CompactGameDataStore(backend);
+        store.setValue("games/g1", createGame(), null);
+
+        SimulatedNetworkDataStore clientA = new SimulatedNetworkDataStore(store, NetworkConditions.withRtt(100), 1);
+        SimulatedNetworkDataStore clientB = new SimulatedNetworkDataStore(store, NetworkConditions.withRtt(100), 2);
+        List<Object> recorded = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(3);
+        FirebaseController.FirebaseCallback callback = new FirebaseController.FirebaseCallback() {
+            @Override
+            public void onSuccess(Object result) {
+                recorded.add(result);
+                done.countDown();
+            }
+
+            @Override
+            public void onFailure(String error) {
+                fail(error);
+            }
+        };
+        new FirebaseController(clientA).recordGameResults("g1", callback);
+        new FirebaseController(clientB).recordGameResults("g1", callback);
+        new FirebaseController(store).recordGameResults("g1", callback);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        clientA.shutdown();
+        clientB.shutdown();
+        assertEquals(1, Collections.frequency(recorded, true));
+
+        assertEquals(15L, read(backend, "users/p1/totalScore"));
+        assertEquals(3L, read(backend, "users/p2/totalScore"));
+        assertNull("Zero scores are not written", read(backend, "users/p3/totalScore"));
+        assertEquals(true, read(store, "games/g1/resultsRecorded"));
+
+        // Every player gets one history entry, including those who scored nothing
+        Map<String, Object> winner = (Map<String, Object>) read(backend, "userGames/p1/g1");
+        assertEquals(10L, winner.get("score"));
+        assertEquals(true, winner.get("won"));
+        assertEquals(3L, winner.get("playerCount"));
+        Map<String, Object> loser = (Map<String, Object>) read(backend, "userGames/p3/g1");
+        assertEquals(0L, loser.get("score"));
+        assertEquals(false, loser.get("won"));
+    }
+
+    @Test
+    public void testFailedWriteLeavesResultsToNextClient() {
+        boolean[] failWrites = { true };
+        InMemoryDataStore backend = new InMemoryDataStore() {
+            @Override
+            public void updateChildren(String path, Map<String, Object> updates, Callback callback) {
+                if (failWrites[0]) {
+                    callback.onFailure("Disconnected");
+                    return;
+                }
+                super.updateChildren(path, updates, callback);
+            }
+        };
+        backend.setValue("games/g1", createGame(), null);
+        RoundResolver resolver = new RoundResolver(backend);
+
+        List<Object> results = new ArrayList<>();
+        resolver.recordGameResults("g1", collect(results));
+        assertEquals(Collections.singletonList("Disconnected"), results);
+        assertNull("Nothing is recorded by a failed write", read(backend, "games/g1/resultsRecorded"));
+        assertNull("The claim is released", read(backend, "games/g1/resultsClaim"));
+
+        failWrites[0] = false;
+        resolver.recordGameResults("g1", collect(results));
+        resolver.recordGameResults("g1", collect(results));
+        assertEquals(true, results.get(1));
+        assertEquals(false, results.get(2));
+        assertEquals(10L, read(backend, "users/p1/totalScore"));
+        assertEquals(true, read(backend, "games/g1/resultsRecorded"));
+        assertNull(read(backend, "games/g1/resultsClaim"));
+    }
+
+    @Test
+    public void testStaleClaimIsTakenOver() {
+        InMemoryDataStore backend = new InMemoryDataStore();
+        backend.setValue("games/g1", createGame(), null);
+        // Left behind by a client that died while recording
+        Map<String, Object> claim = new HashMap<>();
+        claim.put("id", "gone");
+        claim.put("claimedAt", System.currentTimeMillis() - RoundResolver.RESULTS_CLAIM_TIMEOUT_MS - 1);
+        backend.setValue("games/g1/resultsClaim", claim, null);
+
+        List<Object> results = new ArrayList<>();
+        new RoundResolver(backend).recordGameResults("g1", collect(results));
+
+        assertEquals(Collections.singletonList(true), results);
+        assertEquals(10L, read(backend, "users/p1/totalScore"));
+    }
+
+    @Test
+    public void testIncrementAddsToStoredNumber() {
+        InMemoryDataStore backend = new InMemoryDataStore();
+        backend.setValue("counter", DataStore.increment(2), null);
+        backend.setValue("counter", DataStore.increment(3), null);
+
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("counter", DataStore.increment(-1));
+        backend.updateChildren("", updates, null);
+
+        assertEquals(4L, read(backend, "counter"));
+    }
+
+    // Successes are collected as they are, failures as their message
+    private static DataStore.Callback collect(List<Object> results) {
+        return new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object result) {
+                results.add(result);
+            }
+
+            @Override
+            public void onFailure(String error) {
+                results.add(error);
+            }
+        };
+    }
+
+    private static Map<String, Object> createGame() {
+        Map<String, Object> players = new HashMap<>();
+        players.put("p1", createPlayer("player1", 10, 0, null));
+        players.put("p2", createPlayer("player2", 3, 0, null));
+        players.put("p3", createPlayer("player3", 0, 0, null));
+
+        Map<String, Object> game = DataStoreTestSupport.createGame("gameEnd", players, null, null);
+        game.put("winnerId", "p1");
+        return game;
+    }
+}
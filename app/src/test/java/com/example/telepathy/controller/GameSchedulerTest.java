@@ -0,0 +1,128 @@
+package com.example.telepathy.controller;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class GameSchedulerTest {
+    private final long[] now = {1000};
+    private final GameScheduler scheduler = new GameScheduler(() -> now[0], 10, 16);
+
+    @Test
+    public void testRunsInDeadlineOrder() {
+        List<String> runs = new ArrayList<>();
+        scheduler.schedule("g1", 50, () -> runs.add("c"));
+        scheduler.schedule("g1", 20, () -> runs.add("a"));
+        scheduler.schedule("g2", 20, () -> runs.add("b"));
+
+        advanceTo(1015);
+        assertTrue(runs.isEmpty());
+
+        advanceTo(1100);
+        assertEquals(Arrays.asList("a", "b", "c"), runs);
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    public void testDeadlinesBeyondOneLap() {
+        // The wheel is 16 ticks of 10ms, so this waits for its third lap
+        List<Long> runs = new ArrayList<>();
+        GameScheduler.Timeout timeout = scheduler.schedule("g1", 400, () -> runs.add(now[0]));
+
+        for (long time = 1010; time < 1400; time += 10) {
+            advanceTo(time);
+        }
+        assertTrue(runs.isEmpty());
+        assertFalse(timeout.isDone());
+
+        advanceTo(1400);
+        assertEquals(Arrays.asList(1400L), runs);
+        assertTrue(timeout.isDone());
+    }
+
+    @Test
+    public void testRepeatingSkipsMissedRuns() {
+        List<Long> runs = new ArrayList<>();
+        scheduler.scheduleRepeating("g1", 0, 100, () -> runs.add(now[0]));
+
+        advanceTo(1000);
+        advanceTo(1100);
+        // A long pause runs the task once, then it keeps its original rhythm
+        advanceTo(1550);
+        advanceTo(1600);
+        assertEquals(Arrays.asList(1000L, 1100L, 1550L, 1600L), runs);
+        assertEquals(1, scheduler.getPendingCount());
+    }
+
+    @Test
+    public void testCancel() {
+        List<String> runs = new ArrayList<>();
+        GameScheduler.Timeout timeout = scheduler.schedule("g1", 20, () -> runs.add("a"));
+        GameScheduler.Timeout repeating = scheduler.scheduleRepeating("g1", 0, 10, () -> runs.add("b"));
+        scheduler.schedule("g2", 20, () -> runs.add("c"));
+        assertEquals(3, scheduler.getPendingCount());
+
+        timeout.cancel();
+        assertTrue(timeout.isDone());
+        scheduler.cancelGame("g1");
+        assertTrue(repeating.isDone());
+        assertEquals(1, scheduler.getPendingCount());
+
+        advanceTo(1100);
+        assertEquals(Arrays.asList("c"), runs);
+    }
+
+    @Test
+    public void testCountdown() {
+        List<Long> ticks = new ArrayList<>();
+        boolean[] finished = {false};
+        scheduler.countdown("g1", 3000, 1000, new GameScheduler.Countdown() {
+            @Override
+            public void onTick(long millisLeft) {
+                ticks.add(millisLeft);
+            }
+
+            @Override
+            public void onFinish() {
+                finished[0] = true;
+            }
+        });
+
+        for (long time = 1000; time <= 4000; time += 500) {
+            advanceTo(time);
+        }
+        assertEquals(Arrays.asList(3000L, 2000L, 1000L), ticks);
+        assertTrue(finished[0]);
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    public void testCancelledCountdownStopsTicking() {
+        List<Long> ticks = new ArrayList<>();
+        GameScheduler.Timeout countdown = scheduler.countdown("g1", 3000, 1000, new GameScheduler.Countdown() {
+            @Override
+            public void onTick(long millisLeft) {
+                ticks.add(millisLeft);
+            }
+
+            @Override
+            public void onFinish() {
+                fail("Cancelled countdown finished");
+            }
+        });
+
+        advanceTo(1000);
+        countdown.cancel();
+        advanceTo(5000);
+        assertEquals(Arrays.asList(3000L), ticks);
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    private void advanceTo(long time) {
+        now[0] = time;
+        scheduler.advance();
+    }
+}
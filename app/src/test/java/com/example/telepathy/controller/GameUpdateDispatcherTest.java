@@ -0,0 +1,154 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.GameConfig;
+import com.example.telepathy.model.GameRound;
+import com.example.telepathy.model.GameState;
+import com.example.telepathy.model.Player;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Frames are run by hand, standing in for the Choreographer.
+ */
+public class GameUpdateDispatcherTest {
+    private List<Runnable> frames;
+    private List<String> delivered;
+    private GameUpdateDispatcher dispatcher;
+
+    @Before
+    public void setUp() {
+        frames = new ArrayList<>();
+        delivered = new ArrayList<>();
+        dispatcher = new GameUpdateDispatcher(frames::add);
+        dispatcher.subscribeStates(state -> delivered.add("state " + state.getStatus()));
+        dispatcher.subscribeEvents(event -> delivered.add(describe(event)));
+    }
+
+    @Test
+    public void testStatesConflatedPerFrame() {
+        for (int i = 0; i < 5; i++) {
+            dispatcher.postState(game("update" + i));
+        }
+        assertEquals(1, frames.size());
+
+        runFrames();
+        assertEquals(Arrays.asList("state update4"), delivered);
+
+        // Nothing pending, no frame requested
+        runFrames();
+        assertEquals(1, delivered.size());
+    }
+
+    @Test
+    public void testEventsKeptInOrderAfterTheirState() {
+        dispatcher.postState(game("active"));
+        dispatcher.postState(game("roundEnd"));
+        dispatcher.postEvent(GameEvent.roundEnded(round(1)));
+        dispatcher.postState(game("roundEnd"));
+        dispatcher.postState(game("active"));
+        dispatcher.postEvent(GameEvent.roundStarted(round(2)));
+        dispatcher.postEvent(GameEvent.playerEliminated(player("p2")));
+        dispatcher.postState(game("gameEnd"));
+        assertEquals(1, frames.size());
+
+        runFrames();
+        assertEquals(Arrays.asList("state roundEnd", "roundEnd 1", "state active", "roundStart 2",
+                "eliminated p2", "state gameEnd"), delivered);
+    }
+
+    @Test
+    public void testPostsDuringFrameGoToNextFrame() {
+        dispatcher.subscribeEvents(event -> dispatcher.postState(game("active")));
+        dispatcher.postEvent(GameEvent.roundStarted(round(1)));
+        runFrames();
+        assertEquals(Arrays.asList("roundStart 1", "state active"), delivered);
+    }
+
+    @Test
+    public void testLateSubscriberGetsLatestState() {
+        dispatcher.postState(game("active"));
+        dispatcher.postEvent(GameEvent.roundStarted(round(1)));
+        dispatcher.postState(game("roundEnd"));
+        runFrames();
+
+        List<String> late = new ArrayList<>();
+        dispatcher.subscribeStates(state -> late.add("state " + state.getStatus()));
+        dispatcher.subscribeEvents(event -> late.add(describe(event)));
+        assertEquals(Arrays.asList("state roundEnd"), late);
+
+        // Both subscribers get what follows
+        dispatcher.postEvent(GameEvent.gameOver(null));
+        runFrames();
+        assertEquals(Arrays.asList("state roundEnd", "gameEnd"), late);
+        assertEquals("gameEnd", delivered.get(delivered.size() - 1));
+    }
+
+    @Test
+    public void testCancelledSubscriberStopsReceiving() {
+        List<String> timer = new ArrayList<>();
+        GameUpdateDispatcher.Subscription subscription = dispatcher.subscribeEvents(event -> timer.add(describe(event)));
+        dispatcher.postEvent(GameEvent.roundStarted(round(1)));
+        runFrames();
+        subscription.cancel();
+        dispatcher.postEvent(GameEvent.roundEnded(round(1)));
+        runFrames();
+
+        assertEquals(Arrays.asList("roundStart 1"), timer);
+        assertEquals(Arrays.asList("roundStart 1", "roundEnd 1"), delivered);
+    }
+
+    @Test
+    public void testNothingDeliveredAfterClose() {
+        dispatcher.postState(game("active"));
+        dispatcher.postEvent(GameEvent.gameOver(null));
+        dispatcher.close();
+        dispatcher.postState(game("gameEnd"));
+
+        runFrames();
+        assertTrue(delivered.isEmpty());
+    }
+
+    private static String describe(GameEvent event) {
+        switch (event.getType()) {
+            case ROUND_STARTED:
+                return "roundStart " + event.getRound().getRoundNumber();
+            case ROUND_ENDED:
+                return "roundEnd " + event.getRound().getRoundNumber();
+            case PLAYER_ELIMINATED:
+                return "eliminated " + event.getPlayer().getId();
+            case GAME_OVER:
+                return "gameEnd";
+            default:
+                return "error " + event.getError();
+        }
+    }
+
+    private void runFrames() {
+        while (!frames.isEmpty()) {
+            frames.remove(0).run();
+        }
+    }
+
+    private static GameState game(String status) {
+        return GameState.of("g1", new GameConfig(), new ArrayList<>(), round(1), status, new HashSet<>());
+    }
+
+    private static GameRound round(int number) {
+        GameRound round = new GameRound();
+        round.setRoundNumber(number);
+        return round;
+    }
+
+    private static Player player(String id) {
+        Player player = new Player();
+        player.setId(id);
+        return player;
+    }
+}
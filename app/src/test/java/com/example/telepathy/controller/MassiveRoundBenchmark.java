@@ -0,0 +1,81 @@
+package com.example.telepathy.controller;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Timings of massive round resolution. Not a unit test, run its main method
+ * by hand on a quiet machine; the numbers depend on the hardware.
+ */
+public class MassiveRoundBenchmark {
+
+    public static void main(String[] args) {
+        benchmarkParallelAggregation();
+        benchmarkSketchTally();
+    }
+
+    // Tally and scoring of a round on one thread and on the common pool
+    static void benchmarkParallelAggregation() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        MassiveRoundResolver sequentialResolver = new MassiveRoundResolver(null, single);
+        MassiveRoundResolver parallelResolver = new MassiveRoundResolver(null);
+        // Warm both up first so neither pays for the JIT
+        Map<String, Object> warmUpPlayers = MassiveRoundResolverTest.createPlayers(10_000);
+        List<Map<String, Object>> warmUpShards = MassiveRoundResolverTest.createSubmissions(warmUpPlayers,
+                new Random(0), 6);
+        time(sequentialResolver, warmUpPlayers, warmUpShards);
+        time(parallelResolver, warmUpPlayers, warmUpShards);
+
+        System.out.println("Parallelism " + ForkJoinPool.getCommonPoolParallelism() + " on "
+                + Runtime.getRuntime().availableProcessors() + " CPUs");
+        for (int size : new int[] { 1_000, 10_000 }) {
+            Map<String, Object> players = MassiveRoundResolverTest.createPlayers(size);
+            List<Map<String, Object>> shards = MassiveRoundResolverTest.createSubmissions(players,
+                    new Random(size), 6);
+            long sequential = time(sequentialResolver, players, shards);
+            long parallel = time(parallelResolver, players, shards);
+            System.out.println("Massive round of " + size + " players: single thread " + sequential / 1000
+                    + "us, parallel " + parallel / 1000 + "us");
+        }
+        single.shutdown();
+    }
+
+    // Exact tally against the HeavyHitterSketch one, time and memory
+    static void benchmarkSketchTally() {
+        MassiveRoundResolver resolver = new MassiveRoundResolver(null);
+        for (int size : new int[] { 20_000, 200_000 }) {
+            // Players try to be unique, so most words are submitted once
+            Map<String, Object> players = MassiveRoundResolverTest.createPlayers(size);
+            List<Map<String, Object>> shards = MassiveRoundResolverTest.createSubmissions(players,
+                    new Random(size), 1);
+            MassiveRoundResolver.Tally exact = resolver.tally(shards);
+            MassiveRoundResolver.Tally sketched = resolver.sketchTally(shards);
+
+            long exactTime = bestOf(5, () -> resolver.tally(shards));
+            long sketchTime = bestOf(5, () -> resolver.sketchTally(shards));
+            // A HashMap entry with its boxed count and word is roughly 100 bytes
+            System.out.println("Tally of " + size + " submissions: exact " + exactTime / 1000 + "us counting "
+                    + exact.wordCounts.size() + " words (~" + exact.wordCounts.size() * 100 / 1024
+                    + "KB), sketch " + sketchTime / 1000 + "us with a " + sketched.sketch.memoryBytes() / 1024
+                    + "KB sketch + " + sketched.wordCounts.size() + " candidate words");
+        }
+    }
+
+    // Best of a few runs after warming up
+    private static long time(MassiveRoundResolver resolver, Map<String, Object> players,
+            List<Map<String, Object>> shards) {
+        return bestOf(20, () -> resolver.score(players, resolver.tally(shards)));
+    }
+
+    static long bestOf(int runs, Runnable task) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            task.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
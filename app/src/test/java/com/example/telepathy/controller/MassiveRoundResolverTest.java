@@ -0,0 +1,148 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.datastore.CompactGameDataStore;
+import com.example.telepathy.model.datastore.DataStore;
+import com.example.telepathy.model.datastore.DataStoreTestSupport;
+import com.example.telepathy.model.datastore.InMemoryDataStore;
+import com.example.telepathy.utils.Constants;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static com.example.telepathy.model.datastore.DataStoreTestSupport.createConfig;
+import static com.example.telepathy.model.datastore.DataStoreTestSupport.createRound;
+import static com.example.telepathy.model.datastore.DataStoreTestSupport.read;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class MassiveRoundResolverTest {
+
+    @Test
+    public void testParallelResolutionMatchesSingleThread() {
+        Map<String, Object> players = createPlayers(10_000);
+        List<Map<String, Object>> shards = createSubmissions(players, new Random(7), 6);
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        MassiveRoundResolver sequential = new MassiveRoundResolver(null, single);
+        MassiveRoundResolver parallel = new MassiveRoundResolver(null);
+
+        MassiveRoundResolver.Outcome expected = sequential.score(players, sequential.tally(shards));
+        MassiveRoundResolver.Outcome actual = parallel.score(players, parallel.tally(shards));
+        single.shutdown();
+
+        assertEquals(expected.playerUpdates, actual.playerUpdates);
+        assertEquals(expected.remaining, actual.remaining);
+        assertEquals(expected.eliminated, actual.eliminated);
+        assertTrue(expected.remaining > 0);
+    }
+
+    @Test
+    public void testSketchTallyMatchesExactTally() {
+        Map<String, Object> players = createPlayers(50_000);
+        List<Map<String, Object>> shards = createSubmissions(players, new Random(11), 6);
+        MassiveRoundResolver resolver = new MassiveRoundResolver(null);
+
+        MassiveRoundResolver.Tally exact = resolver.tally(shards);
+        MassiveRoundResolver.Tally sketched = resolver.sketchTally(shards);
+
+        assertEquals(exact.submissions, sketched.submissions);
+        assertEquals(exact.collidedWords(), sketched.collidedWords());
+        assertEquals(exact.topCollisions(5), sketched.topCollisions(5));
+        // Only collided words and a few unlucky unique ones get an exact count
+        assertTrue(sketched.wordCounts.size() < exact.wordCounts.size() / 10);
+
+        MassiveRoundResolver.Outcome expected = resolver.score(players, exact);
+        MassiveRoundResolver.Outcome actual = resolver.score(players, sketched);
+        assertEquals(expected.playerUpdates, actual.playerUpdates);
+        assertEquals(expected.remaining, actual.remaining);
+    }
+
+    @Test
+    public void testRoundEndThroughRoundResolver() {
+        DataStore store = new CompactGameDataStore(new InMemoryDataStore());
+        Map<String, Object> players = createPlayers(3);
+        store.setValue(Constants.GAME_PLAYERS_PATH + "/g1", players, null);
+        store.setValue("games/g1", createGame(), null);
+
+        store.setValue(MassiveRoundResolver.submissionPath("g1", 1, "p0"), "Lion", null);
+        store.setValue(MassiveRoundResolver.submissionPath("g1", 1, "p1"), "lion", null);
+        store.setValue(MassiveRoundResolver.submissionPath("g1", 1, "p2"), "tiger", null);
+
+        new RoundResolver(store).endCurrentRound("g1", new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object result) {
+            }
+
+            @Override
+            public void onFailure(String error) {
+                fail(error);
+            }
+        });
+
+        // One life each: the collision knocks out p0 and p1, p2 wins
+        Map<String, Object> game = (Map<String, Object>) read(store, "games/g1");
+        assertEquals("gameEnd", game.get("status"));
+        assertEquals("p2", game.get("winnerId"));
+        Map<String, Object> aggregates = (Map<String, Object>) game.get("aggregates");
+        assertEquals(1L, aggregates.get("activePlayers"));
+        assertEquals(1L, aggregates.get("collidedWords"));
+        assertTrue(((Map<String, Object>) game.get("usedWords")).containsKey("tiger"));
+
+        Map<String, Object> winner = (Map<String, Object>) read(store, Constants.GAME_PLAYERS_PATH + "/g1/p2");
+        assertEquals(110L, winner.get("score"));
+        assertEquals(Boolean.TRUE, read(store, Constants.GAME_PLAYERS_PATH + "/g1/p0/eliminated"));
+        assertNull(read(store, Constants.SUBMISSIONS_PATH + "/g1/1"));
+
+        // Results come from gamePlayers as well
+        assertEquals(110L, read(store, "users/p2/totalScore"));
+        assertEquals(3L, read(store, "userGames/p0/g1/playerCount"));
+    }
+
+    static Map<String, Object> createPlayers(int count) {
+        Map<String, Object> players = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> player = new HashMap<>();
+            player.put("username", "player" + i);
+            player.put("score", 0L);
+            player.put("lives", 1L);
+            player.put("eliminated", false);
+            players.put("p" + i, player);
+        }
+        return players;
+    }
+
+    // One in ten players submits nothing, commonTenths pick one of 50 common words and the rest a rare one
+    static List<Map<String, Object>> createSubmissions(Map<String, Object> players, Random random,
+            int commonTenths) {
+        List<Map<String, Object>> shards = new ArrayList<>();
+        for (int i = 0; i < Constants.MASSIVE_SHARDS; i++) {
+            shards.add(new HashMap<>());
+        }
+        for (String playerId : players.keySet()) {
+            int pick = random.nextInt(10);
+            if (pick == 0) {
+                continue;
+            }
+            String word = pick <= commonTenths ? "word" + random.nextInt(50)
+                    : "rare" + random.nextInt(100 * players.size());
+            shards.get(MassiveRoundResolver.shardOf(playerId)).put(playerId, word);
+        }
+        return shards;
+    }
+
+    // Players of massive games live under gamePlayers, not in the game node
+    private static Map<String, Object> createGame() {
+        Map<String, Object> config = createConfig(30, Constants.CATEGORY_ANIMALS);
+        config.put("matchingMode", false);
+        config.put("massive", true);
+        config.put("serverAuthoritative", true);
+
+        Map<String, Object> round = createRound(1);
+        round.put("endTime", System.currentTimeMillis());
+        return DataStoreTestSupport.createGame("active", null, config, round);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.Player;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PendingSubmissionTest {
+
+    @Test
+    public void testPendingWordShowsAtOnce() {
+        PendingSubmission pending = new PendingSubmission("p1");
+        List<Player> snapshot = players(null, null);
+        assertSame(snapshot, pending.apply(1, snapshot));
+
+        pending.submit(1, "lion");
+        assertTrue(pending.isAwaitingAck());
+        List<Player> applied = pending.apply(1, snapshot);
+        assertNotSame(snapshot, applied);
+        assertSame(snapshot.get(0), applied.get(0));
+        assertEquals("lion", applied.get(1).getCurrentWord());
+        assertEquals(3, applied.get(1).getLives());
+
+        // The snapshot's player is left as it was
+        assertNull(snapshot.get(1).getCurrentWord());
+    }
+
+    @Test
+    public void testSnapshotWithTheWordSettlesIt() {
+        PendingSubmission pending = new PendingSubmission("p1");
+        pending.submit(1, "lion");
+        pending.acknowledge("lion");
+        assertFalse(pending.isAwaitingAck());
+
+        // Acknowledged but the snapshot hasn't caught up yet
+        assertEquals("lion", pending.apply(1, players(null, "")).get(1).getCurrentWord());
+
+        List<Player> snapshot = players(null, "lion");
+        assertSame(snapshot, pending.apply(1, snapshot));
+        assertNull(pending.getWord());
+    }
+
+    @Test
+    public void testRejectedWordRollsBack() {
+        PendingSubmission pending = new PendingSubmission("p1");
+        pending.submit(1, "lion");
+        assertFalse(pending.reject("tiger"));
+        assertTrue(pending.reject("lion"));
+        assertFalse(pending.isAwaitingAck());
+
+        List<Player> snapshot = players(null, null);
+        assertSame(snapshot, pending.apply(1, snapshot));
+    }
+
+    @Test
+    public void testNextRoundDropsTheWord() {
+        PendingSubmission pending = new PendingSubmission("p1");
+        pending.submit(1, "lion");
+
+        List<Player> snapshot = players(null, null);
+        assertSame(snapshot, pending.apply(2, snapshot));
+        assertNull(pending.getWord());
+    }
+
+    private static List<Player> players(String word0, String word1) {
+        List<Player> players = new ArrayList<>();
+        String[] words = { word0, word1 };
+        for (int i = 0; i < words.length; i++) {
+            Player player = new Player("p" + i, "Player " + i);
+            player.setLives(3);
+            player.setCurrentWord(words[i]);
+            players.add(player);
+        }
+        return players;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.Player;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PlayerReconcilerTest {
+
+    @Test
+    public void testUnchangedSnapshotKeepsEverything() {
+        PlayerReconciler reconciler = new PlayerReconciler();
+        assertTrue(reconciler.reconcile(snapshot(4)));
+        assertEquals(4, reconciler.getChanges().size());
+        assertTrue(reconciler.hasChanged("p0", PlayerReconciler.ADDED));
+        List<Player> players = reconciler.getPlayers();
+
+        // A fresh copy of the same data, as every listener callback delivers
+        assertFalse(reconciler.reconcile(snapshot(4)));
+        assertSame(players, reconciler.getPlayers());
+        assertTrue(reconciler.getChanges().isEmpty());
+    }
+
+    @Test
+    public void testOnlyChangedFieldsReported() {
+        PlayerReconciler reconciler = new PlayerReconciler();
+        reconciler.reconcile(snapshot(3));
+        List<Player> before = reconciler.getPlayers();
+
+        Map<String, Object> update = snapshot(3);
+        player(update, "p1").put("currentWord", "lion");
+        player(update, "p2").put("lives", 0L);
+        player(update, "p2").put("eliminated", true);
+        assertTrue(reconciler.reconcile(update));
+
+        assertEquals(2, reconciler.getChanges().size());
+        assertEquals(PlayerReconciler.CURRENT_WORD, (int) reconciler.getChanges().get("p1"));
+        assertEquals(PlayerReconciler.LIVES | PlayerReconciler.ELIMINATED, (int) reconciler.getChanges().get("p2"));
+
+        List<Player> after = reconciler.getPlayers();
+        assertNotSame(before, after);
+        assertSame(before.get(0), after.get(0));
+        assertNotSame(before.get(1), after.get(1));
+        assertEquals("lion", after.get(1).getCurrentWord());
+        assertTrue(after.get(2).isEliminated());
+
+        // The players of the earlier list are left as they were
+        assertNull(before.get(1).getCurrentWord());
+        assertFalse(before.get(2).isEliminated());
+    }
+
+    @Test
+    public void testPlayersKeepTheirPosition() {
+        PlayerReconciler reconciler = new PlayerReconciler();
+        reconciler.reconcile(snapshot(3));
+
+        Map<String, Object> update = snapshot(3);
+        player(update, "p0").put("score", 10L);
+        update.remove("p1");
+        reconciler.reconcile(update);
+
+        assertEquals(PlayerReconciler.REMOVED, (int) reconciler.getChanges().get("p1"));
+        List<Player> players = reconciler.getPlayers();
+        assertEquals(2, players.size());
+        assertEquals("p0", players.get(0).getId());
+        assertEquals(10, players.get(0).getScore());
+        assertEquals("p2", players.get(1).getId());
+    }
+
+    @Test
+    public void testMatchesExtractedPlayers() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("username", "Ann");
+        data.put("score", 7L);
+        Player player = PlayerReconciler.toPlayer("p0", data);
+
+        assertEquals("Ann", player.getUsername());
+        assertEquals(7, player.getScore());
+        assertEquals(0, player.getLives());
+        assertFalse(player.isEliminated());
+        assertEquals(0, PlayerReconciler.diff(player, data));
+    }
+
+    private static Map<String, Object> snapshot(int count) {
+        Map<String, Object> players = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> player = new HashMap<>();
+            player.put("username", "Player " + i);
+            player.put("score", 0L);
+            player.put("lives", 3L);
+            player.put("eliminated", false);
+            players.put("p" + i, player);
+        }
+        return players;
+    }
+
+    private static Map<String, Object> player(Map<String, Object> snapshot, String id) {
+        return (Map<String, Object>) snapshot.get(id);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.datastore.CompactGameDataStore;
+import com.example.telepathy.model.datastore.DataStore;
+import com.example.telepathy.model.datastore.DataStoreTestSupport;
+import com.example.telepathy.model.datastore.InMemoryDataStore;
+import com.example.telepathy.utils.Constants;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static com.example.telepathy.model.datastore.DataStoreTestSupport.createConfig;
+import static com.example.telepathy.model.datastore.DataStoreTestSupport.createPlayer;
+import static com.example.telepathy.model.datastore.DataStoreTestSupport.createRound;
+import static com.example.telepathy.model.datastore.DataStoreTestSupport.read;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives many games from one ResolverService with bot players that only
+ * submit words, the way clients behave in server authoritative games.
+ */
+public class ResolverServiceTest {
+    private static final int GAMES = 1000;
+    private static final int PLAYERS = 3;
+    private static final int LIVES = 3;
+
+    @Test
+    public void testDrivesManyGamesToTheEnd() throws Exception {
+        DataStore store = new CompactGameDataStore(new InMemoryDataStore());
+        RoundResolver resolver = new RoundResolver(store);
+        resolver.setNextRoundDelayMs(10);
+        ResolverService service = new ResolverService(store, resolver, 4);
+        service.start();
+
+        // Bots submit on their own threads, like phones would
+        ExecutorService bots = Executors.newFixedThreadPool(4);
+        CountDownLatch ended = new CountDownLatch(GAMES);
+        for (int i = 0; i < GAMES; i++) {
+            String gameId = "g" + i;
+            store.setValue("games/" + gameId, createGame(), null);
+            store.addValueListener("games/" + gameId, createBot(store, bots, gameId, ended));
+            store.setValue(Constants.RESOLVER_QUEUE_PATH + "/" + gameId, true, null);
+        }
+        assertTrue("Games still running: " + ended.getCount(), ended.await(60, TimeUnit.SECONDS));
+
+        // The service lets go of each game after its end, emptying the queue
+        CountDownLatch drained = new CountDownLatch(1);
+        store.addValueListener(Constants.RESOLVER_QUEUE_PATH, new DataStore.ValueListener() {
+            @Override
+            public void onValueChanged(Object value) {
+                if (value == null) {
+                    drained.countDown();
+                }
+            }
+
+            @Override
+            public void onCancelled(String error) {
+                fail(error);
+            }
+        });
+        assertTrue(drained.await(5, TimeUnit.SECONDS));
+        assertEquals(0, service.getActiveGameCount());
+        service.stop();
+        bots.shutdown();
+        assertTrue(bots.awaitTermination(5, TimeUnit.SECONDS));
+
+        // Every bot collides every round, so each round must be resolved exactly once
+        for (int i = 0; i < GAMES; i++) {
+            Map<String, Object> game = (Map<String, Object>) read(store, "games/g" + i);
+            assertEquals("gameEnd", game.get("status"));
+            Map<String, Object> round = (Map<String, Object>) game.get("currentRound");
+            assertEquals("Game g" + i, (long) LIVES, round.get("roundNumber"));
+            for (Object player : ((Map<String, Object>) game.get("players")).values()) {
+                assertEquals(0L, ((Map<String, Object>) player).get("lives"));
+            }
+        }
+    }
+
+    @Test
+    public void testSerialExecutorRunsTasksInOrder() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        ResolverService.SerialExecutor executor = new ResolverService.SerialExecutor(pool);
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int task = i;
+            executor.execute(() -> order.add(task));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(1000, order.size());
+        for (int i = 0; i < order.size(); i++) {
+            assertEquals(i, (int) order.get(i));
+        }
+    }
+
+    // Submits the same word for every player still in, so they all lose a life.
+    // Counts down once its game has ended
+    private static DataStore.ValueListener createBot(DataStore store, ExecutorService bots, String gameId,
+            CountDownLatch ended) {
+        return new DataStore.ValueListener() {
+            private long submittedRound = 0;
+            private boolean finished = false;
+
+            @Override
+            public void onValueChanged(Object value) {
+                Map<String, Object> game = (Map<String, Object>) value;
+                if (game != null && "gameEnd".equals(game.get("status"))) {
+                    synchronized (this) {
+                        if (finished) {
+                            return;
+                        }
+                        finished = true;
+                    }
+                    ended.countDown();
+                    return;
+                }
+                if (game == null || !"active".equals(game.get("status"))) {
+                    return;
+                }
+                long roundNumber = (Long) ((Map<String, Object>) game.get("currentRound")).get("roundNumber");
+                synchronized (this) {
+                    if (roundNumber <= submittedRound) {
+                        return;
+                    }
+                    submittedRound = roundNumber;
+                }
+                Map<String, Object> players = (Map<String, Object>) game.get("players");
+                bots.execute(() -> {
+                    for (Map.Entry<String, Object> entry : players.entrySet()) {
+                        if (!Boolean.TRUE.equals(((Map<String, Object>) entry.getValue()).get("eliminated"))) {
+                            store.setValue("games/" + gameId + "/players/" + entry.getKey() + "/currentWord",
+                                    "lion", null);
+                        }
+                    }
+                });
+            }
+
+            @Override
+            public void onCancelled(String error) {
+                fail(error);
+            }
+        };
+    }
+
+    private static Map<String, Object> createGame() {
+        Map<String, Object> players = new HashMap<>();
+        for (int i = 1; i <= PLAYERS; i++) {
+            players.put("p" + i, createPlayer("player" + i, 0, LIVES, ""));
+        }
+
+        Map<String, Object> config = createConfig(30, Constants.CATEGORY_ANIMALS);
+        config.put("matchingMode", false);
+        config.put("serverAuthoritative", true);
+
+        Map<String, Object> round = createRound(1);
+        round.put("startTime", System.currentTimeMillis());
+        round.put("endTime", System.currentTimeMillis() + 30_000);
+        return DataStoreTestSupport.createGame("active", players, config, round);
+    }
+}
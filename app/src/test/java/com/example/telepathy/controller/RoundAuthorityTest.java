@@ -0,0 +1,160 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.datastore.CompactGameDataStore;
+import com.example.telepathy.model.datastore.DataStore;
+import com.example.telepathy.model.datastore.InMemoryDataStore;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class RoundAuthorityTest {
+    private static final long START = 1_000_000L;
+
+    private DataStore store;
+    private RoundAuthority host;
+    private RoundAuthority p2;
+    private RoundAuthority p3;
+    private int[] gained;
+
+    @Before
+    public void setUp() {
+        store = new CompactGameDataStore(new InMemoryDataStore());
+        Map<String, Object> game = new HashMap<>();
+        game.put("status", "active");
+        game.put("players", createPlayers());
+        game.put("authority", RoundAuthority.lease("host", START + RoundAuthority.LEASE_MS));
+        store.setValue("games/g1", game, null);
+
+        host = new RoundAuthority(store, "g1", "host");
+        p2 = new RoundAuthority(store, "g1", "p2");
+        p3 = new RoundAuthority(store, "g1", "p3");
+        gained = new int[3];
+        sync();
+    }
+
+    @Test
+    public void testHeartbeatKeepsAuthority() {
+        for (long now = START; now < START + 30_000; now += RoundAuthority.HEARTBEAT_INTERVAL_MS) {
+            tickAll(now);
+            assertTrue(host.isAuthority(now));
+            assertFalse(p2.isAuthority(now));
+            assertFalse(p3.isAuthority(now));
+        }
+        assertArrayEquals(new int[] { 0, 0, 0 }, gained);
+    }
+
+    @Test
+    public void testNextPlayerTakesOverWithinBound() {
+        // The host stops sending heartbeats
+        long now = START;
+        long takeover = -1;
+        while (takeover < 0 && now < START + 60_000) {
+            now += RoundAuthority.HEARTBEAT_INTERVAL_MS;
+            p2.tick(now, () -> gained[1]++);
+            p3.tick(now, () -> gained[2]++);
+            sync();
+            if (p2.isAuthority(now)) {
+                takeover = now;
+            }
+        }
+
+        assertTrue("Failover took " + (takeover - START) + "ms",
+                takeover > 0 && takeover - START <= RoundAuthority.LEASE_MS + RoundAuthority.HEARTBEAT_INTERVAL_MS);
+        assertEquals(1, gained[1]);
+        assertEquals("Only one player may take over", 0, gained[2]);
+        assertEquals("p2", read("games/g1/authority/id"));
+    }
+
+    @Test
+    public void testSecondSuccessorWaitsForStagger() {
+        long expired = START + RoundAuthority.LEASE_MS;
+
+        // Both the host and p2 are gone
+        p3.tick(expired, () -> gained[2]++);
+        assertEquals(0, gained[2]);
+        p3.tick(expired + RoundAuthority.CLAIM_STAGGER_MS, () -> gained[2]++);
+        assertEquals(1, gained[2]);
+        sync();
+        assertTrue(p3.isAuthority(expired + RoundAuthority.CLAIM_STAGGER_MS));
+    }
+
+    @Test
+    public void testLateHeartbeatLosesToClaim() {
+        long expired = START + RoundAuthority.LEASE_MS;
+        p2.tick(expired, () -> gained[1]++);
+        host.tick(expired + 1, () -> gained[0]++);
+        sync();
+
+        assertEquals("p2", host.getAuthorityId());
+        assertFalse(host.isAuthority(expired + 1));
+        assertTrue(p2.isAuthority(expired + 1));
+    }
+
+    @Test
+    public void testReleaseHandsOverImmediately() {
+        host.release();
+        sync();
+
+        p2.tick(START + 1, () -> gained[1]++);
+        assertEquals(1, gained[1]);
+    }
+
+    @Test
+    public void testSuccessionOrderPrefersActivePlayers() {
+        assertEquals(Arrays.asList("p3", "p2"), RoundAuthority.successionOrder(withEliminated("p2"), "host"));
+        assertEquals(Arrays.asList("host", "p2", "p3"), RoundAuthority.successionOrder(createPlayers(), null));
+    }
+
+    private void tickAll(long now) {
+        host.tick(now, () -> gained[0]++);
+        p2.tick(now, () -> gained[1]++);
+        p3.tick(now, () -> gained[2]++);
+        sync();
+    }
+
+    // Deliver the latest game data, as the game listener would
+    private void sync() {
+        Map<String, Object> game = (Map<String, Object>) read("games/g1");
+        host.onGameData(game);
+        p2.onGameData(game);
+        p3.onGameData(game);
+    }
+
+    private static Map<String, Object> createPlayers() {
+        Map<String, Object> players = new HashMap<>();
+        for (String id : new String[] { "host", "p2", "p3" }) {
+            Map<String, Object> player = new HashMap<>();
+            player.put("username", id);
+            player.put("eliminated", false);
+            players.put(id, player);
+        }
+        return players;
+    }
+
+    private static Map<String, Object> withEliminated(String playerId) {
+        Map<String, Object> players = createPlayers();
+        ((Map<String, Object>) players.get(playerId)).put("eliminated", true);
+        return players;
+    }
+
+    private Object read(String path) {
+        Object[] result = new Object[1];
+        store.get(path, new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object value) {
+                result[0] = value;
+            }
+
+            @Override
+            public void onFailure(String error) {
+                fail(error);
+            }
+        });
+        return result[0];
+    }
+}
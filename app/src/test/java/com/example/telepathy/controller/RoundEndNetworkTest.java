@@ -0,0 +1,159 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.datastore.DataStore;
+import com.example.telepathy.model.datastore.DataStoreTestSupport;
+import com.example.telepathy.model.datastore.InMemoryDataStore;
+import com.example.telepathy.model.datastore.NetworkConditions;
+import com.example.telepathy.model.datastore.SimulatedNetworkDataStore;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static com.example.telepathy.model.datastore.DataStoreTestSupport.createConfig;
+import static com.example.telepathy.model.datastore.DataStoreTestSupport.createPlayer;
+import static com.example.telepathy.model.datastore.DataStoreTestSupport.createRound;
+import static com.example.telepathy.model.datastore.DataStoreTestSupport.read;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures round-end latency and duplicate endCurrentRound calls when two
+ * clients race to end the same round over a simulated network.
+ */
+public class RoundEndNetworkTest {
+
+    @Test
+    public void testDuplicateRoundEndAt50msRtt() throws Exception {
+        runRoundEnd(50);
+    }
+
+    @Test
+    public void testDuplicateRoundEndAt200msRtt() throws Exception {
+        runRoundEnd(200);
+    }
+
+    @Test
+    public void testDuplicateRoundEndAt800msRtt() throws Exception {
+        runRoundEnd(800);
+    }
+
+    private void runRoundEnd(long rttMillis) throws Exception {
+        InMemoryDataStore backend = new InMemoryDataStore();
+        backend.setValue("games/g1", createGame(), null);
+
+        // Count round-end batches as they reach the backend
+        AtomicInteger roundEndWrites = new AtomicInteger();
+        DataStore counting = new CountingDataStore(backend, roundEndWrites);
+
+        SimulatedNetworkDataStore clientA = new SimulatedNetworkDataStore(counting,
+                NetworkConditions.withRtt(rttMillis), 1);
+        SimulatedNetworkDataStore clientB = new SimulatedNetworkDataStore(counting,
+                NetworkConditions.withRtt(rttMillis), 2);
+
+        CountDownLatch done = new CountDownLatch(2);
+        AtomicLong slowest = new AtomicLong();
+        long start = System.currentTimeMillis();
+        for (SimulatedNetworkDataStore client : new SimulatedNetworkDataStore[] { clientA, clientB }) {
+            new FirebaseController(client).endCurrentRound("g1", new FirebaseController.FirebaseCallback() {
+                @Override
+                public void onSuccess(Object result) {
+                    slowest.accumulateAndGet(System.currentTimeMillis() - start, Math::max);
+                    done.countDown();
+                }
+
+                @Override
+                public void onFailure(String error) {
+                    fail("Round end failed: " + error);
+                }
+            });
+        }
+        assertTrue(done.await(10 * rttMillis + 1000, TimeUnit.MILLISECONDS));
+        clientA.shutdown();
+        clientB.shutdown();
+
+        // A read plus a write, each a full round trip minus up to 10% jitter per leg. The upper
+        // bound only leaves room for a slow machine, it's not a measurement of its own
+        long latency = slowest.get();
+        assertTrue("Latency should be at least two round trips, was " + latency + "ms",
+                latency >= rttMillis * 2 * 8 / 10);
+        assertTrue("Latency should stay near two round trips, was " + latency + "ms",
+                latency <= rttMillis * 4 + 500);
+        // Without a single authority every client resolves the round itself
+        assertEquals("Both clients should have written the round end", 2, roundEndWrites.get());
+
+        // Both clients computed from the same snapshot, so lives only drop once
+        Map<String, Object> players = (Map<String, Object>) read(backend, "games/g1/players");
+        assertEquals(2L, ((Map<String, Object>) players.get("p1")).get("lives"));
+        assertEquals(2L, ((Map<String, Object>) players.get("p2")).get("lives"));
+        assertEquals(3L, ((Map<String, Object>) players.get("p3")).get("lives"));
+    }
+
+    private static Map<String, Object> createGame() {
+        Map<String, Object> players = new HashMap<>();
+        players.put("p1", createPlayer("Per", 0, 3, "cat"));
+        players.put("p2", createPlayer("Pål", 0, 3, "cat"));
+        players.put("p3", createPlayer("Espen", 0, 3, "dog"));
+
+        Map<String, Object> config = createConfig(30, "Animals");
+        config.put("livesPerPlayer", 3);
+        return DataStoreTestSupport.createGame("active", players, config, createRound(1));
+    }
+
+
+    private static class CountingDataStore implements DataStore {
+        private final DataStore delegate;
+        private final AtomicInteger roundEndWrites;
+
+        CountingDataStore(DataStore delegate, AtomicInteger roundEndWrites) {
+            this.delegate = delegate;
+            this.roundEndWrites = roundEndWrites;
+        }
+
+        @Override
+        public void get(String path, Callback callback) {
+            delegate.get(path, callback);
+        }
+
+        @Override
+        public void setValue(String path, Object value, Callback callback) {
+            delegate.setValue(path, value, callback);
+        }
+
+        @Override
+        public void updateChildren(String path, Map<String, Object> updates, Callback callback) {
+            if ("roundEnd".equals(updates.get("status"))) {
+                roundEndWrites.incrementAndGet();
+            }
+            delegate.updateChildren(path, updates, callback);
+        }
+
+        @Override
+        public void removeValue(String path, Callback callback) {
+            delegate.removeValue(path, callback);
+        }
+
+        @Override
+        public void runTransaction(String path, Mutation mutation, Callback callback) {
+            delegate.runTransaction(path, mutation, callback);
+        }
+
+        @Override
+        public void addValueListener(String path, ValueListener listener) {
+            delegate.addValueListener(path, listener);
+        }
+
+        @Override
+        public void removeValueListener(String path, ValueListener listener) {
+            delegate.removeValueListener(path, listener);
+        }
+
+        @Override
+        public String generateKey(String path) {
+            return delegate.generateKey(path);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.telepathy.controller;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+public class RoundPrefetcherTest {
+
+    @Test
+    public void testPreparedRoundIsSwappedIn() {
+        RoundPrefetcher prefetcher = new RoundPrefetcher();
+        List<String> round1 = prefetcher.words(1, snapshotWords("lion", "tiger", "bear"));
+        Set<String> index = prefetcher.getWordIndex(1);
+        assertTrue(index.contains("tiger"));
+        assertNull(prefetcher.getWordIndex(2));
+
+        prefetcher.prepare(2, round1);
+        // Not current until its snapshot arrives
+        assertNull(prefetcher.getWordIndex(2));
+
+        List<String> round2 = prefetcher.words(2, snapshotWords("lion", "tiger", "bear"));
+        assertSame(round1, round2);
+        assertSame(index, prefetcher.getWordIndex(2));
+        assertNull(prefetcher.getWordIndex(1));
+        assertEquals(1, prefetcher.getHits());
+        assertEquals(0, prefetcher.getMisses());
+    }
+
+    @Test
+    public void testLaterSnapshotsReuseTheList() {
+        RoundPrefetcher prefetcher = new RoundPrefetcher();
+        List<String> first = prefetcher.words(1, snapshotWords("lion", "tiger"));
+        assertSame(first, prefetcher.words(1, snapshotWords("lion", "tiger")));
+        assertSame(first, prefetcher.words(1, snapshotWords("lion", "tiger")));
+    }
+
+    @Test
+    public void testOtherWordsReplaceTheSpeculation() {
+        RoundPrefetcher prefetcher = new RoundPrefetcher();
+        prefetcher.words(1, snapshotWords("lion", "tiger"));
+        prefetcher.prepare(2, Arrays.asList("lion", "tiger"));
+
+        List<String> round2 = prefetcher.words(2, snapshotWords("france", "spain", 7L));
+        assertEquals(Arrays.asList("france", "spain"), round2);
+        assertTrue(prefetcher.getWordIndex(2).contains("spain"));
+        assertFalse(prefetcher.getWordIndex(2).contains("lion"));
+        assertEquals(0, prefetcher.getHits());
+        assertEquals(1, prefetcher.getMisses());
+    }
+
+    @Test
+    public void testMissingWords() {
+        RoundPrefetcher prefetcher = new RoundPrefetcher();
+        assertTrue(prefetcher.words(1, null).isEmpty());
+        assertTrue(prefetcher.getWordIndex(1).isEmpty());
+    }
+
+    // A fresh list like each listener callback delivers
+    private static List<Object> snapshotWords(Object... words) {
+        return new ArrayList<>(Arrays.asList(words));
+    }
+}
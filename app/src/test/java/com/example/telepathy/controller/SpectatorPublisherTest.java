@@ -0,0 +1,123 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.datastore.DataStore;
+import com.example.telepathy.model.datastore.InMemoryDataStore;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SpectatorPublisherTest {
+    private static final long INTERVAL = 1000;
+
+    private InMemoryDataStore store;
+    private SpectatorPublisher publisher;
+    private List<Map<String, Object>> published;
+
+    @Before
+    public void setUp() {
+        store = new InMemoryDataStore();
+        publisher = new SpectatorPublisher(store, "g1", INTERVAL);
+        published = new ArrayList<>();
+        store.addValueListener("spectate/g1", new DataStore.ValueListener() {
+            @Override
+            public void onValueChanged(Object value) {
+                if (value != null) {
+                    published.add((Map<String, Object>) value);
+                }
+            }
+
+            @Override
+            public void onCancelled(String error) {
+                fail(error);
+            }
+        });
+    }
+
+    @Test
+    public void testUpdatesWithinIntervalAreConflated() {
+        Map<String, Object> game = createGame("active", 1);
+        publisher.onGameData(game, 0);
+
+        // Submissions trickling in during one interval
+        boolean pending = false;
+        for (int i = 1; i <= 50; i++) {
+            setPlayer(game, "p1", "score", i);
+            pending = publisher.onGameData(game, i * 10);
+        }
+        assertTrue(pending);
+        assertEquals(1, published.size());
+
+        publisher.flush(INTERVAL - 1);
+        assertEquals(1, published.size());
+        publisher.flush(INTERVAL);
+        assertEquals(2, published.size());
+        assertEquals(50L, player(published.get(1), "p1").get("score"));
+
+        // Nothing new, nothing written
+        publisher.flush(3 * INTERVAL);
+        assertFalse(publisher.onGameData(game, 3 * INTERVAL));
+        assertEquals(2, published.size());
+    }
+
+    @Test
+    public void testRoundBoundaryPublishedImmediately() {
+        Map<String, Object> game = createGame("active", 1);
+        publisher.onGameData(game, 0);
+        game.put("status", "roundEnd");
+        assertFalse(publisher.onGameData(game, 10));
+        ((Map<String, Object>) game.get("currentRound")).put("roundNumber", 2);
+        game.put("status", "active");
+        assertFalse(publisher.onGameData(game, 20));
+
+        assertEquals(3, published.size());
+        assertEquals(2L, published.get(2).get("roundNumber"));
+    }
+
+    @Test
+    public void testWordsRevealedOnlyAfterRoundEnds() {
+        Map<String, Object> game = createGame("active", 1);
+        setPlayer(game, "p1", "currentWord", "lion");
+        publisher.onGameData(game, 0);
+        assertNull(player(published.get(0), "p1").get("word"));
+
+        game.put("status", "roundEnd");
+        publisher.onGameData(game, 10);
+        assertEquals("lion", player(published.get(1), "p1").get("word"));
+    }
+
+    private static Map<String, Object> createGame(String status, int roundNumber) {
+        Map<String, Object> players = new HashMap<>();
+        for (String id : new String[] { "p1", "p2" }) {
+            Map<String, Object> player = new HashMap<>();
+            player.put("username", id);
+            player.put("score", 0);
+            player.put("lives", 3);
+            player.put("eliminated", false);
+            player.put("currentWord", "");
+            players.put(id, player);
+        }
+        Map<String, Object> round = new HashMap<>();
+        round.put("roundNumber", roundNumber);
+        round.put("endTime", 30_000L);
+
+        Map<String, Object> game = new HashMap<>();
+        game.put("status", status);
+        game.put("players", players);
+        game.put("currentRound", round);
+        return game;
+    }
+
+    private static void setPlayer(Map<String, Object> game, String playerId, String key, Object value) {
+        ((Map<String, Object>) ((Map<String, Object>) game.get("players")).get(playerId)).put(key, value);
+    }
+
+    private static Map<String, Object> player(Map<String, Object> view, String playerId) {
+        return (Map<String, Object>) ((Map<String, Object>) view.get("players")).get(playerId);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.datastore.DataStore;
+import com.example.telepathy.model.datastore.InMemoryDataStore;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static com.example.telepathy.model.datastore.DataStoreTestSupport.read;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class WordStatsControllerTest {
+
+    @Test
+    public void testRoundCountedOnceAndOnlyCollisions() {
+        InMemoryDataStore store = new InMemoryDataStore();
+        WordStatsController clientA = new WordStatsController(store, new Random(1));
+        WordStatsController clientB = new WordStatsController(store, new Random(2));
+
+        Map<String, List<String>> wordToPlayers = new HashMap<>();
+        wordToPlayers.put("lion", Arrays.asList("p1", "p2"));
+        wordToPlayers.put("tiger", Collections.singletonList("p3"));
+
+        clientA.recordCollisions("g1", 1, "Animals", wordToPlayers);
+        clientB.recordCollisions("g1", 1, "Animals", wordToPlayers);
+        assertEquals(1L, sumShards(store, "animals", "lion"));
+        assertEquals("Unique words are not collisions", 0L, sumShards(store, "animals", "tiger"));
+
+        clientB.recordCollisions("g1", 2, "Animals", wordToPlayers);
+        assertEquals(2L, sumShards(store, "animals", "lion"));
+    }
+
+    @Test
+    public void testIncrementsSpreadOverShards() {
+        InMemoryDataStore store = new InMemoryDataStore();
+        WordStatsController controller = new WordStatsController(store, new Random(42));
+        Map<String, List<String>> wordToPlayers = new HashMap<>();
+        wordToPlayers.put("lion", Arrays.asList("p1", "p2"));
+
+        for (int round = 1; round <= 100; round++) {
+            store.updateChildren("", controller.buildCollisionUpdates("animals", wordToPlayers), null);
+        }
+
+        Map<String, Object> shards = (Map<String, Object>) read(store, "wordStats/animals/lion/shards");
+        assertTrue("Expected most shards to be used, got " + shards.size(),
+                shards.size() > WordStatsController.SHARD_COUNT / 2);
+        assertEquals(100L, sumShards(store, "animals", "lion"));
+    }
+
+    @Test
+    public void testAggregatorKeepsTopWordsInOrder() {
+        InMemoryDataStore store = new InMemoryDataStore();
+        WordStatsController controller = new WordStatsController(store, new Random(7));
+        addCollisions(store, controller, "cat", 5);
+        addCollisions(store, controller, "dog", 9);
+        addCollisions(store, controller, "lion", 2);
+
+        List<Map<String, Object>> top = WordStatsController.topWords(
+                (Map<String, Object>) read(store, "wordStats/animals"), 2);
+        assertEquals(2, top.size());
+        assertEquals("dog", top.get(0).get("word"));
+        assertEquals(9L, top.get(0).get("count"));
+        assertEquals("cat", top.get(1).get("word"));
+
+        controller.aggregateIfDue("animals", 1_000_000L);
+        List<Object> stored = (List<Object>) read(store, "wordStatsTop/animals/words");
+        assertEquals(3, stored.size());
+        assertEquals("dog", ((Map<String, Object>) stored.get(0)).get("word"));
+
+        // Within the interval the aggregator doesn't run again
+        addCollisions(store, controller, "lion", 20);
+        controller.aggregateIfDue("animals", 1_000_000L + WordStatsController.AGGREGATE_INTERVAL_MS - 1);
+        stored = (List<Object>) read(store, "wordStatsTop/animals/words");
+        assertEquals("dog", ((Map<String, Object>) stored.get(0)).get("word"));
+
+        controller.aggregateIfDue("animals", 1_000_000L + WordStatsController.AGGREGATE_INTERVAL_MS);
+        stored = (List<Object>) read(store, "wordStatsTop/animals/words");
+        assertEquals("lion", ((Map<String, Object>) stored.get(0)).get("word"));
+    }
+
+    private static void addCollisions(DataStore store, WordStatsController controller, String word, int count) {
+        Map<String, List<String>> wordToPlayers = new HashMap<>();
+        wordToPlayers.put(word, Arrays.asList("p1", "p2"));
+        for (int i = 0; i < count; i++) {
+            store.updateChildren("", controller.buildCollisionUpdates("animals", wordToPlayers), null);
+        }
+    }
+
+    private static long sumShards(DataStore store, String category, String word) {
+        Map<String, Object> wordStats = new HashMap<>();
+        wordStats.put(word, read(store, "wordStats/" + category + "/" + word));
+        List<Map<String, Object>> top = WordStatsController.topWords(wordStats, 1);
+        return top.isEmpty() ? 0 : (Long) top.get(0).get("count");
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.telepathy.controller;
+
+import com.example.telepathy.model.GameConfig;
+import com.example.telepathy.model.GameRound;
+import com.example.telepathy.model.GameState;
+import com.example.telepathy.model.Player;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class WordValidatorTest {
+    private static final List<String> WORDS = Arrays.asList(
+            "elephant", "elk", "eagle", "eel", "lion", "tiger", "bear", "zebra");
+
+    private final long[] now = {1000};
+    private final GameScheduler scheduler = new GameScheduler(() -> now[0], 10, 64);
+    private final WordValidator validator = new WordValidator(scheduler, "g1", null);
+
+    @Test
+    public void testStatuses() {
+        GameState state = state(false, "tiger");
+        assertEquals(WordValidator.Status.VALID, validator.validate(" Lion ", state).getStatus());
+        assertEquals("lion", validator.validate(" Lion ", state).getWord());
+        assertEquals(WordValidator.Status.USED, validator.validate("tiger", state).getStatus());
+        assertEquals(WordValidator.Status.NOT_IN_LIST, validator.validate("puma", state).getStatus());
+        assertEquals(WordValidator.Status.EMPTY, validator.validate("  ", state).getStatus());
+        assertEquals("Word is not in the valid word list for this round",
+                validator.validate("puma", state).getMessage());
+
+        // Matching mode lets every word through
+        assertTrue(validator.validate("puma", state(true)).isValid());
+    }
+
+    @Test
+    public void testSuggestions() {
+        GameState state = state(false, "elk");
+        // Prefix matches first, in order and without used words
+        assertEquals(Arrays.asList("eagle", "eel", "elephant"), validator.validate("e", state).getSuggestions());
+        // Then near misses, one typo away for short inputs
+        assertEquals(Arrays.asList("elephant", "eel"), validator.validate("el", state).getSuggestions());
+        // Typos
+        assertEquals(Arrays.asList("zebra"), validator.validate("zebbra", state).getSuggestions());
+        assertEquals(Arrays.asList("bear"), validator.validate("beer", state).getSuggestions());
+        assertTrue(validator.validate("xyz", state).getSuggestions().isEmpty());
+        assertTrue(validator.validate("bear", state).getSuggestions().isEmpty());
+    }
+
+    @Test
+    public void testResultsCachedPerInput() {
+        GameState state = state(false);
+        WordValidator.Result first = validator.validate("el", state);
+        assertSame(first, validator.validate("el", state));
+
+        // A new state sharing the words and used words keeps the cache
+        GameState next = state.next(state.getConfig(), state.getPlayers(), state.getCurrentRound(),
+                "active", state.getUsedWords());
+        assertSame(first, validator.validate("el", next));
+
+        // New used words don't
+        GameState used = state.next(state.getConfig(), state.getPlayers(), state.getCurrentRound(),
+                "active", new HashSet<>(Collections.singletonList("elephant")));
+        WordValidator.Result again = validator.validate("el", used);
+        assertNotSame(first, again);
+        assertFalse(again.getSuggestions().contains("elephant"));
+    }
+
+    @Test
+    public void testOnlyLatestInputDelivered() throws InterruptedException {
+        GameState state = state(false);
+        List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(1);
+        WordValidator.ResultListener listener = result -> {
+            delivered.add(result.getWord());
+            done.countDown();
+        };
+
+        validator.onTextChanged("e", state, listener);
+        validator.onTextChanged("el", state, listener);
+        now[0] += WordValidator.DEBOUNCE_MS - 10;
+        scheduler.advance();
+        validator.onTextChanged("elk", state, listener);
+
+        // Typing keeps postponing the check
+        now[0] += WordValidator.DEBOUNCE_MS - 10;
+        scheduler.advance();
+        assertEquals(1, scheduler.getPendingCount());
+
+        now[0] += 10;
+        scheduler.advance();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("elk"), delivered);
+        validator.close();
+    }
+
+    private static GameState state(boolean matchingMode, String... usedWords) {
+        GameConfig config = new GameConfig(30, 8, 3, "animals");
+        config.setMatchingMode(matchingMode);
+        GameRound round = new GameRound();
+        round.setRoundNumber(1);
+        round.setWords(new ArrayList<>(WORDS));
+        List<Player> players = Collections.singletonList(new Player("p0", "Player 0"));
+        return GameState.of("g1", config, players, round, "active", new HashSet<>(Arrays.asList(usedWords)));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.telepathy.model;
+
+import com.example.telepathy.utils.Constants;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+public class CategoryCatalogTest {
+
+    @Test
+    public void testCatalogListsCategoriesInOrder() {
+        CategoryCatalog catalog = CategoryCatalog.getInstance();
+        assertEquals(Arrays.asList(Constants.CATEGORY_ANIMALS, Constants.CATEGORY_COUNTRIES,
+                Constants.CATEGORY_FOODS, Constants.CATEGORY_SPORTS), catalog.getCategoryIds());
+        assertEquals(catalog.getCategoryIds(), WordSelection.getCategories());
+        assertSame("Catalog should be loaded once", catalog, CategoryCatalog.getInstance());
+    }
+
+    @Test
+    public void testMetadata() {
+        Category animals = CategoryCatalog.getInstance().getCategory(Constants.CATEGORY_ANIMALS);
+        assertEquals("Animals", animals.getDisplayName());
+        assertTrue(animals.getWordCount() > 0);
+        assertTrue(animals.getWordCount() <= WordSelection.getAllWordsForCategory(animals.getId()).size());
+        assertEquals(16, animals.getContentHash().length());
+        assertNotEquals(animals.getContentHash(),
+                CategoryCatalog.getInstance().getCategory(Constants.CATEGORY_SPORTS).getContentHash());
+    }
+
+    @Test
+    public void testLegacyDisplayNamesResolve() {
+        CategoryCatalog catalog = CategoryCatalog.getInstance();
+        assertEquals("Countries", catalog.getDisplayName("Countries"));
+        assertEquals("Countries", catalog.getDisplayName(Constants.CATEGORY_COUNTRIES));
+        assertEquals(WordSelection.getAllWordsForCategory(Constants.CATEGORY_FOODS),
+                WordSelection.getAllWordsForCategory("Foods"));
+
+        GameConfig config = new GameConfig(30, 8, 3, "Sports");
+        assertEquals(Constants.CATEGORY_SPORTS, config.getSelectedCategory());
+        assertEquals("Unknown", catalog.getDisplayName("Unknown"));
+    }
+}
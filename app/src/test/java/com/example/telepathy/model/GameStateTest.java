@@ -0,0 +1,120 @@
+package com.example.telepathy.model;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class GameStateTest {
+
+    @Test
+    public void testUnchangedPartsAreShared() {
+        GameState first = GameState.of("g1", config(), players(3, 0), round(1), "active", words("Lion", "tiger"));
+        GameState second = first.next(config(), players(3, 0), round(1), "active", words("lion", "tiger"));
+
+        assertNotSame(first, second);
+        assertSame(first.getConfig(), second.getConfig());
+        assertSame(first.getPlayers(), second.getPlayers());
+        assertSame(first.getCurrentRound(), second.getCurrentRound());
+        assertSame(first.getUsedWords(), second.getUsedWords());
+
+        // Words differing only in case don't change the set either
+        GameState third = second.next(config(), players(3, 0), round(1), "active", words("LION", "lion", "tiger"));
+        assertSame(first.getUsedWords(), third.getUsedWords());
+    }
+
+    @Test
+    public void testOnlyChangedPlayersReplaced() {
+        GameState first = GameState.of("g1", config(), players(3, 0), round(1), "active", words());
+        List<Player> update = players(3, 0);
+        update.get(1).setCurrentWord("lion");
+        GameState second = first.next(config(), update, round(1), "active", words());
+
+        assertNotSame(first.getPlayers(), second.getPlayers());
+        assertSame(first.getPlayers().get(0), second.getPlayers().get(0));
+        assertSame(update.get(1), second.getPlayers().get(1));
+        assertSame(first.getPlayers().get(2), second.getPlayers().get(2));
+
+        // A player leaving changes the list too
+        GameState third = second.next(config(), players(2, 0), round(1), "active", words());
+        assertEquals(2, third.getPlayers().size());
+        assertSame(first.getPlayers().get(0), third.getPlayers().get(0));
+    }
+
+    @Test
+    public void testSamePlayerListSkipsComparison() {
+        List<Player> reconciled = players(3, 0);
+        GameState first = GameState.of("g1", config(), reconciled, round(1), "active", words());
+        GameState second = first.next(config(), reconciled, round(1), "roundEnd", words());
+
+        assertSame(first.getPlayers(), second.getPlayers());
+        assertEquals("roundEnd", second.getStatus());
+    }
+
+    @Test
+    public void testNewRoundAndWordsReplaced() {
+        GameState first = GameState.of("g1", config(), players(2, 0), round(1), "roundEnd", words("lion"));
+        GameState second = first.next(config(), players(2, 0), round(2), "active", words("lion", "tiger"));
+
+        assertEquals(2, second.getCurrentRound().getRoundNumber());
+        assertEquals("active", second.getStatus());
+        assertTrue(second.isWordAlreadyUsed("Tiger"));
+        assertFalse(first.isWordAlreadyUsed("tiger"));
+    }
+
+    @Test
+    public void testStateCannotBeModified() {
+        List<Player> players = players(2, 0);
+        Set<String> used = words("lion");
+        GameState state = GameState.of("g1", config(), players, round(1), "active", used);
+
+        // Later changes to the source collections don't leak in
+        players.add(new Player("p9", "late"));
+        used.add("tiger");
+        assertEquals(2, state.getPlayers().size());
+        assertFalse(state.isWordAlreadyUsed("tiger"));
+
+        try {
+            state.getPlayers().clear();
+            fail("Players should be read only");
+        } catch (UnsupportedOperationException expected) {
+        }
+        try {
+            state.getUsedWords().add("tiger");
+            fail("Used words should be read only");
+        } catch (UnsupportedOperationException expected) {
+        }
+    }
+
+    private static GameConfig config() {
+        return new GameConfig(30, 8, 3, "animals");
+    }
+
+    private static List<Player> players(int count, int score) {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Player player = new Player("p" + i, "Player " + i);
+            player.setScore(score);
+            players.add(player);
+        }
+        return players;
+    }
+
+    private static GameRound round(int number) {
+        GameRound round = new GameRound();
+        round.setRoundNumber(number);
+        // The constructor stamps the current time, fix it so equal rounds compare equal
+        round.setStartTime(number * 60_000L);
+        round.setEndTime(number * 60_000L + 30_000L);
+        round.setWords(new ArrayList<>(Arrays.asList("lion", "tiger", "bear")));
+        return round;
+    }
+
+    private static Set<String> words(String... words) {
+        return new HashSet<>(Arrays.asList(words));
+    }
+}
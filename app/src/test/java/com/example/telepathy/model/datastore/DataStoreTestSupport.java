@@ -0,0 +1,75 @@
+package com.example.telepathy.model.datastore;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.fail;
+
+/**
+ * Reads and game fixtures shared by the tests that go through a DataStore.
+ */
+public final class DataStoreTestSupport {
+
+    private DataStoreTestSupport() {
+    }
+
+    // Value at a path of a store that calls back right away, like InMemoryDataStore
+    public static Object read(DataStore store, String path) {
+        Object[] result = new Object[1];
+        store.get(path, new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object value) {
+                result[0] = value;
+            }
+
+            @Override
+            public void onFailure(String error) {
+                fail(error);
+            }
+        });
+        return result[0];
+    }
+
+    // A game node with the long field names, parts that are null are left out
+    public static Map<String, Object> createGame(String status, Map<String, Object> players,
+            Map<String, Object> config, Map<String, Object> round) {
+        Map<String, Object> game = new HashMap<>();
+        game.put("status", status);
+        if (players != null) {
+            game.put("players", players);
+        }
+        if (config != null) {
+            game.put("config", config);
+        }
+        if (round != null) {
+            game.put("currentRound", round);
+        }
+        return game;
+    }
+
+    // A player without lives is eliminated, a null word is left out
+    public static Map<String, Object> createPlayer(String username, int score, int lives, String currentWord) {
+        Map<String, Object> player = new HashMap<>();
+        player.put("username", username);
+        player.put("score", score);
+        player.put("lives", lives);
+        player.put("eliminated", lives == 0);
+        if (currentWord != null) {
+            player.put("currentWord", currentWord);
+        }
+        return player;
+    }
+
+    public static Map<String, Object> createConfig(int timeLimit, String category) {
+        Map<String, Object> config = new HashMap<>();
+        config.put("timeLimit", timeLimit);
+        config.put("selectedCategory", category);
+        return config;
+    }
+
+    public static Map<String, Object> createRound(int roundNumber) {
+        Map<String, Object> round = new HashMap<>();
+        round.put("roundNumber", roundNumber);
+        return round;
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.telepathy.model.datastore;
+
+import com.example.telepathy.model.WordSelection;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static com.example.telepathy.model.datastore.DataStoreTestSupport.createConfig;
+import static com.example.telepathy.model.datastore.DataStoreTestSupport.createPlayer;
+import static com.example.telepathy.model.datastore.DataStoreTestSupport.read;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class GameWireCodecTest {
+
+    @Test
+    public void testRoundTripRestoresLongNamesAndDerivedWords() {
+        Map<String, Object> game = createGame(4);
+        Map<String, Object> decoded = GameWireCodec.decodeGame(
+                (Map<String, Object>) InMemoryDataStore.normalize(GameWireCodec.encodeGame(game)));
+
+        assertEquals("active", decoded.get("status"));
+        Map<String, Object> player = (Map<String, Object>) ((Map<String, Object>) decoded.get("players")).get("p1");
+        assertEquals("player1", player.get("username"));
+        assertEquals(3L, player.get("lives"));
+        assertEquals("tiger", player.get("currentWord"));
+
+        Map<String, Object> round = (Map<String, Object>) decoded.get("currentRound");
+        assertEquals(2L, round.get("roundNumber"));
+        assertEquals("Round words should be re-derived from the category",
+                WordSelection.getAllWordsForCategory("Animals"), round.get("words"));
+        assertTrue(((Map<String, Object>) decoded.get("usedWords")).containsKey("cat"));
+        assertFalse(decoded.containsKey(GameWireCodec.VERSION_KEY));
+    }
+
+    @Test
+    public void testEncodedGameUsesShortKeysAndNumericStatus() {
+        Map<String, Object> encoded = GameWireCodec.encodeGame(createGame(2));
+
+        assertEquals(GameWireCodec.VERSION, encoded.get(GameWireCodec.VERSION_KEY));
+        assertEquals(0, encoded.get("st"));
+        assertFalse(encoded.containsKey("players"));
+        assertFalse("Round words should not be sent",
+                ((Map<String, Object>) encoded.get("r")).containsKey("words"));
+        assertFalse("Static categories should not be sent",
+                ((Map<String, Object>) encoded.get("c")).containsKey("categories"));
+        // Ids and words used as keys are left alone
+        assertTrue(((Map<String, Object>) encoded.get("p")).containsKey("p1"));
+        assertTrue(((Map<String, Object>) encoded.get("u")).containsKey("cat"));
+    }
+
+    @Test
+    public void testLegacyGameIsDecodedUnchanged() {
+        Map<String, Object> legacy = createGame(2);
+        assertSame(legacy, GameWireCodec.decodeGame(legacy));
+    }
+
+    @Test
+    public void testPathsAndPartialUpdatesThroughStore() throws Exception {
+        InMemoryDataStore backend = new InMemoryDataStore();
+        CompactGameDataStore store = new CompactGameDataStore(backend);
+        store.setValue("games/g1", createGame(2), null);
+
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("status", "roundEnd");
+        updates.put("players/p1/lives", 2);
+        updates.put("usedWords/lion", true);
+        updates.put("currentRound", createRound(3));
+        store.updateChildren("games/g1", updates, null);
+
+        assertEquals(1L, read(backend, "games/g1/st"));
+        assertEquals(2L, read(backend, "games/g1/p/p1/h"));
+        assertEquals(true, read(backend, "games/g1/u/lion"));
+        assertNull(read(backend, "games/g1/r/words"));
+
+        assertEquals("roundEnd", read(store, "games/g1/status"));
+        assertEquals(3L, read(store, "games/g1/currentRound/roundNumber"));
+        Map<String, Object> usedWords = (Map<String, Object>) read(store, "games/g1/usedWords");
+        assertTrue(usedWords.containsKey("lion"));
+
+        // Lobbies and users are not touched
+        store.setValue("lobbies/l1/name", "Lobby", null);
+        assertEquals("Lobby", read(backend, "lobbies/l1/name"));
+    }
+
+    @Test
+    public void testListenerReceivesDecodedGame() {
+        CompactGameDataStore store = new CompactGameDataStore(new InMemoryDataStore());
+        store.setValue("games/g1", createGame(2), null);
+
+        List<Object> statuses = new ArrayList<>();
+        DataStore.ValueListener listener = new DataStore.ValueListener() {
+            @Override
+            public void onValueChanged(Object value) {
+                statuses.add(((Map<String, Object>) value).get("status"));
+            }
+
+            @Override
+            public void onCancelled(String error) {
+                fail(error);
+            }
+        };
+        store.addValueListener("games/g1", listener);
+        store.setValue("games/g1/status", "gameEnd", null);
+        store.removeValueListener("games/g1", listener);
+        store.setValue("games/g1/status", "active", null);
+
+        assertEquals(Arrays.asList("active", "gameEnd"), statuses);
+    }
+
+    @Test
+    public void testLegacySubPathReadFallsBack() throws Exception {
+        InMemoryDataStore backend = new InMemoryDataStore();
+        backend.setValue("games/old", createGame(2), null);
+        CompactGameDataStore store = new CompactGameDataStore(backend);
+
+        Map<String, Object> usedWords = (Map<String, Object>) read(store, "games/old/usedWords");
+        assertTrue(usedWords.containsKey("cat"));
+    }
+
+    @Test
+    public void testPartialWritesToLegacyGameKeepLongNames() throws Exception {
+        InMemoryDataStore backend = new InMemoryDataStore();
+        backend.setValue("games/old", createGame(2), null);
+        CompactGameDataStore store = new CompactGameDataStore(backend);
+
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("status", "roundEnd");
+        updates.put("currentRound", createRound(3));
+        store.updateChildren("games/old", updates, null);
+        store.setValue("games/old/players/p1/lives", 2, null);
+
+        assertEquals("roundEnd", read(backend, "games/old/status"));
+        assertNull(read(backend, "games/old/st"));
+        assertNull(read(backend, "games/old/p"));
+
+        Map<String, Object> game = (Map<String, Object>) read(store, "games/old");
+        assertEquals("roundEnd", game.get("status"));
+        assertEquals(3L, ((Number) ((Map<String, Object>) game.get("currentRound")).get("roundNumber")).longValue());
+        Map<String, Object> player = (Map<String, Object>) ((Map<String, Object>) game.get("players")).get("p1");
+        assertEquals(2L, ((Number) player.get("lives")).longValue());
+
+        // Rewriting the whole node moves it to the compact format
+        store.setValue("games/old", game, null);
+        store.setValue("games/old/status", "gameEnd", null);
+        assertEquals(2L, read(backend, "games/old/st"));
+        assertEquals("gameEnd", read(store, "games/old/status"));
+    }
+
+    @Test
+    public void testBytesSaved() {
+        for (int players : new int[] { 2, 8 }) {
+            Map<String, Object> game = createGame(players);
+            int legacyGame = GameWireCodec.estimateJsonBytes(game);
+            int compactGame = GameWireCodec.estimateJsonBytes(GameWireCodec.encodeGame(game));
+
+            // Typical round end update: statuses, lives and the next round
+            Map<String, Object> roundEnd = new HashMap<>();
+            roundEnd.put("status", "roundEnd");
+            for (int i = 1; i <= players; i++) {
+                roundEnd.put("players/p" + i + "/lives", 2);
+                roundEnd.put("players/p" + i + "/currentWord", "");
+            }
+            roundEnd.put("currentRound", createRound(3));
+            Map<String, Object> compactRoundEnd = new HashMap<>();
+            for (Map.Entry<String, Object> entry : roundEnd.entrySet()) {
+                if (!GameWireCodec.isDropped(entry.getKey())) {
+                    compactRoundEnd.put(GameWireCodec.encodePath(entry.getKey()),
+                            GameWireCodec.encodeAt(entry.getKey(), entry.getValue()));
+                }
+            }
+            int legacyUpdate = GameWireCodec.estimateJsonBytes(roundEnd);
+            int compactUpdate = GameWireCodec.estimateJsonBytes(compactRoundEnd);
+
+            assertTrue(compactGame * 2 < legacyGame);
+            assertTrue(compactUpdate * 2 < legacyUpdate);
+        }
+    }
+
+    private static Map<String, Object> createGame(int playerCount) {
+        Map<String, Object> players = new HashMap<>();
+        for (int i = 1; i <= playerCount; i++) {
+            Map<String, Object> player = createPlayer("player" + i, 10, 3, "tiger");
+            player.put("id", "p" + i);
+            player.put("host", i == 1);
+            players.put("p" + i, player);
+        }
+
+        Map<String, Object> config = createConfig(30, "Animals");
+        config.put("maxPlayers", 8);
+        config.put("livesPerPlayer", 3);
+        config.put("matchingMode", false);
+        config.put("categories", WordSelection.getCategories());
+
+        Map<String, Object> usedWords = new HashMap<>();
+        usedWords.put("cat", true);
+        usedWords.put("dog", true);
+
+        Map<String, Object> game = DataStoreTestSupport.createGame("active", players, config, createRound(2));
+        game.put("lobbyId", "lobby1");
+        game.put("usedWords", usedWords);
+        return game;
+    }
+
+    // A round with timestamps and the full word list of its category
+    private static Map<String, Object> createRound(int roundNumber) {
+        Map<String, Object> round = DataStoreTestSupport.createRound(roundNumber);
+        round.put("startTime", 1700000000000L);
+        round.put("endTime", 1700000030000L);
+        round.put("words", WordSelection.getAllWordsForCategory("Animals"));
+        return round;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.telepathy.model.datastore;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class ListenerHubTest {
+    private CountingStore upstream;
+    private ListenerHub hub;
+
+    // Counts the listeners and reads reaching the underlying store
+    private static class CountingStore extends InMemoryDataStore {
+        int listeners = 0;
+        int reads = 0;
+
+        @Override
+        public void addValueListener(String path, ValueListener listener) {
+            listeners++;
+            super.addValueListener(path, listener);
+        }
+
+        @Override
+        public void removeValueListener(String path, ValueListener listener) {
+            listeners--;
+            super.removeValueListener(path, listener);
+        }
+
+        @Override
+        public void get(String path, Callback callback) {
+            reads++;
+            super.get(path, callback);
+        }
+    }
+
+    // Records every value it is given
+    private static class Recorder implements DataStore.ValueListener {
+        final List<Object> values = new ArrayList<>();
+
+        @Override
+        public void onValueChanged(Object value) {
+            values.add(value);
+        }
+
+        @Override
+        public void onCancelled(String error) {
+            fail(error);
+        }
+
+        Object last() {
+            return values.isEmpty() ? null : values.get(values.size() - 1);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        upstream = new CountingStore();
+        hub = new ListenerHub(upstream);
+    }
+
+    @Test
+    public void testSubscribersShareOneListener() {
+        Recorder lobbyScreen = new Recorder();
+        Recorder gameScreen = new Recorder();
+        hub.addValueListener("lobbies/l1", lobbyScreen);
+        hub.addValueListener("/lobbies/l1/", gameScreen);
+
+        assertEquals(1, upstream.listeners);
+        assertEquals(2, hub.getSubscriberCount("lobbies/l1"));
+
+        hub.setValue("lobbies/l1/name", "Fun", null);
+        assertEquals("Fun", ((Map<?, ?>) lobbyScreen.last()).get("name"));
+        assertEquals("Fun", ((Map<?, ?>) gameScreen.last()).get("name"));
+    }
+
+    @Test
+    public void testLateSubscriberGetsLatestValue() {
+        hub.setValue("games/g1/status", "active", null);
+        hub.addValueListener("games/g1/status", new Recorder());
+
+        Recorder late = new Recorder();
+        hub.addValueListener("games/g1/status", late);
+        assertEquals(1, late.values.size());
+        assertEquals("active", late.last());
+    }
+
+    @Test
+    public void testLastUnsubscribeDetaches() {
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+        hub.addValueListener("games/g1", first);
+        hub.addValueListener("games/g1", second);
+
+        hub.removeValueListener("games/g1", first);
+        assertEquals(1, upstream.listeners);
+        hub.removeValueListener("games/g1", first);
+        assertEquals(1, upstream.listeners);
+
+        hub.removeValueListener("games/g1", second);
+        assertEquals(0, upstream.listeners);
+        assertEquals(0, hub.getSubscriberCount("games/g1"));
+
+        // Updates after leaving are not delivered
+        int delivered = second.values.size();
+        hub.setValue("games/g1/status", "ended", null);
+        assertEquals(delivered, second.values.size());
+    }
+
+    @Test
+    public void testGetServedFromListenerCache() {
+        hub.setValue("lobbies/l1/name", "Fun", null);
+        Object[] result = new Object[1];
+        DataStore.Callback callback = new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object value) {
+                result[0] = value;
+            }
+
+            @Override
+            public void onFailure(String error) {
+                fail(error);
+            }
+        };
+
+        hub.get("lobbies/l1", callback);
+        assertEquals(1, upstream.reads);
+
+        Recorder recorder = new Recorder();
+        hub.addValueListener("lobbies/l1", recorder);
+        hub.get("lobbies/l1", callback);
+        assertEquals(1, upstream.reads);
+        assertEquals("Fun", ((Map<?, ?>) result[0]).get("name"));
+
+        hub.removeValueListener("lobbies/l1", recorder);
+        hub.get("lobbies/l1", callback);
+        assertEquals(2, upstream.reads);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.telepathy.model.datastore;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ServerClockTest {
+
+    @Test
+    public void testLocalTimeUntilOffsetKnown() {
+        InMemoryDataStore store = new InMemoryDataStore();
+        ServerClock clock = new ServerClock(store, () -> 1_000L);
+
+        assertEquals(1_000L, clock.now());
+    }
+
+    @Test
+    public void testFollowsServerTimeOffset() {
+        InMemoryDataStore store = new InMemoryDataStore();
+        store.setValue(ServerClock.OFFSET_PATH, -300L, null);
+        ServerClock clock = new ServerClock(store, () -> 1_000L);
+        assertEquals(700L, clock.now());
+
+        // The offset is re-estimated after reconnecting
+        store.setValue(ServerClock.OFFSET_PATH, 250L, null);
+        assertEquals(1_250L, clock.now());
+    }
+
+    @Test
+    public void testDevicesWithSkewedClocksAgree() {
+        InMemoryDataStore store = new InMemoryDataStore();
+        // Each device sees its own offset, the server time is 50_000
+        InMemoryDataStore fastDevice = new InMemoryDataStore();
+        fastDevice.setValue(ServerClock.OFFSET_PATH, -20_000L, null);
+        InMemoryDataStore slowDevice = new InMemoryDataStore();
+        slowDevice.setValue(ServerClock.OFFSET_PATH, 15_000L, null);
+
+        assertEquals(50_000L, new ServerClock(fastDevice, () -> 70_000L).now());
+        assertEquals(50_000L, new ServerClock(slowDevice, () -> 35_000L).now());
+        assertEquals(50_000L, new ServerClock(store, () -> 50_000L).now());
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.telepathy.model.datastore;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static com.example.telepathy.model.datastore.DataStoreTestSupport.read;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory stores stand in for the main database and the game shards, the
+ * same way separate emulator namespaces would.
+ */
+public class ShardedDataStoreTest {
+    private static final List<String> SHARDS = Arrays.asList("shard-a", "shard-b", "shard-c", "shard-d");
+
+    private InMemoryDataStore main;
+    private Map<String, DataStore> shards;
+    private DatabaseRouter router;
+    private DataStore store;
+
+    @Before
+    public void setUp() {
+        main = new InMemoryDataStore();
+        shards = new HashMap<>();
+        for (String shardId : SHARDS) {
+            shards.put(shardId, new InMemoryDataStore());
+        }
+        router = new DatabaseRouter(SHARDS);
+        store = new CompactGameDataStore(new ShardedDataStore(main, shards, router));
+    }
+
+    @Test
+    public void testGamesSpreadEvenly() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            counts.merge(router.shardFor(main.generateKey("games")), 1, Integer::sum);
+        }
+        for (String shardId : SHARDS) {
+            int count = counts.getOrDefault(shardId, 0);
+            assertTrue(shardId + " has " + count, count > 1_800 && count < 3_200);
+        }
+    }
+
+    @Test
+    public void testAddingShardMovesOnlyItsShare() {
+        List<String> grown = new ArrayList<>(SHARDS);
+        grown.add("shard-e");
+        DatabaseRouter grownRouter = new DatabaseRouter(grown);
+
+        int moved = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String gameId = "game" + i;
+            String before = router.shardFor(gameId);
+            String after = grownRouter.shardFor(gameId);
+            if (!before.equals(after)) {
+                // Only the new shard takes games over
+                assertEquals("shard-e", after);
+                moved++;
+            }
+        }
+        assertTrue("Moved " + moved, moved > 1_400 && moved < 2_600);
+    }
+
+    @Test
+    public void testPinnedGameStaysOnItsShard() {
+        String gameId = "g1";
+        String other = SHARDS.get((SHARDS.indexOf(router.shardFor(gameId)) + 1) % SHARDS.size());
+        router.pin(gameId, other);
+        assertEquals(other, router.shardFor(gameId));
+
+        // Unknown shards, e.g. from a lobby written with another configuration, are ignored
+        router.pin("g2", "shard-z");
+        assertTrue(SHARDS.contains(router.shardFor("g2")));
+        assertNull(new DatabaseRouter(new ArrayList<>()).shardFor("g1"));
+    }
+
+    @Test
+    public void testGameDataGoesToItsShard() {
+        Map<String, Object> game = new HashMap<>();
+        game.put("status", "active");
+        store.setValue("games/g1", game, null);
+        store.setValue("gamePlayers/g1/p1/score", 10, null);
+        store.setValue("lobbies/l1/gameId", "g1", null);
+
+        InMemoryDataStore shard = (InMemoryDataStore) shards.get(router.shardFor("g1"));
+        assertNotNull(read(shard, "games/g1"));
+        assertEquals(10L, read(shard, "gamePlayers/g1/p1/score"));
+        assertNull(read(main, "games/g1"));
+        assertEquals("g1", read(main, "lobbies/l1/gameId"));
+
+        // Reads through the store decode the compact format as usual
+        assertEquals("active", read(store, "games/g1/status"));
+    }
+
+    @Test
+    public void testRootUpdateIsSplitPerInstance() {
+        Map<String, Object> updates = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            updates.put("gamePlayers/g" + i + "/p1/score", i);
+            updates.put("users/u" + i + "/totalScore", i);
+        }
+        int[] completions = { 0 };
+        store.updateChildren("", updates, new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object result) {
+                completions[0]++;
+            }
+
+            @Override
+            public void onFailure(String error) {
+                fail(error);
+            }
+        });
+
+        assertEquals(1, completions[0]);
+        for (int i = 0; i < 20; i++) {
+            DataStore shard = shards.get(router.shardFor("g" + i));
+            assertEquals((long) i, read(shard, "gamePlayers/g" + i + "/p1/score"));
+            assertEquals((long) i, read(main, "users/u" + i + "/totalScore"));
+        }
+    }
+
+    @Test
+    public void testListenersFollowTheGame() {
+        List<Object> values = new ArrayList<>();
+        DataStore.ValueListener listener = new DataStore.ValueListener() {
+            @Override
+            public void onValueChanged(Object value) {
+                values.add(value);
+            }
+
+            @Override
+            public void onCancelled(String error) {
+                fail(error);
+            }
+        };
+        store.addValueListener("games/g7/status", listener);
+        store.setValue("games/g7/status", "active", null);
+        store.removeValueListener("games/g7/status", listener);
+        store.setValue("games/g7/status", "roundEnd", null);
+
+        assertEquals("active", values.get(values.size() - 1));
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.telepathy.model.datastore;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class SimulatedNetworkDataStoreTest {
+
+    private InMemoryDataStore backend;
+    private SimulatedNetworkDataStore network;
+
+    @Before
+    public void setUp() {
+        backend = new InMemoryDataStore();
+    }
+
+    @After
+    public void tearDown() {
+        if (network != null) {
+            network.shutdown();
+        }
+    }
+
+    @Test
+    public void testInMemoryNormalizesValues() throws Exception {
+        Map<String, Object> player = new HashMap<>();
+        player.put("lives", 3);
+        player.put("score", 0);
+        backend.setValue("games/g1/players/p1", player, null);
+
+        Object lives = await(backend, "games/g1/players/p1/lives");
+        assertTrue("Integers should come back as Long like Firebase", lives instanceof Long);
+        assertEquals(3L, lives);
+    }
+
+    @Test
+    public void testInMemoryMultiPathUpdateAndRemove() throws Exception {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("status", "roundEnd");
+        updates.put("players/p1/lives", 2);
+        updates.put("usedWords/cat", true);
+        backend.updateChildren("games/g1", updates, null);
+
+        assertEquals("roundEnd", await(backend, "games/g1/status"));
+        assertEquals(2L, await(backend, "games/g1/players/p1/lives"));
+
+        backend.removeValue("games/g1/usedWords/cat", null);
+        assertNull("Empty parents should be pruned", await(backend, "games/g1/usedWords"));
+    }
+
+    @Test
+    public void testLatencyIsApplied() throws Exception {
+        network = new SimulatedNetworkDataStore(backend, new NetworkConditions(200, 0, 0), 1);
+
+        long start = System.currentTimeMillis();
+        CountDownLatch done = new CountDownLatch(1);
+        network.setValue("games/g1/status", "active", callback(done, new ArrayList<>()));
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+
+        long elapsed = System.currentTimeMillis() - start;
+        assertTrue("A write should take a full round trip, took " + elapsed, elapsed >= 190);
+        assertEquals("active", await(backend, "games/g1/status"));
+    }
+
+    @Test
+    public void testLossFailsOperations() throws Exception {
+        NetworkConditions conditions = new NetworkConditions(10, 0, 1.0);
+        network = new SimulatedNetworkDataStore(backend, conditions, 7);
+
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(10);
+        for (int i = 0; i < 10; i++) {
+            network.setValue("games/g1/players/p" + i + "/currentWord", "cat", callback(done, errors));
+        }
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+
+        assertEquals("Every operation should fail", 10, errors.size());
+        assertEquals(10, network.getFailureCount());
+    }
+
+    @Test
+    public void testWritesAreQueuedWhileDisconnected() throws Exception {
+        network = new SimulatedNetworkDataStore(backend, new NetworkConditions(20, 0, 0), 3);
+        network.disconnect();
+
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch readDone = new CountDownLatch(1);
+        network.get("games/g1", callback(readDone, errors));
+        assertTrue(readDone.await(1, TimeUnit.SECONDS));
+        assertEquals("Reads should fail while offline", 1, errors.size());
+
+        CountDownLatch writeDone = new CountDownLatch(1);
+        network.setValue("games/g1/status", "roundEnd", callback(writeDone, errors));
+        assertFalse("Writes should wait for the connection",
+                writeDone.await(200, TimeUnit.MILLISECONDS));
+        assertNull(await(backend, "games/g1/status"));
+
+        network.reconnect();
+        assertTrue(writeDone.await(1, TimeUnit.SECONDS));
+        assertEquals("roundEnd", await(backend, "games/g1/status"));
+    }
+
+    @Test
+    public void testReorderingLetsLaterWritesOvertake() throws Exception {
+        NetworkConditions conditions = new NetworkConditions(40, 0, 0);
+        conditions.setReorderProbability(0.5);
+        network = new SimulatedNetworkDataStore(backend, conditions, 11);
+
+        List<Object> applied = Collections.synchronizedList(new ArrayList<>());
+        backend.addValueListener("counter", new DataStore.ValueListener() {
+            @Override
+            public void onValueChanged(Object value) {
+                if (value != null) {
+                    applied.add(value);
+                }
+            }
+
+            @Override
+            public void onCancelled(String error) {
+            }
+        });
+
+        CountDownLatch done = new CountDownLatch(20);
+        for (int i = 0; i < 20; i++) {
+            network.setValue("counter", i, callback(done, new ArrayList<>()));
+        }
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+
+        List<Object> sorted = new ArrayList<>(applied);
+        sorted.sort((a, b) -> Long.compare((Long) a, (Long) b));
+        assertEquals(20, applied.size());
+        assertFalse("Some writes should arrive out of order", sorted.equals(applied));
+    }
+
+    @Test
+    public void testListenerRemovedBeforeItAttachesIsNotLeaked() throws Exception {
+        Set<DataStore.ValueListener> attached = Collections.synchronizedSet(new HashSet<>());
+        InMemoryDataStore counting = new InMemoryDataStore() {
+            @Override
+            public void addValueListener(String path, DataStore.ValueListener listener) {
+                attached.add(listener);
+                super.addValueListener(path, listener);
+            }
+
+            @Override
+            public void removeValueListener(String path, DataStore.ValueListener listener) {
+                attached.remove(listener);
+                super.removeValueListener(path, listener);
+            }
+        };
+        network = new SimulatedNetworkDataStore(counting, new NetworkConditions(100, 0, 0), 5);
+
+        List<Object> values = Collections.synchronizedList(new ArrayList<>());
+        DataStore.ValueListener listener = new DataStore.ValueListener() {
+            @Override
+            public void onValueChanged(Object value) {
+                values.add(value);
+            }
+
+            @Override
+            public void onCancelled(String error) {
+            }
+        };
+        network.addValueListener("games/g1/status", listener);
+        network.removeValueListener("games/g1/status", listener);
+
+        // The write's round trip outlasts the attach request
+        CountDownLatch done = new CountDownLatch(1);
+        network.setValue("games/g1/status", "active", callback(done, new ArrayList<>()));
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+
+        assertTrue(attached.isEmpty());
+        assertTrue(values.isEmpty());
+    }
+
+    private static DataStore.Callback callback(CountDownLatch done, List<String> errors) {
+        return new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object result) {
+                done.countDown();
+            }
+
+            @Override
+            public void onFailure(String error) {
+                errors.add(error);
+                done.countDown();
+            }
+        };
+    }
+
+    private static Object await(DataStore store, String path) throws InterruptedException {
+        Object[] result = new Object[1];
+        CountDownLatch done = new CountDownLatch(1);
+        store.get(path, new DataStore.Callback() {
+            @Override
+            public void onSuccess(Object value) {
+                result[0] = value;
+                done.countDown();
+            }
+
+            @Override
+            public void onFailure(String error) {
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        return result[0];
+    }
+}
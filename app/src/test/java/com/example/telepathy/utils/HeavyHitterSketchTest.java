@@ -0,0 +1,60 @@
+package com.example.telepathy.utils;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class HeavyHitterSketchTest {
+
+    @Test
+    public void testEstimatesNeverBelowTrueCount() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(20_000, 16);
+        Map<String, Integer> counts = new HashMap<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 20_000; i++) {
+            String word = random.nextInt(4) == 0 ? "common" + random.nextInt(20) : "word" + random.nextInt(1_000_000);
+            sketch.add(word);
+            counts.merge(word, 1, Integer::sum);
+        }
+
+        int falseCandidates = 0;
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            int estimate = sketch.estimate(entry.getKey());
+            assertTrue(entry.getKey(), estimate >= Math.min(entry.getValue(), HeavyHitterSketch.MAX_ESTIMATE));
+            if (entry.getValue() == 1 && estimate > 1) {
+                falseCandidates++;
+            }
+        }
+        // Sized for the stream, few words seen once share all their cells
+        assertTrue("False candidates: " + falseCandidates, falseCandidates < counts.size() / 100);
+        assertEquals(0, sketch.estimate("never seen"));
+    }
+
+    @Test
+    public void testTopFindsHeavyHitters() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(10_000, 8);
+        for (int i = 0; i < 10_000; i++) {
+            sketch.add("unique" + i);
+            if (i % 10 == 0) {
+                sketch.add("lion");
+            }
+            if (i % 20 == 0) {
+                sketch.add("tiger");
+            }
+        }
+        assertEquals(Arrays.asList("lion", "tiger"), sketch.top(2));
+    }
+
+    @Test
+    public void testCountersSaturate() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(10, 4);
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("lion");
+        }
+        assertEquals(HeavyHitterSketch.MAX_ESTIMATE, sketch.estimate("lion"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.telepathy.utils;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SyncPolicyManagerTest {
+
+    private List<String> calls;
+    private SyncPolicyManager manager;
+
+    @Before
+    public void setUp() {
+        calls = new ArrayList<>();
+        manager = new SyncPolicyManager((path, synced) -> calls.add((synced ? "+" : "-") + path));
+    }
+
+    @Test
+    public void testLobbyIsReferenceCounted() {
+        // LobbyActivity and GameActivity overlap while switching screens
+        manager.syncLobby("l1");
+        manager.syncLobby("l1");
+        manager.releaseLobby("l1");
+        assertTrue(manager.isSynced("lobbies/l1"));
+
+        manager.releaseLobby("l1");
+        assertFalse(manager.isSynced("lobbies/l1"));
+        assertEquals(Arrays.asList("+lobbies/l1", "-lobbies/l1"), calls);
+    }
+
+    @Test
+    public void testSwitchingUserReleasesPreviousProfile() {
+        manager.syncUser("u1");
+        manager.syncUser("u1");
+        manager.syncUser("u2");
+        assertEquals(Arrays.asList("+users/u1", "-users/u1", "+users/u2"), calls);
+    }
+
+    @Test
+    public void testReleaseAllOnLogout() {
+        manager.syncUser("u1");
+        manager.syncGame("g1");
+        manager.syncGame(null);
+        manager.releaseAll();
+
+        assertFalse(manager.isSynced("users/u1"));
+        assertFalse(manager.isSynced("games/g1"));
+        assertTrue(calls.contains("-users/u1"));
+        assertTrue(calls.contains("-games/g1"));
+
+        // Releasing again is harmless
+        manager.releaseGame("g1");
+        assertEquals(4, calls.size());
+    }
+}